@@ -2,7 +2,9 @@ package com.backupforce;
 
 import com.backupforce.auth.SalesforceAuth;
 import com.backupforce.bulkv2.BulkV2Client;
+import com.backupforce.config.BackupHistory;
 import com.backupforce.config.Config;
+import com.backupforce.engine.BackupEngine;
 import com.sforce.soap.partner.PartnerConnection;
 import com.sforce.soap.partner.DescribeGlobalResult;
 import com.sforce.soap.partner.DescribeGlobalSObjectResult;
@@ -13,10 +15,6 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class BackupRunner {
     private static final Logger logger = LoggerFactory.getLogger(BackupRunner.class);
@@ -103,50 +101,46 @@ public class BackupRunner {
             // Step 3: Process objects using Bulk API v2
             BulkV2Client bulkClient = new BulkV2Client(instanceUrl, sessionId, config.getApiVersion());
             
-            // Progress tracking
-            AtomicInteger completed = new AtomicInteger(0);
-            AtomicInteger successful = new AtomicInteger(0);
-            AtomicInteger failed = new AtomicInteger(0);
-            int totalObjects = objectsToBackup.size();
-            long startTime = System.currentTimeMillis();
-            
-            // Process objects with thread pool for parallel execution
-            int threadPoolSize = 10;
-            ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
-            
-            for (String objectName : objectsToBackup) {
-                executor.submit(() -> {
-                    try {
-                        bulkClient.queryObject(objectName, config.getOutputFolder());
-                        successful.incrementAndGet();
-                    } catch (Exception e) {
-                        logger.error("Failed to backup {}: {}", objectName, e.getMessage());
-                        failed.incrementAndGet();
-                    } finally {
-                        int completedCount = completed.incrementAndGet();
-                        if (completedCount % 10 == 0 || completedCount == totalObjects) {
-                            long elapsed = System.currentTimeMillis() - startTime;
-                            double avgTimePerObject = (double) elapsed / completedCount;
-                            long remaining = (long) ((totalObjects - completedCount) * avgTimePerObject);
-                            logger.info("Progress: {}/{} objects ({} successful, {} failed) - ETA: {} seconds",
-                                completedCount, totalObjects, successful.get(), failed.get(), remaining / 1000);
+            // Same pipeline as the UI: longest objects first on an adaptive thread pool that
+            // grows while throughput improves and backs off on throttling or heap pressure
+            BackupEngine.Options options = new BackupEngine.Options();
+            options.setObjects(objectsToBackup);
+            options.setOutputFolder(config.getOutputFolder());
+            options.setUsername(config.getUsername());
+            options.setWorkers(2, 10, 20);
+            options.setCsvPartBytes(config.getCsvPartBytes());
+            
+            BackupHistory history = BackupHistory.getInstance();
+            BackupHistory.BackupRun historyRun = history.startBackup(
+                config.getUsername(), "FULL", "CSV", config.getOutputFolder(), objectsToBackup.size());
+            options.setHistoryRun(historyRun);
+            
+            BackupEngine.Result result;
+            try {
+                result = new BackupEngine(bulkClient, new BackupEngine.Listener() {
+                    @Override
+                    public void onProgress(int completed, int total, int successful, int failed) {
+                        if (completed % 10 == 0 || completed == total) {
+                            logger.info("Progress: {}/{} objects ({} successful, {} failed)",
+                                completed, total, successful, failed);
                         }
                     }
-                });
+                }).run(options);
+                history.completeBackup(historyRun, result.getSuccessful() > 0);
+            } catch (Exception e) {
+                history.completeBackup(historyRun, false);
+                throw e;
+            } finally {
+                bulkClient.close();
             }
             
-            executor.shutdown();
-            executor.awaitTermination(1, TimeUnit.HOURS);
-            
-            bulkClient.close();
-            
-            long totalTime = System.currentTimeMillis() - startTime;
             logger.info("=".repeat(60));
             logger.info("Backup completed!");
-            logger.info("Total objects: {}", totalObjects);
-            logger.info("Successful: {}", successful.get());
-            logger.info("Failed: {}", failed.get());
-            logger.info("Total time: {} seconds", totalTime / 1000);
+            logger.info("Total objects: {}", result.getTotalObjects());
+            logger.info("Successful: {}", result.getSuccessful());
+            logger.info("Failed: {}", result.getFailed());
+            logger.info("Total records: {}", result.getTotalRecords());
+            logger.info("Total time: {} seconds", result.getDurationMs() / 1000);
             logger.info("Output folder: {}", config.getOutputFolder());
             logger.info("=".repeat(60));
             
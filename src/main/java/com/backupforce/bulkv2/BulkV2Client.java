@@ -3,6 +3,8 @@ package com.backupforce.bulkv2;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.sforce.soap.partner.Field;
+import com.sforce.soap.partner.FieldType;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPatch;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
@@ -24,11 +26,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 public class BulkV2Client implements AutoCloseable {
     
@@ -138,6 +148,23 @@ public class BulkV2Client implements AutoCloseable {
     private volatile boolean clientShutdown = false;
     private volatile long reconnectVersion = 0; // Track reconnection attempts to avoid race conditions
     private final Object clientLock = new Object();
+    private WideObjectSplitter wideObjectSplitter = new WideObjectSplitter();
+    private ExtractionProfile extractionProfile = ExtractionProfile.FULL;
+    // Part size of result CSVs written as part sets (0 = one <Object>.csv)
+    private volatile long csvPartBytes;
+    
+    // Always-empty fields per object (from a previous run) and fields excluded by the profile
+    private final Map<String, Set<String>> knownEmptyFields = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> excludedFields = new ConcurrentHashMap<>();
+    // Describe results fetched ahead of a query (describeFields), used once by that query
+    private final Map<String, List<JsonObject>> describeCache = new ConcurrentHashMap<>();
+    
+    // HTTP connection pool limits - raised when callers run more parallel workers
+    private volatile int maxConnTotal = 20;
+    private volatile int maxConnPerRoute = 10;
+    
+    // Maximum Bulk jobs run at once for the field groups of a single wide object
+    private static final int MAX_PARALLEL_GROUP_JOBS = 4;
 
     public BulkV2Client(String instanceUrl, String accessToken, String apiVersion) {
         this.instanceUrl = instanceUrl;
@@ -185,8 +212,8 @@ public class BulkV2Client implements AutoCloseable {
                     .setTimeToLive(TimeValue.ofHours(2))      // Keep connections alive for 2 hours
                     .setValidateAfterInactivity(TimeValue.ofSeconds(30))  // Validate stale connections
                     .build())
-                .setMaxConnTotal(20)      // Max total connections
-                .setMaxConnPerRoute(10)   // Max connections per host
+                .setMaxConnTotal(maxConnTotal)        // Max total connections
+                .setMaxConnPerRoute(maxConnPerRoute)  // Max connections per host
                 .build();
             
             // Configure request timeouts
@@ -208,6 +235,22 @@ public class BulkV2Client implements AutoCloseable {
         }
     }
     
+    /**
+     * Resize the HTTP connection pool, e.g. to match the maximum number of parallel workers.
+     * Applies immediately and survives reconnects.
+     */
+    public void setConnectionPoolLimits(int maxTotal, int maxPerRoute) {
+        synchronized (clientLock) {
+            this.maxConnTotal = Math.max(1, maxTotal);
+            this.maxConnPerRoute = Math.max(1, Math.min(maxPerRoute, this.maxConnTotal));
+            if (connectionManager != null) {
+                connectionManager.setMaxTotal(this.maxConnTotal);
+                connectionManager.setDefaultMaxPerRoute(this.maxConnPerRoute);
+            }
+            logger.info("HTTP connection pool limits set to {} total / {} per route", maxConnTotal, maxConnPerRoute);
+        }
+    }
+    
     /**
      * Ensure HTTP client is available. If the connection pool was shut down
      * (e.g., due to OOM or other errors), recreate it.
@@ -408,6 +451,19 @@ public class BulkV2Client implements AutoCloseable {
      */
     public void queryObject(String objectName, String outputFolder, String whereClause, int recordLimit, 
                            java.util.Set<String> selectedFields, ProgressCallback progressCallback) throws IOException, InterruptedException, ParseException {
+        queryObject(objectName, outputFolder, whereClause, recordLimit, selectedFields, progressCallback, null);
+    }
+    
+    /**
+     * Query object and stream the result CSV to a second writer while it is written to disk.
+     * The tee receives exactly the text of the CSV file (one header, then records) as each
+     * chunk arrives, so a consumer can load the data while the download is still running.
+     * The tee is flushed but not closed.
+     * @param resultTee Writer that receives a copy of the result CSV (null = file only)
+     */
+    public void queryObject(String objectName, String outputFolder, String whereClause, int recordLimit, 
+                           java.util.Set<String> selectedFields, ProgressCallback progressCallback,
+                           Writer resultTee) throws IOException, InterruptedException, ParseException {
         logger.info("Starting Bulk API v2 query for: {}", objectName);
         if (recordLimit > 0) {
             logger.info("{}: Record limit set to {}", objectName, recordLimit);
@@ -416,10 +472,26 @@ public class BulkV2Client implements AutoCloseable {
             logger.info("{}: Querying {} selected fields", objectName, selectedFields.size());
         }
         
+        // Resolve the field list and split very wide objects into field groups
+        Map<String, Integer> fieldWidths = new HashMap<>();
+        List<String> fields = resolveQueryFields(objectName, selectedFields, fieldWidths);
+        List<List<String>> fieldGroups = wideObjectSplitter.planFieldGroups(fields, fieldWidths);
+        if (fieldGroups.size() > 1) {
+            queryWideObject(objectName, outputFolder, whereClause, recordLimit, fieldGroups, progressCallback);
+            if (resultTee != null) {
+                // Group results are only complete after the merge - replay the merged file
+                try (Reader merged = CsvPartSet.openCsv(Paths.get(outputFolder), objectName)) {
+                    merged.transferTo(resultTee);
+                }
+                resultTee.flush();
+            }
+            return;
+        }
+        
         if (progressCallback != null) progressCallback.update("Creating job...");
         
         // Step 1: Create query job
-        String jobId = createQueryJob(objectName, whereClause, recordLimit, selectedFields);
+        String jobId = createQueryJob(objectName, String.join(", ", fields), whereClause, recordLimit, false);
         logger.info("{}: Job created with ID: {}", objectName, jobId);
         
         if (progressCallback != null) progressCallback.update("Processing...");
@@ -430,10 +502,239 @@ public class BulkV2Client implements AutoCloseable {
         if (progressCallback != null) progressCallback.update("Downloading...");
         
         // Step 3: Download results
-        downloadResults(jobId, objectName, outputFolder);
+        Path csvPath = Paths.get(outputFolder, objectName + ".csv");
+        if (csvPartBytes > 0) {
+            try (CsvPartWriter parts = new CsvPartWriter(Paths.get(outputFolder), objectName, csvPartBytes)) {
+                downloadResults(jobId, objectName, null, parts, resultTee);
+            }
+            Files.deleteIfExists(csvPath);
+        } else {
+            downloadResults(jobId, objectName, csvPath, null, resultTee);
+            CsvPartSet.delete(Paths.get(outputFolder), objectName);
+        }
         
         logger.info("{}: Query completed successfully", objectName);
     }
+    
+    /**
+     * Wide-object mode: run one Bulk job per field group in parallel, then merge the
+     * group results into a single CSV with a streaming merge-join on Id.
+     */
+    private void queryWideObject(String objectName, String outputFolder, String whereClause, int recordLimit,
+                                 List<List<String>> fieldGroups, ProgressCallback progressCallback)
+            throws IOException, InterruptedException, ParseException {
+        int groupCount = fieldGroups.size();
+        logger.info("{}: Wide object - querying {} field groups as parallel jobs", objectName, groupCount);
+        if (progressCallback != null) {
+            progressCallback.update(String.format("Wide object - %d field groups...", groupCount));
+        }
+        
+        Path workDir = Paths.get(outputFolder, "." + objectName + "_field_groups");
+        Files.createDirectories(workDir);
+        
+        // With a record limit every group must return the same records, so order them by Id
+        boolean orderById = recordLimit > 0;
+        
+        ExecutorService groupExecutor = Executors.newFixedThreadPool(
+            Math.min(groupCount, MAX_PARALLEL_GROUP_JOBS));
+        AtomicInteger groupsDone = new AtomicInteger(0);
+        List<Future<Path>> futures = new ArrayList<>();
+        
+        try {
+            for (int i = 0; i < groupCount; i++) {
+                final int groupNumber = i + 1;
+                final String fieldList = String.join(", ", fieldGroups.get(i));
+                final Path groupFile = workDir.resolve("group-" + groupNumber + ".csv");
+                futures.add(groupExecutor.submit(() -> {
+                    String jobId = createQueryJob(objectName, fieldList, whereClause, recordLimit, orderById);
+                    logger.info("{}: Field group {}/{} job created with ID: {}", objectName, groupNumber, groupCount, jobId);
+                    waitForJobCompletion(jobId, objectName, null);
+                    downloadResults(jobId, objectName, groupFile);
+                    int done = groupsDone.incrementAndGet();
+                    if (progressCallback != null) {
+                        progressCallback.update(String.format("Field groups: %d/%d downloaded", done, groupCount));
+                    }
+                    return groupFile;
+                }));
+            }
+            
+            List<Path> groupFiles = new ArrayList<>();
+            for (Future<Path> future : futures) {
+                try {
+                    groupFiles.add(future.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    throw new IOException("Field group query failed: " + cause.getMessage(), cause);
+                }
+            }
+            
+            if (progressCallback != null) progressCallback.update("Merging field groups...");
+            Path outputPath = Paths.get(outputFolder, objectName + ".csv");
+            long merged = wideObjectSplitter.mergeOnId(groupFiles, outputPath, workDir);
+            logger.info("{}: Wide object query completed - {} records merged from {} field groups", 
+                objectName, merged, groupCount);
+            if (csvPartBytes > 0) {
+                splitIntoParts(outputPath, Paths.get(outputFolder), objectName);
+            } else {
+                CsvPartSet.delete(Paths.get(outputFolder), objectName);
+            }
+        } finally {
+            for (Future<Path> future : futures) {
+                future.cancel(true);
+            }
+            groupExecutor.shutdownNow();
+            deleteRecursively(workDir);
+        }
+    }
+    
+    private void deleteRecursively(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.debug("Could not delete {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.debug("Could not clean up {}: {}", dir, e.getMessage());
+        }
+    }
+    
+    /**
+     * Roll result CSVs into {@code <Object>/part-NNNNN.csv} part sets of about this size
+     * @param csvPartBytes Part size in bytes, 0 to write one {@code <Object>.csv}
+     */
+    public void setCsvPartBytes(long csvPartBytes) {
+        this.csvPartBytes = Math.max(0, csvPartBytes);
+    }
+    
+    public long getCsvPartBytes() {
+        return csvPartBytes;
+    }
+    
+    /**
+     * Replace a single result CSV with a part set
+     */
+    private void splitIntoParts(Path csvPath, Path outputFolder, String objectName) throws IOException {
+        try (Reader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8);
+             CsvPartWriter parts = new CsvPartWriter(outputFolder, objectName, csvPartBytes)) {
+            reader.transferTo(parts);
+        }
+        Files.delete(csvPath);
+    }
+    
+    /**
+     * Set the extraction profile applied when all fields of an object are queried
+     */
+    public void setExtractionProfile(ExtractionProfile extractionProfile) {
+        this.extractionProfile = extractionProfile != null ? extractionProfile : ExtractionProfile.FULL;
+    }
+    
+    public ExtractionProfile getExtractionProfile() {
+        return extractionProfile;
+    }
+    
+    /**
+     * Register fields a previous run found to be empty in every record.
+     * Only used by profiles that exclude empty fields.
+     */
+    public void setKnownEmptyFields(String objectName, Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            knownEmptyFields.remove(objectName);
+        } else {
+            knownEmptyFields.put(objectName, new HashSet<>(fields));
+        }
+    }
+    
+    /**
+     * Fields left out of the last query of an object by the extraction profile.
+     * @return Map of field name to exclusion reason (empty if nothing was excluded)
+     */
+    public Map<String, String> getExcludedFields(String objectName) {
+        Map<String, String> excluded = excludedFields.get(objectName);
+        return excluded != null ? Collections.unmodifiableMap(excluded) : Collections.emptyMap();
+    }
+    
+    /**
+     * Set the splitter used to detect and split wide objects (e.g. to change thresholds)
+     */
+    public void setWideObjectSplitter(WideObjectSplitter wideObjectSplitter) {
+        this.wideObjectSplitter = wideObjectSplitter;
+    }
+    
+    /**
+     * Resolve the fields to query - either the user selection (Id always included)
+     * or every queryable field from describe. Fills fieldWidths with estimated widths
+     * when describe metadata is available.
+     */
+    private List<String> resolveQueryFields(String objectName, java.util.Set<String> selectedFields,
+                                            Map<String, Integer> fieldWidths) throws IOException, ParseException {
+        List<JsonObject> described = describeCache.remove(objectName);
+        if (selectedFields != null && !selectedFields.isEmpty()) {
+            // Use the user-selected fields (ensure Id is always included)
+            java.util.Set<String> fieldsToUse = new java.util.LinkedHashSet<>(selectedFields);
+            fieldsToUse.add("Id"); // Always include Id
+            logger.info("{}: Using {} selected fields", objectName, fieldsToUse.size());
+            excludedFields.remove(objectName);
+            return new ArrayList<>(fieldsToUse);
+        }
+        
+        List<String> fields = new ArrayList<>();
+        Map<String, String> excluded = new LinkedHashMap<>();
+        Set<String> emptyFields = knownEmptyFields.get(objectName);
+        for (JsonObject field : described != null ? described : describeQueryableFields(objectName)) {
+            String fieldName = field.get("name").getAsString();
+            String reason = extractionProfile.exclusionReason(field, emptyFields);
+            if (reason != null) {
+                excluded.put(fieldName, reason);
+                continue;
+            }
+            fields.add(fieldName);
+            fieldWidths.put(fieldName, WideObjectSplitter.estimateFieldWidth(field));
+        }
+        
+        excludedFields.put(objectName, excluded);
+        if (!excluded.isEmpty()) {
+            logger.info("{}: {} profile excluded {} field(s)", objectName, extractionProfile.name(), excluded.size());
+        }
+        return fields;
+    }
+
+    /**
+     * Describe the fields of an object that the Bulk API can query, as partner API field
+     * metadata (e.g. to create typed database columns). The next query of the object
+     * reuses this describe instead of making its own call.
+     */
+    public Field[] describeFields(String objectName) throws IOException, ParseException {
+        List<JsonObject> fields = describeQueryableFields(objectName);
+        describeCache.put(objectName, fields);
+        return fields.stream().map(BulkV2Client::toField).toArray(Field[]::new);
+    }
+    
+    static Field toField(JsonObject json) {
+        Field field = new Field();
+        field.setName(json.get("name").getAsString());
+        if (json.has("type") && !json.get("type").isJsonNull()) {
+            String enumName = FieldType.valuesToEnums.get(json.get("type").getAsString());
+            if (enumName != null) {
+                field.setType(FieldType.valueOf(enumName));
+            }
+        }
+        field.setLength(intProperty(json, "length"));
+        field.setByteLength(intProperty(json, "byteLength"));
+        field.setPrecision(intProperty(json, "precision"));
+        field.setScale(intProperty(json, "scale"));
+        field.setDigits(intProperty(json, "digits"));
+        return field;
+    }
+    
+    private static int intProperty(JsonObject json, String name) {
+        return json.has(name) && !json.get(name).isJsonNull() ? json.get(name).getAsInt() : 0;
+    }
 
     private String createQueryJob(String objectName) throws IOException, ParseException {
         return createQueryJob(objectName, null, 0, null);
@@ -449,24 +750,21 @@ public class BulkV2Client implements AutoCloseable {
     
     private String createQueryJob(String objectName, String whereClause, int recordLimit, java.util.Set<String> selectedFields) throws IOException, ParseException {
         // Get field names - either from selection or by querying all fields
-        String fields;
-        if (selectedFields != null && !selectedFields.isEmpty()) {
-            // Use the user-selected fields (ensure Id is always included)
-            java.util.Set<String> fieldsToUse = new java.util.LinkedHashSet<>(selectedFields);
-            fieldsToUse.add("Id"); // Always include Id
-            fields = String.join(", ", fieldsToUse);
-            logger.info("{}: Using {} selected fields", objectName, fieldsToUse.size());
-        } else {
-            // Get all field names for this object
-            fields = getObjectFields(objectName);
-        }
-        
+        List<String> fields = resolveQueryFields(objectName, selectedFields, new HashMap<>());
+        return createQueryJob(objectName, String.join(", ", fields), whereClause, recordLimit, false);
+    }
+    
+    private String createQueryJob(String objectName, String fields, String whereClause, int recordLimit,
+                                  boolean orderById) throws IOException, ParseException {
         String url = String.format("%s/services/data/v%s/jobs/query", instanceUrl, apiVersion);
         
         String soql = "SELECT " + fields + " FROM " + objectName;
         if (whereClause != null && !whereClause.trim().isEmpty()) {
             soql += " WHERE " + whereClause;
         }
+        if (orderById) {
+            soql += " ORDER BY Id";
+        }
         if (recordLimit > 0) {
             soql += " LIMIT " + recordLimit;
         }
@@ -510,7 +808,11 @@ public class BulkV2Client implements AutoCloseable {
         });
     }
     
-    private String getObjectFields(String objectName) throws IOException, ParseException {
+    /**
+     * Describe an object and return the metadata of every field that can be queried
+     * through the Bulk API (compound fields and blob fields are skipped).
+     */
+    private List<JsonObject> describeQueryableFields(String objectName) throws IOException, ParseException {
         String url = String.format("%s/services/data/v%s/sobjects/%s/describe", instanceUrl, apiVersion, objectName);
         
         HttpGet get = new HttpGet(url);
@@ -527,10 +829,9 @@ public class BulkV2Client implements AutoCloseable {
                 }
                 
                 JsonArray fields = responseJson.getAsJsonArray("fields");
-                StringBuilder fieldNames = new StringBuilder();
+                List<JsonObject> queryableFields = new ArrayList<>();
                 int skippedCount = 0;
                 boolean hasBlobFields = false;
-                String idField = "Id";
                 String blobField = null;
                 
                 for (int i = 0; i < fields.size(); i++) {
@@ -554,10 +855,7 @@ public class BulkV2Client implements AutoCloseable {
                         continue;
                     }
                     
-                    if (fieldNames.length() > 0) {
-                        fieldNames.append(", ");
-                    }
-                    fieldNames.append(fieldName);
+                    queryableFields.add(field);
                 }
                 
                 if (skippedCount > 0) {
@@ -570,11 +868,11 @@ public class BulkV2Client implements AutoCloseable {
                     storeBlobMetadata(objectName, blobField);
                 }
                 
-                if (fieldNames.length() == 0) {
+                if (queryableFields.isEmpty()) {
                     throw new IOException("No queryable fields found for object");
                 }
                 
-                return fieldNames.toString();
+                return queryableFields;
             }
         });
     }
@@ -633,11 +931,22 @@ public class BulkV2Client implements AutoCloseable {
         }
     }
 
-    private void downloadResults(String jobId, String objectName, String outputFolder) throws IOException, ParseException {
+    private void downloadResults(String jobId, String objectName, Path outputPath) throws IOException, ParseException {
+        downloadResults(jobId, objectName, outputPath, null, null);
+    }
+    
+    /**
+     * Download all result pages into one CSV - or into a part set, if {@code parts} is
+     * given - optionally copying each line to a tee. If a page download is retried, lines
+     * already written from that page are skipped, so neither the file nor the tee gets duplicates.
+     */
+    private void downloadResults(String jobId, String objectName, Path outputPath, CsvPartWriter parts,
+                                 Writer tee) throws IOException, ParseException {
         String baseUrl = String.format("%s/services/data/v%s/jobs/query/%s/results", instanceUrl, apiVersion, jobId);
         
-        Path outputPath = Paths.get(outputFolder, objectName + ".csv");
-        Files.createDirectories(outputPath.getParent());
+        if (outputPath != null) {
+            Files.createDirectories(outputPath.getParent());
+        }
         
         long totalBytes = 0;
         boolean isFirstChunk = true;
@@ -656,8 +965,12 @@ public class BulkV2Client implements AutoCloseable {
             get.setHeader("Authorization", "Bearer " + accessToken);
             get.setHeader("Accept", "text/csv");
             
-            final boolean appendMode = !isFirstChunk;
-            final String finalUrl = url;
+            final boolean skipHeader = !isFirstChunk;
+            // A retried page is rewritten from where it started in the file; lines that
+            // already went to the tee in a failed attempt are not sent again
+            final long pageStart = parts != null || isFirstChunk ? 0 : Files.size(outputPath);
+            final CsvPartWriter.Mark pageMark = parts != null ? parts.mark() : null;
+            final long[] linesTeed = {0};
             
             String[] result = executeWithRecovery(client -> {
                 try (ClassicHttpResponse response = client.executeOpen(null, get, null)) {
@@ -672,27 +985,44 @@ public class BulkV2Client implements AutoCloseable {
                     }
                     
                     long bytesWritten = 0;
+                    if (parts != null) {
+                        parts.reset(pageMark);
+                    } else {
+                        try (RandomAccessFile file = new RandomAccessFile(outputPath.toFile(), "rw")) {
+                            file.setLength(pageStart);
+                        }
+                    }
                     try (InputStream inputStream = response.getEntity().getContent();
-                         FileOutputStream outputStream = new FileOutputStream(outputPath.toFile(), appendMode)) {
+                         Writer pageWriter = parts != null ? new NonClosingWriter(parts)
+                             : new OutputStreamWriter(new FileOutputStream(outputPath.toFile(), true), StandardCharsets.UTF_8)) {
                         
-                        java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.InputStreamReader(inputStream));
-                        java.io.BufferedWriter writer = new java.io.BufferedWriter(new java.io.OutputStreamWriter(outputStream));
+                        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+                        BufferedWriter writer = new BufferedWriter(pageWriter);
                         
                         String line;
                         boolean firstLineOfChunk = true;
+                        long pageLine = 0;
                         while ((line = reader.readLine()) != null) {
                             // Skip header line for subsequent chunks (avoid duplicate headers)
-                            if (appendMode && firstLineOfChunk) {
+                            if (skipHeader && firstLineOfChunk) {
                                 firstLineOfChunk = false;
                                 continue;
                             }
                             firstLineOfChunk = false;
                             
                             writer.write(line);
-                            writer.newLine();
+                            writer.write('\n');
+                            if (tee != null && pageLine++ >= linesTeed[0]) {
+                                tee.write(line);
+                                tee.write('\n');
+                                linesTeed[0]++;
+                            }
                             bytesWritten += line.length() + 1;
                         }
                         writer.flush();
+                        if (tee != null) {
+                            tee.flush();
+                        }
                     }
                     
                     return new String[] { nextLocator, String.valueOf(bytesWritten) };
@@ -705,7 +1035,22 @@ public class BulkV2Client implements AutoCloseable {
             isFirstChunk = false;
         } while (locator != null);
         
-        logger.info("{}: Downloaded {} bytes in {} chunk(s) to {}", objectName, totalBytes, chunkCount, outputPath);
+        logger.info("{}: Downloaded {} bytes in {} chunk(s) to {}", objectName, totalBytes, chunkCount,
+            outputPath != null ? outputPath : "parts");
+    }
+    
+    /**
+     * Lets a page's writer be closed without closing the part set it writes to
+     */
+    private static final class NonClosingWriter extends FilterWriter {
+        NonClosingWriter(Writer out) {
+            super(out);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
     }
 
     /**
@@ -733,14 +1078,17 @@ public class BulkV2Client implements AutoCloseable {
         Files.createDirectories(blobsDir);
         
         // Read the CSV to get record IDs - only download blobs for records in the CSV
-        Path csvPath = Paths.get(outputFolder, objectName + ".csv");
-        if (!Files.exists(csvPath)) {
+        Path folder = Paths.get(outputFolder);
+        if (!CsvPartSet.hasCsv(folder, objectName)) {
             logger.warn("{}: CSV file not found, skipping blob download", objectName);
             return 0;
         }
         
         // Extract record IDs from the CSV file
-        java.util.Set<String> csvRecordIds = extractRecordIdsFromCsv(csvPath);
+        java.util.Set<String> csvRecordIds;
+        try (Reader csvReader = CsvPartSet.openCsv(folder, objectName)) {
+            csvRecordIds = extractRecordIdsFromCsv(csvReader);
+        }
         if (csvRecordIds.isEmpty()) {
             logger.warn("{}: No records found in CSV, skipping blob download", objectName);
             return 0;
@@ -816,7 +1164,12 @@ public class BulkV2Client implements AutoCloseable {
         
         // Update CSV to add blob file path column (include skipped files too)
         if (downloadCount > 0 || skippedCount > 0) {
-            updateCsvWithBlobPaths(csvPath, blobPaths, blobFieldName);
+            for (Path csvPath : CsvPartSet.csvFiles(folder, objectName)) {
+                updateCsvWithBlobPaths(csvPath, blobPaths, blobFieldName);
+            }
+            if (CsvPartSet.exists(folder, objectName)) {
+                CsvPartSet.refreshManifest(folder, objectName);
+            }
         }
         
         if (skippedCount > 0) {
@@ -843,10 +1196,10 @@ public class BulkV2Client implements AutoCloseable {
      * Extract record IDs from a CSV file
      * Uses proper CSV parsing to handle multi-line fields and special characters
      */
-    private java.util.Set<String> extractRecordIdsFromCsv(Path csvPath) throws IOException {
+    private java.util.Set<String> extractRecordIdsFromCsv(Reader csvReader) throws IOException {
         java.util.Set<String> recordIds = new java.util.LinkedHashSet<>();
         
-        try (java.io.BufferedReader reader = Files.newBufferedReader(csvPath, java.nio.charset.StandardCharsets.UTF_8)) {
+        try (java.io.BufferedReader reader = new java.io.BufferedReader(csvReader)) {
             // Read and parse header line
             String headerLine = reader.readLine();
             if (headerLine == null || headerLine.isEmpty()) return recordIds;
@@ -0,0 +1,98 @@
+package com.backupforce.bulkv2;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-column fill statistics for a Bulk result CSV.
+ * Used by the skip-empty extraction profile to find fields that are never populated.
+ */
+public class ColumnStatistics {
+
+    private final long recordCount;
+    private final Map<String, Long> nonEmptyCounts;
+
+    private ColumnStatistics(long recordCount, Map<String, Long> nonEmptyCounts) {
+        this.recordCount = recordCount;
+        this.nonEmptyCounts = nonEmptyCounts;
+    }
+
+    /**
+     * Scan a CSV once and count the non-empty values of every column.
+     */
+    public static ColumnStatistics collect(Path csvFile) throws IOException {
+        return collect(Files.newBufferedReader(csvFile, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Scan CSV text once and count the non-empty values of every column. Closes the reader.
+     */
+    public static ColumnStatistics collect(Reader csvReader) throws IOException {
+        try (BufferedReader reader = new BufferedReader(csvReader);
+             CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(reader)) {
+
+            List<String> headers = parser.getHeaderNames();
+            long[] counts = new long[headers.size()];
+            long records = 0;
+
+            for (CSVRecord record : parser) {
+                records++;
+                int size = Math.min(record.size(), counts.length);
+                for (int i = 0; i < size; i++) {
+                    if (!record.get(i).isEmpty()) {
+                        counts[i]++;
+                    }
+                }
+            }
+
+            Map<String, Long> nonEmpty = new LinkedHashMap<>();
+            for (int i = 0; i < headers.size(); i++) {
+                nonEmpty.put(headers.get(i), counts[i]);
+            }
+            return new ColumnStatistics(records, nonEmpty);
+        }
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public long getNonEmptyCount(String column) {
+        return nonEmptyCounts.getOrDefault(column, 0L);
+    }
+
+    public Set<String> getColumns() {
+        return Collections.unmodifiableSet(nonEmptyCounts.keySet());
+    }
+
+    /**
+     * Columns with no value in any record. Empty when the file has no records,
+     * since an empty result says nothing about the fields.
+     */
+    public Set<String> getEmptyColumns() {
+        Set<String> empty = new LinkedHashSet<>();
+        if (recordCount == 0) {
+            return empty;
+        }
+        for (Map.Entry<String, Long> entry : nonEmptyCounts.entrySet()) {
+            if (entry.getValue() == 0) {
+                empty.add(entry.getKey());
+            }
+        }
+        return empty;
+    }
+}
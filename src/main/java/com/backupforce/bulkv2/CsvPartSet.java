@@ -0,0 +1,305 @@
+package com.backupforce.bulkv2;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An object's CSV stored as size-rolled parts: {@code <Object>/part-00000.csv},
+ * {@code part-00001.csv}, ... plus a {@code _parts.json} manifest listing every part's
+ * record count and byte range.
+ *
+ * Each part is a complete CSV with its own header, so parts can be processed in parallel.
+ * Read in order with the repeated headers dropped, the parts form one logical CSV; byte
+ * ranges in the manifest are offsets into that logical file.
+ *
+ * The static helpers read an object's CSV in either layout, so callers don't need to know
+ * whether it was written as one {@code <Object>.csv} or as parts.
+ */
+public final class CsvPartSet {
+
+    public static final String MANIFEST_FILE = "_parts.json";
+
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * One part file. {@code offset} is where the part's records start in the logical file.
+     */
+    public static final class Part {
+        private final String file;
+        private final long records;
+        private final long bytes;
+        private long offset;
+
+        Part(String file, long records, long bytes) {
+            this.file = file;
+            this.records = records;
+            this.bytes = bytes;
+        }
+
+        public String getFile() { return file; }
+        public long getRecords() { return records; }
+        /** Size of the part file, including its header */
+        public long getBytes() { return bytes; }
+        public long getOffset() { return offset; }
+    }
+
+    // Manifest layout; field names are the JSON keys
+    private static final class Manifest {
+        String object;
+        long partBytes;
+        long headerBytes;
+        long recordCount;
+        long byteCount;
+        List<Part> parts;
+    }
+
+    private final Path directory;
+    private final Manifest manifest;
+
+    private CsvPartSet(Path directory, Manifest manifest) {
+        this.directory = directory;
+        this.manifest = manifest;
+    }
+
+    public static Path directory(Path folder, String objectName) {
+        return folder.resolve(objectName);
+    }
+
+    static String partFileName(int index) {
+        return String.format("part-%05d.csv", index);
+    }
+
+    /**
+     * Whether the object has a part set in the folder
+     */
+    public static boolean exists(Path folder, String objectName) {
+        return Files.isRegularFile(directory(folder, objectName).resolve(MANIFEST_FILE));
+    }
+
+    /**
+     * Load an object's part set
+     */
+    public static CsvPartSet load(Path folder, String objectName) throws IOException {
+        Path directory = directory(folder, objectName);
+        try (Reader reader = Files.newBufferedReader(directory.resolve(MANIFEST_FILE), StandardCharsets.UTF_8)) {
+            Manifest manifest = gson.fromJson(reader, Manifest.class);
+            if (manifest == null || manifest.parts == null) {
+                throw new IOException("Invalid part manifest for " + objectName);
+            }
+            return new CsvPartSet(directory, manifest);
+        }
+    }
+
+    static void writeManifest(Path directory, String objectName, long partBytes, long headerBytes,
+                              List<Part> parts) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.object = objectName;
+        manifest.partBytes = partBytes;
+        manifest.headerBytes = headerBytes;
+        manifest.parts = new ArrayList<>(parts);
+        long offset = headerBytes;
+        for (Part part : manifest.parts) {
+            part.offset = offset;
+            offset += part.bytes - headerBytes;
+            manifest.recordCount += part.records;
+        }
+        manifest.byteCount = parts.isEmpty() ? 0 : offset;
+        Files.write(directory.resolve(MANIFEST_FILE), gson.toJson(manifest).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recompute part sizes and byte ranges after the parts were rewritten in place,
+     * e.g. with a column added; record counts are kept
+     */
+    public static void refreshManifest(Path folder, String objectName) throws IOException {
+        CsvPartSet partSet = load(folder, objectName);
+        List<Path> paths = partSet.getPartPaths();
+        List<Part> parts = new ArrayList<>();
+        for (int i = 0; i < paths.size(); i++) {
+            Part part = partSet.manifest.parts.get(i);
+            parts.add(new Part(part.file, part.records, Files.size(paths.get(i))));
+        }
+        long headerBytes = paths.isEmpty() ? 0 : headerBytes(paths.get(0));
+        writeManifest(partSet.directory, objectName, partSet.manifest.partBytes, headerBytes, parts);
+    }
+
+    private static long headerBytes(Path part) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(part, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            return header != null ? header.getBytes(StandardCharsets.UTF_8).length + 1 : 0;
+        }
+    }
+
+    public String getObjectName() {
+        return manifest.object;
+    }
+
+    public List<Part> getParts() {
+        return Collections.unmodifiableList(manifest.parts);
+    }
+
+    /**
+     * Paths of the part files, in order
+     */
+    public List<Path> getPartPaths() {
+        return manifest.parts.stream().map(part -> directory.resolve(part.file)).collect(Collectors.toList());
+    }
+
+    public long getRecordCount() {
+        return manifest.recordCount;
+    }
+
+    /**
+     * Size of the logical file: one header plus every part's records
+     */
+    public long getByteCount() {
+        return manifest.byteCount;
+    }
+
+    /**
+     * Read the parts as one CSV with a single header
+     */
+    public Reader openReader() {
+        return new PartsReader(getPartPaths());
+    }
+
+    /**
+     * Whether the object has a CSV in the folder, as one file or as parts
+     */
+    public static boolean hasCsv(Path folder, String objectName) {
+        return exists(folder, objectName) || Files.isRegularFile(folder.resolve(objectName + ".csv"));
+    }
+
+    /**
+     * The object's CSV files: its parts in order, or its single file (empty if it has neither).
+     * Each is a complete CSV with a header.
+     */
+    public static List<Path> csvFiles(Path folder, String objectName) throws IOException {
+        if (exists(folder, objectName)) {
+            return load(folder, objectName).getPartPaths();
+        }
+        Path single = folder.resolve(objectName + ".csv");
+        return Files.isRegularFile(single) ? Collections.singletonList(single) : Collections.emptyList();
+    }
+
+    /**
+     * Total size of the object's CSV files on disk
+     */
+    public static long csvSize(Path folder, String objectName) throws IOException {
+        long size = 0;
+        for (Path file : csvFiles(folder, objectName)) {
+            size += Files.size(file);
+        }
+        return size;
+    }
+
+    /**
+     * Open the object's CSV as one logical file, in either layout
+     */
+    public static Reader openCsv(Path folder, String objectName) throws IOException {
+        if (exists(folder, objectName)) {
+            return load(folder, objectName).openReader();
+        }
+        return Files.newBufferedReader(folder.resolve(objectName + ".csv"), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Objects stored as part sets in the folder, by name
+     */
+    public static List<String> listObjects(Path folder) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> entries = Files.list(folder)) {
+            return entries.filter(entry -> Files.isRegularFile(entry.resolve(MANIFEST_FILE)))
+                .map(entry -> entry.getFileName().toString())
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Delete the object's part set, if it has one
+     */
+    public static void delete(Path folder, String objectName) throws IOException {
+        Path directory = directory(folder, objectName);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(directory, "part-*.csv")) {
+            for (Path part : parts) {
+                Files.delete(part);
+            }
+        }
+        Files.deleteIfExists(directory.resolve(MANIFEST_FILE));
+        try (Stream<Path> rest = Files.list(directory)) {
+            if (!rest.findAny().isPresent()) {
+                Files.delete(directory);
+            }
+        }
+    }
+
+    /**
+     * Reads part files one after another, skipping the header of every part but the first
+     */
+    private static final class PartsReader extends Reader {
+        private final List<Path> parts;
+        private int next;
+        private BufferedReader current;
+
+        PartsReader(List<Path> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                if (current == null) {
+                    if (next >= parts.size()) {
+                        return -1;
+                    }
+                    current = Files.newBufferedReader(parts.get(next), StandardCharsets.UTF_8);
+                    if (next > 0) {
+                        // Headers are field names, so the header ends at the first line break
+                        int c;
+                        do {
+                            c = current.read();
+                        } while (c != '\n' && c != -1);
+                    }
+                    next++;
+                }
+                int read = current.read(cbuf, off, len);
+                if (read > 0) {
+                    return read;
+                }
+                current.close();
+                current = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+            next = parts.size();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.backupforce.bulkv2;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes an object's CSV as a {@link CsvPartSet}: {@code <Object>/part-00000.csv}, ...
+ *
+ * Takes the text of one CSV (header, then records) and starts a new part at the first record
+ * boundary after a part reaches the target size, so no record is split across parts. Every
+ * part starts with the header. Record boundaries are found by tracking quotes, so line breaks
+ * inside quoted values don't end a record. The manifest is written on close.
+ *
+ * {@link #mark()} and {@link #reset(Mark)} rewind to an earlier position, e.g. to rewrite a
+ * result page whose download is retried.
+ */
+public final class CsvPartWriter extends Writer {
+
+    private final Path directory;
+    private final String objectName;
+    private final long partBytes;
+    private final List<CsvPartSet.Part> parts = new ArrayList<>();
+    private final StringBuilder header = new StringBuilder();
+    private boolean headerDone;
+    private long headerBytes;
+    private boolean inQuotes;
+    private boolean recordOpen;
+    private Writer current;
+    private long currentBytes;
+    private long currentRecords;
+    private int partsOpened;
+    private boolean closed;
+
+    /**
+     * Position to {@link #reset(Mark)} to
+     */
+    public static final class Mark {
+        private final int partCount;
+        private final boolean open;
+        private final long bytes;
+        private final long records;
+        private final boolean inQuotes;
+        private final boolean recordOpen;
+        private final boolean headerDone;
+        private final int headerLength;
+        private final long headerBytes;
+
+        private Mark(CsvPartWriter writer) {
+            this.partCount = writer.parts.size();
+            this.open = writer.current != null;
+            this.bytes = writer.currentBytes;
+            this.records = writer.currentRecords;
+            this.inQuotes = writer.inQuotes;
+            this.recordOpen = writer.recordOpen;
+            this.headerDone = writer.headerDone;
+            this.headerLength = writer.header.length();
+            this.headerBytes = writer.headerBytes;
+        }
+    }
+
+    /**
+     * Start a part set in {@code folder}, replacing one an earlier backup left there
+     * @param partBytes Size after which the next record starts a new part
+     */
+    public CsvPartWriter(Path folder, String objectName, long partBytes) throws IOException {
+        if (partBytes < 1) {
+            throw new IllegalArgumentException("partBytes must be positive: " + partBytes);
+        }
+        this.directory = CsvPartSet.directory(folder, objectName);
+        this.objectName = objectName;
+        this.partBytes = partBytes;
+        CsvPartSet.delete(folder, objectName);
+        Files.createDirectories(directory);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        int start = off;
+        int end = off + len;
+        for (int i = off; i < end; i++) {
+            char c = cbuf[i];
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == '\n' && !inQuotes) {
+                append(cbuf, start, i + 1 - start);
+                endRecord();
+                start = i + 1;
+            }
+        }
+        append(cbuf, start, end - start);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        write(str.toCharArray(), off, len);
+    }
+
+    private void append(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return;
+        }
+        if (current == null) {
+            openPart();
+        }
+        current.write(cbuf, off, len);
+        currentBytes += utf8Length(cbuf, off, len);
+        recordOpen = true;
+        if (!headerDone) {
+            header.append(cbuf, off, len);
+        }
+    }
+
+    private void endRecord() throws IOException {
+        recordOpen = false;
+        if (!headerDone) {
+            headerDone = true;
+            headerBytes = currentBytes;
+            return;
+        }
+        currentRecords++;
+        if (currentBytes >= partBytes) {
+            // The next record opens a new part, so there is never an empty last part
+            closePart();
+        }
+    }
+
+    private void openPart() throws IOException {
+        current = new BufferedWriter(new OutputStreamWriter(
+            new FileOutputStream(partPath(parts.size()).toFile()), StandardCharsets.UTF_8));
+        partsOpened = Math.max(partsOpened, parts.size() + 1);
+        currentBytes = 0;
+        currentRecords = 0;
+        if (headerDone) {
+            current.write(header.toString());
+            currentBytes = headerBytes;
+        }
+    }
+
+    private void closePart() throws IOException {
+        current.close();
+        current = null;
+        parts.add(new CsvPartSet.Part(CsvPartSet.partFileName(parts.size()), currentRecords, currentBytes));
+        currentRecords = 0;
+    }
+
+    private Path partPath(int index) {
+        return directory.resolve(CsvPartSet.partFileName(index));
+    }
+
+    /**
+     * The current position, flushed to disk
+     */
+    public Mark mark() throws IOException {
+        ensureOpen();
+        if (current != null) {
+            current.flush();
+        }
+        return new Mark(this);
+    }
+
+    /**
+     * Go back to a marked position, discarding everything written since
+     */
+    public void reset(Mark mark) throws IOException {
+        ensureOpen();
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+        int firstDiscarded = mark.open ? mark.partCount + 1 : mark.partCount;
+        for (int index = firstDiscarded; index < partsOpened; index++) {
+            Files.deleteIfExists(partPath(index));
+        }
+        partsOpened = firstDiscarded;
+        while (parts.size() > mark.partCount) {
+            parts.remove(parts.size() - 1);
+        }
+        if (mark.open) {
+            Path path = partPath(mark.partCount);
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                file.setLength(mark.bytes);
+            }
+            current = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(path.toFile(), true), StandardCharsets.UTF_8));
+        }
+        currentBytes = mark.bytes;
+        currentRecords = mark.records;
+        inQuotes = mark.inQuotes;
+        recordOpen = mark.recordOpen;
+        headerDone = mark.headerDone;
+        header.setLength(mark.headerLength);
+        headerBytes = mark.headerBytes;
+    }
+
+    /**
+     * Records written so far, not counting the header
+     */
+    public long getRecordCount() {
+        return parts.stream().mapToLong(CsvPartSet.Part::getRecords).sum() + currentRecords
+            + (recordOpen && headerDone ? 1 : 0);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (current != null) {
+            current.flush();
+        }
+    }
+
+    /**
+     * Finish the last part and write the manifest
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (recordOpen) {
+            // Input that doesn't end with a line break
+            endRecord();
+        }
+        if (current != null) {
+            closePart();
+        }
+        closed = true;
+        CsvPartSet.writeManifest(directory, objectName, partBytes, headerBytes, parts);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Part writer for " + objectName + " is closed");
+        }
+    }
+
+    private static long utf8Length(char[] cbuf, int off, int len) {
+        long bytes = 0;
+        for (int i = off; i < off + len; i++) {
+            char c = cbuf[i];
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isSurrogate(c)) {
+                // A surrogate pair is 4 bytes
+                bytes += 2;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,103 @@
+package com.backupforce.bulkv2;
+
+import com.google.gson.JsonObject;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Named extraction profiles that control which describe fields are pulled by Bulk queries.
+ *
+ * Formula and roll-up summary fields are computed by Salesforce at query time, which makes
+ * Bulk jobs much slower, and their values can be recomputed after a restore anyway.
+ * The lean profiles drop them; the skip-empty profile also drops fields that a previous
+ * full run found to be empty in every record.
+ *
+ * Profiles only apply to the "all fields" case - an explicit field selection is always honored.
+ */
+public enum ExtractionProfile {
+    FULL("Full - all fields", false, false),
+    LEAN("Lean - skip formula and roll-up fields", true, false),
+    LEAN_SKIP_EMPTY("Lean - also skip always-empty fields", true, true);
+
+    public static final String REASON_FORMULA = "formula";
+    public static final String REASON_ROLLUP = "roll-up summary";
+    public static final String REASON_EMPTY = "always empty";
+
+    // Needed for incremental backups, restore and verification - never excluded
+    private static final Set<String> ALWAYS_INCLUDED = Collections.unmodifiableSet(new HashSet<>(
+        Arrays.asList("Id", "LastModifiedDate", "SystemModstamp", "CreatedDate")));
+
+    private final String displayName;
+    private final boolean excludeCalculated;
+    private final boolean excludeEmpty;
+
+    ExtractionProfile(String displayName, boolean excludeCalculated, boolean excludeEmpty) {
+        this.displayName = displayName;
+        this.excludeCalculated = excludeCalculated;
+        this.excludeEmpty = excludeEmpty;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public boolean excludesCalculatedFields() {
+        return excludeCalculated;
+    }
+
+    public boolean excludesEmptyFields() {
+        return excludeEmpty;
+    }
+
+    /**
+     * Decide whether a describe field is excluded by this profile.
+     *
+     * @param field Field metadata from the describe call
+     * @param knownEmptyFields Fields a previous run found to be always empty (may be null)
+     * @return The exclusion reason, or null when the field should be queried
+     */
+    public String exclusionReason(JsonObject field, Set<String> knownEmptyFields) {
+        String name = field.get("name").getAsString();
+        if (ALWAYS_INCLUDED.contains(name)) {
+            return null;
+        }
+
+        if (excludeCalculated && isTrue(field, "calculated")) {
+            // Formula fields carry their formula; roll-up summaries are calculated without one
+            boolean hasFormula = field.has("calculatedFormula") && !field.get("calculatedFormula").isJsonNull();
+            return hasFormula ? REASON_FORMULA : REASON_ROLLUP;
+        }
+
+        if (excludeEmpty && knownEmptyFields != null && knownEmptyFields.contains(name)) {
+            return REASON_EMPTY;
+        }
+
+        return null;
+    }
+
+    /**
+     * Look up a profile by enum name or display name, defaulting to FULL.
+     */
+    public static ExtractionProfile fromString(String value) {
+        if (value != null) {
+            for (ExtractionProfile profile : values()) {
+                if (profile.name().equalsIgnoreCase(value) || profile.displayName.equals(value)) {
+                    return profile;
+                }
+            }
+        }
+        return FULL;
+    }
+
+    private static boolean isTrue(JsonObject field, String property) {
+        return field.has(property) && !field.get(property).isJsonNull() && field.get(property).getAsBoolean();
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,452 @@
+package com.backupforce.bulkv2;
+
+import com.google.gson.JsonObject;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.csv.QuoteMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Splits very wide objects into vertical field groups and joins the results back together.
+ *
+ * Objects with hundreds of custom fields produce huge SOQL strings and rows that slow down
+ * Bulk API processing (and occasionally exceed the SOQL length limit). In wide-object mode
+ * the field list is split into groups that each include Id, every group is queried as its own
+ * Bulk job, and the group CSVs are merged back into one file with a streaming merge-join on Id.
+ * Group results that are not ordered by Id are put through an external sort first, so memory
+ * use stays bounded regardless of object size.
+ */
+public class WideObjectSplitter {
+    private static final Logger logger = LoggerFactory.getLogger(WideObjectSplitter.class);
+
+    public static final String ID_FIELD = "Id";
+
+    // Split thresholds - an object is queried in groups when any of these is exceeded
+    public static final int DEFAULT_MAX_FIELDS = 500;
+    public static final int DEFAULT_MAX_ROW_WIDTH = 256 * 1024;     // Estimated bytes per row
+    public static final int DEFAULT_MAX_FIELD_LIST_CHARS = 80_000;  // SOQL statements are limited to 100,000 chars
+
+    // Per-group limits used when splitting
+    public static final int DEFAULT_GROUP_MAX_FIELDS = 250;
+    public static final int DEFAULT_GROUP_MAX_ROW_WIDTH = 96 * 1024;
+    public static final int DEFAULT_GROUP_MAX_FIELD_LIST_CHARS = 30_000;
+
+    // Long text areas are usually sparse, so cap their contribution to the row estimate
+    private static final int MAX_FIELD_WIDTH_ESTIMATE = 32 * 1024;
+
+    // Characters buffered in memory per sorted run during the external sort
+    private static final long DEFAULT_SORT_BUFFER_CHARS = 64L * 1024 * 1024;
+
+    // Same layout as Bulk API 2.0 results: every value quoted, LF line endings
+    private static final CSVFormat OUTPUT_FORMAT = CSVFormat.DEFAULT.builder()
+        .setQuoteMode(QuoteMode.ALL)
+        .setRecordSeparator("\n")
+        .build();
+
+    private final int maxFields;
+    private final int maxRowWidth;
+    private final int groupMaxFields;
+    private final int groupMaxRowWidth;
+    private final long sortBufferChars;
+
+    public WideObjectSplitter() {
+        this(DEFAULT_MAX_FIELDS, DEFAULT_MAX_ROW_WIDTH, DEFAULT_GROUP_MAX_FIELDS,
+             DEFAULT_GROUP_MAX_ROW_WIDTH, DEFAULT_SORT_BUFFER_CHARS);
+    }
+
+    /**
+     * @param maxFields Field count above which an object is split
+     * @param maxRowWidth Estimated row width (bytes) above which an object is split
+     * @param groupMaxFields Maximum fields per group (including Id)
+     * @param groupMaxRowWidth Maximum estimated row width per group
+     * @param sortBufferChars Characters held in memory per sorted run during external sort
+     */
+    public WideObjectSplitter(int maxFields, int maxRowWidth, int groupMaxFields,
+                              int groupMaxRowWidth, long sortBufferChars) {
+        this.maxFields = maxFields;
+        this.maxRowWidth = maxRowWidth;
+        this.groupMaxFields = Math.max(2, groupMaxFields);
+        this.groupMaxRowWidth = groupMaxRowWidth;
+        this.sortBufferChars = sortBufferChars;
+    }
+
+    /**
+     * Estimate the CSV width of a field from its describe metadata.
+     */
+    public static int estimateFieldWidth(JsonObject field) {
+        String type = field.has("type") ? field.get("type").getAsString() : "";
+        int length = field.has("length") && !field.get("length").isJsonNull() ? field.get("length").getAsInt() : 0;
+
+        switch (type) {
+            case "boolean":
+                return 5;
+            case "int":
+                return 11;
+            case "double":
+            case "currency":
+            case "percent":
+                return 20;
+            case "date":
+                return 10;
+            case "datetime":
+            case "time":
+                return 24;
+            case "id":
+            case "reference":
+                return 18;
+            default:
+                return Math.min(Math.max(length, 16), MAX_FIELD_WIDTH_ESTIMATE);
+        }
+    }
+
+    /**
+     * Check whether an object with these fields should be queried in groups.
+     *
+     * @param fields Field names in query order
+     * @param fieldWidths Estimated width per field (missing entries use a small default)
+     */
+    public boolean shouldSplit(List<String> fields, Map<String, Integer> fieldWidths) {
+        if (fields.size() > maxFields) {
+            return true;
+        }
+        if (estimateRowWidth(fields, fieldWidths) > maxRowWidth) {
+            return true;
+        }
+        return fieldListLength(fields) > DEFAULT_MAX_FIELD_LIST_CHARS;
+    }
+
+    /**
+     * Split fields into groups that each start with Id and stay under the per-group limits.
+     * Field order is preserved so the merged CSV keeps the original column order.
+     * Returns a single group when the object is not wide enough to split.
+     */
+    public List<List<String>> planFieldGroups(List<String> fields, Map<String, Integer> fieldWidths) {
+        if (!shouldSplit(fields, fieldWidths)) {
+            return Collections.singletonList(new ArrayList<>(fields));
+        }
+
+        List<List<String>> groups = new ArrayList<>();
+        List<String> current = newGroup();
+        long currentWidth = widthOf(ID_FIELD, fieldWidths);
+        int currentChars = ID_FIELD.length();
+
+        for (String field : fields) {
+            if (field.equalsIgnoreCase(ID_FIELD)) {
+                continue;
+            }
+            int width = widthOf(field, fieldWidths);
+            boolean full = current.size() >= groupMaxFields
+                || (current.size() > 1 && currentWidth + width > groupMaxRowWidth)
+                || (current.size() > 1 && currentChars + field.length() + 2 > DEFAULT_GROUP_MAX_FIELD_LIST_CHARS);
+            if (full) {
+                groups.add(current);
+                current = newGroup();
+                currentWidth = widthOf(ID_FIELD, fieldWidths);
+                currentChars = ID_FIELD.length();
+            }
+            current.add(field);
+            currentWidth += width;
+            currentChars += field.length() + 2;
+        }
+        if (current.size() > 1 || groups.isEmpty()) {
+            groups.add(current);
+        }
+
+        logger.info("Split {} fields into {} field groups (estimated row width {} bytes)",
+            fields.size(), groups.size(), estimateRowWidth(fields, fieldWidths));
+        return groups;
+    }
+
+    /**
+     * Merge group CSVs into one CSV using a streaming merge-join on Id.
+     * Groups that are not sorted by Id are externally sorted into workDir first.
+     * Records missing from a group (e.g. inserted or deleted between jobs) get empty values
+     * for that group's columns.
+     *
+     * @return Number of records written
+     */
+    public long mergeOnId(List<Path> groupFiles, Path outputFile, Path workDir) throws IOException {
+        Files.createDirectories(workDir);
+
+        List<Path> sortedFiles = new ArrayList<>();
+        for (int i = 0; i < groupFiles.size(); i++) {
+            Path groupFile = groupFiles.get(i);
+            if (isSortedById(groupFile)) {
+                sortedFiles.add(groupFile);
+            } else {
+                logger.info("Field group {} is not ordered by Id - running external sort", i + 1);
+                Path sorted = workDir.resolve("sorted-" + i + ".csv");
+                externalSortById(groupFile, sorted, workDir);
+                sortedFiles.add(sorted);
+            }
+        }
+
+        return mergeSorted(sortedFiles, outputFile);
+    }
+
+    /**
+     * Check whether a CSV is ordered by its Id column.
+     */
+    public boolean isSortedById(Path csvFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+             CSVParser parser = newParser(reader)) {
+            int idIndex = idColumnIndex(parser.getHeaderNames(), csvFile);
+            String previous = null;
+            for (CSVRecord record : parser) {
+                String id = record.get(idIndex);
+                if (previous != null && previous.compareTo(id) > 0) {
+                    return false;
+                }
+                previous = id;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sort a CSV by Id using bounded memory: sorted runs are spilled to disk
+     * and then combined with a k-way merge.
+     */
+    public void externalSortById(Path inputFile, Path outputFile, Path workDir) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        List<String> headers;
+        int idIndex;
+
+        try (BufferedReader reader = Files.newBufferedReader(inputFile, StandardCharsets.UTF_8);
+             CSVParser parser = newParser(reader)) {
+            headers = parser.getHeaderNames();
+            idIndex = idColumnIndex(headers, inputFile);
+
+            List<String[]> buffer = new ArrayList<>();
+            long bufferedChars = 0;
+            for (CSVRecord record : parser) {
+                String[] values = record.values();
+                buffer.add(values);
+                for (String value : values) {
+                    bufferedChars += value.length();
+                }
+                if (bufferedChars >= sortBufferChars) {
+                    runs.add(writeSortedRun(buffer, headers, idIndex, workDir, runs.size()));
+                    buffer.clear();
+                    bufferedChars = 0;
+                }
+            }
+            if (!buffer.isEmpty() || runs.isEmpty()) {
+                runs.add(writeSortedRun(buffer, headers, idIndex, workDir, runs.size()));
+            }
+        }
+
+        if (runs.size() == 1) {
+            Files.move(runs.get(0), outputFile, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+
+        logger.debug("Merging {} sorted runs for {}", runs.size(), inputFile.getFileName());
+        List<CSVParser> parsers = new ArrayList<>();
+        try (BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8);
+             CSVPrinter printer = new CSVPrinter(writer, OUTPUT_FORMAT)) {
+            printer.printRecord(headers);
+
+            PriorityQueue<RunCursor> queue = new PriorityQueue<>(
+                Comparator.comparing((RunCursor c) -> c.current[idIndex]));
+            for (Path run : runs) {
+                CSVParser runParser = newParser(Files.newBufferedReader(run, StandardCharsets.UTF_8));
+                parsers.add(runParser);
+                RunCursor cursor = new RunCursor(runParser.iterator());
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                RunCursor cursor = queue.poll();
+                printer.printRecord((Object[]) cursor.current);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        } finally {
+            for (CSVParser runParser : parsers) {
+                try { runParser.close(); } catch (IOException ignored) {}
+            }
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    private Path writeSortedRun(List<String[]> buffer, List<String> headers, int idIndex,
+                                Path workDir, int runNumber) throws IOException {
+        buffer.sort(Comparator.comparing(values -> values[idIndex]));
+        Path run = Files.createTempFile(workDir, "run-" + runNumber + "-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(run, StandardCharsets.UTF_8);
+             CSVPrinter printer = new CSVPrinter(writer, OUTPUT_FORMAT)) {
+            printer.printRecord(headers);
+            for (String[] values : buffer) {
+                printer.printRecord((Object[]) values);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Full outer merge-join of Id-sorted group files. Output columns are Id followed by
+     * each group's remaining columns in group order.
+     */
+    private long mergeSorted(List<Path> sortedFiles, Path outputFile) throws IOException {
+        List<CSVParser> parsers = new ArrayList<>();
+        long recordCount = 0;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8);
+             CSVPrinter printer = new CSVPrinter(writer, OUTPUT_FORMAT)) {
+
+            List<GroupCursor> cursors = new ArrayList<>();
+            List<String> outputHeaders = new ArrayList<>();
+            outputHeaders.add(ID_FIELD);
+
+            for (Path file : sortedFiles) {
+                CSVParser parser = newParser(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+                parsers.add(parser);
+                List<String> headers = parser.getHeaderNames();
+                int idIndex = idColumnIndex(headers, file);
+                GroupCursor cursor = new GroupCursor(parser.iterator(), idIndex, headers.size());
+                for (int i = 0; i < headers.size(); i++) {
+                    if (i != idIndex) {
+                        outputHeaders.add(headers.get(i));
+                    }
+                }
+                cursor.advance();
+                cursors.add(cursor);
+            }
+            printer.printRecord(outputHeaders);
+
+            List<String> row = new ArrayList<>(outputHeaders.size());
+            while (true) {
+                String minId = null;
+                for (GroupCursor cursor : cursors) {
+                    if (cursor.current != null && (minId == null || cursor.currentId().compareTo(minId) < 0)) {
+                        minId = cursor.currentId();
+                    }
+                }
+                if (minId == null) {
+                    break;
+                }
+
+                row.clear();
+                row.add(minId);
+                for (GroupCursor cursor : cursors) {
+                    boolean matches = cursor.current != null && cursor.currentId().equals(minId);
+                    for (int i = 0; i < cursor.width; i++) {
+                        if (i != cursor.idIndex) {
+                            row.add(matches && i < cursor.current.length ? cursor.current[i] : "");
+                        }
+                    }
+                    if (matches) {
+                        cursor.advance();
+                    }
+                }
+                printer.printRecord(row);
+                recordCount++;
+            }
+        } finally {
+            for (CSVParser parser : parsers) {
+                try { parser.close(); } catch (IOException ignored) {}
+            }
+        }
+
+        logger.info("Merged {} field groups into {} ({} records)", sortedFiles.size(), outputFile.getFileName(), recordCount);
+        return recordCount;
+    }
+
+    private List<String> newGroup() {
+        List<String> group = new ArrayList<>();
+        group.add(ID_FIELD);
+        return group;
+    }
+
+    private int widthOf(String field, Map<String, Integer> fieldWidths) {
+        Integer width = fieldWidths != null ? fieldWidths.get(field) : null;
+        return width != null ? width : 32;
+    }
+
+    private long estimateRowWidth(List<String> fields, Map<String, Integer> fieldWidths) {
+        long width = 0;
+        for (String field : fields) {
+            width += widthOf(field, fieldWidths);
+        }
+        return width;
+    }
+
+    private static int fieldListLength(List<String> fields) {
+        int length = 0;
+        for (String field : fields) {
+            length += field.length() + 2;
+        }
+        return length;
+    }
+
+    private static CSVParser newParser(java.io.Reader reader) throws IOException {
+        return CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(reader);
+    }
+
+    private static int idColumnIndex(List<String> headers, Path file) throws IOException {
+        for (int i = 0; i < headers.size(); i++) {
+            if (headers.get(i).equalsIgnoreCase(ID_FIELD)) {
+                return i;
+            }
+        }
+        throw new IOException("No Id column in field group file " + file.getFileName());
+    }
+
+    /**
+     * Read position within one sorted run of the external sort
+     */
+    private static class RunCursor {
+        private final Iterator<CSVRecord> records;
+        private String[] current;
+
+        RunCursor(Iterator<CSVRecord> records) {
+            this.records = records;
+        }
+
+        boolean advance() {
+            current = records.hasNext() ? records.next().values() : null;
+            return current != null;
+        }
+    }
+
+    /**
+     * Read position within one field group during the merge-join
+     */
+    private static class GroupCursor {
+        private final Iterator<CSVRecord> records;
+        private final int idIndex;
+        private final int width;
+        private String[] current;
+
+        GroupCursor(Iterator<CSVRecord> records, int idIndex, int width) {
+            this.records = records;
+            this.idIndex = idIndex;
+            this.width = width;
+        }
+
+        void advance() {
+            current = records.hasNext() ? records.next().values() : null;
+        }
+
+        String currentId() {
+            return current[idIndex];
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -149,6 +150,9 @@ public class BackupHistory {
         private String lastModifiedDate; // For incremental backup tracking
         private String errorMessage;
         private long durationMs;
+        private boolean filtered; // Query was filtered (incremental, WHERE, limit): recordCount is only part of the object
+        private List<String> emptyFields; // Fields never populated in the last full scan (skip-empty profile)
+        private String emptyFieldsCheckedAt; // When emptyFields were collected (ISO local date-time)
         
         public ObjectBackupResult() {}
         
@@ -177,6 +181,31 @@ public class BackupHistory {
         
         public long getDurationMs() { return durationMs; }
         public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+        
+        public boolean isFiltered() { return filtered; }
+        public void setFiltered(boolean filtered) { this.filtered = filtered; }
+        
+        public List<String> getEmptyFields() { return emptyFields; }
+        public void setEmptyFields(List<String> emptyFields) { this.emptyFields = emptyFields; }
+        
+        public String getEmptyFieldsCheckedAt() { return emptyFieldsCheckedAt; }
+        public void setEmptyFieldsCheckedAt(String emptyFieldsCheckedAt) { this.emptyFieldsCheckedAt = emptyFieldsCheckedAt; }
+        
+        /**
+         * Check whether the empty-field scan is recent enough to skip those fields again.
+         * Stale scans force a full query so newly populated fields are picked up.
+         */
+        public boolean hasFreshEmptyFields(Duration maxAge) {
+            if (emptyFields == null || emptyFieldsCheckedAt == null) {
+                return false;
+            }
+            try {
+                LocalDateTime checkedAt = LocalDateTime.parse(emptyFieldsCheckedAt);
+                return checkedAt.plus(maxAge).isAfter(LocalDateTime.now());
+            } catch (Exception e) {
+                return false;
+            }
+        }
     }
     
     private BackupHistory() {
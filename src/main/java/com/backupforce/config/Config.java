@@ -45,6 +45,13 @@ public class Config {
         return new HashSet<>(Arrays.asList(exclude.toLowerCase().split(",")));
     }
 
+    /**
+     * Size of the parts each object's CSV is split into, 0 to write one file per object
+     */
+    public long getCsvPartBytes() {
+        return Long.parseLong(getProperty("backup.csvPartMb", "0")) * 1024 * 1024;
+    }
+
     public int getConnectionTimeout() {
         return Integer.parseInt(getProperty("http.connectionTimeoutSecs", "60"));
     }
@@ -18,6 +18,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -43,16 +44,29 @@ public class ConnectionManager {
     private final Map<String, CachedSession> sessionCache = new ConcurrentHashMap<>();
     
     /**
-     * Cached database session with timestamp
+     * Cached database session with timestamp. Sessions opened with a password also keep
+     * the credentials, so more connections can be opened for concurrent writes without
+     * asking again.
      */
     public static class CachedSession {
         private final Connection connection;
         private final long createdAt;
         private final String connectionId;
+        private final String jdbcUrl;
+        private final String username;
+        private final String password;
         
         public CachedSession(String connectionId, Connection connection) {
+            this(connectionId, connection, null, null, null);
+        }
+        
+        public CachedSession(String connectionId, Connection connection,
+                             String jdbcUrl, String username, String password) {
             this.connectionId = connectionId;
             this.connection = connection;
+            this.jdbcUrl = jdbcUrl;
+            this.username = username;
+            this.password = password;
             this.createdAt = System.currentTimeMillis();
         }
         
@@ -60,6 +74,24 @@ public class ConnectionManager {
         public long getCreatedAt() { return createdAt; }
         public String getConnectionId() { return connectionId; }
         
+        /**
+         * Whether {@link #openConnection()} can open more connections (false for SSO
+         * sessions, which would need another browser login)
+         */
+        public boolean canOpenConnections() {
+            return jdbcUrl != null;
+        }
+        
+        /**
+         * Open another connection with this session's credentials
+         */
+        public Connection openConnection() throws SQLException {
+            if (jdbcUrl == null) {
+                throw new SQLException("Session " + connectionId + " has no stored credentials");
+            }
+            return DriverManager.getConnection(jdbcUrl, username, password);
+        }
+        
         public boolean isValid() {
             try {
                 return connection != null && !connection.isClosed() && 
@@ -230,13 +262,25 @@ public class ConnectionManager {
      * Cache a database session for a connection
      */
     public void cacheSession(String connectionId, Connection connection) {
+        cacheSession(new CachedSession(connectionId, connection));
+    }
+    
+    /**
+     * Cache a database session along with the credentials it was opened with
+     */
+    public void cacheSession(String connectionId, Connection connection,
+                             String jdbcUrl, String username, String password) {
+        cacheSession(new CachedSession(connectionId, connection, jdbcUrl, username, password));
+    }
+    
+    private void cacheSession(CachedSession session) {
+        String connectionId = session.getConnectionId();
         // Close any existing session first
         CachedSession existing = sessionCache.get(connectionId);
         if (existing != null) {
             existing.close();
         }
         
-        CachedSession session = new CachedSession(connectionId, connection);
         sessionCache.put(connectionId, session);
         logger.info("Cached database session for connection: {}", connectionId);
     }
@@ -379,6 +423,11 @@ public class ConnectionManager {
         private boolean encrypted;
         private boolean recreateTables;
         private boolean skipMatchingCounts;
+        private boolean mergeMode;
+        private boolean keepHistory;
+        private boolean skipUnchangedRows;
+        private boolean partitionByBackupTime;
+        private int retentionDays;
         private long lastUsed;
         private Map<String, String> additionalProps;
         
@@ -451,6 +500,21 @@ public class ConnectionManager {
         public boolean isSkipMatchingCounts() { return skipMatchingCounts; }
         public void setSkipMatchingCounts(boolean skipMatchingCounts) { this.skipMatchingCounts = skipMatchingCounts; }
         
+        public boolean isMergeMode() { return mergeMode; }
+        public void setMergeMode(boolean mergeMode) { this.mergeMode = mergeMode; }
+        
+        public boolean isKeepHistory() { return keepHistory; }
+        public void setKeepHistory(boolean keepHistory) { this.keepHistory = keepHistory; }
+        
+        public boolean isSkipUnchangedRows() { return skipUnchangedRows; }
+        public void setSkipUnchangedRows(boolean skipUnchangedRows) { this.skipUnchangedRows = skipUnchangedRows; }
+        
+        public boolean isPartitionByBackupTime() { return partitionByBackupTime; }
+        public void setPartitionByBackupTime(boolean partitionByBackupTime) { this.partitionByBackupTime = partitionByBackupTime; }
+        
+        public int getRetentionDays() { return retentionDays; }
+        public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+        
         public boolean isEncrypted() { return encrypted; }
         public void setEncrypted(boolean encrypted) { this.encrypted = encrypted; }
         
@@ -54,13 +54,23 @@ public class JdbcHelper {
                 
             case "MySQL":
                 int myPort = portStr != null && !portStr.isEmpty() ? Integer.parseInt(portStr) : 3306;
-                return String.format("jdbc:mysql://%s:%d/%s", host, myPort, database);
+                return buildMySqlUrl(host, myPort, database);
                 
             default:
                 throw new IllegalArgumentException("Unsupported database type: " + type);
         }
     }
     
+    /**
+     * Build a MySQL/MariaDB JDBC URL. Connections cached from it are reused by the database
+     * sink, so the URL carries the properties its bulk writes need: batches sent as multi-row
+     * INSERTs, and LOAD DATA LOCAL INFILE from the sink's own streams.
+     */
+    public static String buildMySqlUrl(String host, int port, String database) {
+        return String.format("jdbc:mysql://%s:%d/%s?rewriteBatchedStatements=true&allowLoadLocalInfile=true",
+            host, port, database);
+    }
+    
     /**
      * Quote an identifier (table/column name) based on saved connection.
      * 
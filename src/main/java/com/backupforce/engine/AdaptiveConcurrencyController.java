@@ -0,0 +1,321 @@
+package com.backupforce.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD (additive increase, multiplicative decrease) controller for worker pool sizes.
+ *
+ * Concurrency grows by one after each window of completions in which throughput held up
+ * and no throttling was seen. It is halved on rate-limit errors (HTTP 429,
+ * REQUEST_LIMIT_EXCEEDED, concurrent job limits, row lock contention) and when heap usage
+ * crosses a threshold. If throughput drops right after an increase, the increase is undone.
+ *
+ * Executors created by the controller are resized whenever the limit changes. Shrinking
+ * never interrupts running work - surplus threads exit once their current task finishes.
+ */
+public class AdaptiveConcurrencyController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyController.class);
+
+    public static final double DEFAULT_HEAP_PRESSURE_THRESHOLD = 0.85;
+    private static final double DECREASE_FACTOR = 0.5;
+    // Throughput may dip this much within a window before it counts as a regression
+    private static final double THROUGHPUT_TOLERANCE = 0.10;
+    // A burst of throttling errors from one overload only halves the limit once
+    private static final long DECREASE_COOLDOWN_MS = 5_000;
+    private static final int MIN_WINDOW_COMPLETIONS = 3;
+
+    /**
+     * Notified after every limit change.
+     */
+    public interface LimitListener {
+        void onLimitChanged(int oldLimit, int newLimit, String reason);
+    }
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private int limit;
+
+    // Current measurement window
+    private int windowCompletions;
+    private long windowUnits;
+    private long windowStartMs;
+    private double lastWindowThroughput = -1;
+    private boolean lastChangeWasIncrease;
+    private long lastDecreaseMs = Long.MIN_VALUE / 2;
+
+    private double heapPressureThreshold = DEFAULT_HEAP_PRESSURE_THRESHOLD;
+    private DoubleSupplier heapUsage = AdaptiveConcurrencyController::currentHeapUsage;
+    private LongSupplier clock = System::currentTimeMillis;
+
+    private final List<ThreadPoolExecutor> executors = new CopyOnWriteArrayList<>();
+    private final List<LimitListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param name Name used in logs and thread names (e.g. "backup", "restore")
+     * @param minLimit Lowest concurrency the controller backs off to
+     * @param initialLimit Starting concurrency
+     * @param maxLimit Highest concurrency the controller grows to
+     */
+    public AdaptiveConcurrencyController(String name, int minLimit, int initialLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowStartMs = clock.getAsLong();
+    }
+
+    public synchronized int getLimit() { return limit; }
+    public int getMinLimit() { return minLimit; }
+    public int getMaxLimit() { return maxLimit; }
+    public String getName() { return name; }
+
+    public void setHeapPressureThreshold(double threshold) { this.heapPressureThreshold = threshold; }
+
+    void setHeapUsageSupplier(DoubleSupplier heapUsage) { this.heapUsage = heapUsage; }
+
+    synchronized void setClock(LongSupplier clock) {
+        this.clock = clock;
+        this.windowStartMs = clock.getAsLong();
+    }
+
+    public void addListener(LimitListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Status text for the UI, e.g. "Concurrency: 6 (2-12)"
+     */
+    public String getStatusText() {
+        return String.format("Concurrency: %d (%d-%d)", getLimit(), minLimit, maxLimit);
+    }
+
+    /**
+     * Record a completed unit of work.
+     *
+     * @param units Amount of work done (e.g. records), used to measure throughput
+     */
+    public void recordSuccess(long units) {
+        if (checkHeapPressure()) {
+            return;
+        }
+        int oldLimit;
+        int newLimit;
+        String reason;
+        synchronized (this) {
+            windowCompletions++;
+            windowUnits += Math.max(0, units);
+            if (windowCompletions < Math.max(MIN_WINDOW_COMPLETIONS, limit)) {
+                return;
+            }
+
+            long now = clock.getAsLong();
+            double throughput = windowUnits / (Math.max(1, now - windowStartMs) / 1000.0);
+            oldLimit = limit;
+
+            if (lastWindowThroughput < 0 || throughput >= lastWindowThroughput * (1 - THROUGHPUT_TOLERANCE)) {
+                limit = Math.min(maxLimit, limit + 1);
+                lastChangeWasIncrease = limit > oldLimit;
+                reason = "throughput steady";
+            } else if (lastChangeWasIncrease) {
+                // The last increase made things worse - step back
+                limit = Math.max(minLimit, limit - 1);
+                lastChangeWasIncrease = false;
+                reason = "throughput dropped after increase";
+            } else {
+                reason = null;
+            }
+
+            lastWindowThroughput = throughput;
+            resetWindow(now);
+            newLimit = limit;
+        }
+        notifyIfChanged(oldLimit, newLimit, reason);
+    }
+
+    /**
+     * Record a failure that is not related to load. Only checks heap pressure.
+     */
+    public void recordFailure() {
+        checkHeapPressure();
+    }
+
+    /**
+     * Record a rate-limit or lock contention error and back off.
+     */
+    public void recordThrottled(String detail) {
+        decrease("throttled" + (detail != null ? ": " + abbreviate(detail) : ""));
+    }
+
+    /**
+     * Back off because of memory pressure (e.g. after an OutOfMemoryError).
+     */
+    public void recordMemoryPressure(String detail) {
+        decrease("memory pressure" + (detail != null ? ": " + detail : ""));
+    }
+
+    /**
+     * Back off if heap usage is above the threshold.
+     * @return true if the limit was reduced
+     */
+    public boolean checkHeapPressure() {
+        double usage = heapUsage.getAsDouble();
+        if (usage >= heapPressureThreshold) {
+            return decrease(String.format("heap %.0f%% used", usage * 100));
+        }
+        return false;
+    }
+
+    private boolean decrease(String reason) {
+        int oldLimit;
+        int newLimit;
+        synchronized (this) {
+            long now = clock.getAsLong();
+            if (now - lastDecreaseMs < DECREASE_COOLDOWN_MS) {
+                return false;
+            }
+            oldLimit = limit;
+            limit = Math.max(minLimit, (int) Math.floor(limit * DECREASE_FACTOR));
+            lastDecreaseMs = now;
+            lastChangeWasIncrease = false;
+            // Throughput measured at the old level no longer applies
+            lastWindowThroughput = -1;
+            resetWindow(now);
+            newLimit = limit;
+        }
+        notifyIfChanged(oldLimit, newLimit, reason);
+        return newLimit < oldLimit;
+    }
+
+    private void resetWindow(long now) {
+        windowCompletions = 0;
+        windowUnits = 0;
+        windowStartMs = now;
+    }
+
+    private void notifyIfChanged(int oldLimit, int newLimit, String reason) {
+        if (oldLimit == newLimit) {
+            return;
+        }
+        logger.info("{} concurrency {} -> {} ({})", name, oldLimit, newLimit, reason);
+        for (ThreadPoolExecutor executor : executors) {
+            resize(executor, newLimit);
+        }
+        for (LimitListener listener : listeners) {
+            try {
+                listener.onLimitChanged(oldLimit, newLimit, reason);
+            } catch (Exception e) {
+                logger.debug("Concurrency listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Create a thread pool that follows this controller's limit.
+     * The pool unregisters itself when it terminates.
+     */
+    public ThreadPoolExecutor createExecutor(String threadNamePrefix) {
+        int size = getLimit();
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(false);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory) {
+            @Override
+            protected void terminated() {
+                super.terminated();
+                executors.remove(this);
+            }
+        };
+        executors.add(executor);
+        return executor;
+    }
+
+    private static void resize(ThreadPoolExecutor executor, int size) {
+        // Core size must never exceed the maximum, so order the updates by direction
+        if (size > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(size);
+            executor.setCorePoolSize(size);
+        } else {
+            executor.setCorePoolSize(size);
+            executor.setMaximumPoolSize(size);
+        }
+    }
+
+    /**
+     * Check whether an error means Salesforce (or the target) is asking us to slow down.
+     */
+    public static boolean isThrottlingError(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            String message = t.getMessage();
+            if (message == null) {
+                continue;
+            }
+            String upper = message.toUpperCase();
+            if (upper.contains("REQUEST_LIMIT_EXCEEDED")
+                    || upper.contains("TOO MANY REQUESTS")
+                    || upper.contains("HTTP 429")
+                    || upper.contains("STATUS 429")
+                    || upper.contains("(429)")
+                    || upper.contains("EXCEEDED_MAX_CONCURRENT")
+                    || upper.contains("CONCURRENT REQUEST LIMIT")
+                    || upper.contains("CONCURRENTREQUESTLIMITEXCEEDED")
+                    || upper.contains("UNABLE_TO_LOCK_ROW")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fraction of the heap that survived the last garbage collection. Live usage would
+     * include uncollected garbage and trigger needless backoffs, so the usage after GC of
+     * the largest collected heap pool (old generation) is used when the JVM reports it.
+     */
+    static double currentHeapUsage() {
+        double usage = -1;
+        long largestMax = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            if (afterGc != null && afterGc.getMax() > largestMax) {
+                largestMax = afterGc.getMax();
+                usage = (double) afterGc.getUsed() / afterGc.getMax();
+            }
+        }
+        if (usage >= 0) {
+            return usage;
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return (double) used / runtime.maxMemory();
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() > 120 ? text.substring(0, 120) + "..." : text;
+    }
+}
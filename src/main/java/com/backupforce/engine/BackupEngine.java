@@ -0,0 +1,1262 @@
+package com.backupforce.engine;
+
+import com.backupforce.bulkv2.BulkV2Client;
+import com.backupforce.bulkv2.ColumnStatistics;
+import com.backupforce.bulkv2.CsvPartSet;
+import com.backupforce.bulkv2.ExtractionProfile;
+import com.backupforce.config.BackupHistory;
+import com.backupforce.config.BackupHistory.BackupRun;
+import com.backupforce.config.BackupHistory.ObjectBackupResult;
+import com.backupforce.relationship.BackupManifestGenerator;
+import com.backupforce.sink.CompositeDataSink;
+import com.backupforce.sink.CsvRecordBatchReader;
+import com.backupforce.sink.DataSink;
+import com.backupforce.sink.JdbcDatabaseSink;
+import com.backupforce.sink.PartialWriteException;
+import com.sforce.soap.partner.Field;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UI-independent backup orchestration.
+ *
+ * Runs the full per-object pipeline - incremental WHERE clauses from history, skip-matching-count
+ * checks, extraction profiles, Bulk queries, blob downloads, database writes and history
+ * recording - on an adaptive worker pool, ordered longest-first. The JavaFX controller,
+ * BackupRunner and the scheduler all drive backups through this class and only differ in
+ * the Listener they pass in.
+ */
+public class BackupEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackupEngine.class);
+
+    public static final int DEFAULT_MIN_WORKERS = 2;
+    public static final int DEFAULT_INITIAL_WORKERS = 5;
+    public static final int DEFAULT_MAX_WORKERS = 12;
+    /** Part size used when a backup is set to split its CSVs */
+    public static final long DEFAULT_CSV_PART_BYTES = 1024L * 1024 * 1024;
+
+    // Skip-empty profile reuses an empty-field scan for this long before scanning again
+    public static final Duration EMPTY_FIELD_SCAN_MAX_AGE = Duration.ofDays(7);
+
+    // Status updates per object are throttled to max 10/sec
+    static final long STATUS_THROTTLE_MS = 100;
+
+    // Objects known to cause memory issues due to large binary data
+    private static final Set<String> LARGE_OBJECTS = new HashSet<>(Arrays.asList(
+        "Attachment", "ContentVersion", "Document", "StaticResource"
+    ));
+
+    /**
+     * Receives progress from a running backup. All methods are called from worker threads.
+     */
+    public interface Listener {
+        /** Called once the run is planned, before any object starts */
+        default void onRunStarted(BackupWorkPlanner.Plan plan, AdaptiveConcurrencyController concurrency) {}
+
+        /** Intermediate status of an object (e.g. "Incremental since 2025-01-01", "Downloading...") */
+        default void onObjectStatus(String objectName, String status) {}
+
+        /** Final outcome of an object */
+        default void onObjectFinished(ObjectResult result) {}
+
+        default void onProgress(int completed, int total, int successful, int failed) {}
+
+        default void onLog(String message) {
+            logger.info(message);
+        }
+    }
+
+    public enum Outcome {
+        COMPLETED,
+        /** Skipped because the destination already has every record */
+        SKIPPED,
+        /** Object can't be exported by the Bulk API - not counted as a failure */
+        UNSUPPORTED,
+        FAILED
+    }
+
+    /**
+     * Outcome of one object.
+     */
+    public static class ObjectResult {
+        private final String objectName;
+        private final Outcome outcome;
+        private final String statusText;
+        private long recordCount = -1;
+        private long byteCount;
+        private long durationMs;
+        private String errorMessage;
+
+        ObjectResult(String objectName, Outcome outcome, String statusText) {
+            this.objectName = objectName;
+            this.outcome = outcome;
+            this.statusText = statusText;
+        }
+
+        public String getObjectName() { return objectName; }
+        public Outcome getOutcome() { return outcome; }
+        public String getStatusText() { return statusText; }
+        /** Records backed up, or -1 when unknown */
+        public long getRecordCount() { return recordCount; }
+        public long getByteCount() { return byteCount; }
+        public long getDurationMs() { return durationMs; }
+        public String getErrorMessage() { return errorMessage; }
+    }
+
+    /**
+     * What to back up and where.
+     */
+    public static class Options {
+        private List<String> objects = new ArrayList<>();
+        private String outputFolder;
+        private DataSink dataSink;
+        private int recordLimit;
+        private boolean incremental;
+        private String customWhere;
+        private ExtractionProfile extractionProfile = ExtractionProfile.FULL;
+        private String username;
+        private Map<String, Set<String>> selectedFields = new HashMap<>();
+        private BackupRun historyRun;
+        private int minWorkers = DEFAULT_MIN_WORKERS;
+        private int initialWorkers = DEFAULT_INITIAL_WORKERS;
+        private int maxWorkers = DEFAULT_MAX_WORKERS;
+        private long csvPartBytes;
+        private Map<String, Long> currentRecordCounts = new HashMap<>();
+
+        public List<String> getObjects() { return objects; }
+        public void setObjects(List<String> objects) { this.objects = new ArrayList<>(objects); }
+        public String getOutputFolder() { return outputFolder; }
+        public void setOutputFolder(String outputFolder) { this.outputFolder = outputFolder; }
+        public DataSink getDataSink() { return dataSink; }
+        public void setDataSink(DataSink dataSink) { this.dataSink = dataSink; }
+        public int getRecordLimit() { return recordLimit; }
+        public void setRecordLimit(int recordLimit) { this.recordLimit = recordLimit; }
+        public boolean isIncremental() { return incremental; }
+        public void setIncremental(boolean incremental) { this.incremental = incremental; }
+        public String getCustomWhere() { return customWhere; }
+        public void setCustomWhere(String customWhere) { this.customWhere = customWhere; }
+        public ExtractionProfile getExtractionProfile() { return extractionProfile; }
+        public void setExtractionProfile(ExtractionProfile profile) {
+            this.extractionProfile = profile != null ? profile : ExtractionProfile.FULL;
+        }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        /** Field selection for an object, or null for all fields */
+        public Set<String> getSelectedFields(String objectName) { return selectedFields.get(objectName); }
+        public void setSelectedFields(String objectName, Set<String> fields) {
+            if (fields != null) {
+                selectedFields.put(objectName, fields);
+            } else {
+                selectedFields.remove(objectName);
+            }
+        }
+        public BackupRun getHistoryRun() { return historyRun; }
+        /** History run that object results are recorded in (null = don't record) */
+        public void setHistoryRun(BackupRun historyRun) { this.historyRun = historyRun; }
+        public int getMinWorkers() { return minWorkers; }
+        public int getInitialWorkers() { return initialWorkers; }
+        public int getMaxWorkers() { return maxWorkers; }
+        public void setWorkers(int min, int initial, int max) {
+            this.minWorkers = min;
+            this.initialWorkers = initial;
+            this.maxWorkers = max;
+        }
+        public long getCsvPartBytes() { return csvPartBytes; }
+        /** Write each object's CSV as parts of about this size (0 = one file per object) */
+        public void setCsvPartBytes(long csvPartBytes) { this.csvPartBytes = csvPartBytes; }
+        public Map<String, Long> getCurrentRecordCounts() { return currentRecordCounts; }
+        /** Salesforce record counts the caller already knows, used to plan the run */
+        public void setCurrentRecordCounts(Map<String, Long> counts) {
+            this.currentRecordCounts = counts != null ? new HashMap<>(counts) : new HashMap<>();
+        }
+        public boolean isDatabaseSink() {
+            return dataSink != null && !"CSV".equals(dataSink.getType());
+        }
+    }
+
+    /**
+     * Totals of a finished run.
+     */
+    public static class Result {
+        private final int totalObjects;
+        private final int successful;
+        private final int failed;
+        private final long totalRecords;
+        private final long durationMs;
+        private final boolean cancelled;
+        private final List<ObjectResult> objectResults;
+        private final Map<String, Map<String, String>> excludedFields;
+
+        Result(int totalObjects, int successful, int failed, long totalRecords, long durationMs,
+               boolean cancelled, List<ObjectResult> objectResults, Map<String, Map<String, String>> excludedFields) {
+            this.totalObjects = totalObjects;
+            this.successful = successful;
+            this.failed = failed;
+            this.totalRecords = totalRecords;
+            this.durationMs = durationMs;
+            this.cancelled = cancelled;
+            this.objectResults = Collections.unmodifiableList(objectResults);
+            this.excludedFields = Collections.unmodifiableMap(excludedFields);
+        }
+
+        public int getTotalObjects() { return totalObjects; }
+        public int getSuccessful() { return successful; }
+        public int getFailed() { return failed; }
+        public long getTotalRecords() { return totalRecords; }
+        public long getDurationMs() { return durationMs; }
+        public boolean isCancelled() { return cancelled; }
+        public List<ObjectResult> getObjectResults() { return objectResults; }
+        /** Fields left out by the extraction profile, per object */
+        public Map<String, Map<String, String>> getExcludedFields() { return excludedFields; }
+    }
+
+    private final BulkV2Client bulkClient;
+    private final Listener listener;
+    private volatile boolean cancelled;
+    private volatile ExecutorService executor;
+    // Loads database sinks from the download stream while the download runs
+    private ExecutorService sinkExecutor;
+
+    // Per-run state
+    private Options options;
+    private AdaptiveConcurrencyController concurrency;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger successful = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong totalRecords = new AtomicLong();
+    private final List<ObjectResult> objectResults = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, Map<String, String>> excludedFieldsByObject = new ConcurrentHashMap<>();
+    private final Map<String, Long> currentRecordCounts = new ConcurrentHashMap<>();
+
+    /**
+     * @param bulkClient Authenticated Bulk client - owned by the caller, not closed by the engine
+     * @param listener Progress listener (may be null)
+     */
+    public BackupEngine(BulkV2Client bulkClient, Listener listener) {
+        this.bulkClient = bulkClient;
+        this.listener = listener != null ? listener : new Listener() {};
+    }
+
+    /**
+     * Back up all objects and wait for them to finish.
+     *
+     * Connects and disconnects a database sink around the run, and records extraction profile
+     * exclusions in the backup manifest. Completing the history run is left to the caller.
+     */
+    public Result run(Options options) throws Exception {
+        this.options = options;
+        completed.set(0);
+        successful.set(0);
+        failed.set(0);
+        totalRecords.set(0);
+        objectResults.clear();
+        excludedFieldsByObject.clear();
+        currentRecordCounts.clear();
+        currentRecordCounts.putAll(options.getCurrentRecordCounts());
+
+        ExtractionProfile profile = options.getExtractionProfile();
+        bulkClient.setExtractionProfile(profile);
+        bulkClient.setCsvPartBytes(options.getCsvPartBytes());
+        if (profile != ExtractionProfile.FULL) {
+            log("Extraction profile: " + profile.getDisplayName());
+        }
+
+        DataSink dataSink = options.getDataSink();
+        if (options.isDatabaseSink()) {
+            try {
+                log("Connecting to " + dataSink.getDisplayName() + "...");
+                dataSink.connect();
+                log("Successfully connected to " + dataSink.getDisplayName());
+            } catch (Exception e) {
+                log("ERROR: Failed to connect to " + dataSink.getDisplayName() + ": " + e.getMessage());
+                throw new IllegalStateException("Failed to connect to backup destination", e);
+            }
+        }
+
+        // Worker count adapts to throughput, Salesforce throttling and heap pressure
+        concurrency = new AdaptiveConcurrencyController(
+            "backup", options.getMinWorkers(), options.getInitialWorkers(), options.getMaxWorkers());
+        concurrency.addListener((oldLimit, newLimit, reason) -> {
+            if (newLimit < oldLimit) {
+                log(String.format("Reducing parallel workers %d -> %d (%s)", oldLimit, newLimit, reason));
+            }
+        });
+        // Each worker may hold a query and a blob download connection at once
+        bulkClient.setConnectionPoolLimits(options.getMaxWorkers() * 4, options.getMaxWorkers() * 2);
+
+        // Start the longest objects first, based on previous runs of this user and current counts
+        List<String> objects = options.getObjects();
+        if (skipMatchingCountsSink() != null) {
+            // The counts are needed to decide what to skip anyway; fetch them up front for the plan
+            prefetchRecordCounts(objects);
+        }
+        BackupWorkPlanner.Plan plan = BackupWorkPlanner
+            .fromHistory(BackupHistory.getInstance(), options.getUsername(), objects)
+            .plan(objects, currentRecordCounts, options.getInitialWorkers());
+        listener.onRunStarted(plan, concurrency);
+        log(plan.getSummary());
+        log(String.format("Starting parallel backup with %d threads, adaptive %d-%d (longest objects first)...",
+            options.getInitialWorkers(), options.getMinWorkers(), options.getMaxWorkers()));
+
+        int totalObjects = objects.size();
+        long startTime = System.currentTimeMillis();
+
+        if (options.isDatabaseSink()) {
+            AtomicInteger sinkThreadNumber = new AtomicInteger(1);
+            sinkExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "sink-writer-" + sinkThreadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        try {
+            executor = concurrency.createExecutor("backup-worker");
+            for (String objectName : plan.getOrder()) {
+                if (cancelled) {
+                    break;
+                }
+                executor.submit(() -> {
+                    if (cancelled) return;
+                    try {
+                        backupObject(objectName);
+                    } finally {
+                        int completedCount = completed.incrementAndGet();
+                        listener.onProgress(completedCount, totalObjects, successful.get(), failed.get());
+                        // Only log milestones
+                        if (completedCount % 100 == 0 || completedCount == totalObjects) {
+                            log(String.format("Progress: %d/%d (%.1f%%) - %d successful, %d failed",
+                                completedCount, totalObjects, completedCount * 100.0 / totalObjects,
+                                successful.get(), failed.get()));
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.debug("Waiting for backup workers - {}", concurrency.getStatusText());
+            }
+
+            // Record extraction profile exclusions so restore and verification know about them
+            if (!excludedFieldsByObject.isEmpty()) {
+                try {
+                    BackupManifestGenerator.writeExtractionInfo(options.getOutputFolder(), profile.name(), excludedFieldsByObject);
+                } catch (Exception e) {
+                    logger.warn("Failed to record extraction profile in manifest", e);
+                    log("WARNING: Could not record excluded fields in manifest: " + e.getMessage());
+                }
+            }
+        } finally {
+            if (sinkExecutor != null) {
+                sinkExecutor.shutdownNow();
+                sinkExecutor = null;
+            }
+            if (options.isDatabaseSink()) {
+                try {
+                    log("Disconnecting from " + dataSink.getDisplayName() + "...");
+                    dataSink.disconnect();
+                } catch (Exception e) {
+                    logger.warn("Error disconnecting from data sink", e);
+                }
+            }
+        }
+
+        return new Result(totalObjects, successful.get(), failed.get(), totalRecords.get(),
+            System.currentTimeMillis() - startTime, cancelled,
+            new ArrayList<>(objectResults), new LinkedHashMap<>(excludedFieldsByObject));
+    }
+
+    /**
+     * Stop submitting objects and interrupt running ones.
+     */
+    public void cancel() {
+        cancelled = true;
+        ExecutorService running = executor;
+        if (running != null && !running.isShutdown()) {
+            log("Cancelling backup - shutting down tasks...");
+        }
+        if (running != null) {
+            running.shutdownNow();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void backupObject(String objectName) {
+        long objectStart = System.currentTimeMillis();
+        int recordLimit = options.getRecordLimit();
+        String whereClause = null;
+        Set<String> selectedFields = options.getSelectedFields(objectName);
+
+        if (isLargeObject(objectName)) {
+            Runtime runtime = Runtime.getRuntime();
+            long usedMemory = (runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024;
+            long maxMemory = runtime.maxMemory() / 1024 / 1024;
+            log(String.format("[%s] WARNING: Large object - Memory: %d/%d MB", objectName, usedMemory, maxMemory));
+        }
+
+        try {
+            status(objectName, "Processing...");
+
+            if (BulkV2Client.isProblematicObject(objectName)) {
+                log(String.format("[%s] ⚠ Known Bulk API limitation - may require special filters or fail", objectName));
+            }
+
+            if (options.isDatabaseSink() && shouldSkipMatchingCount(objectName)) {
+                return;
+            }
+
+            whereClause = resolveIncrementalWhere(objectName);
+
+            String customWhere = normalizeCustomWhere(options.getCustomWhere());
+            if (customWhere != null) {
+                if (whereClause != null) {
+                    whereClause = "(" + whereClause + ") AND (" + customWhere + ")";
+                    log(String.format("[%s] Combined incremental + custom WHERE: %s", objectName, whereClause));
+                } else {
+                    whereClause = customWhere;
+                    log(String.format("[%s] Custom WHERE clause: %s", objectName, whereClause));
+                }
+            }
+
+            if (selectedFields != null) {
+                log(String.format("[%s] Using custom field selection: %d fields", objectName, selectedFields.size()));
+            }
+
+            // Skip-empty profile: reuse a recent empty-field scan of this object
+            Optional<ObjectBackupResult> emptyFieldsSource = applyKnownEmptyFields(objectName, selectedFields);
+            boolean fullScan = whereClause == null && recordLimit == 0 && selectedFields == null;
+
+            if (options.isDatabaseSink()) {
+                prepareDatabaseTable(objectName);
+            }
+
+            // Step 1: Query object using Bulk API (writes CSV file). Records are counted as they
+            // stream by, and database sinks load from the same stream while it downloads -
+            // except for blob objects, whose CSV gets blob paths added after the download.
+            BulkV2Client.ProgressCallback statusCallback = throttledStatus(objectName);
+            String blobField = getBlobFieldName(objectName);
+            StreamingLoad load = options.isDatabaseSink() && blobField == null ? startStreamingLoad(objectName) : null;
+            RecordCountingWriter counter = new RecordCountingWriter(load != null ? load.pipe.writer() : null);
+            try {
+                bulkClient.queryObject(objectName, options.getOutputFolder(), whereClause, recordLimit,
+                    selectedFields, statusCallback, counter);
+                counter.close();
+            } catch (Exception | Error e) {
+                if (load != null) {
+                    load.abort(e);
+                }
+                throw e;
+            }
+
+            Map<String, String> excludedFields = bulkClient.getExcludedFields(objectName);
+            if (!excludedFields.isEmpty()) {
+                excludedFieldsByObject.put(objectName, new LinkedHashMap<>(excludedFields));
+                log(String.format("[%s] Extraction profile skipped %d field(s)", objectName, excludedFields.size()));
+            }
+
+            // Step 2: Download blobs into the _blobs folder. Database backups store the
+            // blob file path in the BLOB_FILE_PATH column.
+            if (blobField != null) {
+                try {
+                    status(objectName, "Downloading blob files...");
+                    int blobCount = bulkClient.downloadBlobs(objectName, options.getOutputFolder(), blobField, recordLimit, statusCallback);
+                    if (blobCount > 0) {
+                        log(String.format("[%s] Downloaded %,d blob files", objectName, blobCount));
+                    }
+                } catch (Exception blobEx) {
+                    log(String.format("[%s] WARNING: Failed to download blobs: %s", objectName, blobEx.getMessage()));
+                    logger.warn("Failed to download blobs for {}", objectName, blobEx);
+                }
+            }
+
+            // Step 3: Finish the database load
+            WriteFailure writeFailure = null;
+            if (load != null) {
+                writeFailure = load.finish(counter.getRecordCount());
+            } else if (options.isDatabaseSink() && CsvPartSet.hasCsv(outputFolder(), objectName)) {
+                writeFailure = writeToDatabase(objectName, counter.getRecordCount());
+            }
+
+            completeObject(objectName, objectStart, emptyFieldsSource, fullScan, whereClause != null || recordLimit > 0,
+                "✓ Completed", counter.getRecordCount(), writeFailure);
+
+        } catch (OutOfMemoryError oom) {
+            failed.incrementAndGet();
+            concurrency.recordMemoryPressure("out of memory on " + objectName);
+            ObjectResult result = new ObjectResult(objectName, Outcome.FAILED, "✗ Out of Memory");
+            result.errorMessage = "OUT OF MEMORY - Try increasing heap size: java -Xmx4g -jar BackupForce.jar";
+            finish(result);
+            log("✗ FAILED: " + objectName + " - OUT OF MEMORY");
+            log("  → Try increasing heap size: java -Xmx4g -jar BackupForce.jar");
+            logger.error("Out of memory backing up " + objectName, oom);
+
+            // Force garbage collection after OOM to try to recover
+            System.gc();
+
+        } catch (Exception e) {
+            handleFailure(objectName, e, whereClause, selectedFields, objectStart);
+        }
+    }
+
+    /**
+     * The JDBC sink when it skips objects whose counts match, otherwise null
+     */
+    private JdbcDatabaseSink skipMatchingCountsSink() {
+        if (!(options.getDataSink() instanceof JdbcDatabaseSink)) {
+            return null;
+        }
+        JdbcDatabaseSink jdbcSink = (JdbcDatabaseSink) options.getDataSink();
+        return jdbcSink.isSkipMatchingCounts() && !jdbcSink.isRecreateTables() ? jdbcSink : null;
+    }
+
+    /**
+     * Look up the Salesforce record counts not known yet, in parallel
+     */
+    private void prefetchRecordCounts(List<String> objects) {
+        ExecutorService countExecutor = Executors.newFixedThreadPool(Math.max(1, options.getInitialWorkers()));
+        try {
+            List<Future<?>> lookups = new ArrayList<>();
+            for (String objectName : objects) {
+                if (currentRecordCounts.containsKey(objectName)) {
+                    continue;
+                }
+                lookups.add(countExecutor.submit(() -> {
+                    try {
+                        int count = bulkClient.getRecordCount(objectName);
+                        if (count >= 0) {
+                            currentRecordCounts.put(objectName, (long) count);
+                        }
+                    } catch (Exception e) {
+                        logger.debug("Could not count {}: {}", objectName, e.getMessage());
+                    }
+                }));
+            }
+            for (Future<?> lookup : lookups) {
+                lookup.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.debug("Record count lookup failed: {}", e.getMessage());
+        } finally {
+            countExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * With skip-matching-counts enabled, skip objects whose table already holds
+     * as many unique records as Salesforce reports.
+     */
+    private boolean shouldSkipMatchingCount(String objectName) {
+        JdbcDatabaseSink jdbcSink = skipMatchingCountsSink();
+        if (jdbcSink == null) {
+            return false;
+        }
+
+        long tableRowCount = jdbcSink.getTableRowCount(objectName);
+        if (tableRowCount < 0) {
+            log(String.format("[%s] Table %s does not exist - will create", objectName, jdbcSink.getFullTablePath(objectName)));
+            return false;
+        }
+        try {
+            Long knownCount = currentRecordCounts.get(objectName);
+            long sfCount = knownCount != null ? knownCount : bulkClient.getRecordCount(objectName);
+            if (sfCount >= 0 && tableRowCount == sfCount) {
+                successful.incrementAndGet();
+                ObjectResult result = new ObjectResult(objectName, Outcome.SKIPPED,
+                    String.format("Skipped - count matches (%,d)", sfCount));
+                result.recordCount = sfCount;
+                finish(result);
+                log(String.format("[%s] ✓ SKIPPED - %s has %d unique records matching Salesforce",
+                    objectName, jdbcSink.getFullTablePath(objectName), sfCount));
+                return true;
+            }
+            if (sfCount >= 0) {
+                log(String.format("[%s] Count mismatch - table: %d unique, Salesforce: %d - will backup",
+                    objectName, tableRowCount, sfCount));
+            }
+        } catch (Exception countEx) {
+            log(String.format("[%s] Could not get Salesforce count: %s - proceeding with backup",
+                objectName, countEx.getMessage()));
+        }
+        return false;
+    }
+
+    /**
+     * Build the incremental WHERE clause from the last successful backup, or null for a full backup.
+     */
+    private String resolveIncrementalWhere(String objectName) {
+        boolean databaseSink = options.isDatabaseSink();
+        if (recreatesTables(options.getDataSink())) {
+            status(objectName, "Full backup - recreate mode");
+            log(String.format("[%s] Full backup - recreate tables mode enabled", objectName));
+            return null;
+        }
+        if (!options.isIncremental()) {
+            if (databaseSink) {
+                status(objectName, "Full backup");
+            }
+            return null;
+        }
+        if (!supportsLastModifiedDate(objectName)) {
+            status(objectName, "Full backup - no LastModifiedDate");
+            log(String.format("[%s] Full backup - object does not support incremental (no LastModifiedDate)", objectName));
+            return null;
+        }
+
+        Optional<ObjectBackupResult> lastBackup = options.getUsername() == null ? Optional.empty()
+            : BackupHistory.getInstance().getLastSuccessfulBackup(options.getUsername(), objectName);
+        if (lastBackup.isPresent() && lastBackup.get().getLastModifiedDate() != null) {
+            String lastModified = lastBackup.get().getLastModifiedDate();
+            String displayDate = lastModified.length() > 10 ? lastModified.substring(0, 10) : lastModified;
+            status(objectName, "Incremental since " + displayDate);
+            log(String.format("[%s] Incremental backup - records modified after %s", objectName, displayDate));
+            return "LastModifiedDate > " + toSoqlDateTime(lastModified);
+        }
+
+        status(objectName, "Full backup - first time");
+        log(String.format("[%s] Full backup - no previous successful backup found in history", objectName));
+        return null;
+    }
+
+    /**
+     * Whether the sink, or any sink a composite sink writes to, drops and recreates its tables.
+     */
+    private static boolean recreatesTables(DataSink dataSink) {
+        if (dataSink instanceof CompositeDataSink) {
+            return ((CompositeDataSink) dataSink).getSinks().stream().anyMatch(BackupEngine::recreatesTables);
+        }
+        return dataSink instanceof JdbcDatabaseSink && ((JdbcDatabaseSink) dataSink).isRecreateTables();
+    }
+
+    /**
+     * Database load fed from the download stream through a bounded pipe.
+     */
+    private final class StreamingLoad {
+        private final String objectName;
+        private final String tablePath;
+        private final BoundedPipe pipe = new BoundedPipe();
+        private Future<Integer> future;
+
+        StreamingLoad(String objectName, String tablePath) {
+            this.objectName = objectName;
+            this.tablePath = tablePath;
+        }
+
+        /**
+         * Wait for the sink to consume the rest of the stream and log the outcome.
+         * @return Why the sink didn't get all of the object, or null
+         */
+        WriteFailure finish(long csvRecords) throws InterruptedException {
+            try {
+                logLoadResult(objectName, tablePath, future.get(), csvRecords);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                return writeFailed(objectName, tablePath, cause, csvRecords);
+            }
+            return null;
+        }
+
+        /**
+         * The download failed - stop the sink, which would otherwise wait for more data.
+         */
+        void abort(Throwable cause) {
+            pipe.fail(cause instanceof Exception ? (Exception) cause : new IOException(cause.toString(), cause));
+            future.cancel(true);
+        }
+    }
+
+    private StreamingLoad startStreamingLoad(String objectName) {
+        DataSink dataSink = options.getDataSink();
+        StreamingLoad load = new StreamingLoad(objectName, tablePath(objectName));
+        log(String.format("[%s] Streaming to %s while downloading...", objectName, load.tablePath));
+        String backupId = String.valueOf(System.currentTimeMillis());
+        BulkV2Client.ProgressCallback statusCallback = throttledStatus(objectName);
+        load.future = sinkExecutor.submit(() -> {
+            // Closing the reader lets the download carry on if the sink stops early
+            try (Reader reader = load.pipe.reader()) {
+                return writeRecords(dataSink, objectName, reader, backupId, statusCallback::update);
+            }
+        });
+        return load;
+    }
+
+    /**
+     * Give the database sink the object's describe metadata so a new table gets typed
+     * columns. The query reuses the describe, so this costs no extra API call.
+     */
+    private void prepareDatabaseTable(String objectName) {
+        try {
+            Field[] fields = bulkClient.describeFields(objectName);
+            if (fields != null) {
+                options.getDataSink().prepareSink(objectName, fields);
+            }
+        } catch (Exception e) {
+            // The sink falls back to text columns; the query reports real describe failures
+            logger.warn("{}: Could not describe fields for typed columns: {}", objectName, e.getMessage());
+        }
+    }
+
+    /**
+     * Load the object's CSV into the data sink
+     * @return Why the sink didn't get all of the object, or null
+     */
+    private WriteFailure writeToDatabase(String objectName, long csvRecords) {
+        DataSink dataSink = options.getDataSink();
+        String tablePath = tablePath(objectName);
+        log(String.format("[%s] Writing to %s...", objectName, tablePath));
+        status(objectName, "Writing to database...");
+
+        try (Reader reader = CsvPartSet.openCsv(outputFolder(), objectName)) {
+            String backupId = String.valueOf(System.currentTimeMillis());
+            BulkV2Client.ProgressCallback statusCallback = throttledStatus(objectName);
+            int recordsWritten = writeRecords(dataSink, objectName, reader, backupId, statusCallback::update);
+            logLoadResult(objectName, tablePath, recordsWritten, csvRecords);
+        } catch (Exception dbEx) {
+            return writeFailed(objectName, tablePath, dbEx, csvRecords);
+        }
+        return null;
+    }
+
+    /**
+     * Why a sink didn't get all of an object. The object isn't recorded as completed, so the
+     * next incremental backup reads it again.
+     */
+    private static final class WriteFailure {
+        final String message;
+        // Some of a composite sink's sinks got the object
+        final boolean partial;
+
+        WriteFailure(String message, boolean partial) {
+            this.message = message;
+            this.partial = partial;
+        }
+    }
+
+    /**
+     * Log a write that reached none of the destinations, or only some of a composite sink's sinks
+     */
+    private WriteFailure writeFailed(String objectName, String tablePath, Throwable cause, long csvRecords) {
+        if (cause instanceof PartialWriteException) {
+            PartialWriteException partial = (PartialWriteException) cause;
+            logLoadResult(objectName, tablePath, partial.getRecordsWritten(), csvRecords);
+            log(String.format("[%s] WARNING: %s - the next incremental backup will read it again",
+                objectName, partial.getMessage()));
+            logger.warn("Failed to write {} to every destination", objectName, partial);
+            return new WriteFailure(partial.getMessage(), true);
+        }
+        String message = "Failed to write to " + tablePath + ": "
+            + (cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+        log(String.format("[%s] ✗ %s - the next incremental backup will read it again", objectName, message));
+        logger.warn("Failed to write {} to database", objectName, cause);
+        return new WriteFailure(message, false);
+    }
+
+    /**
+     * Hand an object's CSV to the sink. Sinks that take record batches get the CSV parsed
+     * here, once, instead of tokenizing it themselves.
+     */
+    private static int writeRecords(DataSink dataSink, String objectName, Reader reader, String backupId,
+                                    DataSink.ProgressCallback progressCallback) throws Exception {
+        if (!dataSink.supportsRecordBatches()) {
+            return dataSink.writeData(objectName, reader, backupId, progressCallback);
+        }
+        try (CsvRecordBatchReader batches = new CsvRecordBatchReader(reader)) {
+            return dataSink.writeBatches(objectName, batches, backupId, progressCallback);
+        }
+    }
+
+    private void logLoadResult(String objectName, String tablePath, int recordsWritten, long csvRecords) {
+        if (recordsWritten < csvRecords) {
+            log(String.format("[%s] ⚠ WARNING: CSV has %d records but only %d written to database (missing %d)",
+                objectName, csvRecords, recordsWritten, csvRecords - recordsWritten));
+        } else {
+            log(String.format("[%s] ✓ Wrote %d records to %s", objectName, recordsWritten, tablePath));
+        }
+    }
+
+    private Path outputFolder() {
+        return Paths.get(options.getOutputFolder());
+    }
+
+    private long csvSize(String objectName) {
+        try {
+            return CsvPartSet.csvSize(outputFolder(), objectName);
+        } catch (IOException e) {
+            logger.debug("Could not size the CSV of {}: {}", objectName, e.getMessage());
+            return 0;
+        }
+    }
+
+    private String tablePath(String objectName) {
+        DataSink dataSink = options.getDataSink();
+        return dataSink instanceof JdbcDatabaseSink
+            ? ((JdbcDatabaseSink) dataSink).getFullTablePath(objectName) : dataSink.getDisplayName();
+    }
+
+    /**
+     * @param filtered Whether the query only fetched part of the object (incremental, custom
+     *        WHERE or record limit), so the planner doesn't take its record count as the
+     *        object's size
+     * @param writeFailure Why the sink didn't get all of the object, or null. The object is
+     *        then not recorded as completed, so incremental backups don't start after it; if no
+     *        destination got it, it also counts as failed.
+     */
+    private void completeObject(String objectName, long objectStart,
+                                Optional<ObjectBackupResult> emptyFieldsSource, boolean fullScan, boolean filtered,
+                                String statusText, long recordCount, WriteFailure writeFailure) {
+        long objectTime = System.currentTimeMillis() - objectStart;
+        boolean written = writeFailure == null || writeFailure.partial;
+        (written ? successful : failed).incrementAndGet();
+        String errorMessage = writeFailure != null ? writeFailure.message : null;
+
+        long fileSize = csvSize(objectName);
+        totalRecords.addAndGet(recordCount);
+
+        BackupRun historyRun = options.getHistoryRun();
+        if (historyRun != null) {
+            ObjectBackupResult objResult = new ObjectBackupResult(objectName);
+            objResult.setStatus(writeFailure == null ? "COMPLETED" : "FAILED");
+            objResult.setErrorMessage(errorMessage);
+            objResult.setRecordCount(recordCount);
+            objResult.setByteCount(fileSize);
+            objResult.setDurationMs(objectTime);
+            objResult.setFiltered(filtered);
+            objResult.setLastModifiedDate(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            recordEmptyFields(objResult, emptyFieldsSource, fullScan);
+            recordHistory(historyRun, objResult);
+        }
+        concurrency.recordSuccess(recordCount);
+
+        ObjectResult result = new ObjectResult(objectName, written ? Outcome.COMPLETED : Outcome.FAILED,
+            writeFailure == null ? statusText : written ? "⚠ Partially Written" : "✗ Write Failed");
+        result.errorMessage = errorMessage;
+        result.recordCount = recordCount;
+        result.byteCount = fileSize;
+        result.durationMs = objectTime;
+        finish(result);
+
+        // Only log completion for large objects or slow backups
+        if (isLargeObject(objectName) || objectTime > 5000) {
+            log("[" + objectName + "] ✓ Completed in " + objectTime / 1000.0 + "s - " +
+                recordCount + " records, " + formatFileSize(fileSize));
+        }
+
+        if (isLargeObject(objectName)) {
+            Runtime runtime = Runtime.getRuntime();
+            long usedMemory = (runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024;
+            long maxMemory = runtime.maxMemory() / 1024 / 1024;
+            double percentUsed = (usedMemory * 100.0) / maxMemory;
+            log(String.format("[%s] Memory after backup: %d/%d MB (%.1f%% used)",
+                objectName, usedMemory, maxMemory, percentUsed));
+            if (percentUsed > 80) {
+                log("[WARNING] High memory usage detected! Suggesting garbage collection.");
+                System.gc();
+            }
+        }
+    }
+
+    private void handleFailure(String objectName, Exception e, String whereClause,
+                               Set<String> selectedFields, long objectStart) {
+        String errorMsg = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+
+        if (AdaptiveConcurrencyController.isThrottlingError(e)) {
+            concurrency.recordThrottled(errorMsg);
+        } else {
+            concurrency.recordFailure();
+        }
+
+        if (isConnectionPoolError(errorMsg)) {
+            // Reconnect and retry this object once
+            log("⚠ Connection pool error on " + objectName + " - reconnecting and retrying...");
+            status(objectName, "Reconnecting...");
+            try {
+                bulkClient.forceReconnect();
+                Thread.sleep(500);
+                RecordCountingWriter counter = new RecordCountingWriter(null);
+                bulkClient.queryObject(objectName, options.getOutputFolder(), whereClause,
+                    options.getRecordLimit(), selectedFields, throttledStatus(objectName), counter);
+                WriteFailure writeFailure = null;
+                if (options.isDatabaseSink() && CsvPartSet.hasCsv(outputFolder(), objectName)) {
+                    writeFailure = writeToDatabase(objectName, counter.getRecordCount());
+                }
+                completeObject(objectName, objectStart, Optional.empty(), false,
+                    whereClause != null || options.getRecordLimit() > 0,
+                    "✓ Completed (retry)", counter.getRecordCount(), writeFailure);
+                log("[" + objectName + "] ✓ Completed after reconnect");
+            } catch (Exception retryEx) {
+                failed.incrementAndGet();
+                String retryError = retryEx.getMessage() != null ? retryEx.getMessage() : retryEx.getClass().getSimpleName();
+                ObjectResult result = new ObjectResult(objectName, Outcome.FAILED, "✗ Failed (retry)");
+                result.errorMessage = "Retry failed: " + retryError;
+                finish(result);
+                log("✗ FAILED: " + objectName + " - retry also failed: " + retryError);
+                logger.error("Retry failed for " + objectName, retryEx);
+            }
+            return;
+        }
+
+        ObjectResult unsupported = classifyUnsupported(objectName, errorMsg);
+        if (unsupported != null) {
+            // Not counted as failed - the object just can't be exported this way
+            finish(unsupported);
+            log("⊘ SKIPPED: " + objectName + " - " + unsupported.getErrorMessage());
+        } else {
+            failed.incrementAndGet();
+            String cleanError = errorMsg;
+            if (errorMsg.contains("Failed to create query job:")) {
+                cleanError = errorMsg.substring(errorMsg.indexOf(":") + 1).trim();
+            }
+
+            BackupRun historyRun = options.getHistoryRun();
+            if (historyRun != null) {
+                ObjectBackupResult objResult = new ObjectBackupResult(objectName);
+                objResult.setStatus("FAILED");
+                objResult.setErrorMessage(cleanError);
+                recordHistory(historyRun, objResult);
+            }
+
+            ObjectResult result = new ObjectResult(objectName, Outcome.FAILED, "✗ Failed");
+            result.errorMessage = cleanError;
+            finish(result);
+            log("✗ FAILED: " + objectName + " - " + cleanError);
+        }
+        logger.error("Backup failed for " + objectName, e);
+    }
+
+    static boolean isConnectionPoolError(String errorMsg) {
+        return errorMsg.contains("Connection pool shut down")
+            || errorMsg.contains("Pool closed")
+            || errorMsg.contains("shut down");
+    }
+
+    /**
+     * Recognize errors for objects the Bulk API can't export as-is.
+     * @return The result to report, or null for a real failure
+     */
+    static ObjectResult classifyUnsupported(String objectName, String errorMsg) {
+        String status;
+        String reason;
+        if (errorMsg.contains("not supported by the Bulk API")
+                || errorMsg.contains("INVALIDENTITY")
+                || errorMsg.contains("Object not supported by Bulk API")) {
+            status = "⊘ Not Supported";
+            reason = "Object not supported by Bulk API";
+        } else if (errorMsg.contains("Implementation restriction") || errorMsg.contains("requires a filter")) {
+            status = "⊘ Requires Filter";
+            reason = "Object requires specific WHERE filter";
+        } else if (errorMsg.contains("EXCEEDED_ID_LIMIT") || errorMsg.contains("does not support queryMore")) {
+            status = "⊘ No Pagination";
+            reason = "Object doesn't support Bulk API pagination";
+        } else if (errorMsg.contains("EXTERNAL_OBJECT_EXCEPTION") || errorMsg.contains("Transient queries")) {
+            status = "⊘ External Object";
+            reason = "External objects not supported";
+        } else if (errorMsg.contains("Cannot serialize") || errorMsg.contains("CSV format")) {
+            status = "⊘ CSV Error";
+            reason = "Cannot export to CSV format";
+        } else if (errorMsg.contains("MALFORMED_QUERY") && errorMsg.contains("reified column")) {
+            status = "⊘ Metadata Object";
+            reason = "Metadata object requires special filter";
+        } else {
+            return null;
+        }
+        ObjectResult result = new ObjectResult(objectName, Outcome.UNSUPPORTED, status);
+        result.errorMessage = reason;
+        return result;
+    }
+
+    /**
+     * For the skip-empty profile, pass the always-empty fields of a recent full scan
+     * to the Bulk client. Returns the history entry the fields came from (if any).
+     */
+    private Optional<ObjectBackupResult> applyKnownEmptyFields(String objectName, Set<String> selectedFields) {
+        if (!options.getExtractionProfile().excludesEmptyFields() || selectedFields != null
+                || options.getUsername() == null) {
+            return Optional.empty();
+        }
+        Optional<ObjectBackupResult> source = BackupHistory.getInstance()
+                .getLastSuccessfulBackup(options.getUsername(), objectName)
+                .filter(r -> r.hasFreshEmptyFields(EMPTY_FIELD_SCAN_MAX_AGE));
+        bulkClient.setKnownEmptyFields(objectName,
+                source.map(r -> (Set<String>) new HashSet<>(r.getEmptyFields())).orElse(null));
+        return source;
+    }
+
+    /**
+     * Store the empty-field scan for the next run: carry forward the scan that was applied,
+     * or collect a new one when this run queried every field of every record.
+     */
+    private void recordEmptyFields(ObjectBackupResult objResult,
+                                   Optional<ObjectBackupResult> emptyFieldsSource, boolean fullScan) {
+        if (!options.getExtractionProfile().excludesEmptyFields()) {
+            return;
+        }
+        if (emptyFieldsSource.isPresent()) {
+            objResult.setEmptyFields(emptyFieldsSource.get().getEmptyFields());
+            objResult.setEmptyFieldsCheckedAt(emptyFieldsSource.get().getEmptyFieldsCheckedAt());
+        } else if (fullScan && CsvPartSet.hasCsv(outputFolder(), objResult.getObjectName())) {
+            try {
+                ColumnStatistics stats = ColumnStatistics.collect(
+                    CsvPartSet.openCsv(outputFolder(), objResult.getObjectName()));
+                objResult.setEmptyFields(new ArrayList<>(stats.getEmptyColumns()));
+                objResult.setEmptyFieldsCheckedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            } catch (IOException e) {
+                logger.warn("Failed to collect column statistics for {}", objResult.getObjectName(), e);
+            }
+        }
+    }
+
+    private static void recordHistory(BackupRun historyRun, ObjectBackupResult objResult) {
+        synchronized (historyRun) {
+            historyRun.getObjectResults().add(objResult);
+            // Save progress periodically (every 10 objects) to persist in case of crash
+            if (historyRun.getObjectResults().size() % 10 == 0) {
+                BackupHistory.getInstance().updateBackup(historyRun);
+            }
+        }
+    }
+
+    private void finish(ObjectResult result) {
+        objectResults.add(result);
+        listener.onObjectFinished(result);
+    }
+
+    private void status(String objectName, String status) {
+        listener.onObjectStatus(objectName, status);
+    }
+
+    private BulkV2Client.ProgressCallback throttledStatus(String objectName) {
+        final long[] lastUpdate = {0};
+        return status -> {
+            long now = System.currentTimeMillis();
+            if (now - lastUpdate[0] >= STATUS_THROTTLE_MS) {
+                lastUpdate[0] = now;
+                listener.onObjectStatus(objectName, status);
+            }
+        };
+    }
+
+    private void log(String message) {
+        listener.onLog(message);
+    }
+
+    /**
+     * Strip a leading "WHERE" from a user-entered filter. Returns null for blank input.
+     */
+    static String normalizeCustomWhere(String customWhere) {
+        if (customWhere == null || customWhere.trim().isEmpty()) {
+            return null;
+        }
+        String where = customWhere.trim();
+        if (where.toUpperCase().startsWith("WHERE ")) {
+            where = where.substring(6).trim();
+        }
+        return where;
+    }
+
+    /**
+     * Convert a Java ISO timestamp from history to a SOQL datetime literal.
+     * Input: 2025-12-22T22:49:05.6774347 -> Output: 2025-12-22T22:49:05Z
+     */
+    static String toSoqlDateTime(String isoDateTime) {
+        if (isoDateTime.contains(".")) {
+            return isoDateTime.substring(0, isoDateTime.indexOf('.')) + "Z";
+        } else if (!isoDateTime.endsWith("Z")) {
+            return isoDateTime + "Z";
+        }
+        return isoDateTime;
+    }
+
+    public static boolean isLargeObject(String objectName) {
+        return LARGE_OBJECTS.contains(objectName);
+    }
+
+    /**
+     * Blob field of objects whose binary content is downloaded alongside the CSV, or null.
+     */
+    public static String getBlobFieldName(String objectName) {
+        switch (objectName) {
+            case "Document":
+            case "Attachment":
+            case "StaticResource":
+            case "ApexClass":  // ApexClass Body is text but sometimes treated as blob
+            case "ApexTrigger":
+            case "ApexPage":
+            case "ApexComponent":
+                return "Body";
+            case "ContentVersion":
+                return "VersionData";
+            case "ContentNote":
+                return "Content";
+            case "EventLogFile":
+                return "LogFile"; // Event Monitoring logs
+            case "MobileApplicationDetail":
+                return "ApplicationBinary";
+            default:
+                // Folder, ContentDocument, EmailMessage, EmailTemplate and FeedItem have no binary blobs
+                return null;
+        }
+    }
+
+    /**
+     * Determines if an object supports the LastModifiedDate field for incremental backups.
+     *
+     * Objects that do NOT support LastModifiedDate include:
+     * - History objects (e.g., AccountHistory, OpportunityHistory, *__History)
+     * - Custom Metadata Types (__mdt)
+     * - Some system objects
+     *
+     * @param objectName The Salesforce object API name
+     * @return true if the object supports LastModifiedDate, false otherwise
+     */
+    public static boolean supportsLastModifiedDate(String objectName) {
+        // History objects don't have LastModifiedDate - they use CreatedDate instead
+        if (objectName.endsWith("History") || objectName.endsWith("__History")) {
+            return false;
+        }
+
+        // Custom Metadata Types (__mdt) don't support LastModifiedDate in SOQL queries via Bulk API
+        if (objectName.endsWith("__mdt")) {
+            return false;
+        }
+
+        // Share objects often don't have LastModifiedDate
+        if (objectName.endsWith("Share") || objectName.endsWith("__Share")) {
+            return false;
+        }
+
+        // Feed objects may not support incremental well
+        if (objectName.endsWith("Feed")) {
+            return false;
+        }
+
+        // ChangeEvent objects for Change Data Capture don't support LastModifiedDate
+        if (objectName.endsWith("ChangeEvent") || objectName.endsWith("__ChangeEvent")) {
+            return false;
+        }
+
+        // Info/Definition objects typically don't have LastModifiedDate
+        if (objectName.endsWith("Info") || objectName.endsWith("Definition")) {
+            return false;
+        }
+
+        // Specific objects known not to support LastModifiedDate
+        Set<String> noLastModifiedDate = Set.of(
+            "AsyncApexJob", "ApexPageInfo", "AppDefinition", "AppTabMember",
+            "AuraDefinitionBundleInfo", "AuraDefinitionInfo",
+            "ClientBrowser", "DeleteEvent", "DataStatistics", "DataType",
+            "ContentDocumentLink", "ContentFolderItem", "ContentFolderMember",
+            "DatacloudAddress", "BrowserPolicyViolation", "ColorDefinition",
+            "ApexTypeImplementor", "ActivityMetric", "ActivityMetricRollup",
+            "ActivityUsrConnectionStatus", "AnalyticsDashPageWidget"
+        );
+        if (noLastModifiedDate.contains(objectName)) {
+            return false;
+        }
+
+        // By default, assume object supports LastModifiedDate
+        return true;
+    }
+
+    /**
+     * Compress all CSV files in the output folder to a single ZIP file and delete the originals.
+     * @param outputFolder The folder containing CSV files
+     * @return Path to the created ZIP file, or null if no files were compressed
+     */
+    public static String compressCsvFiles(String outputFolder) throws IOException {
+        File folder = new File(outputFolder);
+        if (!folder.exists() || !folder.isDirectory()) {
+            return null;
+        }
+
+        File[] csvFiles = folder.listFiles((dir, name) -> name.endsWith(".csv"));
+        if (csvFiles == null) {
+            csvFiles = new File[0];
+        }
+        // Part sets are zipped as <Object>/part-*.csv plus their manifest
+        List<String> partSets = CsvPartSet.listObjects(folder.toPath());
+        if (csvFiles.length == 0 && partSets.isEmpty()) {
+            return null;
+        }
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        File zipFile = new File(folder, "backup_" + timestamp + ".zip");
+
+        long totalUncompressed = 0;
+        int fileCount = csvFiles.length;
+        try (java.util.zip.ZipOutputStream zos = new java.util.zip.ZipOutputStream(
+                new java.io.BufferedOutputStream(new java.io.FileOutputStream(zipFile)))) {
+            zos.setLevel(java.util.zip.Deflater.DEFAULT_COMPRESSION);
+            for (File csvFile : csvFiles) {
+                totalUncompressed += csvFile.length();
+                zos.putNextEntry(new java.util.zip.ZipEntry(csvFile.getName()));
+                Files.copy(csvFile.toPath(), zos);
+                zos.closeEntry();
+            }
+            for (String objectName : partSets) {
+                List<Path> files = new ArrayList<>(CsvPartSet.csvFiles(folder.toPath(), objectName));
+                files.add(CsvPartSet.directory(folder.toPath(), objectName).resolve(CsvPartSet.MANIFEST_FILE));
+                for (Path file : files) {
+                    totalUncompressed += Files.size(file);
+                    zos.putNextEntry(new java.util.zip.ZipEntry(objectName + "/" + file.getFileName()));
+                    Files.copy(file, zos);
+                    zos.closeEntry();
+                }
+                fileCount += files.size();
+            }
+        }
+        long totalCompressed = zipFile.length();
+
+        // Delete original CSV files after successful compression
+        for (File csvFile : csvFiles) {
+            if (!csvFile.delete()) {
+                logger.warn("Failed to delete CSV file after compression: {}", csvFile.getName());
+            }
+        }
+        for (String objectName : partSets) {
+            try {
+                CsvPartSet.delete(folder.toPath(), objectName);
+            } catch (IOException e) {
+                logger.warn("Failed to delete CSV parts after compression: {}", objectName);
+            }
+        }
+
+        double ratio = totalUncompressed > 0 ? (1.0 - (double) totalCompressed / totalUncompressed) * 100 : 0;
+        logger.info("Compressed {} files: {} MB -> {} MB (saved {}%)",
+            fileCount, totalUncompressed / (1024 * 1024), totalCompressed / (1024 * 1024),
+            String.format("%.1f", ratio));
+
+        return zipFile.getAbsolutePath();
+    }
+
+    static String formatFileSize(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        int exp = (int) (Math.log(bytes) / Math.log(1024));
+        String pre = "KMGTPE".charAt(exp - 1) + "";
+        return String.format("%.1f %sB", bytes / Math.pow(1024, exp), pre);
+    }
+}
@@ -0,0 +1,226 @@
+package com.backupforce.engine;
+
+import com.backupforce.config.BackupHistory;
+import com.backupforce.config.BackupHistory.ObjectBackupResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Orders backup work longest-job-first using what previous runs already recorded.
+ *
+ * With a fixed worker pool the total run time is set by whichever large object starts last,
+ * so large objects are started first and small objects fill the remaining slots at the end.
+ * Estimates come from BackupHistory (last duration, or last record count times the observed
+ * throughput), so planning costs no API calls.
+ */
+public class BackupWorkPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackupWorkPlanner.class);
+
+    // Fixed cost of a Bulk query (create job, poll, download) for objects with no history
+    static final long DEFAULT_OBJECT_OVERHEAD_MS = 5_000;
+    // Throughput used when history has no duration/record pairs to learn from
+    static final double DEFAULT_MS_PER_RECORD = 0.2;
+
+    private final Map<String, ObjectBackupResult> lastResults;
+    private final double msPerRecord;
+
+    /**
+     * @param lastResults Last successful result per object name (missing objects have no history)
+     */
+    public BackupWorkPlanner(Map<String, ObjectBackupResult> lastResults) {
+        this.lastResults = lastResults != null ? lastResults : Collections.emptyMap();
+        this.msPerRecord = learnMsPerRecord(this.lastResults.values());
+    }
+
+    /**
+     * Build a planner from the backup history of a user.
+     */
+    public static BackupWorkPlanner fromHistory(BackupHistory history, String username, Collection<String> objectNames) {
+        Map<String, ObjectBackupResult> lastResults = new HashMap<>();
+        if (username != null) {
+            for (String objectName : objectNames) {
+                history.getLastSuccessfulBackup(username, objectName)
+                        .ifPresent(result -> lastResults.put(objectName, result));
+            }
+        }
+        return new BackupWorkPlanner(lastResults);
+    }
+
+    /**
+     * Estimate how long an object will take to back up.
+     *
+     * @param objectName Object API name
+     * @param currentRecordCount Current record count if already known, or -1
+     */
+    public long estimateDurationMs(String objectName, long currentRecordCount) {
+        ObjectBackupResult last = lastResults.get(objectName);
+
+        if (currentRecordCount >= 0) {
+            // Scale the last duration by record growth when both are known. A filtered (e.g.
+            // incremental) run only counted part of the object, so it can't be scaled from.
+            if (last != null && !last.isFiltered() && last.getDurationMs() > 0 && last.getRecordCount() > 0) {
+                return Math.max(1, Math.round(last.getDurationMs() * (double) currentRecordCount / last.getRecordCount()));
+            }
+            return DEFAULT_OBJECT_OVERHEAD_MS + Math.round(currentRecordCount * msPerRecord);
+        }
+
+        if (last != null) {
+            if (last.getDurationMs() > 0) {
+                return last.getDurationMs();
+            }
+            if (last.getRecordCount() > 0) {
+                return DEFAULT_OBJECT_OVERHEAD_MS + Math.round(last.getRecordCount() * msPerRecord);
+            }
+        }
+        return DEFAULT_OBJECT_OVERHEAD_MS;
+    }
+
+    public boolean hasHistory(String objectName) {
+        return lastResults.containsKey(objectName);
+    }
+
+    /**
+     * Plan the run: objects sorted by descending estimate and the predicted wall time.
+     *
+     * @param objectNames Objects to back up
+     * @param currentRecordCounts Known current record counts (may be null or partial)
+     * @param workers Number of parallel workers
+     */
+    public Plan plan(Collection<String> objectNames, Map<String, Long> currentRecordCounts, int workers) {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        for (String objectName : objectNames) {
+            long count = currentRecordCounts != null ? currentRecordCounts.getOrDefault(objectName, -1L) : -1L;
+            estimates.put(objectName, estimateDurationMs(objectName, count));
+        }
+
+        List<String> order = new ArrayList<>(estimates.keySet());
+        order.sort(Comparator.comparing((String name) -> estimates.get(name)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<Long> durations = new ArrayList<>(order.size());
+        long totalWork = 0;
+        int withHistory = 0;
+        for (String objectName : order) {
+            long estimate = estimates.get(objectName);
+            durations.add(estimate);
+            totalWork += estimate;
+            if (hasHistory(objectName)) {
+                withHistory++;
+            }
+        }
+
+        long makespan = predictMakespan(durations, workers);
+        Plan plan = new Plan(order, estimates, makespan, totalWork, Math.max(1, workers), withHistory);
+        logger.info("Planned {} objects longest-first on {} workers - predicted {} ({} with history)",
+                order.size(), plan.getWorkers(), formatDuration(makespan), withHistory);
+        return plan;
+    }
+
+    /**
+     * Simulate list scheduling: each job goes to the worker that becomes free first.
+     * This is what a fixed thread pool does with jobs submitted in this order.
+     */
+    public static long predictMakespan(List<Long> durationsInOrder, int workers) {
+        PriorityQueue<Long> workerFreeAt = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            workerFreeAt.add(0L);
+        }
+        long makespan = 0;
+        for (long duration : durationsInOrder) {
+            long finish = workerFreeAt.poll() + duration;
+            workerFreeAt.add(finish);
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan;
+    }
+
+    /**
+     * Average milliseconds per record over objects with both a duration and a record count.
+     */
+    private static double learnMsPerRecord(Collection<ObjectBackupResult> results) {
+        long totalMs = 0;
+        long totalRecords = 0;
+        for (ObjectBackupResult result : results) {
+            if (result.getDurationMs() > DEFAULT_OBJECT_OVERHEAD_MS && result.getRecordCount() > 0) {
+                totalMs += result.getDurationMs() - DEFAULT_OBJECT_OVERHEAD_MS;
+                totalRecords += result.getRecordCount();
+            }
+        }
+        return totalRecords > 0 ? (double) totalMs / totalRecords : DEFAULT_MS_PER_RECORD;
+    }
+
+    static String formatDuration(long ms) {
+        long seconds = ms / 1000;
+        if (seconds < 60) {
+            return seconds + "s";
+        } else if (seconds < 3600) {
+            return String.format("%dm %ds", seconds / 60, seconds % 60);
+        }
+        return String.format("%dh %dm", seconds / 3600, (seconds % 3600) / 60);
+    }
+
+    /**
+     * Result of planning a backup run.
+     */
+    public static class Plan {
+        private final List<String> order;
+        private final Map<String, Long> estimates;
+        private final long predictedMakespanMs;
+        private final long totalWorkMs;
+        private final int workers;
+        private final int objectsWithHistory;
+
+        Plan(List<String> order, Map<String, Long> estimates, long predictedMakespanMs,
+             long totalWorkMs, int workers, int objectsWithHistory) {
+            this.order = Collections.unmodifiableList(order);
+            this.estimates = Collections.unmodifiableMap(estimates);
+            this.predictedMakespanMs = predictedMakespanMs;
+            this.totalWorkMs = totalWorkMs;
+            this.workers = workers;
+            this.objectsWithHistory = objectsWithHistory;
+        }
+
+        /** Object names, longest estimate first */
+        public List<String> getOrder() { return order; }
+        public long getEstimateMs(String objectName) { return estimates.getOrDefault(objectName, 0L); }
+        public long getPredictedMakespanMs() { return predictedMakespanMs; }
+        public long getTotalWorkMs() { return totalWorkMs; }
+        public int getWorkers() { return workers; }
+        public int getObjectsWithHistory() { return objectsWithHistory; }
+
+        /**
+         * Sort items into plan order. Items not in the plan keep their relative order at the end.
+         */
+        public <T> List<T> sort(List<T> items, Function<T, String> nameOf) {
+            Map<String, Integer> position = new HashMap<>();
+            for (int i = 0; i < order.size(); i++) {
+                position.put(order.get(i), i);
+            }
+            List<T> sorted = new ArrayList<>(items);
+            sorted.sort(Comparator.comparingInt(item -> position.getOrDefault(nameOf.apply(item), Integer.MAX_VALUE)));
+            return sorted;
+        }
+
+        /**
+         * One-line summary for logs, e.g. "Predicted duration: ~12m 5s on 5 threads (longest: Account ~9m 40s)"
+         */
+        public String getSummary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Predicted duration: ~").append(formatDuration(predictedMakespanMs))
+              .append(" on ").append(workers).append(workers == 1 ? " thread" : " threads");
+            if (!order.isEmpty()) {
+                String longest = order.get(0);
+                sb.append(" (longest: ").append(longest).append(" ~")
+                  .append(formatDuration(getEstimateMs(longest))).append(")");
+            }
+            if (objectsWithHistory < order.size()) {
+                sb.append(" - ").append(order.size() - objectsWithHistory).append(" object(s) without history");
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.backupforce.engine;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writer-to-Reader pipe with a bounded buffer, used to hand a download stream to a
+ * database sink running on another thread.
+ *
+ * The writer blocks when the buffer is full, so memory use stays at roughly
+ * {@code capacity * chunkSize} characters no matter how far the reader falls behind.
+ * If the reader gives up (closes early), further writes are discarded so the download
+ * can still finish writing its CSV file. If the writer fails, the reader sees the error
+ * instead of a clean end of stream.
+ */
+public class BoundedPipe {
+
+    public static final int DEFAULT_CAPACITY = 64;
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private static final char[] END_OF_STREAM = new char[0];
+
+    private final BlockingQueue<char[]> queue;
+    private final int chunkSize;
+    private final PipeWriter writer = new PipeWriter();
+    private final PipeReader reader = new PipeReader();
+
+    private volatile boolean readerClosed;
+    private volatile IOException writerError;
+
+    public BoundedPipe() {
+        this(DEFAULT_CAPACITY, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param capacity Maximum number of chunks buffered between writer and reader
+     * @param chunkSize Characters per chunk
+     */
+    public BoundedPipe(int capacity, int chunkSize) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.chunkSize = chunkSize;
+    }
+
+    public Writer writer() {
+        return writer;
+    }
+
+    public Reader reader() {
+        return reader;
+    }
+
+    /**
+     * Close the writing side with an error. The reader throws it after draining buffered data.
+     */
+    public void fail(Exception cause) {
+        writerError = cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+        writer.closeQuietly();
+    }
+
+    private final class PipeWriter extends Writer {
+        private char[] buffer = new char[chunkSize];
+        private int count;
+        private boolean closed;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Pipe writer is closed");
+            }
+            while (len > 0) {
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(cbuf, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+                if (count == buffer.length) {
+                    flushChunk();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!closed && count > 0) {
+                flushChunk();
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            char[] chunk = count == buffer.length ? buffer : java.util.Arrays.copyOf(buffer, count);
+            buffer = new char[chunkSize];
+            count = 0;
+            put(chunk);
+        }
+
+        private void put(char[] chunk) throws IOException {
+            try {
+                // Re-check periodically so a reader that quit never leaves us blocked
+                while (!readerClosed) {
+                    if (queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while writing to pipe");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            flush();
+            closed = true;
+            put(END_OF_STREAM);
+        }
+
+        void closeQuietly() {
+            try {
+                count = 0;
+                if (!closed) {
+                    closed = true;
+                    put(END_OF_STREAM);
+                }
+            } catch (IOException e) {
+                // Interrupted - the reader is unblocked by its own interrupt or close
+            }
+        }
+    }
+
+    private final class PipeReader extends Reader {
+        private char[] current;
+        private int position;
+        private boolean eof;
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (current == null || position == current.length) {
+                if (eof) {
+                    return -1;
+                }
+                if (readerClosed) {
+                    throw new IOException("Pipe reader is closed");
+                }
+                try {
+                    current = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while reading from pipe");
+                }
+                position = 0;
+                if (current == END_OF_STREAM) {
+                    eof = true;
+                    if (writerError != null) {
+                        throw new IOException("Download failed: " + writerError.getMessage(), writerError);
+                    }
+                    return -1;
+                }
+            }
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(current, position, cbuf, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            readerClosed = true;
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.backupforce.engine;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Counts CSV records while passing the text through, so record counts don't need
+ * a second read of the file. Line breaks inside quoted values are not counted.
+ * The first record is treated as the header.
+ */
+public class RecordCountingWriter extends FilterWriter {
+
+    private boolean inQuotes;
+    private boolean lineHasContent;
+    private long lines;
+
+    /**
+     * @param out Writer to pass text to, or null to only count
+     */
+    public RecordCountingWriter(Writer out) {
+        super(out != null ? out : Writer.nullWriter());
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        count((char) c);
+        out.write(c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            count(cbuf[i]);
+        }
+        out.write(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            count(str.charAt(i));
+        }
+        out.write(str, off, len);
+    }
+
+    private void count(char c) {
+        if (c == '"') {
+            // An escaped quote ("") toggles twice and leaves the state unchanged
+            inQuotes = !inQuotes;
+            lineHasContent = true;
+        } else if (c == '\n' && !inQuotes) {
+            if (lineHasContent) {
+                lines++;
+            }
+            lineHasContent = false;
+        } else if (c != '\r') {
+            lineHasContent = true;
+        }
+    }
+
+    /**
+     * Data records written so far, not counting the header.
+     */
+    public long getRecordCount() {
+        long total = lines + (lineHasContent && !inQuotes ? 1 : 0);
+        return Math.max(0, total - 1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.backupforce.relationship;
 
+import com.backupforce.bulkv2.CsvPartSet;
 import com.backupforce.restore.RelationshipManager;
 import com.backupforce.restore.RelationshipManager.ObjectMetadata;
 import com.backupforce.restore.RelationshipManager.FieldInfo;
@@ -8,11 +9,11 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -161,6 +162,17 @@ public class BackupManifestGenerator {
         
         // === Write manifest ===
         Path manifestPath = Paths.get(outputFolder, "_backup_manifest.json");
+        // Keep the extraction profile section the backup run already recorded
+        if (Files.exists(manifestPath)) {
+            try {
+                JsonObject existing = JsonParser.parseString(Files.readString(manifestPath)).getAsJsonObject();
+                if (existing.has("extraction")) {
+                    manifest.add("extraction", existing.get("extraction"));
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not read existing manifest {}: {}", manifestPath, e.getMessage());
+            }
+        }
         Files.writeString(manifestPath, gson.toJson(manifest));
         
         logger.info("Generated backup manifest: {}", manifestPath);
@@ -173,13 +185,64 @@ public class BackupManifestGenerator {
         return manifestPath;
     }
     
+    /**
+     * Records which fields the extraction profile left out of each object, so restore
+     * and verification treat them as intentionally missing. Merges into an existing
+     * manifest in the output folder, or creates a minimal one.
+     * 
+     * @param outputFolder The folder containing backup CSVs
+     * @param profileName Name of the extraction profile used
+     * @param excludedFields Object name -> (field name -> exclusion reason)
+     * @return Path to the manifest file
+     */
+    public static Path writeExtractionInfo(String outputFolder, String profileName,
+                                           Map<String, Map<String, String>> excludedFields) throws IOException {
+        Path manifestPath = Paths.get(outputFolder, "_backup_manifest.json");
+        
+        JsonObject manifest;
+        if (Files.exists(manifestPath)) {
+            manifest = com.google.gson.JsonParser.parseString(Files.readString(manifestPath)).getAsJsonObject();
+        } else {
+            manifest = new JsonObject();
+            JsonObject metadata = new JsonObject();
+            metadata.addProperty("version", "2.0");
+            metadata.addProperty("generatedAt", Instant.now().toString());
+            metadata.addProperty("backupType", "standard");
+            manifest.add("metadata", metadata);
+        }
+        
+        JsonObject extraction = new JsonObject();
+        extraction.addProperty("profile", profileName);
+        JsonObject excludedJson = new JsonObject();
+        for (Map.Entry<String, Map<String, String>> entry : new TreeMap<>(excludedFields).entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            JsonObject fields = new JsonObject();
+            for (Map.Entry<String, String> field : entry.getValue().entrySet()) {
+                fields.addProperty(field.getKey(), field.getValue());
+            }
+            excludedJson.add(entry.getKey(), fields);
+        }
+        extraction.add("excludedFields", excludedJson);
+        manifest.add("extraction", extraction);
+        
+        Files.writeString(manifestPath, gson.toJson(manifest));
+        logger.info("Recorded extraction profile {} in manifest: {}", profileName, manifestPath);
+        return manifestPath;
+    }
+    
     private JsonObject generateObjectMetadata(ObjectMetadata objMeta, String outputFolder, 
                                              String objectName) throws IOException {
         JsonObject obj = new JsonObject();
         
         // Record count
         Path csvPath = Paths.get(outputFolder, objectName + ".csv");
-        if (Files.exists(csvPath)) {
+        if (CsvPartSet.exists(Paths.get(outputFolder), objectName)) {
+            // Written as parts; the part manifest has the count
+            obj.addProperty("recordCount", CsvPartSet.load(Paths.get(outputFolder), objectName).getRecordCount());
+            obj.addProperty("fileName", objectName + "/" + CsvPartSet.MANIFEST_FILE);
+        } else if (Files.exists(csvPath)) {
             long recordCount = Files.lines(csvPath).count() - 1; // Subtract header
             obj.addProperty("recordCount", recordCount);
             obj.addProperty("fileName", objectName + ".csv");
@@ -299,8 +362,7 @@ public class BackupManifestGenerator {
         JsonObject mappings = new JsonObject();
         
         for (String objectName : objects) {
-            Path csvPath = Paths.get(outputFolder, objectName + ".csv");
-            if (!Files.exists(csvPath)) continue;
+            if (!CsvPartSet.hasCsv(Paths.get(outputFolder), objectName)) continue;
             
             try {
                 ObjectMetadata metadata = relationshipManager.describeObject(objectName);
@@ -320,7 +382,7 @@ public class BackupManifestGenerator {
                 }
                 
                 // Read CSV and build ID mapping
-                Map<String, String> objectMapping = readIdMapping(csvPath, identifierField);
+                Map<String, String> objectMapping = readIdMapping(Paths.get(outputFolder), objectName, identifierField);
                 
                 if (!objectMapping.isEmpty()) {
                     JsonObject objMappingJson = new JsonObject();
@@ -350,10 +412,10 @@ public class BackupManifestGenerator {
         logger.info("Generated ID mapping file: {}", mappingPath);
     }
     
-    private Map<String, String> readIdMapping(Path csvPath, String identifierField) throws IOException {
+    private Map<String, String> readIdMapping(Path folder, String objectName, String identifierField) throws IOException {
         Map<String, String> mapping = new LinkedHashMap<>();
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(csvPath.toFile()))) {
+        try (BufferedReader reader = new BufferedReader(CsvPartSet.openCsv(folder, objectName))) {
             String headerLine = reader.readLine();
             if (headerLine == null) return mapping;
             
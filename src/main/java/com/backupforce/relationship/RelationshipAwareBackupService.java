@@ -1,11 +1,11 @@
 package com.backupforce.relationship;
 
+import com.backupforce.bulkv2.CsvPartSet;
 import com.backupforce.relationship.ChildRelationshipAnalyzer.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -278,14 +278,15 @@ public class RelationshipAwareBackupService {
     public Set<String> extractIdsFromBackup(String objectName, String outputFolder) throws IOException {
         Set<String> ids = new LinkedHashSet<>();
         
-        Path csvPath = Paths.get(outputFolder, objectName + ".csv");
+        Path folder = Paths.get(outputFolder);
+        Path csvPath = folder.resolve(objectName + ".csv");
         
-        if (!Files.exists(csvPath)) {
+        if (!CsvPartSet.hasCsv(folder, objectName)) {
             logger.warn("Backup file not found: {}", csvPath);
             return ids;
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(csvPath.toFile()))) {
+        try (BufferedReader reader = new BufferedReader(CsvPartSet.openCsv(folder, objectName))) {
             String headerLine = reader.readLine();
             if (headerLine == null) {
                 return ids;
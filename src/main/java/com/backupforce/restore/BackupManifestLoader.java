@@ -58,6 +58,24 @@ public class BackupManifestLoader {
         return Files.exists(backupFolder.resolve(ID_MAPPING_FILENAME));
     }
     
+    /**
+     * Get the fields the extraction profile left out of an object's backup, from the
+     * manifest in the backup folder. Empty if there is no readable manifest.
+     */
+    public static Map<String, String> readExcludedFields(Path backupFolder, String objectName) {
+        BackupManifestLoader loader = new BackupManifestLoader(backupFolder);
+        if (!loader.hasManifest()) {
+            return Collections.emptyMap();
+        }
+        try {
+            BackupManifest manifest = loader.loadManifest();
+            return manifest != null ? manifest.getExcludedFields(objectName) : Collections.emptyMap();
+        } catch (IOException e) {
+            logger.warn("Could not read backup manifest in {}: {}", backupFolder, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+    
     /**
      * Load the backup manifest from the backup folder.
      * @return The parsed manifest, or null if not found
@@ -127,6 +145,23 @@ public class BackupManifestLoader {
                 }
             }
             
+            // Parse extraction profile exclusions
+            if (root.has("extraction")) {
+                JsonObject extraction = root.getAsJsonObject("extraction");
+                manifest.extractionProfile = getStringOrNull(extraction, "profile");
+                if (extraction.has("excludedFields")) {
+                    JsonObject excluded = extraction.getAsJsonObject("excludedFields");
+                    for (String objectName : excluded.keySet()) {
+                        Map<String, String> fields = new LinkedHashMap<>();
+                        JsonObject fieldsJson = excluded.getAsJsonObject(objectName);
+                        for (String fieldName : fieldsJson.keySet()) {
+                            fields.put(fieldName, fieldsJson.get(fieldName).getAsString());
+                        }
+                        manifest.excludedFields.put(objectName, fields);
+                    }
+                }
+            }
+            
             logger.info("Loaded backup manifest: version={}, type={}, objects={}",
                 manifest.version, manifest.backupType, manifest.restoreOrder.size());
             
@@ -280,6 +315,10 @@ public class BackupManifestLoader {
         public List<String> restoreOrder = new ArrayList<>();
         public Map<String, ObjectMetadataInfo> objectMetadata = new LinkedHashMap<>();
         
+        // Extraction profile and the fields it intentionally left out (object -> field -> reason)
+        public String extractionProfile;
+        public Map<String, Map<String, String>> excludedFields = new LinkedHashMap<>();
+        
         public boolean isRelationshipAware() {
             return "relationship-aware".equals(backupType);
         }
@@ -296,6 +335,15 @@ public class BackupManifestLoader {
             return info != null ? info.recommendedUpsertField : null;
         }
         
+        /**
+         * Get the fields the extraction profile excluded from an object's backup.
+         * These are expected to be missing from the CSV and should not be restored.
+         */
+        public Map<String, String> getExcludedFields(String objectName) {
+            Map<String, String> excluded = excludedFields.get(objectName);
+            return excluded != null ? excluded : Collections.emptyMap();
+        }
+        
         /**
          * Get relationship info for an object (if it was included as a related object).
          */
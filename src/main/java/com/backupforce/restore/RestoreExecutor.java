@@ -1,5 +1,7 @@
 package com.backupforce.restore;
 
+import com.backupforce.bulkv2.CsvPartSet;
+import com.backupforce.engine.AdaptiveConcurrencyController;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
@@ -10,6 +12,7 @@ import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpPatch;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.ParseException;
@@ -21,7 +24,11 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
@@ -33,6 +40,7 @@ public class RestoreExecutor {
     
     private static final Logger logger = LoggerFactory.getLogger(RestoreExecutor.class);
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final int MAX_HTTP_CONNECTIONS = 20;
     
     private final String instanceUrl;
     private final String accessToken;
@@ -42,6 +50,7 @@ public class RestoreExecutor {
     private final RelationshipResolver relationshipResolver;
     
     private final AtomicBoolean cancelled = new AtomicBoolean(false);
+    private volatile AdaptiveConcurrencyController concurrencyController;
     private Consumer<RestoreProgress> progressCallback;
     private Consumer<String> logCallback;
     
@@ -55,7 +64,13 @@ public class RestoreExecutor {
         this.instanceUrl = instanceUrl;
         this.accessToken = accessToken;
         this.apiVersion = apiVersion;
-        this.httpClient = HttpClients.createDefault();
+        // Pool sized for parallel batches (the default allows only 5 connections per host)
+        this.httpClient = HttpClients.custom()
+            .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(MAX_HTTP_CONNECTIONS)
+                .setMaxConnPerRoute(MAX_HTTP_CONNECTIONS)
+                .build())
+            .build();
         this.relationshipManager = new RelationshipManager(instanceUrl, accessToken, apiVersion);
         this.relationshipResolver = new RelationshipResolver(instanceUrl, accessToken, apiVersion);
     }
@@ -69,12 +84,21 @@ public class RestoreExecutor {
         this.relationshipResolver.setLogCallback(callback);
     }
     
+    /**
+     * Run batches of each object in parallel, sized by an adaptive controller.
+     * Without a controller batches run sequentially.
+     */
+    public void setConcurrencyController(AdaptiveConcurrencyController controller) {
+        this.concurrencyController = controller;
+    }
+    
     public void cancel() {
         cancelled.set(true);
     }
     
     /**
-     * Restores data from a CSV file to Salesforce
+     * Restores data from a CSV file to Salesforce. {@code csvPath} can also be the folder of
+     * an object written as CSV parts.
      */
     public RestoreResult restoreFromCsv(String objectName, Path csvPath, RestoreMode mode, 
                                          RestoreOptions options) throws IOException, ParseException {
@@ -91,6 +115,7 @@ public class RestoreExecutor {
             effectiveOptions.setValidateBeforeRestore(options.isValidateBeforeRestore());
             effectiveOptions.setResolveRelationships(options.isResolveRelationships());
             effectiveOptions.setPreserveIds(true);
+            effectiveOptions.setExcludedFields(options.getExcludedFields());
             effectiveOptions.setExternalIdField("Id"); // Use Salesforce Id as external ID
         }
         
@@ -107,6 +132,13 @@ public class RestoreExecutor {
         log(objectName + ": Read " + records.size() + " records from CSV");
         result.setTotalRecords(records.size());
         
+        // Fields the extraction profile left out are recorded in the backup's manifest
+        Map<String, String> excludedFields = effectiveOptions.getExcludedFields();
+        if (excludedFields.isEmpty() && csvPath.getParent() != null) {
+            excludedFields = BackupManifestLoader.readExcludedFields(csvPath.getParent(), objectName);
+        }
+        skipExcludedFields(objectName, records, excludedFields);
+        
         // Validate records against target org schema if enabled
         if (effectiveOptions.isValidateBeforeRestore()) {
             log(objectName + ": Validating fields against target org schema...");
@@ -191,76 +223,7 @@ public class RestoreExecutor {
         }
         
         // Process records in batches
-        int batchSize = effectiveOptions.getBatchSize();
-        int totalBatches = (int) Math.ceil((double) records.size() / batchSize);
-        
-        for (int batchNum = 0; batchNum < totalBatches && !cancelled.get(); batchNum++) {
-            int start = batchNum * batchSize;
-            int end = Math.min(start + batchSize, records.size());
-            List<Map<String, String>> batch = records.subList(start, end);
-            
-            log(String.format("%s: Processing batch %d/%d (%d records)", 
-                objectName, batchNum + 1, totalBatches, batch.size()));
-            
-            // Retry logic for transient failures
-            BatchResult batchResult = null;
-            Exception lastException = null;
-            int maxRetries = effectiveOptions.getMaxRetries();
-            
-            for (int attempt = 1; attempt <= maxRetries && !cancelled.get(); attempt++) {
-                try {
-                    batchResult = processBatch(objectName, batch, effectiveMode, externalIdField, effectiveOptions, metadata);
-                    
-                    // Check if we should retry due to retryable errors
-                    if (batchResult.hasRetryableErrors() && attempt < maxRetries) {
-                        log(String.format("%s: Batch has retryable errors, attempt %d/%d", 
-                            objectName, attempt, maxRetries));
-                        try {
-                            Thread.sleep(effectiveOptions.getRetryDelayMs() * attempt);
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            break;
-                        }
-                        continue;
-                    }
-                    
-                    break; // Success or non-retryable errors
-                    
-                } catch (Exception e) {
-                    lastException = e;
-                    if (isRetryableException(e) && attempt < maxRetries) {
-                        log(String.format("%s: Retryable error on attempt %d/%d: %s", 
-                            objectName, attempt, maxRetries, e.getMessage()));
-                        try {
-                            Thread.sleep(effectiveOptions.getRetryDelayMs() * attempt);
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            break;
-                        }
-                    } else {
-                        throw e;
-                    }
-                }
-            }
-            
-            if (batchResult != null) {
-                result.addBatchResult(batchResult);
-                updateProgress(objectName, end, records.size(), result);
-                
-                if (!batchResult.isSuccess() && effectiveOptions.isStopOnError()) {
-                    log(objectName + ": Stopping due to errors");
-                    break;
-                }
-            } else if (lastException != null) {
-                logger.error("Error processing batch for " + objectName + " after " + maxRetries + " retries", lastException);
-                log(objectName + ": Batch error after " + maxRetries + " retries - " + lastException.getMessage());
-                result.addError("Batch " + (batchNum + 1) + " (after " + maxRetries + " retries): " + lastException.getMessage());
-                
-                if (effectiveOptions.isStopOnError()) {
-                    break;
-                }
-            }
-        }
+        processBatches(objectName, records, effectiveMode, externalIdField, effectiveOptions, metadata, result);
         
         result.setCompleted(!cancelled.get());
         log(String.format("%s: Restore completed. Success: %d, Failed: %d", 
@@ -332,6 +295,7 @@ public class RestoreExecutor {
             effectiveOptions.setValidateBeforeRestore(options.isValidateBeforeRestore());
             effectiveOptions.setResolveRelationships(options.isResolveRelationships());
             effectiveOptions.setPreserveIds(true);
+            effectiveOptions.setExcludedFields(options.getExcludedFields());
             effectiveOptions.setExternalIdField("Id");
         }
         
@@ -345,6 +309,7 @@ public class RestoreExecutor {
         
         log(objectName + ": Processing " + records.size() + " records");
         result.setTotalRecords(records.size());
+        skipExcludedFields(objectName, records, effectiveOptions.getExcludedFields());
         
         // Validate records if enabled
         if (effectiveOptions.isValidateBeforeRestore()) {
@@ -397,27 +362,7 @@ public class RestoreExecutor {
         }
         
         // Process in batches
-        int batchSize = effectiveOptions.getBatchSize();
-        int totalBatches = (int) Math.ceil((double) records.size() / batchSize);
-        
-        for (int batchNum = 0; batchNum < totalBatches && !cancelled.get(); batchNum++) {
-            int start = batchNum * batchSize;
-            int end = Math.min(start + batchSize, records.size());
-            List<Map<String, String>> batch = records.subList(start, end);
-            
-            log(String.format("%s: Processing batch %d/%d (%d records)", 
-                objectName, batchNum + 1, totalBatches, batch.size()));
-            
-            BatchResult batchResult = processBatch(objectName, batch, effectiveMode, 
-                externalIdField, effectiveOptions, metadata);
-            result.addBatchResult(batchResult);
-            updateProgress(objectName, end, records.size(), result);
-            
-            if (!batchResult.isSuccess() && effectiveOptions.isStopOnError()) {
-                log(objectName + ": Stopping due to errors");
-                break;
-            }
-        }
+        processBatches(objectName, records, effectiveMode, externalIdField, effectiveOptions, metadata, result);
         
         result.setCompleted(!cancelled.get());
         log(String.format("%s: Restore completed. Success: %d, Failed: %d", 
@@ -426,6 +371,164 @@ public class RestoreExecutor {
         return result;
     }
 
+    /**
+     * Process records in batches. Batches run one at a time unless a concurrency controller
+     * is set, in which case they run in parallel on a pool that follows the controller's limit.
+     */
+    private void processBatches(String objectName, List<Map<String, String>> records, RestoreMode mode,
+                                String externalIdField, RestoreOptions options,
+                                RelationshipManager.ObjectMetadata metadata, RestoreResult result) 
+            throws IOException, ParseException {
+        int batchSize = options.getBatchSize();
+        int totalBatches = (int) Math.ceil((double) records.size() / batchSize);
+        AtomicBoolean stopRequested = new AtomicBoolean(false);
+        AtomicInteger processedRecords = new AtomicInteger(0);
+        
+        AdaptiveConcurrencyController controller = this.concurrencyController;
+        if (controller == null || totalBatches <= 1) {
+            for (int batchNum = 0; batchNum < totalBatches && !cancelled.get() && !stopRequested.get(); batchNum++) {
+                runBatch(objectName, records, batchNum, totalBatches, mode, externalIdField, options, 
+                    metadata, result, processedRecords, stopRequested, null);
+            }
+            return;
+        }
+        
+        log(String.format("%s: Processing %d batches in parallel (%s)", objectName, totalBatches, controller.getStatusText()));
+        ThreadPoolExecutor pool = controller.createExecutor("restore-batch");
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int batchNum = 0; batchNum < totalBatches; batchNum++) {
+                final int currentBatch = batchNum;
+                futures.add(pool.submit(() -> {
+                    if (!cancelled.get() && !stopRequested.get()) {
+                        runBatch(objectName, records, currentBatch, totalBatches, mode, externalIdField, options, 
+                            metadata, result, processedRecords, stopRequested, controller);
+                    }
+                    return null;
+                }));
+            }
+            
+            // Wait for every batch; the first batch failure is rethrown like in sequential mode
+            Throwable firstFailure = null;
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (firstFailure == null) {
+                        firstFailure = e.getCause();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelled.set(true);
+                    break;
+                }
+            }
+            if (firstFailure instanceof IOException) {
+                throw (IOException) firstFailure;
+            } else if (firstFailure instanceof ParseException) {
+                throw (ParseException) firstFailure;
+            } else if (firstFailure instanceof RuntimeException) {
+                throw (RuntimeException) firstFailure;
+            } else if (firstFailure != null) {
+                throw new IOException("Restore batch failed: " + firstFailure.getMessage(), firstFailure);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    /**
+     * Process one batch with retries for transient failures and record the outcome.
+     */
+    private void runBatch(String objectName, List<Map<String, String>> records, int batchNum, int totalBatches,
+                          RestoreMode mode, String externalIdField, RestoreOptions options,
+                          RelationshipManager.ObjectMetadata metadata, RestoreResult result,
+                          AtomicInteger processedRecords, AtomicBoolean stopRequested,
+                          AdaptiveConcurrencyController controller) throws IOException, ParseException {
+        int start = batchNum * options.getBatchSize();
+        int end = Math.min(start + options.getBatchSize(), records.size());
+        List<Map<String, String>> batch = records.subList(start, end);
+        
+        log(String.format("%s: Processing batch %d/%d (%d records)", 
+            objectName, batchNum + 1, totalBatches, batch.size()));
+        
+        // Retry logic for transient failures
+        BatchResult batchResult = null;
+        Exception lastException = null;
+        int maxRetries = options.getMaxRetries();
+        
+        for (int attempt = 1; attempt <= maxRetries && !cancelled.get(); attempt++) {
+            try {
+                batchResult = processBatch(objectName, batch, mode, externalIdField, options, metadata);
+                
+                // Check if we should retry due to retryable errors
+                if (batchResult.hasRetryableErrors() && attempt < maxRetries) {
+                    if (controller != null) {
+                        controller.recordThrottled("retryable batch errors on " + objectName);
+                    }
+                    log(String.format("%s: Batch has retryable errors, attempt %d/%d", 
+                        objectName, attempt, maxRetries));
+                    try {
+                        Thread.sleep(options.getRetryDelayMs() * attempt);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    continue;
+                }
+                
+                break; // Success or non-retryable errors
+                
+            } catch (Exception e) {
+                lastException = e;
+                batchResult = null;
+                if (controller != null && AdaptiveConcurrencyController.isThrottlingError(e)) {
+                    controller.recordThrottled(e.getMessage());
+                }
+                if (isRetryableException(e) && attempt < maxRetries) {
+                    log(String.format("%s: Retryable error on attempt %d/%d: %s", 
+                        objectName, attempt, maxRetries, e.getMessage()));
+                    try {
+                        Thread.sleep(options.getRetryDelayMs() * attempt);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                } else {
+                    if (controller != null && !AdaptiveConcurrencyController.isThrottlingError(e)) {
+                        controller.recordFailure();
+                    }
+                    stopRequested.set(true);
+                    throw e;
+                }
+            }
+        }
+        
+        if (batchResult != null) {
+            if (controller != null) {
+                controller.recordSuccess(batch.size());
+            }
+            synchronized (result) {
+                result.addBatchResult(batchResult);
+                updateProgress(objectName, processedRecords.addAndGet(batch.size()), records.size(), result);
+            }
+            if (!batchResult.isSuccess() && options.isStopOnError()) {
+                log(objectName + ": Stopping due to errors");
+                stopRequested.set(true);
+            }
+        } else if (lastException != null) {
+            logger.error("Error processing batch for " + objectName + " after " + maxRetries + " retries", lastException);
+            log(objectName + ": Batch error after " + maxRetries + " retries - " + lastException.getMessage());
+            synchronized (result) {
+                result.addError("Batch " + (batchNum + 1) + " (after " + maxRetries + " retries): " + lastException.getMessage());
+            }
+            
+            if (options.isStopOnError()) {
+                stopRequested.set(true);
+            }
+        }
+    }
+    
     /**
      * Performs a dry run - simulates the restore process without making actual changes.
      * Validates data, shows what would be restored, and identifies potential issues.
@@ -1092,6 +1195,22 @@ public class RestoreExecutor {
         return cleaned;
     }
     
+    /**
+     * Leave out the fields the backup's extraction profile excluded. They were never backed
+     * up, so the target keeps its own values (or defaults, for inserts).
+     */
+    private void skipExcludedFields(String objectName, List<Map<String, String>> records,
+                                    Map<String, String> excludedFields) {
+        if (excludedFields.isEmpty()) {
+            return;
+        }
+        log(objectName + ": ⚠️ " + excludedFields.size() + " field(s) were excluded from the backup by its "
+            + "extraction profile and will not be restored: " + String.join(", ", excludedFields.keySet()));
+        for (Map<String, String> record : records) {
+            record.keySet().removeAll(excludedFields.keySet());
+        }
+    }
+    
     private String determineExternalIdField(RelationshipManager.ObjectMetadata metadata, 
                                              RestoreOptions options) {
         // Use specified external ID if provided
@@ -1107,10 +1226,15 @@ public class RestoreExecutor {
         return null;
     }
     
+    /**
+     * @param csvPath The object's CSV file, or the folder of an object written as CSV parts
+     */
     private List<Map<String, String>> readCsvRecords(Path csvPath) throws IOException {
         List<Map<String, String>> records = new ArrayList<>();
         
-        try (BufferedReader reader = Files.newBufferedReader(csvPath)) {
+        try (BufferedReader reader = Files.isDirectory(csvPath)
+                ? new BufferedReader(CsvPartSet.openCsv(csvPath.getParent(), csvPath.getFileName().toString()))
+                : Files.newBufferedReader(csvPath)) {
             String headerLine = reader.readLine();
             if (headerLine == null) {
                 return records;
@@ -1343,6 +1467,7 @@ public class RestoreExecutor {
         private long retryDelayMs = 2000;
         private TransformationConfig transformationConfig;
         private String runningUserId;
+        private Map<String, String> excludedFields = Collections.emptyMap();
         
         public int getBatchSize() { return batchSize; }
         public void setBatchSize(int size) { this.batchSize = size; }
@@ -1367,5 +1492,10 @@ public class RestoreExecutor {
         public String getRunningUserId() { return runningUserId; }
         public void setRunningUserId(String userId) { this.runningUserId = userId; }
         public boolean hasTransformations() { return transformationConfig != null; }
+        /** Fields the backup's extraction profile left out (field -> reason); skipped on restore */
+        public Map<String, String> getExcludedFields() { return excludedFields; }
+        public void setExcludedFields(Map<String, String> fields) {
+            this.excludedFields = fields != null ? fields : Collections.emptyMap();
+        }
     }
 }
@@ -1,5 +1,7 @@
 package com.backupforce.scheduler;
 
+import com.backupforce.sink.DataSinkFactory;
+
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.*;
@@ -49,8 +51,10 @@ public class BackupSchedule {
     // Backup settings
     private List<String> selectedObjects;
     private String outputFolder;
+    private DataSinkFactory.FileFormat fileFormat; // What a backup to the folder writes besides CSV
     private boolean incremental;
     private boolean compress;
+    private boolean splitCsvParts;
     private boolean preserveRelationships;
     private boolean includeRelatedRecords;
     private int recordLimit; // 0 = no limit
@@ -181,6 +185,14 @@ public class BackupSchedule {
         this.modifiedAt = System.currentTimeMillis();
     }
     
+    public DataSinkFactory.FileFormat getFileFormat() { 
+        return fileFormat != null ? fileFormat : DataSinkFactory.FileFormat.CSV; 
+    }
+    public void setFileFormat(DataSinkFactory.FileFormat fileFormat) { 
+        this.fileFormat = fileFormat;
+        this.modifiedAt = System.currentTimeMillis();
+    }
+    
     public boolean isIncremental() { return incremental; }
     public void setIncremental(boolean incremental) { 
         this.incremental = incremental;
@@ -193,6 +205,12 @@ public class BackupSchedule {
         this.modifiedAt = System.currentTimeMillis();
     }
     
+    public boolean isSplitCsvParts() { return splitCsvParts; }
+    public void setSplitCsvParts(boolean splitCsvParts) { 
+        this.splitCsvParts = splitCsvParts;
+        this.modifiedAt = System.currentTimeMillis();
+    }
+    
     public boolean isPreserveRelationships() { return preserveRelationships; }
     public void setPreserveRelationships(boolean preserveRelationships) { 
         this.preserveRelationships = preserveRelationships;
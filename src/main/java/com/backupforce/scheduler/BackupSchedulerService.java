@@ -33,6 +33,7 @@ public class BackupSchedulerService {
         });
         this.scheduledTasks = new ConcurrentHashMap<>();
         this.scheduleManager = ScheduleManager.getInstance();
+        this.backupExecutor = new HeadlessBackupExecutor();
         this.running = false;
     }
     
@@ -45,7 +46,7 @@ public class BackupSchedulerService {
     
     /**
      * Set the callback that executes backups.
-     * This allows the UI layer to provide the actual backup implementation.
+     * Defaults to a HeadlessBackupExecutor, which runs BackupEngine without the UI.
      */
     public void setBackupExecutor(Consumer<BackupSchedule> executor) {
         this.backupExecutor = executor;
@@ -0,0 +1,164 @@
+package com.backupforce.scheduler;
+
+import com.backupforce.auth.SalesforceOAuthServer;
+import com.backupforce.auth.TokenStorage;
+import com.backupforce.bulkv2.BulkV2Client;
+import com.backupforce.config.BackupHistory;
+import com.backupforce.config.BackupHistory.BackupRun;
+import com.backupforce.config.ConnectionManager;
+import com.backupforce.config.ConnectionManager.SavedConnection;
+import com.backupforce.engine.BackupEngine;
+import com.backupforce.sink.DataSink;
+import com.backupforce.sink.DataSinkFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Runs scheduled backups without the UI.
+ *
+ * Signs in with the refresh token saved at the last interactive login, opens the schedule's
+ * saved database connection (if any) and runs the objects through BackupEngine.
+ * Throws on failure so the scheduler records the run as failed.
+ */
+public class HeadlessBackupExecutor implements Consumer<BackupSchedule> {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessBackupExecutor.class);
+
+    private static final String API_VERSION = "62.0";
+
+    @Override
+    public void accept(BackupSchedule schedule) {
+        try {
+            execute(schedule);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private void execute(BackupSchedule schedule) throws Exception {
+        if (schedule.getSelectedObjects() == null || schedule.getSelectedObjects().isEmpty()) {
+            throw new IllegalStateException("Schedule has no objects selected");
+        }
+
+        String loginUrl = schedule.isUseSandbox() ? "https://test.salesforce.com" : "https://login.salesforce.com";
+        TokenStorage.StoredToken token = TokenStorage.getInstance().getToken(loginUrl, schedule.getSalesforceUsername());
+        if (token == null || token.refreshToken == null) {
+            throw new IllegalStateException("No saved login for " + schedule.getSalesforceUsername()
+                + " - sign in once from the app to enable scheduled backups");
+        }
+        SalesforceOAuthServer.OAuthResult auth = SalesforceOAuthServer.refreshAccessToken(loginUrl, token.refreshToken);
+        if (!auth.isSuccess()) {
+            throw new IllegalStateException("Salesforce login failed: " + auth.error);
+        }
+
+        DataSink dataSink = null;
+        String outputFolder = schedule.getOutputFolder();
+        String destination = "CSV";
+        if (schedule.isExportToDatabase() && schedule.getDatabaseConnectionId() != null) {
+            SavedConnection connection = ConnectionManager.getInstance().getConnection(schedule.getDatabaseConnectionId());
+            if (connection == null) {
+                throw new IllegalStateException("Saved database connection not found: " + schedule.getDatabaseConnectionId());
+            }
+            dataSink = createDataSink(connection);
+            destination = connection.getType();
+            // Bulk results are staged in a temp folder before loading into the database
+            outputFolder = System.getProperty("java.io.tmpdir") + File.separator + "backupforce_" + System.currentTimeMillis();
+        } else if (schedule.getFileFormat() != DataSinkFactory.FileFormat.CSV) {
+            dataSink = DataSinkFactory.createFileSink(schedule.getFileFormat(), outputFolder);
+        }
+        new File(outputFolder).mkdirs();
+
+        BackupEngine.Options options = new BackupEngine.Options();
+        options.setObjects(schedule.getSelectedObjects());
+        options.setOutputFolder(outputFolder);
+        options.setDataSink(dataSink);
+        options.setRecordLimit(schedule.getRecordLimit());
+        options.setIncremental(schedule.isIncremental());
+        options.setUsername(schedule.getSalesforceUsername());
+        if (schedule.isSplitCsvParts()) {
+            options.setCsvPartBytes(BackupEngine.DEFAULT_CSV_PART_BYTES);
+        }
+
+        BackupHistory history = BackupHistory.getInstance();
+        BackupRun historyRun = history.startBackup(schedule.getSalesforceUsername(),
+            schedule.isIncremental() ? "INCREMENTAL" : "FULL", destination, outputFolder,
+            schedule.getSelectedObjects().size());
+        options.setHistoryRun(historyRun);
+
+        BulkV2Client bulkClient = new BulkV2Client(auth.instanceUrl, auth.accessToken, API_VERSION);
+        BackupEngine.Result result;
+        try {
+            result = new BackupEngine(bulkClient, null).run(options);
+        } catch (Exception e) {
+            history.completeBackup(historyRun, false);
+            throw e;
+        } finally {
+            bulkClient.close();
+        }
+        history.completeBackup(historyRun, result.getSuccessful() > 0);
+
+        if (schedule.isCompress() && !schedule.isExportToDatabase()) {
+            String zipPath = BackupEngine.compressCsvFiles(outputFolder);
+            if (zipPath != null) {
+                logger.info("Compressed scheduled backup to {}", zipPath);
+            }
+        }
+
+        logger.info("Scheduled backup '{}' finished: {} successful, {} failed, {} records in {} seconds",
+            schedule.getName(), result.getSuccessful(), result.getFailed(), result.getTotalRecords(),
+            result.getDurationMs() / 1000);
+        if (result.getSuccessful() == 0 && result.getFailed() > 0) {
+            throw new IllegalStateException("All " + result.getFailed() + " objects failed");
+        }
+    }
+
+    /**
+     * Create a sink from a saved connection. SSO connections need a browser and can't run unattended.
+     */
+    static DataSink createDataSink(SavedConnection connection) {
+        if (connection.isUseSso()) {
+            throw new IllegalStateException("Connection '" + connection.getName()
+                + "' uses SSO, which requires a browser - use password authentication for scheduled backups");
+        }
+        Map<String, String> fields = connection.getProperties();
+        String password = ConnectionManager.getInstance().getDecryptedPassword(connection);
+
+        DataSink sink;
+        switch (connection.getType()) {
+            case "Snowflake":
+                sink = DataSinkFactory.createSnowflakeSink(fields.get("Account"), fields.get("Warehouse"),
+                    fields.get("Database"), fields.get("Schema"), fields.get("Username"), password);
+                break;
+            case "SQL Server":
+                sink = DataSinkFactory.createSqlServerSink(fields.get("Server"), fields.get("Database"),
+                    fields.get("Username"), password);
+                break;
+            case "PostgreSQL":
+                sink = DataSinkFactory.createPostgresSink(fields.get("Host"),
+                    Integer.parseInt(fields.getOrDefault("Port", "5432")),
+                    fields.get("Database"), fields.get("Schema"), fields.get("Username"), password);
+                break;
+            case "MySQL":
+                sink = DataSinkFactory.createMySqlSink(fields.get("Host"),
+                    Integer.parseInt(fields.getOrDefault("Port", "3306")),
+                    fields.get("Database"), fields.get("Username"), password);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported database type: " + connection.getType());
+        }
+        sink.setRecreateTables(connection.isRecreateTables());
+        sink.setSkipMatchingCounts(connection.isSkipMatchingCounts());
+        sink.setMergeMode(connection.isMergeMode());
+        sink.setKeepHistory(connection.isKeepHistory());
+        sink.setSkipUnchangedRows(connection.isSkipUnchangedRows());
+        sink.setPartitionByBackupTime(connection.isPartitionByBackupTime());
+        sink.setRetentionDays(connection.getRetentionDays());
+        return sink;
+    }
+}
@@ -0,0 +1,129 @@
+package com.backupforce.sink;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Reads rows ahead on a background thread into a fixed set of rotating batch buffers, so
+ * the next batch is parsed and converted while the caller executes the previous one.
+ *
+ * A batch is complete at {@code maxRows} rows, or earlier once its rows weigh
+ * {@code maxWeight} or more (e.g. blob bytes). When every buffer is full or in use the
+ * reader waits for the caller to {@link #recycle(List)} one, so no more than
+ * {@code buffers} batches are ever held in memory.
+ */
+final class BatchPipeline<T> implements AutoCloseable {
+
+    private final List<T> end = new ArrayList<>(0);
+    private final Iterator<T> rows;
+    private final BlockingQueue<List<T>> free;
+    private final BlockingQueue<List<T>> full;
+    private final ToLongFunction<T> weigher;
+    private final long maxWeight;
+    private final Thread reader;
+    private volatile int maxRows;
+    private volatile Throwable failure;
+    private boolean finished;
+
+    private BatchPipeline(String name, Iterator<T> rows, int buffers, int maxRows,
+                          ToLongFunction<T> weigher, long maxWeight) {
+        if (buffers < 2) {
+            throw new IllegalArgumentException("At least two buffers are needed: " + buffers);
+        }
+        this.rows = rows;
+        this.maxRows = Math.max(1, maxRows);
+        this.weigher = weigher;
+        this.maxWeight = maxWeight;
+        this.free = new ArrayBlockingQueue<>(buffers);
+        // Room for every buffer plus the end marker, so the reader never blocks handing off
+        this.full = new ArrayBlockingQueue<>(buffers + 1);
+        for (int i = 0; i < buffers; i++) {
+            free.add(new ArrayList<>(Math.min(this.maxRows, 10000)));
+        }
+        this.reader = new Thread(this::readBatches, name);
+        this.reader.setDaemon(true);
+    }
+
+    /**
+     * Start reading batches from {@code rows}
+     * @param weigher Weight of one row, or null to limit batches by row count only
+     */
+    static <T> BatchPipeline<T> start(String name, Iterator<T> rows, int buffers, int maxRows,
+                                      ToLongFunction<T> weigher, long maxWeight) {
+        BatchPipeline<T> pipeline = new BatchPipeline<>(name, rows, buffers, maxRows,
+            weigher != null ? weigher : row -> 0, weigher != null ? maxWeight : Long.MAX_VALUE);
+        pipeline.reader.start();
+        return pipeline;
+    }
+
+    /**
+     * Change the row limit for batches the reader starts after this call
+     */
+    void setMaxRows(int maxRows) {
+        this.maxRows = Math.max(1, maxRows);
+    }
+
+    /**
+     * Wait for the next batch. Rethrows a failure reading the rows once the batches read
+     * before it have been taken.
+     * @return The next batch, or null when all rows have been read
+     */
+    List<T> take() throws Exception {
+        if (finished) {
+            return null;
+        }
+        List<T> batch = full.take();
+        if (batch != end) {
+            return batch;
+        }
+        finished = true;
+        Throwable cause = failure;
+        if (cause != null) {
+            throw cause instanceof Exception ? (Exception) cause : new SQLException(cause);
+        }
+        return null;
+    }
+
+    /**
+     * Hand a taken batch back to be refilled
+     */
+    void recycle(List<T> batch) {
+        batch.clear();
+        free.offer(batch);
+    }
+
+    /**
+     * Stop reading ahead. Rows not yet taken are dropped.
+     */
+    @Override
+    public void close() {
+        reader.interrupt();
+    }
+
+    private void readBatches() {
+        try {
+            while (rows.hasNext()) {
+                List<T> batch = free.take();
+                int limit = maxRows;
+                long weight = 0;
+                while (batch.size() < limit && weight < maxWeight && rows.hasNext()) {
+                    T row = rows.next();
+                    batch.add(row);
+                    weight += weigher.applyAsLong(row);
+                }
+                full.put(batch);
+            }
+        } catch (InterruptedException e) {
+            // Closed by the consumer, nobody is waiting for more batches
+            return;
+        } catch (Throwable t) {
+            failure = t;
+        }
+        full.offer(end);
+    }
+}
@@ -0,0 +1,83 @@
+package com.backupforce.sink;
+
+/**
+ * Picks insert batch sizes for one object from what earlier batches cost.
+ *
+ * Starts from the dialect's batch size hint. After each batch the average bytes per row and
+ * executeBatch time per row are updated, and the next size is the largest that stays within
+ * both the target payload and the target latency. Sizes stay within the dialect's bounds and
+ * change by at most a factor of two per batch, so one slow round trip doesn't collapse them.
+ *
+ * Safe to share between the threads loading one object's segments.
+ */
+final class BatchSizer {
+
+    // Weight of the latest batch in the running averages
+    private static final double SMOOTHING = 0.3;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetBytes;
+    private final long targetNanos;
+    private int batchSize;
+    private double bytesPerRow = -1;
+    private double nanosPerRow = -1;
+    private int batches;
+
+    BatchSizer(int initialSize, int minSize, int maxSize, long targetBytes, long targetMillis) {
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.targetBytes = targetBytes;
+        this.targetNanos = targetMillis * 1_000_000L;
+        this.batchSize = clamp(initialSize, this.minSize, this.maxSize);
+    }
+
+    static BatchSizer forDialect(JdbcDatabaseSink.DatabaseDialect dialect) {
+        return new BatchSizer(dialect.getOptimalBatchSize(), dialect.getMinBatchSize(), dialect.getMaxBatchSize(),
+            dialect.getTargetBatchBytes(), dialect.getTargetBatchMillis());
+    }
+
+    synchronized int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Record an executed batch
+     * @param bytes Estimated payload of the batch's rows
+     * @return The size for the next batch
+     */
+    synchronized int record(int rows, long bytes, long elapsedNanos) {
+        if (rows <= 0) {
+            return batchSize;
+        }
+        bytesPerRow = smooth(bytesPerRow, (double) bytes / rows);
+        nanosPerRow = smooth(nanosPerRow, (double) elapsedNanos / rows);
+        batches++;
+
+        double bySize = targetBytes / Math.max(1.0, bytesPerRow);
+        double byLatency = targetNanos / Math.max(1.0, nanosPerRow);
+        int wanted = (int) Math.min(Integer.MAX_VALUE, Math.min(bySize, byLatency));
+        int step = clamp(wanted, Math.max(1, batchSize / 2), batchSize * 2);
+        batchSize = clamp(step, minSize, maxSize);
+        return batchSize;
+    }
+
+    /**
+     * Summary of the chosen size and the measurements behind it, for logging
+     */
+    synchronized String describe() {
+        if (batches == 0) {
+            return String.format("batch size %d (no batches measured)", batchSize);
+        }
+        return String.format("batch size %d over %d batches (~%d bytes/row, ~%d ms per %d rows)",
+            batchSize, batches, Math.round(bytesPerRow), Math.round(nanosPerRow * batchSize / 1_000_000), batchSize);
+    }
+
+    private static double smooth(double average, double sample) {
+        return average < 0 ? sample : average + SMOOTHING * (sample - average);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
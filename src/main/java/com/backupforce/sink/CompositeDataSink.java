@@ -0,0 +1,475 @@
+package com.backupforce.sink;
+
+import com.sforce.soap.partner.Field;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Writes every object to several sinks at once, e.g. a CSV archive and a database.
+ *
+ * The CSV is parsed once into record batches, which go to each sink through its own bounded
+ * queue and are written by the sinks in parallel. A slow sink holds the others back by at most
+ * its queue's worth of batches. Sinks fail on their own: one that can't connect is left out of
+ * the run and one that fails an object doesn't stop the others writing it. When only some sinks
+ * got the object the write throws {@link PartialWriteException}, so the object isn't recorded
+ * as backed up everywhere.
+ */
+public class CompositeDataSink implements DataSink {
+    private static final Logger logger = LoggerFactory.getLogger(CompositeDataSink.class);
+
+    // Batches queued per sink before the parser waits for it
+    public static final int DEFAULT_QUEUE_BATCHES = 8;
+
+    // Marks the end of an object's batches in a sink's queue
+    private static final RecordBatch END = new RecordBatch(Collections.emptyList(), 1);
+
+    private final List<DataSink> sinks;
+    private final List<SinkStats> stats;
+    private final int queueBatches;
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+    private ExecutorService executor;
+
+    public CompositeDataSink(List<DataSink> sinks) {
+        this(sinks, DEFAULT_QUEUE_BATCHES);
+    }
+
+    /**
+     * @param queueBatches Batches queued per sink before the slowest sink holds up the others
+     */
+    public CompositeDataSink(List<DataSink> sinks, int queueBatches) {
+        if (sinks.isEmpty()) {
+            throw new IllegalArgumentException("At least one sink is required");
+        }
+        if (queueBatches < 1) {
+            throw new IllegalArgumentException("queueBatches must be positive: " + queueBatches);
+        }
+        this.sinks = Collections.unmodifiableList(new ArrayList<>(sinks));
+        this.stats = Collections.unmodifiableList(
+            this.sinks.stream().map(SinkStats::new).collect(Collectors.toList()));
+        this.queueBatches = queueBatches;
+    }
+
+    /**
+     * Per-sink totals for the sinks' writes
+     */
+    public static final class SinkStats {
+        private final DataSink sink;
+        private final AtomicInteger objectsWritten = new AtomicInteger();
+        private final AtomicInteger objectsFailed = new AtomicInteger();
+        private final AtomicLong recordsWritten = new AtomicLong();
+        private final AtomicLong writeNanos = new AtomicLong();
+        private volatile boolean disabled;
+        private volatile String lastError;
+
+        SinkStats(DataSink sink) {
+            this.sink = sink;
+        }
+
+        public DataSink getSink() { return sink; }
+        public int getObjectsWritten() { return objectsWritten.get(); }
+        public int getObjectsFailed() { return objectsFailed.get(); }
+        public long getRecordsWritten() { return recordsWritten.get(); }
+        /** Time spent writing, summed over objects written concurrently */
+        public long getWriteMillis() { return TimeUnit.NANOSECONDS.toMillis(writeNanos.get()); }
+        /** Whether the sink failed to connect and is left out of the run */
+        public boolean isDisabled() { return disabled; }
+        /** Message of the last failure, or null */
+        public String getLastError() { return lastError; }
+
+        private void failed(String objectName, Throwable error) {
+            lastError = objectName != null ? objectName + ": " + error.getMessage() : error.getMessage();
+        }
+    }
+
+    public List<DataSink> getSinks() {
+        return sinks;
+    }
+
+    public List<SinkStats> getStats() {
+        return stats;
+    }
+
+    /**
+     * Connect every sink. Sinks that fail to connect are left out of the run; this only
+     * fails if none connects.
+     */
+    @Override
+    public void connect() throws Exception {
+        Exception firstFailure = null;
+        for (SinkStats sink : stats) {
+            try {
+                sink.sink.connect();
+                sink.disabled = false;
+            } catch (Exception e) {
+                logger.warn("Could not connect to {} - continuing without it: {}",
+                    sink.sink.getDisplayName(), e.getMessage());
+                sink.disabled = true;
+                sink.failed(null, e);
+                if (firstFailure == null) {
+                    firstFailure = e;
+                }
+            }
+        }
+        if (active().isEmpty()) {
+            throw firstFailure;
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        for (SinkStats sink : stats) {
+            try {
+                sink.sink.disconnect();
+            } catch (Exception e) {
+                logger.warn("Error disconnecting from {}", sink.sink.getDisplayName(), e);
+            }
+            logger.info("{}: wrote {} records for {} objects ({} failed) in {} ms",
+                sink.sink.getDisplayName(), sink.getRecordsWritten(), sink.getObjectsWritten(),
+                sink.getObjectsFailed(), sink.getWriteMillis());
+        }
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    @Override
+    public boolean testConnection() {
+        return sinks.stream().allMatch(DataSink::testConnection);
+    }
+
+    @Override
+    public void prepareSink(String objectName, Field[] fields) {
+        for (SinkStats sink : active()) {
+            try {
+                sink.sink.prepareSink(objectName, fields);
+            } catch (Exception e) {
+                logger.warn("{}: {} could not prepare: {}", objectName, sink.sink.getDisplayName(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public int writeData(String objectName, Reader csvReader, String backupId,
+                         ProgressCallback progressCallback) throws Exception {
+        try (CsvRecordBatchReader batches = new CsvRecordBatchReader(csvReader)) {
+            return writeBatches(objectName, batches, backupId, progressCallback);
+        }
+    }
+
+    @Override
+    public boolean supportsRecordBatches() {
+        return true;
+    }
+
+    /**
+     * Write the batches to every sink in parallel
+     * @return The fewest records any sink wrote
+     * @throws PartialWriteException If some sinks wrote the object and others failed or
+     *         were left out of the run
+     */
+    @Override
+    public int writeBatches(String objectName, RecordBatchSource batches, String backupId,
+                            ProgressCallback progressCallback) throws Exception {
+        List<SinkStats> targets = active();
+        if (targets.isEmpty()) {
+            throw new IllegalStateException("No sink is connected");
+        }
+
+        // Only the first sink reports progress, so the sinks don't overwrite each other's
+        List<SinkWrite> writes = new ArrayList<>();
+        for (SinkStats target : targets) {
+            SinkWrite write = new SinkWrite(target, batches.getColumnNames());
+            ProgressCallback progress = writes.isEmpty() ? progressCallback : null;
+            write.future = executor().submit(() -> write.run(objectName, backupId, progress));
+            writes.add(write);
+        }
+
+        Exception readFailure = null;
+        try {
+            RecordBatch batch;
+            while ((batch = batches.next()) != null) {
+                // The sinks share one copy; none of them modifies it
+                RecordBatch copy = batch.copy();
+                for (SinkWrite write : writes) {
+                    write.put(copy);
+                }
+            }
+        } catch (InterruptedException | InterruptedIOException e) {
+            writes.forEach(write -> write.future.cancel(true));
+            throw e;
+        } catch (Exception e) {
+            readFailure = e;
+        }
+        for (SinkWrite write : writes) {
+            write.end(readFailure);
+        }
+
+        int written = -1;
+        Exception firstFailure = readFailure;
+        // Sinks left out of the run don't get the object either
+        List<String> failedSinks = stats.stream().filter(sink -> !targets.contains(sink))
+            .map(sink -> sink.sink.getDisplayName()).collect(Collectors.toList());
+        for (SinkWrite write : writes) {
+            try {
+                int records = write.future.get();
+                write.stats.objectsWritten.incrementAndGet();
+                write.stats.recordsWritten.addAndGet(records);
+                written = written < 0 ? records : Math.min(written, records);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                write.stats.objectsFailed.incrementAndGet();
+                write.stats.failed(objectName, cause);
+                logger.warn("{}: Failed to write to {}: {}", objectName, write.stats.sink.getDisplayName(),
+                    cause.getMessage(), cause);
+                failedSinks.add(write.stats.sink.getDisplayName());
+                if (firstFailure == null) {
+                    firstFailure = cause instanceof Exception ? (Exception) cause : e;
+                }
+            }
+        }
+        if (readFailure != null) {
+            throw readFailure;
+        }
+        if (written < 0) {
+            throw firstFailure;
+        }
+        if (!failedSinks.isEmpty()) {
+            throw new PartialWriteException(written, failedSinks, firstFailure);
+        }
+        return written;
+    }
+
+    /**
+     * One sink's write of an object, fed through a bounded queue
+     */
+    private final class SinkWrite implements RecordBatchSource {
+        private final SinkStats stats;
+        private final List<String> columnNames;
+        private final BlockingQueue<RecordBatch> queue = new ArrayBlockingQueue<>(queueBatches);
+        private volatile Exception readFailure;
+        private boolean ended;
+        private Future<Integer> future;
+
+        SinkWrite(SinkStats stats, List<String> columnNames) {
+            this.stats = stats;
+            this.columnNames = columnNames;
+        }
+
+        int run(String objectName, String backupId, ProgressCallback progress) throws Exception {
+            long start = System.nanoTime();
+            try {
+                DataSink sink = stats.sink;
+                return sink.supportsRecordBatches()
+                    ? sink.writeBatches(objectName, this, backupId, progress)
+                    : sink.writeData(objectName, new BatchCsvReader(this), backupId, progress);
+            } finally {
+                stats.writeNanos.addAndGet(System.nanoTime() - start);
+                // A sink that stopped early mustn't leave the parser waiting on a full queue
+                while (!ended) {
+                    ended = queue.take() == END;
+                }
+            }
+        }
+
+        /**
+         * Queue a batch, waiting while the queue is full - unless the write has given up
+         */
+        void put(RecordBatch batch) throws InterruptedException {
+            while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                if (future.isDone()) {
+                    return;
+                }
+            }
+        }
+
+        void end(Exception readFailure) throws InterruptedException {
+            this.readFailure = readFailure;
+            put(END);
+        }
+
+        @Override
+        public List<String> getColumnNames() {
+            return columnNames;
+        }
+
+        @Override
+        public RecordBatch next() throws IOException {
+            if (ended) {
+                return null;
+            }
+            RecordBatch batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for records");
+            }
+            if (batch != END) {
+                return batch;
+            }
+            ended = true;
+            if (readFailure != null) {
+                throw new IOException("Reading records failed: " + readFailure.getMessage(), readFailure);
+            }
+            return null;
+        }
+
+        @Override
+        public void close() {
+            // The queue is drained when the write finishes
+        }
+    }
+
+    /**
+     * Batches as quoted CSV, for sinks that only take CSV
+     */
+    private static final class BatchCsvReader extends Reader {
+        private final RecordBatchSource batches;
+        private final StringWriter text = new StringWriter();
+        private int offset;
+        private boolean headerWritten;
+
+        BatchCsvReader(RecordBatchSource batches) {
+            this.batches = batches;
+        }
+
+        @Override
+        public int read(char[] buffer, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (offset >= text.getBuffer().length()) {
+                if (!refill()) {
+                    return -1;
+                }
+            }
+            StringBuffer available = text.getBuffer();
+            int count = Math.min(len, available.length() - offset);
+            available.getChars(offset, offset + count, buffer, off);
+            offset += count;
+            return count;
+        }
+
+        private boolean refill() throws IOException {
+            text.getBuffer().setLength(0);
+            offset = 0;
+            if (!headerWritten) {
+                List<String> columns = batches.getColumnNames();
+                for (int c = 0; c < columns.size(); c++) {
+                    CsvFileSink.writeField(text, c, columns.get(c));
+                }
+                text.write('\n');
+                headerWritten = true;
+                return true;
+            }
+            RecordBatch batch = batches.next();
+            if (batch == null) {
+                return false;
+            }
+            for (int row = 0; row < batch.getRowCount(); row++) {
+                for (int c = 0; c < batch.getColumnCount(); c++) {
+                    CsvFileSink.writeField(text, c, batch.get(row, c));
+                }
+                text.write('\n');
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // The batches belong to the composite sink
+        }
+    }
+
+    private List<SinkStats> active() {
+        return stats.stream().filter(sink -> !sink.disabled).collect(Collectors.toList());
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "composite-sink-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return sinks.stream().map(DataSink::getDisplayName).collect(Collectors.joining(" + "));
+    }
+
+    @Override
+    public String getType() {
+        return "COMPOSITE";
+    }
+
+    @Override
+    public void setRecreateTables(boolean recreate) {
+        sinks.forEach(sink -> sink.setRecreateTables(recreate));
+    }
+
+    @Override
+    public void setSkipMatchingCounts(boolean skip) {
+        sinks.forEach(sink -> sink.setSkipMatchingCounts(skip));
+    }
+
+    @Override
+    public void setMergeMode(boolean merge) {
+        sinks.forEach(sink -> sink.setMergeMode(merge));
+    }
+
+    @Override
+    public void setKeepHistory(boolean keepHistory) {
+        sinks.forEach(sink -> sink.setKeepHistory(keepHistory));
+    }
+
+    @Override
+    public void setSkipUnchangedRows(boolean skipUnchangedRows) {
+        sinks.forEach(sink -> sink.setSkipUnchangedRows(skipUnchangedRows));
+    }
+
+    @Override
+    public void setPartitionByBackupTime(boolean partitionByBackupTime) {
+        sinks.forEach(sink -> sink.setPartitionByBackupTime(partitionByBackupTime));
+    }
+
+    @Override
+    public void setRetentionDays(int retentionDays) {
+        sinks.forEach(sink -> sink.setRetentionDays(retentionDays));
+    }
+
+    @Override
+    public void dropTable(String objectName) {
+        for (SinkStats sink : active()) {
+            try {
+                sink.sink.dropTable(objectName);
+            } catch (Exception e) {
+                logger.warn("{}: {} could not drop its table: {}", objectName, sink.sink.getDisplayName(), e.getMessage());
+            }
+        }
+    }
+}
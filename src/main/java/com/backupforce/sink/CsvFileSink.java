@@ -12,6 +12,7 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 /**
  * CSV file-based data sink - writes backup data to CSV files
@@ -99,6 +100,64 @@ public class CsvFileSink implements DataSink {
         return recordCount - 1; // Subtract header row
     }
     
+    @Override
+    public boolean supportsRecordBatches() {
+        return true;
+    }
+    
+    /**
+     * Write batches as CSV with every value quoted, as the Bulk API does; nulls are
+     * written as empty values
+     */
+    @Override
+    public int writeBatches(String objectName, RecordBatchSource batches, String backupId,
+                            ProgressCallback progressCallback) throws Exception {
+        if (progressCallback != null) {
+            progressCallback.update("Writing to file...");
+        }
+        
+        Path outputPath = Paths.get(outputDirectory, objectName + ".csv");
+        int recordCount = 0;
+        
+        try (BufferedWriter writer = Files.newBufferedWriter(outputPath)) {
+            List<String> columns = batches.getColumnNames();
+            for (int c = 0; c < columns.size(); c++) {
+                writeField(writer, c, columns.get(c));
+            }
+            writer.newLine();
+            RecordBatch batch;
+            while ((batch = batches.next()) != null) {
+                int columnCount = batch.getColumnCount();
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    for (int c = 0; c < columnCount; c++) {
+                        writeField(writer, c, batch.get(row, c));
+                    }
+                    writer.newLine();
+                }
+                recordCount += batch.getRowCount();
+            }
+        }
+        
+        logger.info("{}: Wrote {} records to {}", objectName, recordCount, outputPath);
+        
+        if (progressCallback != null) {
+            progressCallback.update("Completed - " + recordCount + " records");
+        }
+        
+        return recordCount;
+    }
+    
+    static void writeField(Writer writer, int column, String value) throws IOException {
+        if (column > 0) {
+            writer.write(',');
+        }
+        writer.write('"');
+        if (value != null) {
+            writer.write(value.indexOf('"') >= 0 ? value.replace("\"", "\"\"") : value);
+        }
+        writer.write('"');
+    }
+    
     @Override
     public String getDisplayName() {
         return "CSV Files (" + outputDirectory + ")";
@@ -0,0 +1,169 @@
+package com.backupforce.sink;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses Bulk API CSV into reusable {@link RecordBatch}es.
+ *
+ * The first record is the header. Fields are read straight into the batch's column arrays,
+ * so the only allocation per record is its value strings. Quoted fields may contain commas,
+ * line breaks and doubled quotes; empty fields (quoted or not) are null, which is how the
+ * Bulk API writes nulls. Blank lines are skipped, missing trailing fields are null and
+ * extra fields are ignored.
+ */
+public final class CsvRecordBatchReader implements RecordBatchSource {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    @FunctionalInterface
+    private interface FieldConsumer {
+        void accept(int index, String value);
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> columnNames;
+    private final RecordBatch batch;
+    private final FieldConsumer intoBatch;
+    private int currentRow;
+    private boolean finished;
+    private long recordCount;
+
+    public CsvRecordBatchReader(Reader reader) throws IOException {
+        this(reader, RecordBatch.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Reads the header immediately
+     * @param batchRows Rows per batch
+     */
+    public CsvRecordBatchReader(Reader reader, int batchRows) throws IOException {
+        this.reader = reader;
+        List<String> header = new ArrayList<>();
+        if (readRecord((index, value) -> header.add(value != null ? value : "")) < 0) {
+            finished = true;
+        }
+        this.columnNames = header;
+        this.batch = new RecordBatch(header, batchRows);
+        int columnCount = header.size();
+        this.intoBatch = (index, value) -> {
+            if (index < columnCount) {
+                batch.set(currentRow, index, value);
+            }
+        };
+    }
+
+    @Override
+    public List<String> getColumnNames() {
+        return batch.getColumnNames();
+    }
+
+    @Override
+    public RecordBatch next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        batch.clear();
+        while (!batch.isFull()) {
+            currentRow = batch.addRow();
+            if (readRecord(intoBatch) < 0) {
+                batch.removeLastRow();
+                finished = true;
+                break;
+            }
+            recordCount++;
+        }
+        return batch.getRowCount() > 0 ? batch : null;
+    }
+
+    /**
+     * Records parsed so far, not counting the header
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Read one record, handing each field to {@code consumer}
+     * @return The number of fields, or -1 at the end of the input
+     */
+    private int readRecord(FieldConsumer consumer) throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return -1;
+        }
+        int index = 0;
+        while (true) {
+            field.setLength(0);
+            if (c == '"') {
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        break;
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break;
+                        }
+                    }
+                    field.append((char) c);
+                }
+            }
+            // Unquoted text, or anything between a closing quote and the delimiter
+            while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                field.append((char) c);
+                c = read();
+            }
+            consumer.accept(index++, field.length() > 0 ? field.toString() : null);
+            if (c != ',') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                return index;
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
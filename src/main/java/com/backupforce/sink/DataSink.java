@@ -44,6 +44,29 @@ public interface DataSink {
     int writeData(String objectName, Reader csvReader, String backupId, 
                   ProgressCallback progressCallback) throws Exception;
     
+    /**
+     * Whether this sink can take records as {@link RecordBatch}es through
+     * {@link #writeBatches}, so CSV parsed once can be handed over without re-parsing
+     */
+    default boolean supportsRecordBatches() {
+        return false;
+    }
+    
+    /**
+     * Write records delivered as columnar batches. Only called if
+     * {@link #supportsRecordBatches()} returns true.
+     * 
+     * @param objectName Salesforce object name
+     * @param batches Record batches; each batch is only valid until the next is requested
+     * @param backupId Unique backup identifier
+     * @param progressCallback Progress callback
+     * @return Number of records written
+     */
+    default int writeBatches(String objectName, RecordBatchSource batches, String backupId,
+                             ProgressCallback progressCallback) throws Exception {
+        throw new UnsupportedOperationException(getType() + " sink does not accept record batches");
+    }
+    
     /**
      * Get display name for this sink
      */
@@ -74,6 +97,55 @@ public interface DataSink {
         // Default: no-op for sinks that don't support this
     }
     
+    /**
+     * Set whether to upsert rows by record Id instead of appending them
+     * Default is false (append)
+     * 
+     * @param merge true to keep one current row per record
+     */
+    default void setMergeMode(boolean merge) {
+        // Default: no-op for sinks that don't support this
+    }
+    
+    /**
+     * Set whether merge mode also keeps an append-only history of every run's rows
+     * 
+     * @param keepHistory true to keep a history table alongside the current-state table
+     */
+    default void setKeepHistory(boolean keepHistory) {
+        // Default: no-op for sinks that don't support this
+    }
+    
+    /**
+     * Set whether records whose content hasn't changed since the last load are skipped
+     * Default is false (load every record)
+     * 
+     * @param skipUnchangedRows true to write only new and changed records
+     */
+    default void setSkipUnchangedRows(boolean skipUnchangedRows) {
+        // Default: no-op for sinks that don't support this
+    }
+    
+    /**
+     * Set whether new tables are partitioned by backup time
+     * Default is false
+     * 
+     * @param partitionByBackupTime true to partition new tables by the day of each backup
+     */
+    default void setPartitionByBackupTime(boolean partitionByBackupTime) {
+        // Default: no-op for sinks that don't support this
+    }
+    
+    /**
+     * Set how many days of backups are kept in partitioned tables
+     * Default is 0 (keep all)
+     * 
+     * @param retentionDays days of backups to keep, 0 to keep all
+     */
+    default void setRetentionDays(int retentionDays) {
+        // Default: no-op for sinks that don't support this
+    }
+    
     /**
      * Drop existing table if it exists
      * 
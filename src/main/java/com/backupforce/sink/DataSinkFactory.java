@@ -1,10 +1,12 @@
 package com.backupforce.sink;
 
+import com.backupforce.sink.dialect.MySqlDialect;
 import com.backupforce.sink.dialect.PostgresDialect;
 import com.backupforce.sink.dialect.SnowflakeDialect;
 import com.backupforce.sink.dialect.SqlServerDialect;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Properties;
 
 /**
@@ -30,6 +32,48 @@ public class DataSinkFactory {
         }
     }
     
+    /**
+     * What a backup to a folder writes besides the Bulk API's CSV files
+     */
+    public enum FileFormat {
+        CSV("CSV"),
+        PARQUET("CSV + Parquet"),
+        DUCKDB("CSV + DuckDB"),
+        PARQUET_AND_DUCKDB("CSV + Parquet + DuckDB");
+        
+        private final String displayName;
+        
+        FileFormat(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+        
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+    
+    /**
+     * Create the sink for a backup to {@code outputDirectory} in the given format. The CSV
+     * files are written there by the backup itself; the other formats are loaded from them.
+     */
+    public static DataSink createFileSink(FileFormat format, String outputDirectory) {
+        switch (format != null ? format : FileFormat.CSV) {
+            case PARQUET:
+                return createParquetFileSink(outputDirectory);
+            case DUCKDB:
+                return createDuckDbSink(outputDirectory);
+            case PARQUET_AND_DUCKDB:
+                return createCompositeSink(createParquetFileSink(outputDirectory), createDuckDbSink(outputDirectory));
+            default:
+                return createCsvFileSink(outputDirectory);
+        }
+    }
+    
     /**
      * Create a CSV file sink
      */
@@ -37,6 +81,43 @@ public class DataSinkFactory {
         return new CsvFileSink(outputDirectory);
     }
     
+    /**
+     * Create a Parquet file sink with Zstd compression and 256 MB files
+     */
+    public static DataSink createParquetFileSink(String outputDirectory) {
+        return new ParquetFileSink(outputDirectory);
+    }
+    
+    /**
+     * Create a Parquet file sink with the given compression, rolling files at {@code fileSizeBytes}
+     */
+    public static DataSink createParquetFileSink(String outputDirectory, ParquetFileSink.Compression compression,
+                                                 long fileSizeBytes) {
+        return new ParquetFileSink(outputDirectory, compression, fileSizeBytes, ParquetFileSink.DEFAULT_ROW_GROUP_ROWS);
+    }
+    
+    /**
+     * Create a DuckDB sink that keeps one local database, upserting every backup into its tables
+     */
+    public static DataSink createDuckDbSink(String outputDirectory) {
+        return new DuckDbSink(outputDirectory);
+    }
+    
+    /**
+     * Create a DuckDB sink with the given layout, e.g. a new database file per backup
+     */
+    public static DataSink createDuckDbSink(String outputDirectory, DuckDbSink.Layout layout) {
+        return new DuckDbSink(outputDirectory, layout);
+    }
+    
+    /**
+     * Create a sink that writes every object to all of {@code sinks} in parallel,
+     * e.g. a CSV archive and a database
+     */
+    public static DataSink createCompositeSink(DataSink... sinks) {
+        return new CompositeDataSink(Arrays.asList(sinks));
+    }
+    
     /**
      * Create a Snowflake database sink
      */
@@ -76,10 +157,38 @@ public class DataSinkFactory {
     public static DataSink createSnowflakeSinkWithExistingConnection(
             java.sql.Connection existingConnection, 
             String database, String schema, String warehouse) {
+        return createSnowflakeSinkWithExistingConnection(existingConnection, null, database, schema, warehouse);
+    }
+    
+    /**
+     * Create a Snowflake database sink with an existing connection, opening further
+     * connections for concurrent writes with {@code moreConnections} (null to share the
+     * existing one). Every connection gets the same database/schema/warehouse context.
+     */
+    public static DataSink createSnowflakeSinkWithExistingConnection(
+            java.sql.Connection existingConnection, JdbcConnectionPool.ConnectionFactory moreConnections,
+            String database, String schema, String warehouse) {
         String displayName = String.format("Snowflake (%s.%s.%s)", database, schema, warehouse);
         
         // CRITICAL: Set the database/schema/warehouse context on the existing connection
         // Without this, the connection might be pointing to a different database/schema
+        setSnowflakeContext(existingConnection, database, schema, warehouse);
+        
+        JdbcConnectionPool.ConnectionFactory contextConnections = moreConnections == null ? null : () -> {
+            java.sql.Connection connection = moreConnections.open();
+            try {
+                setSnowflakeContext(connection, database, schema, warehouse);
+            } catch (RuntimeException e) {
+                connection.close();
+                throw new java.sql.SQLException(e.getMessage(), e);
+            }
+            return connection;
+        };
+        return new JdbcDatabaseSink(existingConnection, contextConnections, new SnowflakeDialect(), displayName);
+    }
+    
+    private static void setSnowflakeContext(java.sql.Connection existingConnection,
+                                            String database, String schema, String warehouse) {
         try (java.sql.Statement stmt = existingConnection.createStatement()) {
             // Set a query timeout to prevent UI freeze if warehouse is resuming
             stmt.setQueryTimeout(30); // 30 second timeout
@@ -105,8 +214,6 @@ public class DataSinkFactory {
             LoggerFactory.getLogger(DataSinkFactory.class).error("Failed to set Snowflake context: {}", e.getMessage());
             throw new RuntimeException("Failed to set Snowflake database/schema/warehouse context: " + e.getMessage(), e);
         }
-        
-        return new JdbcDatabaseSink(existingConnection, new SnowflakeDialect(), displayName);
     }
     
     /**
@@ -132,6 +239,14 @@ public class DataSinkFactory {
      */
     public static DataSink createSqlServerSink(String server, String database, 
                                               String username, String password) {
+        return createSqlServerSink(server, database, username, password, new SqlServerDialect());
+    }
+    
+    /**
+     * Create a SQL Server database sink with a configured dialect (e.g. bulk copy settings)
+     */
+    public static DataSink createSqlServerSink(String server, String database, String username,
+                                              String password, SqlServerDialect dialect) {
         String jdbcUrl = String.format("jdbc:sqlserver://%s;databaseName=%s", server, database);
         
         Properties props = new Properties();
@@ -141,7 +256,7 @@ public class DataSinkFactory {
         
         String displayName = String.format("SQL Server (%s.%s)", server, database);
         
-        return new JdbcDatabaseSink(jdbcUrl, props, new SqlServerDialect(), displayName);
+        return new JdbcDatabaseSink(jdbcUrl, props, dialect, displayName);
     }
     
     /**
@@ -149,8 +264,18 @@ public class DataSinkFactory {
      */
     public static DataSink createSqlServerSinkWithExistingConnection(
             java.sql.Connection existingConnection, String server, String database) {
+        return createSqlServerSinkWithExistingConnection(existingConnection, null, server, database);
+    }
+    
+    /**
+     * Create a SQL Server database sink with an existing connection, opening further
+     * connections for concurrent writes with {@code moreConnections} (null to share the existing one).
+     */
+    public static DataSink createSqlServerSinkWithExistingConnection(
+            java.sql.Connection existingConnection, JdbcConnectionPool.ConnectionFactory moreConnections,
+            String server, String database) {
         String displayName = String.format("SQL Server (%s.%s)", server, database);
-        return new JdbcDatabaseSink(existingConnection, new SqlServerDialect(), displayName);
+        return new JdbcDatabaseSink(existingConnection, moreConnections, new SqlServerDialect(), displayName);
     }
     
     /**
@@ -178,8 +303,59 @@ public class DataSinkFactory {
     public static DataSink createPostgresSinkWithExistingConnection(
             java.sql.Connection existingConnection, String host, int port, 
             String database, String schema) {
+        return createPostgresSinkWithExistingConnection(existingConnection, null, host, port, database, schema);
+    }
+    
+    /**
+     * Create a PostgreSQL database sink with an existing connection, opening further
+     * connections for concurrent writes with {@code moreConnections} (null to share the existing one).
+     */
+    public static DataSink createPostgresSinkWithExistingConnection(
+            java.sql.Connection existingConnection, JdbcConnectionPool.ConnectionFactory moreConnections,
+            String host, int port, String database, String schema) {
         String displayName = String.format("PostgreSQL (%s:%d/%s.%s)", host, port, database, schema);
-        return new JdbcDatabaseSink(existingConnection, new PostgresDialect(), displayName);
+        return new JdbcDatabaseSink(existingConnection, moreConnections, new PostgresDialect(), displayName);
+    }
+    
+    /**
+     * Create a MySQL/MariaDB database sink
+     */
+    public static DataSink createMySqlSink(String host, int port, String database,
+                                          String username, String password) {
+        String jdbcUrl = String.format("jdbc:mysql://%s:%d/%s", host, port, database);
+        
+        Properties props = new Properties();
+        props.put("user", username);
+        props.put("password", password);
+        props.put("db", database);
+        // Batches go to the server as multi-row INSERTs
+        props.put("rewriteBatchedStatements", "true");
+        // Needed for LOAD DATA LOCAL INFILE from a stream; the sink only sends its own streams
+        props.put("allowLoadLocalInfile", "true");
+        
+        String displayName = String.format("MySQL (%s:%d/%s)", host, port, database);
+        
+        return new JdbcDatabaseSink(jdbcUrl, props, new MySqlDialect(), displayName);
+    }
+    
+    /**
+     * Create a MySQL/MariaDB database sink with an existing connection.
+     * LOAD DATA needs allowLoadLocalInfile on that connection, otherwise batched inserts are used.
+     */
+    public static DataSink createMySqlSinkWithExistingConnection(
+            java.sql.Connection existingConnection, String host, int port, String database) {
+        return createMySqlSinkWithExistingConnection(existingConnection, null, host, port, database);
+    }
+    
+    /**
+     * Create a MySQL/MariaDB database sink with an existing connection, opening further
+     * connections for concurrent writes with {@code moreConnections} (null to share the existing one).
+     */
+    public static DataSink createMySqlSinkWithExistingConnection(
+            java.sql.Connection existingConnection, JdbcConnectionPool.ConnectionFactory moreConnections,
+            String host, int port, String database) {
+        String displayName = String.format("MySQL (%s:%d/%s)", host, port, database);
+        return new JdbcDatabaseSink(existingConnection, moreConnections, new MySqlDialect(), displayName);
     }
     
     /**
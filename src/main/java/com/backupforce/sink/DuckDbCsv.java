@@ -0,0 +1,183 @@
+package com.backupforce.sink;
+
+import com.sforce.soap.partner.Field;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Loading Bulk API CSV through DuckDB, shared by the sinks built on it.
+ *
+ * The CSV is staged in a temporary file, which DuckDB reads in parallel without holding
+ * the object in memory. Columns are typed from the object's describe metadata.
+ */
+final class DuckDbCsv {
+
+    // Long text area and rich text values can be far longer than DuckDB's default line limit
+    private static final long MAX_LINE_BYTES = 64L * 1024 * 1024;
+
+    private DuckDbCsv() {
+    }
+
+    /**
+     * Open a DuckDB database; {@code database} is a file path, or empty for an in-memory one
+     */
+    static Connection open(String database) throws SQLException {
+        return DriverManager.getConnection("jdbc:duckdb:" + database);
+    }
+
+    /**
+     * Copy CSV text to a temporary file in {@code directory}. Closes the reader.
+     */
+    static Path stage(Path directory, String objectName, Reader csvReader) throws IOException {
+        Path staged = stagingFile(directory, objectName);
+        try (Reader reader = csvReader;
+             Writer writer = Files.newBufferedWriter(staged, StandardCharsets.UTF_8)) {
+            reader.transferTo(writer);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+        return staged;
+    }
+
+    /**
+     * Write record batches as CSV to a temporary file in {@code directory}
+     */
+    static Path stage(Path directory, String objectName, RecordBatchSource batches) throws Exception {
+        Path staged = stagingFile(directory, objectName);
+        try (BufferedWriter writer = Files.newBufferedWriter(staged, StandardCharsets.UTF_8)) {
+            List<String> columns = batches.getColumnNames();
+            for (int c = 0; c < columns.size(); c++) {
+                CsvFileSink.writeField(writer, c, columns.get(c));
+            }
+            writer.write('\n');
+            RecordBatch batch;
+            while ((batch = batches.next()) != null) {
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    for (int c = 0; c < batch.getColumnCount(); c++) {
+                        CsvFileSink.writeField(writer, c, batch.get(row, c));
+                    }
+                    writer.write('\n');
+                }
+            }
+        } catch (Exception e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+        return staged;
+    }
+
+    private static Path stagingFile(Path directory, String objectName) throws IOException {
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, "." + objectName + "-", ".csv");
+    }
+
+    static List<String> readHeaders(Statement stmt, Path staged) throws SQLException {
+        List<String> headers = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT * FROM " + csvSource(staged) + " LIMIT 0")) {
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                headers.add(meta.getColumnName(i));
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * DuckDB column types of the described fields, by lower-case field name
+     */
+    static Map<String, String> columnTypes(Field[] fields) {
+        Map<String, String> types = new HashMap<>();
+        if (fields != null) {
+            for (Field field : fields) {
+                if (field.getName() != null && field.getType() != null) {
+                    String type = mapSalesforceType(field.getType().toString(), field.getPrecision(), field.getScale());
+                    if (type != null) {
+                        types.put(field.getName().toLowerCase(Locale.ROOT), type);
+                    }
+                }
+            }
+        }
+        return types;
+    }
+
+    /**
+     * DuckDB type a Salesforce field is stored as, or null to keep it as text
+     */
+    static String mapSalesforceType(String sfType, int precision, int scale) {
+        switch (sfType.toUpperCase(Locale.ROOT)) {
+            case "BOOLEAN":
+                return "BOOLEAN";
+            case "INT":
+                return "INTEGER";
+            case "LONG":
+                return "BIGINT";
+            case "DOUBLE":
+            case "CURRENCY":
+            case "PERCENT":
+                // Decimals go up to 38 digits; wider ones stay floating point
+                return precision > 0 && precision <= 38 ? "DECIMAL(" + precision + ", " + scale + ")" : "DOUBLE";
+            case "DATE":
+                return "DATE";
+            case "DATETIME":
+                return "TIMESTAMP";
+            case "TIME":
+                return "TIME";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Query reading the staged CSV with typed columns. Empty values are nulls, as in the
+     * Bulk API's CSV, and values that don't parse as their column's type are read as null.
+     */
+    static String typedSelect(List<String> headers, Map<String, String> types, Path staged) {
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (int i = 0; i < headers.size(); i++) {
+            String column = quote(headers.get(i));
+            String type = types.get(headers.get(i).toLowerCase(Locale.ROOT));
+            if (i > 0) {
+                select.append(", ");
+            }
+            if (type != null) {
+                select.append("TRY_CAST(NULLIF(").append(column).append(", '') AS ").append(type).append(')');
+            } else {
+                select.append("NULLIF(").append(column).append(", '')");
+            }
+            select.append(" AS ").append(column);
+        }
+        return select.append(" FROM ").append(csvSource(staged)).toString();
+    }
+
+    private static String csvSource(Path staged) {
+        return "read_csv(" + literal(staged.toString())
+            + ", header = true, all_varchar = true, delim = ',', quote = '\"', escape = '\"'"
+            + ", max_line_size = " + MAX_LINE_BYTES + ")";
+    }
+
+    static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
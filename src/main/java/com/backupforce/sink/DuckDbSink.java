@@ -0,0 +1,291 @@
+package com.backupforce.sink;
+
+import com.sforce.soap.partner.Field;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DuckDB sink - loads each object into a table of a local DuckDB database file, so a backup
+ * can be queried with SQL without a database server.
+ *
+ * Tables are named after the objects, with columns typed from the describe metadata, a
+ * {@code backup_id} column naming the backup that last wrote each row and an index on Id for
+ * point lookups. A {@code _backup_loads} table logs every load of every object: its backup,
+ * how many records it loaded and when.
+ *
+ * Loads upsert by Id: a record replaces its earlier row and records the load doesn't carry
+ * are kept, so an incremental backup adds its changes to the table rather than replacing it.
+ * Fields added since the table was created become new columns. Objects without an Id column
+ * are replaced by each load.
+ *
+ * {@link Layout#ROLLING} keeps one database, {@code backupforce.duckdb}, that every backup
+ * loads into; {@link Layout#PER_BACKUP} starts a new {@code backup_<timestamp>.duckdb} each
+ * time the sink connects.
+ *
+ * The CSV is staged in a temporary file and bulk-loaded by DuckDB. An object's load runs in
+ * one transaction, so a failed load leaves the earlier table as it was. DuckDB allows one
+ * writer per database, so loads are serialized; staging still runs in parallel.
+ */
+public class DuckDbSink implements DataSink {
+    private static final Logger logger = LoggerFactory.getLogger(DuckDbSink.class);
+
+    public static final String ROLLING_DATABASE = "backupforce.duckdb";
+    static final String LOADS_TABLE = "_backup_loads";
+    static final String BACKUP_ID_COLUMN = "backup_id";
+    private static final String STAGED_TABLE = "_staged";
+
+    public enum Layout {
+        ROLLING, PER_BACKUP
+    }
+
+    private final String outputDirectory;
+    private final Layout layout;
+    private final Map<String, Field[]> describedFields = new ConcurrentHashMap<>();
+    private final Object loadLock = new Object();
+    private Connection connection;
+    private Path databaseFile;
+
+    public DuckDbSink(String outputDirectory) {
+        this(outputDirectory, Layout.ROLLING);
+    }
+
+    public DuckDbSink(String outputDirectory, Layout layout) {
+        this.outputDirectory = outputDirectory;
+        this.layout = layout;
+    }
+
+    @Override
+    public void connect() throws Exception {
+        synchronized (loadLock) {
+            if (connection != null && !connection.isClosed()) {
+                return;
+            }
+            Path directory = Paths.get(outputDirectory);
+            if (!Files.exists(directory)) {
+                Files.createDirectories(directory);
+                logger.info("Created output directory: {}", outputDirectory);
+            }
+            databaseFile = directory.resolve(layout == Layout.ROLLING ? ROLLING_DATABASE
+                : "backup_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".duckdb");
+            connection = DuckDbCsv.open(databaseFile.toString());
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS " + LOADS_TABLE
+                    + " (object_name VARCHAR, backup_id VARCHAR, record_count BIGINT, loaded_at TIMESTAMP)");
+            }
+            logger.info("Opened DuckDB database: {}", databaseFile);
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        synchronized (loadLock) {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.warn("Error closing DuckDB database {}: {}", databaseFile, e.getMessage());
+                }
+                connection = null;
+            }
+        }
+        describedFields.clear();
+    }
+
+    @Override
+    public boolean testConnection() {
+        try {
+            connect();
+            return connection.isValid(5);
+        } catch (Exception e) {
+            logger.error("Cannot open DuckDB database in output directory", e);
+            return false;
+        }
+    }
+
+    /**
+     * Keep the describe metadata to type the object's columns
+     */
+    @Override
+    public void prepareSink(String objectName, Field[] fields) {
+        if (fields != null) {
+            describedFields.put(objectName, fields);
+        }
+    }
+
+    @Override
+    public int writeData(String objectName, Reader csvReader, String backupId,
+                        ProgressCallback progressCallback) throws Exception {
+        if (progressCallback != null) {
+            progressCallback.update("Loading into DuckDB...");
+        }
+
+        Path staged = DuckDbCsv.stage(Paths.get(outputDirectory), objectName, csvReader);
+        try {
+            return load(objectName, staged, backupId, progressCallback);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    @Override
+    public boolean supportsRecordBatches() {
+        return true;
+    }
+
+    @Override
+    public int writeBatches(String objectName, RecordBatchSource batches, String backupId,
+                            ProgressCallback progressCallback) throws Exception {
+        if (progressCallback != null) {
+            progressCallback.update("Loading into DuckDB...");
+        }
+
+        Path staged = DuckDbCsv.stage(Paths.get(outputDirectory), objectName, batches);
+        try {
+            return load(objectName, staged, backupId, progressCallback);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    /**
+     * Upsert the staged CSV into the object's table by Id, creating the table and its Id
+     * index on the first load
+     * @return Number of records loaded
+     */
+    private int load(String objectName, Path staged, String backupId, ProgressCallback progressCallback)
+            throws Exception {
+        long rows;
+        synchronized (loadLock) {
+            connect();
+            String table = DuckDbCsv.quote(objectName);
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                List<String> headers = DuckDbCsv.readHeaders(stmt, staged);
+                String idColumn = headers.stream().filter("Id"::equalsIgnoreCase).findFirst().orElse(null);
+                stmt.execute("CREATE OR REPLACE TEMP TABLE " + STAGED_TABLE + " AS SELECT *, "
+                    + DuckDbCsv.literal(backupId != null ? backupId : "") + " AS " + BACKUP_ID_COLUMN + " FROM ("
+                    + DuckDbCsv.typedSelect(headers, DuckDbCsv.columnTypes(describedFields.get(objectName)), staged)
+                    + ")");
+                try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + STAGED_TABLE)) {
+                    rs.next();
+                    rows = rs.getLong(1);
+                }
+                if (!tableExists(objectName)) {
+                    stmt.execute("CREATE TABLE " + table + " AS SELECT * FROM " + STAGED_TABLE);
+                    if (idColumn != null) {
+                        stmt.execute("CREATE INDEX " + DuckDbCsv.quote(objectName + "_Id_idx") + " ON " + table
+                            + " (" + DuckDbCsv.quote(idColumn) + ")");
+                    }
+                } else {
+                    addNewColumns(stmt, objectName);
+                    if (idColumn != null) {
+                        stmt.execute("DELETE FROM " + table + " WHERE " + DuckDbCsv.quote(idColumn)
+                            + " IN (SELECT " + DuckDbCsv.quote(idColumn) + " FROM " + STAGED_TABLE + ")");
+                    } else {
+                        stmt.execute("DELETE FROM " + table);
+                    }
+                    stmt.execute("INSERT INTO " + table + " BY NAME SELECT * FROM " + STAGED_TABLE);
+                }
+                stmt.execute("DROP TABLE " + STAGED_TABLE);
+                recordLoad(objectName, backupId, rows);
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        logger.info("{}: Loaded {} records into {}", objectName, rows, databaseFile);
+        if (progressCallback != null) {
+            progressCallback.update("Completed - " + rows + " records");
+        }
+        return (int) rows;
+    }
+
+    private boolean tableExists(String objectName) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT 1 FROM information_schema.tables WHERE table_catalog = current_database()"
+                    + " AND table_schema = 'main' AND table_name = ?")) {
+            query.setString(1, objectName);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Add the staged columns the object's table doesn't have yet, e.g. fields created since
+     * its first load. Rows loaded earlier have nulls in them.
+     */
+    private void addNewColumns(Statement stmt, String objectName) throws SQLException {
+        List<String[]> missing = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT s.column_name, s.data_type FROM information_schema.columns s"
+                    + " WHERE s.table_catalog = 'temp' AND s.table_name = ? AND NOT EXISTS ("
+                    + "SELECT 1 FROM information_schema.columns t WHERE t.table_catalog = current_database()"
+                    + " AND t.table_name = ? AND lower(t.column_name) = lower(s.column_name))"
+                    + " ORDER BY s.ordinal_position")) {
+            query.setString(1, STAGED_TABLE);
+            query.setString(2, objectName);
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    missing.add(new String[] {rs.getString(1), rs.getString(2)});
+                }
+            }
+        }
+        for (String[] column : missing) {
+            stmt.execute("ALTER TABLE " + DuckDbCsv.quote(objectName) + " ADD COLUMN "
+                + DuckDbCsv.quote(column[0]) + " " + column[1]);
+            logger.info("{}: Added column {} ({})", objectName, column[0], column[1]);
+        }
+    }
+
+    private void recordLoad(String objectName, String backupId, long rows) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + LOADS_TABLE + " VALUES (?, ?, ?, current_timestamp)")) {
+            insert.setString(1, objectName);
+            insert.setString(2, backupId);
+            insert.setLong(3, rows);
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * The database file, once connected
+     */
+    public Path getDatabaseFile() {
+        return databaseFile;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "DuckDB (" + (databaseFile != null ? databaseFile : Paths.get(outputDirectory)) + ")";
+    }
+
+    @Override
+    public String getType() {
+        return "DUCKDB";
+    }
+}
@@ -0,0 +1,224 @@
+package com.backupforce.sink;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Small bounded pool of JDBC connections to one database.
+ *
+ * Connections are opened on demand up to the maximum size and kept for reuse. Borrowers
+ * wait when every connection is in use. Idle connections are validated before they are
+ * handed out, and closed once they have been idle longer than the idle timeout.
+ *
+ * A pool can also wrap a connection it doesn't own (e.g. a cached SSO session). That
+ * connection is handed out first and never closed by the pool; without a factory for
+ * more connections the pool holds just that one, so concurrent users take turns.
+ */
+public class JdbcConnectionPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcConnectionPool.class);
+
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 10 * 60 * 1000; // 10 minutes
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Opens a new physical connection
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private static final class IdleConnection {
+        final Connection connection;
+        final long idleSince;
+
+        IdleConnection(Connection connection) {
+            this.connection = connection;
+            this.idleSince = System.currentTimeMillis();
+        }
+    }
+
+    private final ConnectionFactory factory;
+    private final Connection shared;
+    private final int maxSize;
+    private final Semaphore permits;
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private volatile long idleTimeoutMs = DEFAULT_IDLE_TIMEOUT_MS;
+    private volatile boolean closed;
+
+    public JdbcConnectionPool(ConnectionFactory factory, int maxSize) {
+        this(null, factory, maxSize);
+    }
+
+    /**
+     * @param shared Existing connection to hand out first, or null. The pool never closes it.
+     * @param factory Opens further connections, or null to use only {@code shared}
+     * @param maxSize Maximum connections in use at once (1 when there is no factory)
+     */
+    public JdbcConnectionPool(Connection shared, ConnectionFactory factory, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + maxSize);
+        }
+        if (shared == null && factory == null) {
+            throw new IllegalArgumentException("A connection factory or an existing connection is required");
+        }
+        this.factory = factory;
+        this.shared = shared;
+        this.maxSize = factory != null ? maxSize : 1;
+        this.permits = new Semaphore(this.maxSize, true);
+        if (shared != null) {
+            idle.add(new IdleConnection(shared));
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Close idle connections (other than a shared one) after this long unused
+     */
+    public void setIdleTimeoutMs(long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    /**
+     * Take a connection, reusing a valid idle one or opening a new one. Blocks while the
+     * pool is exhausted. Every borrowed connection must be given back with
+     * {@link #release(Connection)} or {@link #discard(Connection)}.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        try {
+            evictIdle();
+            IdleConnection candidate;
+            while ((candidate = pollIdle()) != null) {
+                if (isValid(candidate.connection)) {
+                    return candidate.connection;
+                }
+                logger.info("Pooled connection is no longer valid, discarding it");
+                closeQuietly(candidate.connection);
+            }
+            if (factory == null) {
+                throw new SQLException("External connection is no longer valid");
+            }
+            Connection connection = factory.open();
+            logger.debug("Opened pooled connection ({} max)", maxSize);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a borrowed connection. Broken connections should be given back with
+     * {@link #discard(Connection)} instead, so they aren't handed out again.
+     */
+    public void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        if (closed) {
+            closeQuietly(connection);
+        } else {
+            synchronized (idle) {
+                idle.addFirst(new IdleConnection(connection));
+            }
+        }
+        permits.release();
+    }
+
+    /**
+     * Close a borrowed connection instead of returning it to the pool
+     */
+    public void discard(Connection connection) {
+        closeQuietly(connection);
+        permits.release();
+    }
+
+    /**
+     * Number of connections currently open and idle
+     */
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /**
+     * Close all idle connections and refuse further borrowing. Connections still borrowed
+     * are closed when they are released.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (idle) {
+            while (!idle.isEmpty()) {
+                closeQuietly(idle.pollFirst().connection);
+            }
+        }
+    }
+
+    private IdleConnection pollIdle() {
+        synchronized (idle) {
+            return idle.pollFirst();
+        }
+    }
+
+    /**
+     * Close connections idle past the timeout. Most recently used connections are at the
+     * front, so the stale ones are at the back.
+     */
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        synchronized (idle) {
+            Iterator<IdleConnection> stale = idle.descendingIterator();
+            while (stale.hasNext()) {
+                IdleConnection candidate = stale.next();
+                if (candidate.idleSince >= cutoff) {
+                    break;
+                }
+                if (candidate.connection != shared) {
+                    stale.remove();
+                    closeQuietly(candidate.connection);
+                    logger.debug("Closed pooled connection idle for more than {} ms", idleTimeoutMs);
+                }
+            }
+        }
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        if (connection == shared) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing pooled connection: {}", e.getMessage());
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.backupforce.sink;
 
 import com.sforce.soap.partner.Field;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Reader;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -19,19 +24,70 @@ import java.util.stream.Collectors;
 public class JdbcDatabaseSink implements DataSink {
     private static final Logger logger = LoggerFactory.getLogger(JdbcDatabaseSink.class);
     
+    // Default segment size for partitioned loads, in insert batches
+    private static final int SEGMENT_BATCHES = 5;
+    
+    // Columns the sink adds to every table, besides the object's fields (lower case)
+    private static final Set<String> SINK_COLUMNS = new HashSet<>(Arrays.asList(
+        "backup_id", "backup_timestamp", "blob_data", "row_hash"));
+    
+    // Change detection fingerprints are 64 bits in hex
+    private static final int ROW_HASH_LENGTH = 16;
+    
+    // Batched inserts parse the next batch while the previous one executes
+    private static final int BATCH_BUFFERS = 3;
+    
+    // Insert batches carrying blobs are executed once their files add up to this much
+    public static final long DEFAULT_MAX_BATCH_BLOB_BYTES = 64L * 1024 * 1024;
+    
     private final String jdbcUrl;
     private final Properties connectionProperties;
     private final DatabaseDialect dialect;
     private final String displayName;
-    private Connection connection;
     private boolean recreateTables = false;  // Default: incremental mode
     private boolean skipMatchingCounts = false;  // Default: don't skip based on count matching
+    private boolean mergeMode = false;  // Default: append every run's rows
+    private boolean keepHistory = false;  // Merge mode: also append every run's rows to <TABLE>_HISTORY
+    private boolean skipUnchangedRows = false;  // Skip rows whose ROW_HASH matches the table's latest for the Id
+    private Set<String> rowHashExcludedFields = RowHasher.DEFAULT_EXCLUDED_FIELDS;
+    // Most Ids whose fingerprints are held for a load: an eighth of the heap by default
+    private long maxRowHashes = Runtime.getRuntime().maxMemory() / 8 / RowHashIndex.BYTES_PER_ENTRY;
+    private boolean partitionByBackupTime = false;  // New tables partitioned by day of BACKUP_TIMESTAMP
+    private int retentionDays = 0;  // Partitioned tables: drop backups older than this many days, 0 = keep all
     private final boolean externalConnection;  // If true, don't close the connection on disconnect
     
+    // Writes from several threads each lease their own connection from the pool
+    public static final int DEFAULT_MAX_CONNECTIONS = 8;
+    private final Connection existingConnection;
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    private JdbcConnectionPool pool;
+    private final ThreadLocal<Lease> leases = new ThreadLocal<>();
+    private volatile boolean bulkLoadUnavailable = false;  // Set when the dialect's bulk loader was refused
+    // Tables and columns already looked up this run
+    private final SchemaCatalog catalog = new SchemaCatalog();
+    // Describe metadata per object (field name lower-cased), used to type new tables
+    private final Map<String, Map<String, Field>> describedFields = new java.util.concurrent.ConcurrentHashMap<>();
+    
+    // Partitioned loading: large objects are split into segments loaded over extra connections
+    private final JdbcConnectionPool.ConnectionFactory connectionFactory;  // null if only an existing connection is usable
+    private int loadParallelism = 0;  // 0 = dialect default
+    private int segmentSize = 0;  // Rows per segment, 0 = SEGMENT_BATCHES insert batches
+    private long maxBatchBlobBytes = DEFAULT_MAX_BATCH_BLOB_BYTES;
+    private JdbcConnectionPool segmentPool;
+    private ExecutorService segmentExecutor;
+    
     public JdbcDatabaseSink(String jdbcUrl, Properties connectionProperties, 
                            DatabaseDialect dialect, String displayName) {
+        this(jdbcUrl, connectionProperties, () -> DriverManager.getConnection(jdbcUrl, connectionProperties),
+            dialect, displayName);
+    }
+    
+    JdbcDatabaseSink(String jdbcUrl, Properties connectionProperties, JdbcConnectionPool.ConnectionFactory connectionFactory,
+                     DatabaseDialect dialect, String displayName) {
         this.jdbcUrl = jdbcUrl;
         this.connectionProperties = connectionProperties;
+        this.connectionFactory = connectionFactory;
+        this.existingConnection = null;
         this.dialect = dialect;
         this.displayName = displayName;
         this.externalConnection = false;
@@ -39,14 +95,27 @@ public class JdbcDatabaseSink implements DataSink {
     
     /**
      * Create a JdbcDatabaseSink with a pre-existing connection (e.g., from SSO cache).
-     * The connection will NOT be closed when disconnect() is called.
+     * The connection will NOT be closed when disconnect() is called. Concurrent writes
+     * take turns on it.
      */
     public JdbcDatabaseSink(Connection existingConnection, DatabaseDialect dialect, String displayName) {
+        this(existingConnection, null, dialect, displayName);
+    }
+    
+    /**
+     * Create a JdbcDatabaseSink with a pre-existing connection plus a factory for further
+     * connections with the same credentials, so concurrent writes don't have to share it.
+     * The existing connection will NOT be closed when disconnect() is called.
+     * @param moreConnections Opens additional connections, or null to use only the existing one
+     */
+    public JdbcDatabaseSink(Connection existingConnection, JdbcConnectionPool.ConnectionFactory moreConnections,
+                            DatabaseDialect dialect, String displayName) {
         this.jdbcUrl = null;
         this.connectionProperties = null;
+        this.connectionFactory = moreConnections;
+        this.existingConnection = existingConnection;
         this.dialect = dialect;
         this.displayName = displayName;
-        this.connection = existingConnection;
         this.externalConnection = true;
         logger.info("Using existing connection for database sink: {}", displayName);
     }
@@ -79,92 +148,243 @@ public class JdbcDatabaseSink implements DataSink {
         return this.skipMatchingCounts;
     }
     
+    /**
+     * Set whether to upsert rows by Id instead of appending them. Each object's rows are
+     * loaded into a temporary staging table and merged into the table, which then holds
+     * one current row per record.
+     */
+    @Override
+    public void setMergeMode(boolean merge) {
+        this.mergeMode = merge;
+        logger.info("Merge mode: {}", merge ? "ENABLED (upsert by Id)" : "DISABLED (append)");
+    }
+    
+    public boolean isMergeMode() {
+        return this.mergeMode;
+    }
+    
+    /**
+     * In merge mode, also append every run's rows to an append-only history table
+     * (&lt;TABLE&gt;_HISTORY) next to the current-state table
+     */
+    @Override
+    public void setKeepHistory(boolean keepHistory) {
+        this.keepHistory = keepHistory;
+    }
+    
+    public boolean isKeepHistory() {
+        return this.keepHistory;
+    }
+    
+    /**
+     * Set whether rows whose content hasn't changed since the last load are skipped.
+     * Each row's fingerprint is stored in ROW_HASH and compared with the table's latest
+     * fingerprint for the same Id.
+     */
+    @Override
+    public void setSkipUnchangedRows(boolean skipUnchangedRows) {
+        this.skipUnchangedRows = skipUnchangedRows;
+    }
+    
+    public boolean isSkipUnchangedRows() {
+        return this.skipUnchangedRows;
+    }
+    
+    /**
+     * Set the fields left out of row fingerprints (default: SystemModstamp and the
+     * last-modified, viewed and referenced fields)
+     */
+    public void setRowHashExcludedFields(Collection<String> fields) {
+        this.rowHashExcludedFields = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        this.rowHashExcludedFields.addAll(fields);
+    }
+    
+    /**
+     * Set how many records' fingerprints change detection holds in memory (default: as many
+     * as fit in an eighth of the heap). Tables with more records are loaded in full.
+     */
+    public void setMaxRowHashes(long maxRowHashes) {
+        this.maxRowHashes = Math.max(0, maxRowHashes);
+    }
+    
+    /**
+     * Set whether new tables are partitioned by the day of BACKUP_TIMESTAMP, where the
+     * dialect supports it. Appended loads then also keep a &lt;TABLE&gt;_LATEST table of
+     * each record's most recent row. Merge mode tables are not partitioned.
+     */
+    @Override
+    public void setPartitionByBackupTime(boolean partitionByBackupTime) {
+        this.partitionByBackupTime = partitionByBackupTime;
+    }
+    
+    public boolean isPartitionByBackupTime() {
+        return this.partitionByBackupTime;
+    }
+    
+    /**
+     * Set how many days of backups partitioned tables keep (0 = keep all). Older backups
+     * are removed a partition at a time after each load. Not applied while unchanged rows
+     * are skipped, since an old partition can hold a record's only copy.
+     */
+    @Override
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = Math.max(0, retentionDays);
+    }
+    
+    public int getRetentionDays() {
+        return this.retentionDays;
+    }
+    
+    /**
+     * Set how many connections load one object's segments concurrently.
+     * 0 uses the dialect's default, 1 loads every object on a single connection.
+     */
+    public void setLoadParallelism(int parallelism) {
+        this.loadParallelism = Math.max(0, parallelism);
+    }
+    
+    /**
+     * Effective number of connections used to load one object
+     */
+    public int getLoadParallelism() {
+        return loadParallelism > 0 ? loadParallelism : Math.max(1, dialect.getLoadParallelism());
+    }
+    
+    /**
+     * Set how many connections concurrent object writes may hold at once (default 8).
+     * Takes effect on the next connect.
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = Math.max(1, maxConnections);
+    }
+    
+    /**
+     * Set how many bytes of blob files an insert batch may carry before it is executed
+     * early (default 64 MB)
+     */
+    public void setMaxBatchBlobBytes(long maxBatchBlobBytes) {
+        this.maxBatchBlobBytes = Math.max(1, maxBatchBlobBytes);
+    }
+    
+    /**
+     * Set the rows per segment for partitioned loads (0 = default)
+     */
+    public void setSegmentSize(int rows) {
+        this.segmentSize = Math.max(0, rows);
+    }
+    
     @Override
     public void dropTable(String objectName) throws Exception {
-        ensureConnection();
-        
-        String tableName = dialect.sanitizeTableName(objectName);
-        
-        if (tableExists(tableName)) {
-            String dropSQL = "DROP TABLE " + tableName;
-            logger.info("Dropping table: {}", tableName);
-            try (Statement stmt = connection.createStatement()) {
-                stmt.execute(dropSQL);
-                logger.info("Table {} dropped successfully", tableName);
+        lease();
+        try {
+            String tableName = dialect.sanitizeTableName(objectName);
+            
+            if (tableExists(tableName)) {
+                dropLatestTable(objectName);
+                String dropSQL = "DROP TABLE " + tableName;
+                logger.info("Dropping table: {}", tableName);
+                try (Statement stmt = connection().createStatement()) {
+                    stmt.execute(dropSQL);
+                    logger.info("Table {} dropped successfully", tableName);
+                }
+                catalog.recordTable(tableName, false);
+            } else {
+                logger.info("Table {} does not exist, nothing to drop", tableName);
             }
-        } else {
-            logger.info("Table {} does not exist, nothing to drop", tableName);
+        } finally {
+            endLease();
         }
     }
     
     /**
-     * Ensure connection is valid, reconnecting if necessary.
-     * This prevents issues with stale connections during long-running backups.
+     * Lease a connection from the pool for the calling thread, or join the thread's current
+     * lease. Each call must be paired with {@link #endLease()}. A thread keeps the same
+     * connection for everything it does between the two, and no other thread uses it meanwhile.
      */
-    private void ensureConnection() throws Exception {
-        if (connection == null) {
-            connect();
+    private void lease() throws SQLException {
+        Lease current = leases.get();
+        if (current != null) {
+            current.depth++;
             return;
         }
-        
-        try {
-            // Check if connection is closed or invalid
-            if (connection.isClosed()) {
-                logger.warn("Connection is closed, reconnecting...");
-                connect();
-                return;
-            }
-            
-            // Validate connection with 10 second timeout
-            if (!connection.isValid(10)) {
-                logger.warn("Connection is no longer valid, reconnecting...");
-                if (!externalConnection) {
-                    try { connection.close(); } catch (Exception ignored) {}
-                }
-                connection = null;
-                connect();
-            }
-        } catch (SQLException e) {
-            logger.warn("Connection validation failed: {}, reconnecting...", e.getMessage());
-            if (!externalConnection) {
-                try { connection.close(); } catch (Exception ignored) {}
+        Connection leased = pool().borrow();
+        leases.set(new Lease(leased));
+    }
+    
+    /**
+     * End the calling thread's lease, returning the connection to the pool when the
+     * outermost lease ends. Does nothing if the thread holds no lease.
+     */
+    private void endLease() {
+        Lease current = leases.get();
+        if (current == null) {
+            return;
+        }
+        if (--current.depth == 0) {
+            leases.remove();
+            JdbcConnectionPool owner = pool;
+            if (owner != null) {
+                owner.release(current.connection);
             }
-            connection = null;
-            connect();
+        }
+    }
+    
+    /**
+     * The connection leased by the calling thread
+     */
+    private Connection connection() {
+        Lease current = leases.get();
+        if (current == null) {
+            throw new IllegalStateException("No database connection leased on this thread");
+        }
+        return current.connection;
+    }
+    
+    private synchronized JdbcConnectionPool pool() {
+        if (pool == null) {
+            pool = new JdbcConnectionPool(existingConnection, connectionFactory, maxConnections);
+        }
+        return pool;
+    }
+    
+    private static final class Lease {
+        final Connection connection;
+        int depth = 1;
+        
+        Lease(Connection connection) {
+            this.connection = connection;
         }
     }
     
     @Override
     public void connect() throws Exception {
-        // If we already have an external connection, just verify it's valid
-        if (externalConnection && connection != null) {
-            try {
-                if (connection.isValid(5)) {
-                    logger.info("Using existing connection for: {}", displayName);
-                    return;
-                }
-            } catch (SQLException e) {
-                logger.warn("External connection validation failed: {}", e.getMessage());
-            }
-            throw new Exception("External connection is no longer valid");
+        if (externalConnection) {
+            logger.info("Using existing connection for: {}", displayName);
+        } else {
+            logger.info("Connecting to database: {}", displayName);
         }
-        
-        logger.info("Connecting to database: {}", displayName);
-        connection = DriverManager.getConnection(jdbcUrl, connectionProperties);
+        // Schema seen by an earlier run may have changed since
+        catalog.clear();
+        // Borrowing validates (or opens) a connection
+        JdbcConnectionPool connections = pool();
+        connections.release(connections.borrow());
         logger.info("Successfully connected to database");
     }
     
     @Override
     public void disconnect() {
-        if (connection != null && !externalConnection) {
-            // Only close if we own the connection (not external)
-            try {
-                connection.close();
-                logger.info("Disconnected from database");
-            } catch (SQLException e) {
-                logger.error("Error disconnecting from database", e);
-            }
-        } else if (externalConnection) {
+        closeSegmentLoading();
+        JdbcConnectionPool connections;
+        synchronized (this) {
+            connections = pool;
+            pool = null;
+        }
+        if (connections != null) {
+            // Closes the connections the pool opened; an existing connection stays open
+            connections.close();
+            logger.info("Disconnected from database");
+        }
+        if (externalConnection) {
             logger.info("Keeping external connection open for: {}", displayName);
         }
     }
@@ -181,263 +401,972 @@ public class JdbcDatabaseSink implements DataSink {
         }
     }
     
+    /**
+     * Record the object's describe metadata. The table itself is created by writeData from
+     * the CSV header, with typed columns for every field described here - the CSV can hold
+     * fewer fields than describe (field selection, extraction profiles) or extra columns
+     * (BLOB_FILE_PATH).
+     */
+    @Override
+    public void prepareSink(String objectName, Field[] fields) {
+        if (fields == null) {
+            describedFields.remove(objectName);
+            return;
+        }
+        Map<String, Field> byName = new HashMap<>();
+        for (Field field : fields) {
+            byName.put(field.getName().toLowerCase(), field);
+        }
+        describedFields.put(objectName, byName);
+        logger.info("{}: Using describe metadata for {} field(s)", objectName, byName.size());
+    }
+    
+    @Override
+    public int writeData(String objectName, Reader csvReader, String backupId, 
+                        ProgressCallback progressCallback) throws Exception {
+        if (progressCallback != null) {
+            progressCallback.update("Parsing CSV data...");
+        }
+        try (CsvRecordBatchReader batches = new CsvRecordBatchReader(csvReader)) {
+            return writeBatches(objectName, batches, backupId, progressCallback);
+        }
+    }
+    
+    @Override
+    public boolean supportsRecordBatches() {
+        return true;
+    }
+    
     @Override
-    public void prepareSink(String objectName, Field[] fields) throws Exception {
-        ensureConnection();
+    public int writeBatches(String objectName, RecordBatchSource batches, String backupId,
+                            ProgressCallback progressCallback) throws Exception {
+        lease();
+        try {
+            return loadData(objectName, batches, backupId, progressCallback);
+        } finally {
+            endLease();
+        }
+    }
+    
+    private int loadData(String objectName, RecordBatchSource records, String backupId,
+                         ProgressCallback progressCallback) throws Exception {
+        Connection connection = connection();
+        
+        // Log connection details
+        try {
+            logger.info("writeData for {}: catalog={}, schema={}, autoCommit={}", 
+                objectName, connection.getCatalog(), connection.getSchema(), connection.getAutoCommit());
+        } catch (SQLException e) {
+            logger.debug("Could not get connection details: {}", e.getMessage());
+        }
         
         String tableName = dialect.sanitizeTableName(objectName);
         
-        // Drop table first if recreate mode is enabled
-        if (recreateTables && tableExists(tableName)) {
-            logger.info("Recreate mode enabled - dropping existing table: {}", tableName);
-            dropTable(objectName);
-        }
+        int recordCount = 0;
         
-        // Check if table exists (after potential drop)
-        if (tableExists(tableName)) {
-            logger.info("Table {} already exists (incremental mode)", tableName);
-            return;
-        }
+        List<String> headers = records.getColumnNames();
         
-        StringBuilder createTableSQL = new StringBuilder();
-        createTableSQL.append("CREATE TABLE ").append(tableName).append(" (\n");
+        if (headers.isEmpty()) {
+            logger.warn("{}: No data to load", objectName);
+            return 0;
+        }
         
-        List<String> columnDefs = new ArrayList<>();
+        logger.info("{}: CSV has {} columns", objectName, headers.size());
         
-        for (Field field : fields) {
-            String fieldName = dialect.sanitizeColumnName(field.getName());
-            String fieldType = dialect.mapSalesforceType(field.getType().name(), field.getLength());
-            
-            // Skip compound fields or unmapped types
-            if (fieldType == null) {
-                continue;
+        // Check if this CSV has blob file paths
+        int blobPathColumnIndex = -1;
+        for (int i = 0; i < headers.size(); i++) {
+            if (headers.get(i).equals("BLOB_FILE_PATH")) {
+                blobPathColumnIndex = i;
+                logger.info("{}: Found BLOB_FILE_PATH column - will load blob data", objectName);
+                break;
             }
-            
-            columnDefs.add("  " + fieldName + " " + fieldType);
         }
         
-        // Add metadata columns
-        columnDefs.add("  " + dialect.sanitizeColumnName("BACKUP_TIMESTAMP") + " " + dialect.getTimestampType() + " DEFAULT " + dialect.getCurrentTimestamp());
-        columnDefs.add("  " + dialect.sanitizeColumnName("BACKUP_ID") + " " + dialect.getVarcharType(50));
+        // Drop table first if recreate mode is enabled
+        if (recreateTables && tableExists(tableName)) {
+            logger.info("{}: Recreate mode - dropping existing table", objectName);
+            if (progressCallback != null) {
+                progressCallback.update("Dropping existing table...");
+            }
+            dropLatestTable(objectName);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("DROP TABLE " + tableName);
+                logger.info("{}: Table dropped successfully", objectName);
+            }
+            catalog.recordTable(tableName, false);
+        }
         
-        createTableSQL.append(String.join(",\n", columnDefs));
-        createTableSQL.append("\n)");
+        // Change detection fingerprints rows by content and needs Ids to match them on
+        int idColumnIndex = indexOfIgnoreCase(headers, "Id");
+        String idColumn = idColumnIndex >= 0 ? dialect.sanitizeColumnName(headers.get(idColumnIndex)) : null;
+        boolean hashRows = skipUnchangedRows && idColumnIndex >= 0;
+        if (skipUnchangedRows && !hashRows) {
+            logger.info("{}: No Id column, loading every row without change detection", objectName);
+        }
         
-        logger.info("Creating table: {}", tableName);
+        // Appended rows can go to time-partitioned tables; merged tables are rewritten in place
+        TablePartitioning partitioning = partitionByBackupTime && !mergeMode ? dialect.getPartitioning() : null;
+        if (partitionByBackupTime && partitioning == null) {
+            logger.info("{}: {}, loading without time partitioning", objectName,
+                mergeMode ? "Merge mode tables aren't partitioned" : "Database doesn't support time partitioning");
+        }
         
-        // Log connection details for debugging
-        try {
-            logger.info("Connection catalog: {}, schema: {}", connection.getCatalog(), connection.getSchema());
-        } catch (SQLException e) {
-            logger.debug("Could not get catalog/schema info: {}", e.getMessage());
+        // Auto-create table if it doesn't exist (based on CSV headers)
+        boolean hasBlobData = blobPathColumnIndex >= 0;
+        boolean tableExisted = tableExists(tableName);
+        if (!tableExisted) {
+            if (progressCallback != null) {
+                progressCallback.update("Creating table...");
+            }
+            createTableFromHeaders(tableName, headers, hasBlobData, hashRows, describedFields.get(objectName),
+                partitioning);
+        } else {
+            // Table exists - add columns for fields (and blob data) it doesn't have yet
+            evolveColumns(objectName, tableName, headers, hasBlobData, hashRows);
+            if (partitioning != null && !partitioning.isPartitioned(connection, tableName)) {
+                logger.info("{}: Table was created without time partitioning, appending to it as it is", objectName);
+                partitioning = null;
+            }
         }
         
-        try (Statement stmt = connection.createStatement()) {
-            logger.info("Executing CREATE TABLE SQL: {}", createTableSQL.toString().substring(0, Math.min(200, createTableSQL.length())));
-            stmt.execute(createTableSQL.toString());
-            logger.info("Table {} created successfully", tableName);
-            
-            // Explicitly commit if not in autocommit mode
+        // Every row of the load shares one BACKUP_TIMESTAMP, so the load lands in one partition
+        java.sql.Timestamp loadTimestamp = new java.sql.Timestamp(System.currentTimeMillis());
+        if (partitioning != null) {
+            partitioning.addPartition(connection, tableName, loadTimestamp.toLocalDateTime().toLocalDate());
             if (!connection.getAutoCommit()) {
+                // Segment connections must see the new partition
                 connection.commit();
-                logger.info("CREATE TABLE committed");
             }
         }
-    }
-    
-    @Override
-    public int writeData(String objectName, Reader csvReader, String backupId, 
-                        ProgressCallback progressCallback) throws Exception {
-        ensureConnection();
         
-        // Log connection details
-        try {
-            logger.info("writeData for {}: catalog={}, schema={}, autoCommit={}", 
-                objectName, connection.getCatalog(), connection.getSchema(), connection.getAutoCommit());
-        } catch (SQLException e) {
-            logger.debug("Could not get connection details: {}", e.getMessage());
+        ChangeDetection changes = null;
+        if (hashRows) {
+            RowHashIndex latest = tableExisted
+                ? loadRowHashes(objectName, tableName, idColumn)
+                : new RowHashIndex(0);
+            changes = new ChangeDetection(new RowHasher(headers, rowHashExcludedFields), idColumnIndex,
+                headers.size() + 2, latest);
+            logger.info("{}: Change detection on, {} records have fingerprints", objectName, latest.size());
         }
         
-        String tableName = dialect.sanitizeTableName(objectName);
+        // Check if BLOB_DATA column actually exists in the table (for INSERT statement building)
+        boolean tableBlobDataColumn = hasBlobData && columnExists(tableName, "BLOB_DATA");
         
-        if (progressCallback != null) {
-            progressCallback.update("Parsing CSV data...");
+        // Values are bound with the table's actual column types, so typed tables get
+        // typed values and tables created as all-VARCHAR keep getting strings
+        List<TableColumn> columns = resolveTableColumns(tableName, headers);
+        if (hashRows) {
+            columns.add(new TableColumn(dialect.sanitizeColumnName("ROW_HASH"), Types.VARCHAR));
         }
         
-        int recordCount = 0;
+        // Merge mode loads into a staging table and upserts from it once all rows are in
+        String stagingTable = mergeMode ? prepareStagingTable(objectName, tableName, headers) : null;
+        String loadTable = stagingTable != null ? stagingTable : tableName;
+        List<String> mergeColumns = new ArrayList<>();
+        headers.forEach(h -> mergeColumns.add(dialect.sanitizeColumnName(h)));
+        if (tableBlobDataColumn) {
+            // If we have blob data AND the table has the BLOB_DATA column, include it in INSERT
+            mergeColumns.add(dialect.sanitizeColumnName("BLOB_DATA"));
+            logger.info("{}: INSERT will include BLOB_DATA column", objectName);
+        }
+        mergeColumns.add(dialect.sanitizeColumnName("BACKUP_ID"));
+        mergeColumns.add(dialect.sanitizeColumnName("BACKUP_TIMESTAMP"));
+        if (hashRows) {
+            mergeColumns.add(dialect.sanitizeColumnName("ROW_HASH"));
+        }
         
-        try (CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(csvReader)) {
-            List<String> headers = parser.getHeaderNames();
-            
-            if (headers.isEmpty()) {
-                logger.warn("{}: No data to load", objectName);
-                return 0;
+        // Prepare INSERT statement
+        String insertSQL = String.format("INSERT INTO %s (%s) VALUES (%s)",
+            loadTable, String.join(", ", mergeColumns),
+            mergeColumns.stream().map(c -> "?").collect(Collectors.joining(", ")));
+        
+        int batchSize = dialect.getOptimalBatchSize();
+        
+        // Large objects are split into segments loaded concurrently over extra connections.
+        // External connections can't be duplicated, and blob rows are read from disk one
+        // at a time, so both stay on the single-connection path. Staging tables are temporary
+        // and only visible to this connection.
+        int parallelism = getLoadParallelism();
+        if (parallelism > 1 && connectionFactory != null && !tableBlobDataColumn && stagingTable == null) {
+            BatchSizer sizer = BatchSizer.forDialect(dialect);
+            recordCount = loadPartitioned(objectName, tableName, insertSQL, columns,
+                bulkRows(objectName, records, columns, backupId, loadTimestamp, batchSize, progressCallback, changes),
+                sizer, parallelism, progressCallback);
+            logger.info("{}: Inserts used {}", objectName, sizer.describe());
+            maintainPartitions(objectName, tableName, headers, idColumn, mergeColumns, backupId, loadTimestamp,
+                recordCount, partitioning);
+            recordCount += reportUnchanged(objectName, changes);
+            if (progressCallback != null) {
+                progressCallback.update("Completed - " + recordCount + " records");
             }
-            
-            logger.info("{}: CSV has {} columns", objectName, headers.size());
-            
-            // Check if this CSV has blob file paths
-            int blobPathColumnIndex = -1;
-            for (int i = 0; i < headers.size(); i++) {
-                if (headers.get(i).equals("BLOB_FILE_PATH")) {
-                    blobPathColumnIndex = i;
-                    logger.info("{}: Found BLOB_FILE_PATH column - will load blob data", objectName);
-                    break;
-                }
+            return recordCount;
+        }
+        
+        // Native bulk load when the dialect has one. Rows carrying blob bytes still
+        // go through batched inserts.
+        BulkLoader bulkLoader = tableBlobDataColumn || bulkLoadUnavailable ? null : dialect.getBulkLoader();
+        if (bulkLoader != null && bulkLoader.isSupported(connection)) {
+            if (progressCallback != null) {
+                progressCallback.update("Bulk loading records...");
             }
+            logger.info("{}: Starting bulk load via {}", objectName, bulkLoader.getName());
             
-            // Drop table first if recreate mode is enabled
-            if (recreateTables && tableExists(tableName)) {
-                logger.info("{}: Recreate mode - dropping existing table", objectName);
-                if (progressCallback != null) {
-                    progressCallback.update("Dropping existing table...");
+            try {
+                recordCount = bulkLoader.load(connection, loadTable, columns,
+                    bulkRows(objectName, records, columns, backupId, loadTimestamp, batchSize, progressCallback, changes));
+                
+                logger.info("{}: Successfully bulk loaded {} records to database", objectName, recordCount);
+                if (stagingTable != null) {
+                    mergeStagedRows(objectName, tableName, stagingTable, headers, mergeColumns, progressCallback);
                 }
-                try (Statement stmt = connection.createStatement()) {
-                    stmt.execute("DROP TABLE " + tableName);
-                    logger.info("{}: Table dropped successfully", objectName);
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                    logger.info("{}: Transaction committed", objectName);
                 }
-            }
-            
-            // Auto-create table if it doesn't exist (based on CSV headers)
-            boolean hasBlobData = blobPathColumnIndex >= 0;
-            if (!tableExists(tableName)) {
+                maintainPartitions(objectName, tableName, headers, idColumn, mergeColumns, backupId, loadTimestamp,
+                    recordCount, partitioning);
+                recordCount += reportUnchanged(objectName, changes);
                 if (progressCallback != null) {
-                    progressCallback.update("Creating table...");
+                    progressCallback.update("Completed - " + recordCount + " records");
+                }
+                return recordCount;
+            } catch (BulkLoadUnavailableException e) {
+                // No rows were consumed - load this and later objects with batched inserts
+                logger.warn("{}: {} unavailable, falling back to batched inserts: {}",
+                    objectName, bulkLoader.getName(), e.getMessage());
+                bulkLoadUnavailable = true;
+            }
+        }
+        
+        if (progressCallback != null) {
+            progressCallback.update("Inserting records...");
+        }
+        
+        logger.info("{}: Starting batch insert with batch size {} (adjusted as batches complete)", objectName, batchSize);
+        
+        // Rows are parsed and converted on a reader thread into rotating batch buffers
+        // while this thread executes the previous batch. Blob files are resolved by the
+        // reader and streamed to the driver here; batches are also cut once their blobs
+        // add up to maxBatchBlobBytes.
+        int headerCount = headers.size();
+        Iterator<Object[]> rows = bulkRows(objectName, records, columns, backupId, loadTimestamp, 0, null, changes);
+        ToLongFunction<Object[]> blobWeight = null;
+        if (tableBlobDataColumn) {
+            rows = withBlobFiles(rows, blobPathColumnIndex);
+            blobWeight = row -> blobSize((java.nio.file.Path) row[row.length - 1]);
+        }
+        List<java.io.InputStream> batchBlobStreams = new ArrayList<>();
+        BatchSizer sizer = BatchSizer.forDialect(dialect);
+        // Drivers that send batched rows one statement at a time get multi-row INSERTs.
+        // Blob rows stay single-row so each file is streamed on its own.
+        boolean multiRowInsert = !tableBlobDataColumn
+            && MultiRowInsert.rowsPerStatement(dialect, columns.size()) > 1;
+        try (BatchPipeline<Object[]> batches = BatchPipeline.start("batch-reader-" + objectName, rows,
+                BATCH_BUFFERS, sizer.getBatchSize(), blobWeight, maxBatchBlobBytes);
+             MultiRowInsert multiRow = multiRowInsert ? new MultiRowInsert(connection, dialect, loadTable, columns) : null;
+             PreparedStatement pstmt = multiRowInsert ? null : connection.prepareStatement(insertSQL)) {
+            if (multiRow != null) {
+                logger.info("{}: Inserting up to {} rows per statement", objectName, multiRow.getRowsPerStatement());
+            }
+            List<Object[]> batch;
+            while ((batch = batches.take()) != null) {
+                long batchBytes = 0;
+                for (Object[] row : batch) {
+                    batchBytes += estimateRowBytes(row, columns.size());
+                    if (multiRow != null) {
+                        continue;
+                    }
+                    for (int i = 0; i < headerCount; i++) {
+                        SqlValueConverter.bind(pstmt, i + 1, row[i], columns.get(i).getSqlType());
+                    }
+                    
+                    // Set BLOB_DATA, BACKUP_ID, and BACKUP_TIMESTAMP
+                    int paramIndex = headerCount + 1;
+                    if (tableBlobDataColumn) {
+                        bindBlob(pstmt, paramIndex, (java.nio.file.Path) row[row.length - 1], batchBlobStreams);
+                        paramIndex++;
+                    }
+                    pstmt.setString(paramIndex, backupId);
+                    pstmt.setTimestamp(paramIndex + 1, (java.sql.Timestamp) row[headerCount + 1]);
+                    if (hashRows) {
+                        pstmt.setString(paramIndex + 2, (String) row[headerCount + 2]);
+                    }
+                    pstmt.addBatch();
+                }
+                
+                long started = System.nanoTime();
+                int batchSuccess = multiRow != null ? multiRow.insert(batch) : countSuccessfulInserts(pstmt.executeBatch());
+                long elapsed = System.nanoTime() - started;
+                closeBlobStreams(batchBlobStreams);
+                int batchRows = batch.size();
+                batches.recycle(batch);
+                int previousSize = sizer.getBatchSize();
+                int nextSize = sizer.record(batchRows, batchBytes, elapsed);
+                if (nextSize != previousSize) {
+                    batches.setMaxRows(nextSize);
+                    logger.debug("{}: Batch size {} -> {}", objectName, previousSize, nextSize);
+                }
+                recordCount += batchRows;
+                if (batchSuccess < batchRows) {
+                    logger.warn("{}: Batch had {} failures out of {} records", objectName, batchRows - batchSuccess, batchRows);
                 }
-                createTableFromHeaders(tableName, headers, hasBlobData);
-            } else if (hasBlobData) {
-                // Table exists - check if BLOB_DATA column exists, if not add it
-                if (!columnExists(tableName, "BLOB_DATA")) {
-                    logger.info("{}: Adding BLOB_DATA column to existing table", objectName);
-                    addBlobDataColumn(tableName);
+                if (progressCallback != null) {
+                    progressCallback.update("Inserted " + recordCount + " records...");
                 }
+                logger.info("{}: Loaded {} records so far", objectName, recordCount);
             }
             
-            // Check if BLOB_DATA column actually exists in the table (for INSERT statement building)
-            boolean tableBlobDataColumn = hasBlobData && columnExists(tableName, "BLOB_DATA");
+            logger.info("{}: Successfully loaded {} records to database, {}", objectName, recordCount, sizer.describe());
+            if (stagingTable != null) {
+                mergeStagedRows(objectName, tableName, stagingTable, headers, mergeColumns, progressCallback);
+            }
             
-            // Prepare INSERT statement
-            // If we have blob data AND the table has the BLOB_DATA column, include it in INSERT
-            String sanitizedHeaders = headers.stream()
-                .map(dialect::sanitizeColumnName)
-                .collect(Collectors.joining(", "));
-            
-            String placeholders = headers.stream()
-                .map(h -> "?")
-                .collect(Collectors.joining(", "));
-            
-            String insertSQL;
-            if (tableBlobDataColumn) {
-                // Add BLOB_DATA column to the insert
-                insertSQL = String.format(
-                    "INSERT INTO %s (%s, %s, %s, %s) VALUES (%s, ?, ?, ?)",
-                    tableName, sanitizedHeaders,
-                    dialect.sanitizeColumnName("BLOB_DATA"),
-                    dialect.sanitizeColumnName("BACKUP_ID"),
-                    dialect.sanitizeColumnName("BACKUP_TIMESTAMP"),
-                    placeholders
-                );
-                logger.info("{}: INSERT will include BLOB_DATA column", objectName);
+            // Explicitly commit to ensure data is persisted
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+                logger.info("{}: Transaction committed", objectName);
+            }
+            maintainPartitions(objectName, tableName, headers, idColumn, mergeColumns, backupId, loadTimestamp,
+                recordCount, partitioning);
+            recordCount += reportUnchanged(objectName, changes);
+        } finally {
+            closeBlobStreams(batchBlobStreams);
+        }
+        
+        if (progressCallback != null) {
+            progressCallback.update("Completed - " + recordCount + " records");
+        }
+        
+        return recordCount;
+    }
+    
+    /**
+     * Add the unique key the dialect's merge relies on, if it needs one
+     */
+    private void addUniqueKey(String objectName, String tableName, String keyColumn) {
+        String uniqueKeySql = dialect.getUniqueKeySql(tableName, keyColumn);
+        if (uniqueKeySql != null) {
+            try (Statement stmt = connection().createStatement()) {
+                stmt.execute(uniqueKeySql);
+            } catch (SQLException e) {
+                // Usually the key already exists. Otherwise (e.g. duplicate Ids left by earlier
+                // append runs) the merge itself reports the problem.
+                logger.debug("{}: Unique key on {} not added: {}", objectName, keyColumn, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Set up merge mode for one object: the unique key on Id the merge needs, the history
+     * table if enabled, and an empty temporary staging table shaped like the target.
+     * @return The staging table, or null to append because the CSV has no Id column
+     */
+    private String prepareStagingTable(String objectName, String tableName, List<String> headers) throws SQLException {
+        String idHeader = headers.stream().filter(h -> h.equalsIgnoreCase("Id")).findFirst().orElse(null);
+        if (idHeader == null) {
+            logger.warn("{}: No Id column, appending instead of merging", objectName);
+            return null;
+        }
+        String keyColumn = dialect.sanitizeColumnName(idHeader);
+        
+        addUniqueKey(objectName, tableName, keyColumn);
+        
+        if (keepHistory) {
+            String historyTable = dialect.sanitizeTableName(objectName + "_HISTORY");
+            if (!tableExists(historyTable)) {
+                try (Statement stmt = connection().createStatement()) {
+                    stmt.execute(dialect.getCreateTableLikeSql(historyTable, tableName, false));
+                    logger.info("{}: Created history table {}", objectName, historyTable);
+                }
+                catalog.recordTable(historyTable, true);
             } else {
-                insertSQL = String.format(
-                    "INSERT INTO %s (%s, %s, %s) VALUES (%s, ?, ?)",
-                    tableName, sanitizedHeaders, 
-                    dialect.sanitizeColumnName("BACKUP_ID"),
-                    dialect.sanitizeColumnName("BACKUP_TIMESTAMP"),
-                    placeholders
-                );
+                // Fields added since the history table was created
+                evolveColumns(objectName, historyTable, headers, columnExists(tableName, "BLOB_DATA"), skipUnchangedRows);
             }
-            
-            int batchSize = dialect.getOptimalBatchSize();
-            
+        }
+        
+        String stagingTable = dialect.getStagingTableName(objectName);
+        try (Statement stmt = connection().createStatement()) {
+            // A failed earlier load can leave the staging table on a pooled connection
+            stmt.execute("DROP TABLE IF EXISTS " + stagingTable);
+        } catch (SQLException e) {
+            logger.debug("{}: Could not drop old staging table: {}", objectName, e.getMessage());
+        }
+        try (Statement stmt = connection().createStatement()) {
+            stmt.execute(dialect.getCreateTableLikeSql(stagingTable, tableName, true));
+        }
+        logger.info("{}: Merge mode - staging rows in {}", objectName, stagingTable);
+        return stagingTable;
+    }
+    
+    /**
+     * Append staged rows to the history table (if enabled), upsert them into the target
+     * by Id, and drop the staging table.
+     */
+    private void mergeStagedRows(String objectName, String tableName, String stagingTable, List<String> headers,
+                                 List<String> columns, ProgressCallback progressCallback) throws SQLException {
+        if (progressCallback != null) {
+            progressCallback.update("Merging records...");
+        }
+        String keyColumn = dialect.sanitizeColumnName(
+            headers.stream().filter(h -> h.equalsIgnoreCase("Id")).findFirst().orElse("Id"));
+        String columnList = String.join(", ", columns);
+        
+        try (Statement stmt = connection().createStatement()) {
+            if (keepHistory) {
+                String historyTable = dialect.sanitizeTableName(objectName + "_HISTORY");
+                int appended = stmt.executeUpdate(String.format("INSERT INTO %s (%s) SELECT %s FROM %s",
+                    historyTable, columnList, columnList, stagingTable));
+                logger.info("{}: Appended {} records to {}", objectName, appended, historyTable);
+            }
+            int merged = stmt.executeUpdate(dialect.getMergeSql(tableName, stagingTable, keyColumn, columns));
+            logger.info("{}: Merged staged records into {} ({} rows affected)", objectName, tableName, merged);
+            stmt.execute("DROP TABLE " + stagingTable);
+        }
+    }
+    
+    /**
+     * Load rows in segments of {@code segmentSize} rows, each on its own pooled connection
+     * and committed on its own. Up to {@code parallelism} segments load at once, and the
+     * parser is only read ahead by one segment per worker, so memory stays bounded.
+     * An object that fits in one segment is loaded on the sink's main connection.
+     *
+     * A failed segment is rolled back as a whole. Segments that committed before the failure
+     * stay in the table; the error is rethrown once every running segment has finished.
+     */
+    private int loadPartitioned(String objectName, String tableName, String insertSQL, List<TableColumn> columns,
+                                Iterator<Object[]> rows, BatchSizer sizer, int parallelism,
+                                ProgressCallback progressCallback) throws Exception {
+        int rowsPerSegment = segmentSize > 0 ? segmentSize : sizer.getBatchSize() * SEGMENT_BATCHES;
+        List<Object[]> segment = nextSegment(rows, rowsPerSegment);
+        if (!rows.hasNext()) {
+            logger.info("{}: {} records fit in one segment, loading on a single connection", objectName, segment.size());
             if (progressCallback != null) {
                 progressCallback.update("Inserting records...");
             }
+            return loadSegment(connection(), tableName, insertSQL, columns, segment, sizer);
+        }
+        
+        logger.info("{}: Partitioned load over {} connections, {} records per segment",
+            objectName, parallelism, rowsPerSegment);
+        if (progressCallback != null) {
+            progressCallback.update("Loading records over " + parallelism + " connections...");
+        }
+        JdbcConnectionPool pool = segmentPool(parallelism);
+        ExecutorCompletionService<Integer> completion = new ExecutorCompletionService<>(segmentExecutor());
+        AtomicInteger loaded = new AtomicInteger();
+        int submitted = 0;
+        int finished = 0;
+        long produced = 0;
+        Exception failure = null;
+        
+        while (segment != null) {
+            List<Object[]> rowsToLoad = segment;
+            produced += rowsToLoad.size();
+            int segmentNumber = ++submitted;
+            completion.submit(() -> {
+                Connection segmentConnection = pool.borrow();
+                boolean healthy = false;
+                try {
+                    int count = loadSegment(segmentConnection, tableName, insertSQL, columns, rowsToLoad, sizer);
+                    healthy = true;
+                    loaded.addAndGet(count);
+                    logger.debug("{}: Segment {} committed ({} records)", objectName, segmentNumber, count);
+                    return count;
+                } finally {
+                    if (healthy) {
+                        pool.release(segmentConnection);
+                    } else {
+                        pool.discard(segmentConnection);
+                    }
+                }
+            });
             
-            logger.info("{}: Starting batch insert with batch size {}", objectName, batchSize);
+            // Keep at most one queued segment per worker in memory
+            while (submitted - finished >= parallelism * 2) {
+                failure = collectSegment(completion, failure);
+                finished++;
+            }
+            if (failure != null) {
+                break;
+            }
+            segment = rows.hasNext() ? nextSegment(rows, rowsPerSegment) : null;
+        }
+        while (finished < submitted) {
+            failure = collectSegment(completion, failure);
+            finished++;
+        }
+        if (failure != null) {
+            logger.error("{}: Partitioned load failed after {} committed records: {}",
+                objectName, loaded.get(), failure.getMessage());
+            throw failure;
+        }
+        
+        // Reconcile what the segments reported against what was read from the CSV
+        int total = loaded.get();
+        if (total != produced) {
+            logger.warn("{}: Segments reported {} loaded records but {} were read from the CSV",
+                objectName, total, produced);
+        }
+        logger.info("{}: Successfully loaded {} records to database in {} segments", objectName, total, submitted);
+        return total;
+    }
+    
+    private static Exception collectSegment(ExecutorCompletionService<Integer> completion, Exception failure)
+            throws InterruptedException {
+        Future<Integer> done = completion.take();
+        try {
+            done.get();
+        } catch (ExecutionException e) {
+            if (failure == null) {
+                Throwable cause = e.getCause();
+                return cause instanceof Exception ? (Exception) cause : new SQLException(cause);
+            }
+        }
+        return failure;
+    }
+    
+    private static List<Object[]> nextSegment(Iterator<Object[]> rows, int size) {
+        List<Object[]> segment = new ArrayList<>(Math.min(size, 10000));
+        while (segment.size() < size && rows.hasNext()) {
+            segment.add(rows.next());
+        }
+        return segment;
+    }
+    
+    /**
+     * Load one segment on the given connection - with the dialect's bulk loader when it
+     * works on this connection, otherwise with batched inserts sized by {@code sizer} - and
+     * commit it.
+     */
+    private int loadSegment(Connection segmentConnection, String tableName, String insertSQL,
+                            List<TableColumn> columns, List<Object[]> rows, BatchSizer sizer) throws Exception {
+        int count = -1;
+        BulkLoader bulkLoader = bulkLoadUnavailable ? null : dialect.getBulkLoader();
+        if (bulkLoader != null && bulkLoader.isSupported(segmentConnection)) {
+            try {
+                count = bulkLoader.load(segmentConnection, tableName, columns, rows.iterator());
+            } catch (BulkLoadUnavailableException e) {
+                logger.warn("{} unavailable, falling back to batched inserts: {}", bulkLoader.getName(), e.getMessage());
+                bulkLoadUnavailable = true;
+            }
+        }
+        if (count < 0 && MultiRowInsert.rowsPerStatement(dialect, columns.size()) > 1) {
+            count = 0;
+            try (MultiRowInsert multiRow = new MultiRowInsert(segmentConnection, dialect, tableName, columns)) {
+                int offset = 0;
+                while (offset < rows.size()) {
+                    List<Object[]> batch = rows.subList(offset, Math.min(rows.size(), offset + sizer.getBatchSize()));
+                    long bytes = 0;
+                    for (Object[] row : batch) {
+                        bytes += estimateRowBytes(row, row.length);
+                    }
+                    long started = System.nanoTime();
+                    count += multiRow.insert(batch);
+                    sizer.record(batch.size(), bytes, System.nanoTime() - started);
+                    offset += batch.size();
+                }
+            }
+        }
+        if (count < 0) {
+            count = 0;
+            try (PreparedStatement pstmt = segmentConnection.prepareStatement(insertSQL)) {
+                int pending = 0;
+                long pendingBytes = 0;
+                int batchSize = sizer.getBatchSize();
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        SqlValueConverter.bind(pstmt, i + 1, row[i], columns.get(i).getSqlType());
+                    }
+                    pstmt.addBatch();
+                    pendingBytes += estimateRowBytes(row, row.length);
+                    if (++pending >= batchSize) {
+                        count += executeSizedBatch(pstmt, sizer, pending, pendingBytes);
+                        batchSize = sizer.getBatchSize();
+                        pending = 0;
+                        pendingBytes = 0;
+                    }
+                }
+                if (pending > 0) {
+                    count += executeSizedBatch(pstmt, sizer, pending, pendingBytes);
+                }
+            }
+        }
+        if (!segmentConnection.getAutoCommit()) {
+            segmentConnection.commit();
+        }
+        return count;
+    }
+    
+    private int executeSizedBatch(PreparedStatement pstmt, BatchSizer sizer, int rows, long bytes)
+            throws SQLException {
+        long started = System.nanoTime();
+        int[] results = pstmt.executeBatch();
+        sizer.record(rows, bytes, System.nanoTime() - started);
+        return countSuccessfulInserts(results);
+    }
+    
+    /**
+     * Rough size of a row's values as sent to the database, for batch sizing
+     */
+    static long estimateRowBytes(Object[] row, int columnCount) {
+        long bytes = 0;
+        for (int i = 0; i < columnCount && i < row.length; i++) {
+            Object value = row[i];
+            if (value == null) {
+                bytes += 1;
+            } else if (value instanceof String) {
+                bytes += ((String) value).length();
+            } else {
+                bytes += 8;
+            }
+        }
+        return bytes;
+    }
+    
+    private synchronized JdbcConnectionPool segmentPool(int parallelism) {
+        if (segmentPool == null || segmentPool.getMaxSize() != parallelism) {
+            if (segmentPool != null) {
+                segmentPool.close();
+            }
+            // Segment connections commit explicitly, so a failed segment leaves nothing behind
+            segmentPool = new JdbcConnectionPool(() -> {
+                Connection segmentConnection = connectionFactory.open();
+                segmentConnection.setAutoCommit(false);
+                return segmentConnection;
+            }, parallelism);
+        }
+        return segmentPool;
+    }
+    
+    private synchronized ExecutorService segmentExecutor() {
+        if (segmentExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            segmentExecutor = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "segment-loader-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return segmentExecutor;
+    }
+    
+    private synchronized void closeSegmentLoading() {
+        if (segmentExecutor != null) {
+            segmentExecutor.shutdownNow();
+            segmentExecutor = null;
+        }
+        if (segmentPool != null) {
+            segmentPool.close();
+            segmentPool = null;
+        }
+    }
+    
+    /**
+     * Rows for a bulk loader: the typed CSV values (blank as null) followed by BACKUP_ID,
+     * BACKUP_TIMESTAMP and, with change detection, ROW_HASH. Rows are produced as the
+     * loader consumes them, so the CSV is never held in memory. Progress is reported every
+     * {@code progressInterval} rows (0 = never).
+     * @param changes Change detection for the load, or null to produce every row
+     */
+    private Iterator<Object[]> bulkRows(String objectName, RecordBatchSource batches, List<TableColumn> columns,
+                                        String backupId, java.sql.Timestamp backupTimestamp, int progressInterval,
+                                        ProgressCallback progressCallback, ChangeDetection changes) {
+        int columnCount = columns.size() - (changes != null ? 3 : 2);
+        Iterator<Object[]> rows = new Iterator<Object[]>() {
+            private RecordBatch batch;
+            private int batchRow;
+            private boolean finished;
+            private int rowCount;
             
-            // Use final variable for lambda capture
-            final boolean insertBlobData = tableBlobDataColumn;
+            @Override
+            public boolean hasNext() {
+                while (!finished && (batch == null || batchRow >= batch.getRowCount())) {
+                    try {
+                        batch = batches.next();
+                    } catch (java.io.IOException e) {
+                        throw new java.io.UncheckedIOException(e);
+                    }
+                    batchRow = 0;
+                    finished = batch == null;
+                }
+                return !finished;
+            }
             
-            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
-                java.sql.Timestamp currentTimestamp = new java.sql.Timestamp(System.currentTimeMillis());
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] row = new Object[columns.size()];
+                int batchColumns = Math.min(columnCount, batch.getColumnCount());
+                for (int i = 0; i < batchColumns; i++) {
+                    row[i] = SqlValueConverter.convert(batch.get(batchRow, i), columns.get(i).getSqlType());
+                }
+                row[columnCount] = backupId;
+                row[columnCount + 1] = backupTimestamp;
+                if (changes != null) {
+                    row[columnCount + 2] = changes.hasher.hash(batch, batchRow);
+                }
+                batchRow++;
                 
-                for (CSVRecord record : parser) {
-                    byte[] blobBytes = null;
-                    
-                    for (int i = 0; i < headers.size(); i++) {
-                        String value = record.get(i);
-                        
-                        // For BLOB_FILE_PATH column, keep the path as-is but also load the blob for BLOB_DATA
-                        if (i == blobPathColumnIndex && value != null && !value.trim().isEmpty()) {
-                            // Store the file path in BLOB_FILE_PATH column
-                            pstmt.setString(i + 1, value);
-                            // Load blob bytes for BLOB_DATA column (only if we're inserting blob data)
-                            if (insertBlobData) {
-                                blobBytes = loadBlobAsBytes(value);
-                            }
-                        } else if (value == null || value.trim().isEmpty()) {
-                            pstmt.setNull(i + 1, Types.VARCHAR);
-                        } else {
-                            pstmt.setString(i + 1, value);
-                        }
+                rowCount++;
+                if (progressInterval > 0 && rowCount % progressInterval == 0) {
+                    if (progressCallback != null) {
+                        progressCallback.update("Loaded " + rowCount + " records...");
                     }
-                    
-                    // Set BLOB_DATA, BACKUP_ID, and BACKUP_TIMESTAMP
-                    int paramIndex = headers.size() + 1;
-                    if (insertBlobData) {
-                        if (blobBytes != null) {
-                            pstmt.setBytes(paramIndex, blobBytes);
+                    logger.info("{}: Loaded {} records so far", objectName, rowCount);
+                }
+                return row;
+            }
+        };
+        return changes != null ? changes.skipUnchanged(rows) : rows;
+    }
+    
+    /**
+     * Fingerprints of one load's rows and the latest fingerprint per Id already in the
+     * table. Rows whose fingerprint matches are dropped before loading.
+     */
+    private static final class ChangeDetection {
+        final RowHasher hasher;
+        private final int idIndex;
+        private final int hashIndex;
+        private final RowHashIndex latest;
+        private final AtomicInteger skipped = new AtomicInteger();
+        
+        ChangeDetection(RowHasher hasher, int idIndex, int hashIndex, RowHashIndex latest) {
+            this.hasher = hasher;
+            this.idIndex = idIndex;
+            this.hashIndex = hashIndex;
+            this.latest = latest;
+        }
+        
+        Iterator<Object[]> skipUnchanged(Iterator<Object[]> rows) {
+            return new Iterator<Object[]>() {
+                private Object[] next;
+                
+                @Override
+                public boolean hasNext() {
+                    while (next == null && rows.hasNext()) {
+                        Object[] row = rows.next();
+                        if (unchanged(row)) {
+                            skipped.incrementAndGet();
                         } else {
-                            pstmt.setNull(paramIndex, Types.BINARY);
-                        }
-                        paramIndex++;
-                    }
-                    pstmt.setString(paramIndex, backupId);
-                    pstmt.setTimestamp(paramIndex + 1, currentTimestamp);
-                    
-                    pstmt.addBatch();
-                    recordCount++;
-                    
-                    if (recordCount % batchSize == 0) {
-                        int[] results = pstmt.executeBatch();
-                        int batchSuccess = countSuccessfulInserts(results);
-                        if (batchSuccess < batchSize) {
-                            logger.warn("{}: Batch had {} failures out of {} records", objectName, batchSize - batchSuccess, batchSize);
-                        }
-                        if (progressCallback != null) {
-                            progressCallback.update("Inserted " + recordCount + " records...");
+                            next = row;
                         }
-                        logger.info("{}: Loaded {} records so far", objectName, recordCount);
                     }
+                    return next != null;
                 }
                 
-                // Execute remaining batch
-                int remaining = recordCount % batchSize;
-                if (remaining != 0) {
-                    int[] results = pstmt.executeBatch();
-                    int batchSuccess = countSuccessfulInserts(results);
-                    if (batchSuccess < remaining) {
-                        logger.warn("{}: Final batch had {} failures out of {} records", objectName, remaining - batchSuccess, remaining);
+                @Override
+                public Object[] next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
                     }
-                    logger.info("{}: Executed final batch, total records: {}", objectName, recordCount);
+                    Object[] row = next;
+                    next = null;
+                    return row;
                 }
-                
-                logger.info("{}: Successfully loaded {} records to database", objectName, recordCount);
-                
-                // Explicitly commit to ensure data is persisted
+            };
+        }
+        
+        private boolean unchanged(Object[] row) {
+            Object id = row[idIndex];
+            if (id == null || latest.isEmpty()) {
+                return false;
+            }
+            return latest.matches(id.toString(), Long.parseUnsignedLong((String) row[hashIndex], 16));
+        }
+    }
+    
+    /**
+     * Log how many rows change detection skipped
+     * @return The number skipped, which count as loaded since the table already has them
+     */
+    private static int reportUnchanged(String objectName, ChangeDetection changes) {
+        if (changes == null) {
+            return 0;
+        }
+        int skipped = changes.skipped.get();
+        logger.info("{}: Skipped {} unchanged records", objectName, skipped);
+        return skipped;
+    }
+    
+    /**
+     * After an append load into a time-partitioned table: bring the &lt;TABLE&gt;_LATEST
+     * snapshot up to date, and drop partitions past the retention period.
+     *
+     * The snapshot is a plain table holding each record's most recent row, so reading the
+     * current state doesn't scan every partition. The load's rows, read from their own
+     * partition, are merged into it by Id: incremental loads and loads that skip unchanged
+     * rows only hold part of the object, and records they don't carry keep their earlier row.
+     * The first time, the snapshot is created and filled with the latest row per Id from the
+     * whole table. Without an Id column it holds the last load, if that wrote any rows.
+     * Failures are only logged - the load's rows are already committed.
+     *
+     * @param idColumn The table's Id column, or null if the object has none
+     * @param columns The columns the load wrote
+     */
+    private void maintainPartitions(String objectName, String tableName, List<String> headers, String idColumn,
+                                    List<String> columns, String backupId, java.sql.Timestamp loadTimestamp,
+                                    int rowsLoaded, TablePartitioning partitioning) {
+        if (partitioning == null) {
+            return;
+        }
+        Connection connection = connection();
+        String timestampColumn = dialect.sanitizeColumnName("BACKUP_TIMESTAMP");
+        // The load's own partition
+        String loadRows = String.format("%s WHERE %s = CAST('%s' AS %s) AND %s = '%s'",
+            tableName, timestampColumn, loadTimestamp, dialect.getTimestampType(),
+            dialect.sanitizeColumnName("BACKUP_ID"), backupId.replace("'", "''"));
+        String columnList = String.join(", ", columns);
+        String latestTable = dialect.sanitizeTableName(objectName + "_LATEST");
+        boolean created = false;
+        try {
+            created = !tableExists(latestTable);
+            if (created) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute(dialect.getCreateTableLikeSql(latestTable, tableName, false));
+                }
+                catalog.recordTable(latestTable, true);
+                logger.info("{}: Created {} for each record's latest row", objectName, latestTable);
+            } else {
+                // Fields added since the snapshot was created
+                evolveColumns(objectName, latestTable, headers,
+                    columns.contains(dialect.sanitizeColumnName("BLOB_DATA")),
+                    columns.contains(dialect.sanitizeColumnName("ROW_HASH")));
+            }
+            
+            try (Statement stmt = connection.createStatement()) {
+                if (idColumn == null) {
+                    if (rowsLoaded > 0) {
+                        stmt.executeUpdate("DELETE FROM " + latestTable);
+                        stmt.executeUpdate(String.format("INSERT INTO %s (%s) SELECT %s FROM %s",
+                            latestTable, columnList, columnList, loadRows));
+                        logger.info("{}: {} holds backup {}", objectName, latestTable, backupId);
+                    }
+                } else if (created) {
+                    int rows = stmt.executeUpdate(String.format("INSERT INTO %1$s SELECT t.* FROM %2$s t JOIN ("
+                            + "SELECT %3$s, MAX(%4$s) AS latest_backup FROM %2$s GROUP BY %3$s) l"
+                            + " ON t.%3$s = l.%3$s AND t.%4$s = l.latest_backup",
+                        latestTable, tableName, idColumn, timestampColumn));
+                    logger.info("{}: Filled {} with the latest row of {} records", objectName, latestTable, rows);
+                    addUniqueKey(objectName, latestTable, idColumn);
+                } else if (rowsLoaded > 0) {
+                    String stagingTable = dialect.getStagingTableName(objectName + "_LATEST");
+                    stmt.execute("DROP TABLE IF EXISTS " + stagingTable);
+                    stmt.execute(dialect.getCreateTableLikeSql(stagingTable, latestTable, true));
+                    stmt.executeUpdate(String.format("INSERT INTO %s (%s) SELECT %s FROM %s",
+                        stagingTable, columnList, columnList, loadRows));
+                    stmt.executeUpdate(dialect.getMergeSql(latestTable, stagingTable, idColumn, columns));
+                    stmt.execute("DROP TABLE " + stagingTable);
+                    logger.info("{}: Merged backup {} into {}", objectName, backupId, latestTable);
+                }
+            }
+            if (retentionDays > 0 && skipUnchangedRows) {
+                // Older partitions hold the only copy of records that haven't changed since
+                logger.warn("{}: Retention is off while unchanged records are skipped", objectName);
+            } else if (retentionDays > 0) {
+                LocalDate cutoff = loadTimestamp.toLocalDateTime().toLocalDate().minusDays(retentionDays);
+                partitioning.dropPartitionsBefore(connection, tableName, timestampColumn, cutoff);
+                logger.info("{}: Removed backups from before {} ({} day retention)", objectName, cutoff, retentionDays);
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            logger.warn("{}: Could not maintain time partitions: {}", objectName, e.getMessage());
+            try {
                 if (!connection.getAutoCommit()) {
-                    connection.commit();
-                    logger.info("{}: Transaction committed", objectName);
+                    connection.rollback();
                 }
+            } catch (SQLException rollbackError) {
+                logger.debug("{}: Rollback failed: {}", objectName, rollbackError.getMessage());
+            }
+            if (created) {
+                // Not filled; the next load creates it again
+                dropLatestTable(objectName);
             }
         }
-        
-        if (progressCallback != null) {
-            progressCallback.update("Completed - " + recordCount + " records");
+    }
+    
+    /**
+     * Drop an object's &lt;TABLE&gt;_LATEST snapshot along with its table; the next
+     * partitioned load creates and fills it again
+     */
+    private void dropLatestTable(String objectName) {
+        if (!partitionByBackupTime) {
+            return;
         }
-        
-        return recordCount;
+        String latestTable = dialect.sanitizeTableName(objectName + "_LATEST");
+        try (Statement stmt = connection().createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS " + latestTable);
+            catalog.recordTable(latestTable, false);
+        } catch (SQLException e) {
+            logger.debug("{}: Could not drop latest snapshot: {}", objectName, e.getMessage());
+        }
+    }
+    
+    /**
+     * The latest ROW_HASH per Id in the table. When a table keeps several rows per Id
+     * (append mode) the database picks each Id's most recent backup, so only one
+     * fingerprint per Id is read rather than the table's whole history. If the table has
+     * more than {@code maxRowHashes} records the index is dropped and every row is loaded,
+     * so change detection never holds more than its share of the heap.
+     */
+    private RowHashIndex loadRowHashes(String objectName, String tableName, String idColumn) throws SQLException {
+        String hashColumn = dialect.sanitizeColumnName("ROW_HASH");
+        String timestampColumn = dialect.sanitizeColumnName("BACKUP_TIMESTAMP");
+        String sql = String.format("SELECT t.%1$s, t.%2$s FROM %3$s t JOIN ("
+                + "SELECT %1$s, MAX(%4$s) AS latest_backup FROM %3$s WHERE %2$s IS NOT NULL GROUP BY %1$s) l"
+                + " ON t.%1$s = l.%1$s AND t.%4$s = l.latest_backup WHERE t.%2$s IS NOT NULL",
+            idColumn, hashColumn, tableName, timestampColumn);
+        RowHashIndex hashes = new RowHashIndex(maxRowHashes);
+        Connection connection = connection();
+        // PostgreSQL only streams results with a fetch size inside a transaction
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.setFetchSize(10000);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    String id = rs.getString(1);
+                    String hash = rs.getString(2);
+                    if (id != null && hash != null) {
+                        long fingerprint;
+                        try {
+                            fingerprint = Long.parseUnsignedLong(hash.trim(), 16);
+                        } catch (NumberFormatException e) {
+                            // Not a fingerprint we wrote; the row is loaded again
+                            continue;
+                        }
+                        if (!hashes.put(id, fingerprint)) {
+                            logger.warn("{}: More than {} records have fingerprints, loading every row",
+                                objectName, maxRowHashes);
+                            return new RowHashIndex(0);
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (autoCommit) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+        return hashes;
+    }
+    
+    private static int indexOfIgnoreCase(List<String> headers, String name) {
+        for (int i = 0; i < headers.size(); i++) {
+            if (headers.get(i).equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
     }
     
     @Override
@@ -450,54 +1379,217 @@ public class JdbcDatabaseSink implements DataSink {
         return "JDBC";
     }
     
-    private void createTableFromHeaders(String tableName, List<String> headers) throws SQLException {
-        createTableFromHeaders(tableName, headers, false);
+    /**
+     * @param partitioning Partitioning by BACKUP_TIMESTAMP for the new table, or null
+     */
+    private void createTableFromHeaders(String tableName, List<String> headers, boolean hasBlobData,
+                                        boolean withRowHash, Map<String, Field> fields,
+                                        TablePartitioning partitioning) throws SQLException {
+        StringBuilder createTableSQL = new StringBuilder();
+        createTableSQL.append("CREATE TABLE ").append(tableName).append(" (\n");
+        
+        List<String> columnDefs = new ArrayList<>();
+        
+        // Add columns from CSV headers
+        for (String header : headers) {
+            String columnName = dialect.sanitizeColumnName(header);
+            String columnType;
+            
+            // Special handling for BLOB_FILE_PATH - use BINARY type for actual blob storage
+            if (header.equals("BLOB_FILE_PATH") && hasBlobData) {
+                // Store actual binary data in a separate column
+                columnType = dialect.getVarcharType(4096); // Keep file path for reference
+                columnDefs.add("  " + columnName + " " + columnType);
+                // Add BLOB_DATA column for actual binary content
+                String blobDataType = dialect.getBinaryType();
+                columnDefs.add("  " + dialect.sanitizeColumnName("BLOB_DATA") + " " + blobDataType);
+                logger.info("{}: Added BLOB_DATA column ({}) for binary blob storage", tableName, blobDataType);
+            } else {
+                columnType = columnTypeFor(fields != null ? fields.get(header.toLowerCase()) : null);
+                columnDefs.add("  " + columnName + " " + columnType);
+            }
+        }
+        
+        // Add metadata columns
+        columnDefs.add("  " + dialect.sanitizeColumnName("BACKUP_ID") + " " + dialect.getVarcharType(50));
+        columnDefs.add("  " + dialect.sanitizeColumnName("BACKUP_TIMESTAMP") + " " + dialect.getTimestampType());
+        if (withRowHash) {
+            columnDefs.add("  " + dialect.sanitizeColumnName("ROW_HASH") + " " + dialect.getVarcharType(ROW_HASH_LENGTH));
+        }
+        
+        createTableSQL.append(String.join(",\n", columnDefs));
+        createTableSQL.append("\n)");
+        if (partitioning != null) {
+            String timestampColumn = dialect.sanitizeColumnName("BACKUP_TIMESTAMP");
+            for (String setupSql : partitioning.getSetupSql(tableName, timestampColumn)) {
+                try (Statement stmt = connection().createStatement()) {
+                    stmt.execute(setupSql);
+                }
+            }
+            createTableSQL.append(partitioning.getCreateTableClause(tableName, timestampColumn));
+            logger.info("{}: Partitioning by day of {}", tableName, timestampColumn);
+        }
+        
+        logger.info("Creating table from CSV headers: {} ({})", tableName,
+            fields != null ? "typed from describe" : "no describe metadata, all text");
+        logger.debug("CREATE TABLE SQL: {}", createTableSQL.toString());
+        
+        try (Statement stmt = connection().createStatement()) {
+            stmt.execute(createTableSQL.toString());
+            logger.info("Table {} created successfully with {} columns", tableName, headers.size());
+        }
+        catalog.recordTable(tableName, true);
+    }
+    
+    /**
+     * Column type for a described field. Fields without metadata (or of types the
+     * dialect can't map) fall back to a large VARCHAR.
+     */
+    private String columnTypeFor(Field field) {
+        if (field != null && field.getType() != null) {
+            String type = dialect.mapSalesforceType(field.getType().toString(), field.getLength(),
+                field.getPrecision(), field.getScale());
+            if (type != null) {
+                return type;
+            }
+        }
+        return dialect.getVarcharType(16777216); // 16MB max
+    }
+    
+    /**
+     * Look up the JDBC types of the table's columns for the CSV headers, followed by
+     * BACKUP_ID and BACKUP_TIMESTAMP. Columns the metadata doesn't report are treated as VARCHAR.
+     */
+    private List<TableColumn> resolveTableColumns(String tableName, List<String> headers) {
+        Map<String, Integer> types = tableColumns(tableName);
+        if (types.isEmpty()) {
+            logger.debug("{}: No column metadata, binding all values as strings", tableName);
+        }
+        
+        List<TableColumn> columns = new ArrayList<>();
+        for (String header : headers) {
+            String columnName = dialect.sanitizeColumnName(header);
+            columns.add(new TableColumn(columnName, types.getOrDefault(unquote(columnName).toLowerCase(), Types.VARCHAR)));
+        }
+        columns.add(new TableColumn(dialect.sanitizeColumnName("BACKUP_ID"), Types.VARCHAR));
+        columns.add(new TableColumn(dialect.sanitizeColumnName("BACKUP_TIMESTAMP"), Types.TIMESTAMP));
+        return columns;
+    }
+    
+    /**
+     * The table's columns (lower-case name to JDBC type), read from the database metadata
+     * the first time and from the catalog after that. Empty if the metadata isn't available.
+     */
+    private Map<String, Integer> tableColumns(String tableName) {
+        Map<String, Integer> cached = catalog.columns(tableName);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Integer> types = new HashMap<>();
+        try {
+            String schema = connectionProperties != null ? connectionProperties.getProperty("schema") : null;
+            if (schema == null || schema.isEmpty()) {
+                schema = connection().getSchema();
+            }
+            String database = connectionProperties != null ? connectionProperties.getProperty("db") : null;
+            if (database == null || database.isEmpty()) {
+                database = connection().getCatalog();
+            }
+            String bareTable = unquote(tableName);
+            DatabaseMetaData meta = connection().getMetaData();
+            // Identifier case varies by database - try as sanitized, then upper and lower case
+            for (String candidate : new LinkedHashSet<>(Arrays.asList(bareTable, bareTable.toUpperCase(), bareTable.toLowerCase()))) {
+                try (ResultSet rs = meta.getColumns(database, schema, candidate, null)) {
+                    while (rs != null && rs.next()) {
+                        types.put(rs.getString("COLUMN_NAME").toLowerCase(), rs.getInt("DATA_TYPE"));
+                    }
+                }
+                if (!types.isEmpty()) {
+                    break;
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            logger.debug("Could not read column types for {}: {}", tableName, e.getMessage());
+            return types;
+        }
+        catalog.recordColumns(tableName, types);
+        return types;
     }
     
-    private void createTableFromHeaders(String tableName, List<String> headers, boolean hasBlobData) throws SQLException {
-        StringBuilder createTableSQL = new StringBuilder();
-        createTableSQL.append("CREATE TABLE ").append(tableName).append(" (\n");
-        
-        List<String> columnDefs = new ArrayList<>();
-        
-        // Add columns from CSV headers
+    /**
+     * Add columns for CSV fields the existing table doesn't have yet (fields added in
+     * Salesforce since the table was created), and BLOB_DATA if the CSV carries blobs.
+     * Table columns the CSV no longer has (deleted fields) are left in place and get NULL
+     * in new rows. Does nothing when the database reports no column metadata.
+     */
+    private void evolveColumns(String objectName, String tableName, List<String> headers,
+                               boolean hasBlobData, boolean withRowHash) throws SQLException {
+        Map<String, Integer> existing = tableColumns(tableName);
+        if (existing.isEmpty()) {
+            return;
+        }
+        Map<String, Field> fields = describedFields.get(objectName);
+        Set<String> csvColumns = new HashSet<>();
+        boolean altered = false;
         for (String header : headers) {
             String columnName = dialect.sanitizeColumnName(header);
-            String columnType;
-            
-            // Special handling for BLOB_FILE_PATH - use BINARY type for actual blob storage
-            if (header.equals("BLOB_FILE_PATH") && hasBlobData) {
-                // Store actual binary data in a separate column
-                columnType = dialect.getVarcharType(4096); // Keep file path for reference
-                columnDefs.add("  " + columnName + " " + columnType);
-                // Add BLOB_DATA column for actual binary content
-                String blobDataType = dialect.getBinaryType();
-                columnDefs.add("  " + dialect.sanitizeColumnName("BLOB_DATA") + " " + blobDataType);
-                logger.info("{}: Added BLOB_DATA column ({}) for binary blob storage", tableName, blobDataType);
-            } else {
-                // Use large VARCHAR for all other fields since we don't have Salesforce metadata
-                columnType = dialect.getVarcharType(16777216); // 16MB max
-                columnDefs.add("  " + columnName + " " + columnType);
+            String key = unquote(columnName).toLowerCase();
+            csvColumns.add(key);
+            if (existing.containsKey(key)) {
+                continue;
+            }
+            String columnType = header.equals("BLOB_FILE_PATH")
+                ? dialect.getVarcharType(4096)
+                : columnTypeFor(fields != null ? fields.get(header.toLowerCase()) : null);
+            try (Statement stmt = connection().createStatement()) {
+                stmt.execute(dialect.getAddColumnSql(tableName, columnName, columnType));
+                logger.info("{}: Added column {} ({}) for a new field", objectName, columnName, columnType);
+                altered = true;
             }
         }
+        if (hasBlobData && !existing.containsKey(unquote(dialect.sanitizeColumnName("BLOB_DATA")).toLowerCase())) {
+            logger.info("{}: Adding BLOB_DATA column to existing table", objectName);
+            addBlobDataColumn(tableName);
+        }
+        String rowHashColumn = dialect.sanitizeColumnName("ROW_HASH");
+        if (withRowHash && !existing.containsKey(unquote(rowHashColumn).toLowerCase())) {
+            try (Statement stmt = connection().createStatement()) {
+                stmt.execute(dialect.getAddColumnSql(tableName, rowHashColumn, dialect.getVarcharType(ROW_HASH_LENGTH)));
+                logger.info("{}: Added {} column for change detection", objectName, rowHashColumn);
+                altered = true;
+            }
+        }
+        if (altered) {
+            catalog.recordTable(tableName, true);
+        }
         
-        // Add metadata columns
-        columnDefs.add("  " + dialect.sanitizeColumnName("BACKUP_ID") + " " + dialect.getVarcharType(50));
-        columnDefs.add("  " + dialect.sanitizeColumnName("BACKUP_TIMESTAMP") + " " + dialect.getTimestampType());
-        
-        createTableSQL.append(String.join(",\n", columnDefs));
-        createTableSQL.append("\n)");
-        
-        logger.info("Creating table from CSV headers: {}", tableName);
-        logger.debug("CREATE TABLE SQL: {}", createTableSQL.toString());
-        
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(createTableSQL.toString());
-            logger.info("Table {} created successfully with {} columns", tableName, headers.size());
+        List<String> dropped = new ArrayList<>();
+        for (String column : existing.keySet()) {
+            if (!csvColumns.contains(column) && !SINK_COLUMNS.contains(column)) {
+                dropped.add(column);
+            }
+        }
+        if (!dropped.isEmpty()) {
+            Collections.sort(dropped);
+            logger.info("{}: Columns not in this backup are left NULL in new rows: {}", objectName, dropped);
         }
     }
     
+    static String unquote(String identifier) {
+        return identifier.replace("\"", "").replace("[", "").replace("]", "").replace("`", "");
+    }
+    
     private boolean tableExists(String tableName) throws SQLException {
+        Boolean known = catalog.tableExists(tableName);
+        if (known != null) {
+            return known;
+        }
+        boolean exists = queryTableExists(tableName);
+        catalog.recordTable(tableName, exists);
+        return exists;
+    }
+    
+    private boolean queryTableExists(String tableName) throws SQLException {
         String upperTableName = tableName.toUpperCase();
         
         // Get schema - try multiple sources
@@ -506,11 +1598,11 @@ public class JdbcDatabaseSink implements DataSink {
             schema = connectionProperties.getProperty("schema");
         }
         if (schema == null || schema.isEmpty()) {
-            schema = connection.getSchema();
+            schema = connection().getSchema();
         }
         // If still null, try querying Snowflake directly for current schema
         if (schema == null || schema.isEmpty()) {
-            try (Statement stmt = connection.createStatement();
+            try (Statement stmt = connection().createStatement();
                  ResultSet rs = stmt.executeQuery("SELECT CURRENT_SCHEMA()")) {
                 if (rs.next()) {
                     schema = rs.getString(1);
@@ -526,7 +1618,7 @@ public class JdbcDatabaseSink implements DataSink {
         
         // First try: query table without schema prefix (relies on USE SCHEMA context)
         String query = String.format("SELECT 1 FROM %s LIMIT 1", upperTableName);
-        try (Statement stmt = connection.createStatement();
+        try (Statement stmt = connection().createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             logger.info("Table {} EXISTS (query succeeded)", upperTableName);
             return true;
@@ -536,7 +1628,8 @@ public class JdbcDatabaseSink implements DataSink {
             
             // If "does not exist" error, table doesn't exist
             if (msg.contains("does not exist") || msg.contains("not found") || 
-                msg.contains("invalid object") || msg.contains("unknown table")) {
+                msg.contains("invalid object") || msg.contains("unknown table") ||
+                msg.contains("doesn't exist")) {
                 logger.info("Table {} confirmed NOT EXIST", upperTableName);
                 return false;
             }
@@ -547,7 +1640,7 @@ public class JdbcDatabaseSink implements DataSink {
         if (upperSchema != null) {
             String qualifiedTable = upperSchema + "." + upperTableName;
             query = String.format("SELECT 1 FROM %s LIMIT 1", qualifiedTable);
-            try (Statement stmt = connection.createStatement();
+            try (Statement stmt = connection().createStatement();
                  ResultSet rs = stmt.executeQuery(query)) {
                 logger.info("Table {} EXISTS (found with schema prefix)", qualifiedTable);
                 return true;
@@ -556,7 +1649,8 @@ public class JdbcDatabaseSink implements DataSink {
                 logger.info("Query '{}' failed: {}", query, e.getMessage());
                 
                 if (msg.contains("does not exist") || msg.contains("not found") || 
-                    msg.contains("invalid object") || msg.contains("unknown table")) {
+                    msg.contains("invalid object") || msg.contains("unknown table") ||
+                    msg.contains("doesn't exist")) {
                     logger.info("Table {} confirmed NOT EXIST", qualifiedTable);
                     return false;
                 }
@@ -575,26 +1669,8 @@ public class JdbcDatabaseSink implements DataSink {
     /**
      * Check if a specific column exists in a table
      */
-    private boolean columnExists(String tableName, String columnName) throws SQLException {
-        DatabaseMetaData meta = connection.getMetaData();
-        // Get schema/database from connectionProperties if available, otherwise from connection
-        String schema = null;
-        String database = null;
-        if (connectionProperties != null) {
-            schema = connectionProperties.getProperty("schema");
-            database = connectionProperties.getProperty("db");
-        }
-        if (schema == null) {
-            schema = connection.getSchema();
-        }
-        if (database == null) {
-            database = connection.getCatalog();
-        }
-        String sanitizedColumnName = dialect.sanitizeColumnName(columnName);
-        
-        try (ResultSet rs = meta.getColumns(database, schema, tableName, sanitizedColumnName)) {
-            return rs.next();
-        }
+    private boolean columnExists(String tableName, String columnName) {
+        return tableColumns(tableName).containsKey(unquote(dialect.sanitizeColumnName(columnName)).toLowerCase());
     }
     
     /**
@@ -603,11 +1679,12 @@ public class JdbcDatabaseSink implements DataSink {
     private void addBlobDataColumn(String tableName) throws SQLException {
         String blobDataType = dialect.getBinaryType();
         String columnName = dialect.sanitizeColumnName("BLOB_DATA");
-        String alterSQL = String.format("ALTER TABLE %s ADD COLUMN %s %s", tableName, columnName, blobDataType);
+        String alterSQL = dialect.getAddColumnSql(tableName, columnName, blobDataType);
         
-        try (Statement stmt = connection.createStatement()) {
+        try (Statement stmt = connection().createStatement()) {
             stmt.execute(alterSQL);
             logger.info("Added {} column to table {}", columnName, tableName);
+            catalog.recordTable(tableName, true);
         } catch (SQLException e) {
             // Column might already exist with different case or the syntax might differ
             logger.warn("Could not add BLOB_DATA column to {}: {}", tableName, e.getMessage());
@@ -621,12 +1698,14 @@ public class JdbcDatabaseSink implements DataSink {
      */
     public boolean doesTableExist(String objectName) {
         try {
-            ensureConnection();
+            lease();
             String tableName = dialect.sanitizeTableName(objectName);
             return tableExists(tableName);
         } catch (Exception e) {
             logger.warn("Error checking if table exists for {}: {}", objectName, e.getMessage());
             return false;
+        } finally {
+            endLease();
         }
     }
     
@@ -638,7 +1717,7 @@ public class JdbcDatabaseSink implements DataSink {
      */
     public long getTableRowCount(String objectName) {
         try {
-            ensureConnection();
+            lease();
             String tableName = dialect.sanitizeTableName(objectName);
             String upperTableName = tableName.toUpperCase();
             
@@ -658,7 +1737,7 @@ public class JdbcDatabaseSink implements DataSink {
             try {
                 query = String.format("SELECT COUNT(DISTINCT %s) as ROW_COUNT FROM %s", idColumn, upperTableName);
                 logger.info("Executing distinct count query: {}", query);
-                try (Statement stmt = connection.createStatement();
+                try (Statement stmt = connection().createStatement();
                      ResultSet rs = stmt.executeQuery(query)) {
                     if (rs.next()) {
                         long count = rs.getLong("ROW_COUNT");
@@ -674,7 +1753,7 @@ public class JdbcDatabaseSink implements DataSink {
             // Fallback: regular count (for tables without ID column)
             query = String.format("SELECT COUNT(*) as ROW_COUNT FROM %s", upperTableName);
             logger.info("Executing total count query: {}", query);
-            try (Statement stmt = connection.createStatement();
+            try (Statement stmt = connection().createStatement();
                  ResultSet rs = stmt.executeQuery(query)) {
                 if (rs.next()) {
                     long count = rs.getLong("ROW_COUNT");
@@ -686,6 +1765,8 @@ public class JdbcDatabaseSink implements DataSink {
         } catch (Exception e) {
             logger.warn("Error getting row count for {}: {}", objectName, e.getMessage());
             return -1;
+        } finally {
+            endLease();
         }
     }
     
@@ -695,7 +1776,12 @@ public class JdbcDatabaseSink implements DataSink {
      * @return The full table path like "DATABASE.SCHEMA.TABLENAME"
      */
     public String getFullTablePath(String objectName) {
+        boolean needsConnection = connectionProperties == null
+            || isBlank(connectionProperties.getProperty("schema")) || isBlank(connectionProperties.getProperty("db"));
         try {
+            if (needsConnection) {
+                lease();
+            }
             String tableName = dialect.sanitizeTableName(objectName).toUpperCase();
             String schema = null;
             String database = null;
@@ -706,14 +1792,14 @@ public class JdbcDatabaseSink implements DataSink {
             }
             if (schema == null || schema.isEmpty()) {
                 try {
-                    schema = connection.getSchema();
+                    schema = connection().getSchema();
                 } catch (Exception e) {
                     schema = "?";
                 }
             }
             if (database == null || database.isEmpty()) {
                 try {
-                    database = connection.getCatalog();
+                    database = connection().getCatalog();
                 } catch (Exception e) {
                     database = "?";
                 }
@@ -725,28 +1811,41 @@ public class JdbcDatabaseSink implements DataSink {
                 tableName);
         } catch (Exception e) {
             return objectName.toUpperCase();
+        } finally {
+            if (needsConnection) {
+                endLease();
+            }
         }
     }
     
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+    
     /**
      * Get the last backup timestamp for incremental backups
      * Returns null if table doesn't exist or has no data
      */
     public java.sql.Timestamp getLastBackupTimestamp(String tableName) throws SQLException {
-        if (!tableExists(tableName)) {
-            return null;
-        }
-        
-        String timestampCol = dialect.sanitizeColumnName("BACKUP_TIMESTAMP");
-        String query = String.format("SELECT MAX(%s) as LAST_BACKUP FROM %s", timestampCol, tableName);
-        
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            if (rs.next()) {
-                return rs.getTimestamp("LAST_BACKUP");
+        lease();
+        try {
+            if (!tableExists(tableName)) {
+                return null;
             }
+            
+            String timestampCol = dialect.sanitizeColumnName("BACKUP_TIMESTAMP");
+            String query = String.format("SELECT MAX(%s) as LAST_BACKUP FROM %s", timestampCol, tableName);
+            
+            try (Statement stmt = connection().createStatement();
+                 ResultSet rs = stmt.executeQuery(query)) {
+                if (rs.next()) {
+                    return rs.getTimestamp("LAST_BACKUP");
+                }
+            }
+            return null;
+        } finally {
+            endLease();
         }
-        return null;
     }
     
     /**
@@ -758,33 +1857,86 @@ public class JdbcDatabaseSink implements DataSink {
     }
     
     /**
-     * Load blob file as raw bytes for database storage
-     * Returns null if file cannot be loaded
+     * Find the file for a BLOB_FILE_PATH value, or null if it doesn't exist
      */
-    private byte[] loadBlobAsBytes(String blobPath) {
-        if (blobPath == null || blobPath.trim().isEmpty()) {
+    private java.nio.file.Path findBlobFile(String blobPath) {
+        java.nio.file.Path filePath = resolveBlobPath(blobPath);
+        if (filePath == null || !java.nio.file.Files.exists(filePath)) {
+            logger.warn("Blob file not found: {} (tried multiple locations)", blobPath);
             return null;
         }
-        
-        java.nio.file.Path filePath = resolveBlobPath(blobPath);
-        
-        if (filePath != null && java.nio.file.Files.exists(filePath)) {
+        return filePath;
+    }
+    
+    /**
+     * Bind a blob file as a stream of known length, so the file is never held in memory.
+     * The stream is added to {@code openStreams} and must stay open until the batch executes.
+     * Drivers without stream support get the file's bytes instead.
+     * @return Bytes bound
+     */
+    private long bindBlob(PreparedStatement pstmt, int index, java.nio.file.Path blobFile,
+                          List<java.io.InputStream> openStreams) throws SQLException {
+        if (blobFile == null) {
+            pstmt.setNull(index, Types.BINARY);
+            return 0;
+        }
+        try {
+            long size = java.nio.file.Files.size(blobFile);
+            java.io.InputStream in = java.nio.file.Files.newInputStream(blobFile);
+            openStreams.add(in);
             try {
-                byte[] blobBytes = java.nio.file.Files.readAllBytes(filePath);
-                
-                // Log only for larger files to avoid spam
-                if (blobBytes.length > 100000) {
-                    logger.debug("Loaded blob from {} ({} KB)", blobPath, blobBytes.length / 1024);
-                }
-                
-                return blobBytes;
-            } catch (Exception e) {
-                logger.error("Failed to read blob file {}: {}", blobPath, e.getMessage());
-                return null;
+                pstmt.setBinaryStream(index, in, size);
+            } catch (SQLFeatureNotSupportedException e) {
+                pstmt.setBytes(index, java.nio.file.Files.readAllBytes(blobFile));
             }
-        } else {
-            logger.warn("Blob file not found: {} (tried multiple locations)", blobPath);
-            return null;
+            if (size > 100000) {
+                logger.debug("Streaming blob from {} ({} KB)", blobFile, size / 1024);
+            }
+            return size;
+        } catch (java.io.IOException e) {
+            logger.error("Failed to read blob file {}: {}", blobFile, e.getMessage());
+            pstmt.setNull(index, Types.BINARY);
+            return 0;
+        }
+    }
+    
+    private static void closeBlobStreams(List<java.io.InputStream> streams) {
+        for (java.io.InputStream in : streams) {
+            try {
+                in.close();
+            } catch (java.io.IOException e) {
+                logger.debug("Error closing blob stream: {}", e.getMessage());
+            }
+        }
+        streams.clear();
+    }
+    
+    /**
+     * Append each row's blob file (or null) from its BLOB_FILE_PATH value
+     */
+    private Iterator<Object[]> withBlobFiles(Iterator<Object[]> rows, int blobPathColumnIndex) {
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+            
+            @Override
+            public Object[] next() {
+                Object[] row = rows.next();
+                Object blobPath = row[blobPathColumnIndex];
+                Object[] withFile = Arrays.copyOf(row, row.length + 1);
+                withFile[row.length] = blobPath != null ? findBlobFile(blobPath.toString()) : null;
+                return withFile;
+            }
+        };
+    }
+    
+    private static long blobSize(java.nio.file.Path blobFile) {
+        try {
+            return blobFile != null ? java.nio.file.Files.size(blobFile) : 0;
+        } catch (java.io.IOException e) {
+            return 0;
         }
     }
     
@@ -824,27 +1976,6 @@ public class JdbcDatabaseSink implements DataSink {
         return null;
     }
     
-    /**
-     * Load blob file and encode as base64 for database storage
-     * Returns null if file cannot be loaded
-     */
-    private String loadBlobAsBase64(String blobPath) {
-        byte[] blobBytes = loadBlobAsBytes(blobPath);
-        if (blobBytes == null) {
-            return null;
-        }
-        
-        String base64 = java.util.Base64.getEncoder().encodeToString(blobBytes);
-        
-        // Log only for larger files to avoid spam
-        if (blobBytes.length > 100000) {
-            logger.debug("Encoded blob from {} ({} KB -> {} KB base64)", 
-                blobPath, blobBytes.length / 1024, base64.length() / 1024);
-        }
-        
-        return base64;
-    }
-    
     /**
      * Count successful inserts from batch execution results
      * Handles various JDBC driver return codes
@@ -870,7 +2001,7 @@ public class JdbcDatabaseSink implements DataSink {
     public List<String> listBackedUpTables() {
         List<String> tables = new ArrayList<>();
         try {
-            ensureConnection();
+            lease();
             
             String schema = null;
             String database = null;
@@ -880,19 +2011,23 @@ public class JdbcDatabaseSink implements DataSink {
                 database = connectionProperties.getProperty("db");
             }
             if (schema == null || schema.isEmpty()) {
-                schema = connection.getSchema();
+                schema = connection().getSchema();
             }
             if (database == null || database.isEmpty()) {
-                database = connection.getCatalog();
+                database = connection().getCatalog();
             }
             
             logger.info("Listing tables in schema: {}.{}", database, schema);
             
-            DatabaseMetaData metaData = connection.getMetaData();
-            try (ResultSet rs = metaData.getTables(database, schema, "%", new String[]{"TABLE"})) {
+            DatabaseMetaData metaData = connection().getMetaData();
+            // Time-partitioned tables are listed as partitioned tables by some drivers, and
+            // their partitions as tables
+            TablePartitioning partitioning = dialect.getPartitioning();
+            try (ResultSet rs = metaData.getTables(database, schema, "%", new String[]{"TABLE", "PARTITIONED TABLE"})) {
                 while (rs.next()) {
                     String tableName = rs.getString("TABLE_NAME");
-                    if (tableName != null && !tableName.startsWith("_") && !tableName.startsWith("SYS")) {
+                    if (tableName != null && !tableName.startsWith("_") && !tableName.startsWith("SYS")
+                            && (partitioning == null || !partitioning.isPartitionTable(tableName))) {
                         tables.add(tableName);
                     }
                 }
@@ -901,6 +2036,8 @@ public class JdbcDatabaseSink implements DataSink {
             logger.info("Found {} tables in schema", tables.size());
         } catch (Exception e) {
             logger.error("Error listing tables: {}", e.getMessage());
+        } finally {
+            endLease();
         }
         return tables;
     }
@@ -912,11 +2049,77 @@ public class JdbcDatabaseSink implements DataSink {
         String sanitizeTableName(String name);
         String sanitizeColumnName(String name);
         String mapSalesforceType(String sfType, int length);
+        
+        /**
+         * Map a Salesforce type using its full describe metadata. Dialects override this to
+         * size numeric columns from precision and scale.
+         */
+        default String mapSalesforceType(String sfType, int length, int precision, int scale) {
+            return mapSalesforceType(sfType, length);
+        }
         String getTimestampType();
         String getCurrentTimestamp();
         String getVarcharType(int length);
+        
+        /**
+         * Starting insert batch size. Batches are then sized from measured row width and
+         * latency, within {@link #getMinBatchSize()} and {@link #getMaxBatchSize()}.
+         */
         int getOptimalBatchSize();
         
+        default int getMinBatchSize() {
+            return Math.max(1, getOptimalBatchSize() / 10);
+        }
+        
+        default int getMaxBatchSize() {
+            return getOptimalBatchSize() * 10;
+        }
+        
+        /**
+         * Payload an insert batch should carry, estimated from the CSV values
+         */
+        default long getTargetBatchBytes() {
+            return 4L * 1024 * 1024;
+        }
+        
+        /**
+         * How long one executeBatch round trip should take
+         */
+        default long getTargetBatchMillis() {
+            return 1000;
+        }
+        
+        /**
+         * Most bind parameters one multi-row INSERT may carry, or 0 to send batched rows as
+         * single-row INSERTs (e.g. when the driver already rewrites batches itself)
+         */
+        default int getMaxInsertParameters() {
+            return 0;
+        }
+        
+        /**
+         * Most rows one multi-row INSERT may carry
+         */
+        default int getMaxInsertRows() {
+            return 1000;
+        }
+        
+        /**
+         * INSERT of {@code rows} rows in one statement, one placeholder per value
+         */
+        default String getMultiRowInsertSql(String tableName, List<String> columns, int rows) {
+            String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", ", "(", ")"));
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+            for (int i = 0; i < rows; i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(placeholders);
+            }
+            return sql.toString();
+        }
+        
         /**
          * Get the binary/blob data type for this database
          * Used for storing binary file content
@@ -924,5 +2127,178 @@ public class JdbcDatabaseSink implements DataSink {
         default String getBinaryType() {
             return "BLOB";
         }
+        
+        /**
+         * Native bulk-load path for this database, or null to load with batched INSERTs
+         */
+        default BulkLoader getBulkLoader() {
+            return null;
+        }
+        
+        /**
+         * Temporary table an object's rows are staged in before a merge
+         */
+        default String getStagingTableName(String objectName) {
+            return sanitizeTableName(objectName + "__STAGE");
+        }
+        
+        /**
+         * SQL creating an empty table with the same columns as {@code sourceTable}
+         */
+        default String getCreateTableLikeSql(String newTable, String sourceTable, boolean temporary) {
+            return "CREATE " + (temporary ? "TEMPORARY " : "") + "TABLE " + newTable
+                + " AS SELECT * FROM " + sourceTable + " WHERE 1 = 0";
+        }
+        
+        /**
+         * SQL that upserts every staged row into the target, matching on {@code keyColumn}.
+         * The default is a standard MERGE.
+         */
+        default String getMergeSql(String targetTable, String stagingTable, String keyColumn, List<String> columns) {
+            String updates = columns.stream()
+                .filter(c -> !c.equals(keyColumn))
+                .map(c -> "t." + c + " = s." + c)
+                .collect(Collectors.joining(", "));
+            return "MERGE INTO " + targetTable + " t USING " + stagingTable + " s ON t." + keyColumn + " = s." + keyColumn
+                + " WHEN MATCHED THEN UPDATE SET " + updates
+                + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ")"
+                + " VALUES (" + columns.stream().map(c -> "s." + c).collect(Collectors.joining(", ")) + ")";
+        }
+        
+        /**
+         * SQL adding the unique key on {@code keyColumn} that the merge relies on, or null
+         * if the merge doesn't need one. May fail if the key already exists.
+         */
+        default String getUniqueKeySql(String tableName, String keyColumn) {
+            return null;
+        }
+        
+        /**
+         * SQL adding a column to an existing table
+         */
+        default String getAddColumnSql(String tableName, String columnName, String columnType) {
+            return "ALTER TABLE " + tableName + " ADD COLUMN " + columnName + " " + columnType;
+        }
+        
+        /**
+         * Connections used to load one large object in parallel segments (1 = no partitioning)
+         */
+        default int getLoadParallelism() {
+            return 1;
+        }
+        
+        /**
+         * Partitioning of new tables by BACKUP_TIMESTAMP, or null if not supported
+         */
+        default TablePartitioning getPartitioning() {
+            return null;
+        }
+    }
+    
+    /**
+     * Database-native bulk loader (e.g. PostgreSQL COPY) used instead of batched INSERTs
+     */
+    public interface BulkLoader {
+        /**
+         * Name shown in logs
+         */
+        String getName();
+        
+        /**
+         * Whether this connection can bulk load - e.g. the expected driver is behind it.
+         * When false the sink falls back to batched INSERTs.
+         */
+        boolean isSupported(Connection connection);
+        
+        /**
+         * Load all rows into an existing table.
+         * @param columns Table columns in row order; the last two are BACKUP_ID and BACKUP_TIMESTAMP
+         * @param rows Row values converted for their column type - String, Boolean, Long, BigDecimal,
+         *        java.sql.Date, Timestamp, Time or null
+         * @return Number of rows loaded
+         * @throws BulkLoadUnavailableException if the database refused the bulk load before
+         *         any row was taken from {@code rows}, so batched inserts can load them instead
+         */
+        int load(Connection connection, String tableName, List<TableColumn> columns, Iterator<Object[]> rows)
+            throws Exception;
+    }
+    
+    /**
+     * Partitions backup tables by the day of BACKUP_TIMESTAMP. Every load's rows share one
+     * timestamp, so each load lands in a single partition; backups past the retention period
+     * are removed a partition at a time instead of row by row.
+     */
+    public interface TablePartitioning {
+        /**
+         * Statements run before the table is created (e.g. a partition function)
+         */
+        default List<String> getSetupSql(String tableName, String timestampColumn) {
+            return Collections.emptyList();
+        }
+        
+        /**
+         * Clause appended to CREATE TABLE (...)
+         */
+        String getCreateTableClause(String tableName, String timestampColumn);
+        
+        /**
+         * Whether an existing table was created with this partitioning. Tables created
+         * before partitioning was turned on are appended to as they are.
+         */
+        boolean isPartitioned(Connection connection, String tableName) throws SQLException;
+        
+        /**
+         * Make sure rows with a BACKUP_TIMESTAMP on {@code day} have a partition to go to
+         */
+        void addPartition(Connection connection, String tableName, LocalDate day) throws SQLException;
+        
+        /**
+         * Remove every row with a BACKUP_TIMESTAMP before {@code cutoff}
+         */
+        void dropPartitionsBefore(Connection connection, String tableName, String timestampColumn, LocalDate cutoff)
+            throws SQLException;
+        
+        /**
+         * Whether a table is one of the partitions themselves, left out of table listings
+         */
+        default boolean isPartitionTable(String tableName) {
+            return false;
+        }
+    }
+    
+    /**
+     * A target column: sanitized name and its java.sql.Types type in the table
+     */
+    public static class TableColumn {
+        private final String name;
+        private final int sqlType;
+        
+        public TableColumn(String name, int sqlType) {
+            this.name = name;
+            this.sqlType = sqlType;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public int getSqlType() {
+            return sqlType;
+        }
+        
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+    
+    /**
+     * Thrown by a BulkLoader when bulk loading isn't allowed (e.g. missing permissions)
+     * and no rows have been read yet
+     */
+    public static class BulkLoadUnavailableException extends SQLException {
+        public BulkLoadUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
     }
 }
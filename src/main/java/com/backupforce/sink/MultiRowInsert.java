@@ -0,0 +1,134 @@
+package com.backupforce.sink;
+
+import com.backupforce.sink.JdbcDatabaseSink.DatabaseDialect;
+import com.backupforce.sink.JdbcDatabaseSink.TableColumn;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts rows with multi-row INSERT ... VALUES (...), (...) statements, for drivers that
+ * send every batched row to the server as its own statement.
+ *
+ * Rows go out in statements of {@link #getRowsPerStatement()} rows - as many as the
+ * dialect's parameter limit allows - batched together in one round trip. What's left of a
+ * batch is sent in power-of-two statements (e.g. 37 rows as 32 + 4 + 1), so only a handful
+ * of statement shapes are ever prepared. Each is prepared once and reused for the whole load.
+ *
+ * Not thread-safe; use one per connection.
+ */
+final class MultiRowInsert implements AutoCloseable {
+
+    private final Connection connection;
+    private final DatabaseDialect dialect;
+    private final String tableName;
+    private final List<TableColumn> columns;
+    private final List<String> columnNames;
+    private final int rowsPerStatement;
+    private final Map<Integer, PreparedStatement> statements = new HashMap<>();
+
+    MultiRowInsert(Connection connection, DatabaseDialect dialect, String tableName, List<TableColumn> columns) {
+        this.connection = connection;
+        this.dialect = dialect;
+        this.tableName = tableName;
+        this.columns = columns;
+        this.columnNames = columns.stream().map(TableColumn::getName).collect(Collectors.toList());
+        this.rowsPerStatement = rowsPerStatement(dialect, columns.size());
+    }
+
+    /**
+     * Rows one statement can carry for a table of {@code columnCount} columns;
+     * 1 means the dialect sends batched rows as single-row INSERTs
+     */
+    static int rowsPerStatement(DatabaseDialect dialect, int columnCount) {
+        int maxParameters = dialect.getMaxInsertParameters();
+        if (maxParameters <= 0 || columnCount <= 0) {
+            return 1;
+        }
+        return Math.max(1, Math.min(dialect.getMaxInsertRows(), maxParameters / columnCount));
+    }
+
+    int getRowsPerStatement() {
+        return rowsPerStatement;
+    }
+
+    /**
+     * Insert rows laid out like the columns, each value bound with its column's type
+     * @return Number of rows inserted
+     */
+    int insert(List<Object[]> rows) throws SQLException {
+        int inserted = 0;
+        int offset = 0;
+        int fullStatements = rows.size() / rowsPerStatement;
+        if (fullStatements > 0) {
+            PreparedStatement stmt = statement(rowsPerStatement);
+            for (int i = 0; i < fullStatements; i++) {
+                bind(stmt, rows, offset, rowsPerStatement);
+                stmt.addBatch();
+                offset += rowsPerStatement;
+            }
+            for (int result : stmt.executeBatch()) {
+                inserted += rowsInserted(result, rowsPerStatement);
+            }
+        }
+        while (offset < rows.size()) {
+            int count = Integer.highestOneBit(rows.size() - offset);
+            PreparedStatement stmt = statement(count);
+            bind(stmt, rows, offset, count);
+            inserted += rowsInserted(stmt.executeUpdate(), count);
+            offset += count;
+        }
+        return inserted;
+    }
+
+    private PreparedStatement statement(int rowCount) throws SQLException {
+        PreparedStatement stmt = statements.get(rowCount);
+        if (stmt == null) {
+            stmt = connection.prepareStatement(dialect.getMultiRowInsertSql(tableName, columnNames, rowCount));
+            statements.put(rowCount, stmt);
+        }
+        return stmt;
+    }
+
+    private void bind(PreparedStatement stmt, List<Object[]> rows, int offset, int count) throws SQLException {
+        int index = 1;
+        for (int r = offset; r < offset + count; r++) {
+            Object[] row = rows.get(r);
+            for (int c = 0; c < columns.size(); c++) {
+                SqlValueConverter.bind(stmt, index++, row[c], columns.get(c).getSqlType());
+            }
+        }
+    }
+
+    /**
+     * SUCCESS_NO_INFO counts as the whole statement, EXECUTE_FAILED as none of it
+     */
+    private static int rowsInserted(int result, int rowCount) {
+        if (result == Statement.SUCCESS_NO_INFO) {
+            return rowCount;
+        }
+        return Math.max(0, result);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        for (PreparedStatement stmt : statements.values()) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                failure = e;
+            }
+        }
+        statements.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
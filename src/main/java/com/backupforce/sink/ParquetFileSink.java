@@ -0,0 +1,225 @@
+package com.backupforce.sink;
+
+import com.sforce.soap.partner.Field;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parquet file sink - writes each object as a folder of Parquet files with typed,
+ * compressed columns.
+ *
+ * Columns are typed from the object's describe metadata (text when there is none) and
+ * compressed with Snappy or Zstd. Every row group carries min/max statistics and
+ * low-cardinality columns are dictionary encoded, so query engines can skip data they
+ * don't need. An object's files are rolled at a target size: {@code <Object>/part-0.parquet},
+ * {@code part-1.parquet}, ...
+ *
+ * The files are written by an in-memory DuckDB instance. The CSV is staged in a temporary
+ * file next to the output, which DuckDB reads and converts in parallel without holding the
+ * object in memory.
+ */
+public class ParquetFileSink implements DataSink {
+    private static final Logger logger = LoggerFactory.getLogger(ParquetFileSink.class);
+
+    public static final long DEFAULT_FILE_SIZE_BYTES = 256L * 1024 * 1024;
+    public static final int DEFAULT_ROW_GROUP_ROWS = 122880;
+
+    public enum Compression {
+        SNAPPY, ZSTD
+    }
+
+    private final String outputDirectory;
+    private final Compression compression;
+    private final long fileSizeBytes;
+    private final int rowGroupRows;
+    private final Map<String, Field[]> describedFields = new ConcurrentHashMap<>();
+
+    public ParquetFileSink(String outputDirectory) {
+        this(outputDirectory, Compression.ZSTD, DEFAULT_FILE_SIZE_BYTES, DEFAULT_ROW_GROUP_ROWS);
+    }
+
+    /**
+     * @param fileSizeBytes Size at which an object's output rolls over to a new file
+     * @param rowGroupRows Rows per row group
+     */
+    public ParquetFileSink(String outputDirectory, Compression compression, long fileSizeBytes, int rowGroupRows) {
+        if (fileSizeBytes < 1 || rowGroupRows < 1) {
+            throw new IllegalArgumentException("File size and row group size must be positive");
+        }
+        this.outputDirectory = outputDirectory;
+        this.compression = compression;
+        this.fileSizeBytes = fileSizeBytes;
+        this.rowGroupRows = rowGroupRows;
+    }
+
+    @Override
+    public void connect() throws Exception {
+        Path path = Paths.get(outputDirectory);
+        if (!Files.exists(path)) {
+            Files.createDirectories(path);
+            logger.info("Created output directory: {}", outputDirectory);
+        }
+        // Fail now rather than on the first object if DuckDB's native library can't load
+        DuckDbCsv.open("").close();
+    }
+
+    @Override
+    public void disconnect() {
+        describedFields.clear();
+    }
+
+    @Override
+    public boolean testConnection() {
+        try {
+            connect();
+            Path testFile = Paths.get(outputDirectory).resolve(".test");
+            Files.write(testFile, "test".getBytes());
+            Files.deleteIfExists(testFile);
+            return true;
+        } catch (Exception e) {
+            logger.error("Cannot write Parquet files to output directory", e);
+            return false;
+        }
+    }
+
+    /**
+     * Keep the describe metadata to type the object's columns
+     */
+    @Override
+    public void prepareSink(String objectName, Field[] fields) {
+        if (fields != null) {
+            describedFields.put(objectName, fields);
+        }
+    }
+
+    @Override
+    public int writeData(String objectName, Reader csvReader, String backupId,
+                        ProgressCallback progressCallback) throws Exception {
+        if (progressCallback != null) {
+            progressCallback.update("Writing Parquet files...");
+        }
+
+        // The CSV is staged as is; DuckDB does the parsing
+        Path staged = DuckDbCsv.stage(Paths.get(outputDirectory), objectName, csvReader);
+        try {
+            return convert(objectName, staged, progressCallback);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    @Override
+    public boolean supportsRecordBatches() {
+        return true;
+    }
+
+    @Override
+    public int writeBatches(String objectName, RecordBatchSource batches, String backupId,
+                            ProgressCallback progressCallback) throws Exception {
+        if (progressCallback != null) {
+            progressCallback.update("Writing Parquet files...");
+        }
+
+        Path staged = DuckDbCsv.stage(Paths.get(outputDirectory), objectName, batches);
+        try {
+            return convert(objectName, staged, progressCallback);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    /**
+     * Convert a staged CSV file into the object's Parquet files, replacing earlier ones.
+     * The files are written to a temporary folder next to the object's and only moved in
+     * once the conversion succeeded, so a failed backup leaves the earlier files in place.
+     * @return Number of records written
+     */
+    private int convert(String objectName, Path staged, ProgressCallback progressCallback) throws Exception {
+        Path objectDirectory = Paths.get(outputDirectory, objectName);
+        Path written = Files.createTempDirectory(Paths.get(outputDirectory), "." + objectName + "-");
+
+        long rows;
+        try {
+            try (Connection connection = DuckDbCsv.open(""); Statement stmt = connection.createStatement()) {
+                List<String> headers = DuckDbCsv.readHeaders(stmt, staged);
+                stmt.execute(getCopySql(headers, DuckDbCsv.columnTypes(describedFields.get(objectName)), staged,
+                    written));
+                rows = stmt.getUpdateCount();
+            }
+            clearParquetFiles(objectDirectory);
+            Files.createDirectories(objectDirectory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(written, "*.parquet")) {
+                for (Path file : files) {
+                    Files.move(file, objectDirectory.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } finally {
+            clearParquetFiles(written);
+            Files.deleteIfExists(written);
+        }
+
+        logger.info("{}: Wrote {} records to {} ({})", objectName, rows, objectDirectory, compression);
+        if (progressCallback != null) {
+            progressCallback.update("Completed - " + rows + " records");
+        }
+        return (int) rows;
+    }
+
+    /**
+     * COPY statement converting the staged CSV. Empty values are nulls, as in the Bulk API's
+     * CSV, and values that don't parse as their column's type are written as null.
+     */
+    String getCopySql(List<String> headers, Map<String, String> types, Path staged, Path objectDirectory) {
+        return "COPY (" + DuckDbCsv.typedSelect(headers, types, staged) + ") TO "
+            + DuckDbCsv.literal(objectDirectory.toString())
+            + " (FORMAT PARQUET, COMPRESSION " + compression.name()
+            + ", ROW_GROUP_SIZE " + rowGroupRows
+            + ", FILE_SIZE_BYTES " + fileSizeBytes
+            + ", FILENAME_PATTERN 'part-{i}', OVERWRITE_OR_IGNORE true)";
+    }
+
+    /**
+     * Remove the Parquet files in a folder, so a smaller backup doesn't leave stale parts behind
+     */
+    private static void clearParquetFiles(Path objectDirectory) throws IOException {
+        if (!Files.isDirectory(objectDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(objectDirectory, "*.parquet")) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public long getFileSizeBytes() {
+        return fileSizeBytes;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Parquet Files (" + outputDirectory + ")";
+    }
+
+    @Override
+    public String getType() {
+        return "PARQUET";
+    }
+}
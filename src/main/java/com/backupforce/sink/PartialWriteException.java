@@ -0,0 +1,37 @@
+package com.backupforce.sink;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An object was written to some of a composite sink's sinks but not all of them.
+ *
+ * The records are in the sinks that succeeded, so the backup of the object isn't lost, but
+ * it mustn't be recorded as complete: an incremental backup starting after it would never
+ * give the missing sinks the records they didn't get.
+ */
+public class PartialWriteException extends Exception {
+
+    private final int recordsWritten;
+    private final List<String> failedSinks;
+
+    /**
+     * @param recordsWritten The fewest records any sink that succeeded wrote
+     * @param failedSinks Display names of the sinks that didn't get the object
+     * @param cause The first sink failure, or null if the sinks were left out of the run
+     */
+    public PartialWriteException(int recordsWritten, List<String> failedSinks, Throwable cause) {
+        super("Not written to " + String.join(", ", failedSinks)
+            + (cause != null && cause.getMessage() != null ? ": " + cause.getMessage() : ""), cause);
+        this.recordsWritten = recordsWritten;
+        this.failedSinks = Collections.unmodifiableList(failedSinks);
+    }
+
+    public int getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    public List<String> getFailedSinks() {
+        return failedSinks;
+    }
+}
@@ -0,0 +1,133 @@
+package com.backupforce.sink;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A batch of records in columnar form: one value array per column plus a null bitmap.
+ *
+ * Batches are reused. A {@link RecordBatchSource} refills the same batch on every call,
+ * so values are only valid until the next batch is requested - sinks that keep values
+ * must copy them.
+ */
+public final class RecordBatch {
+
+    // Rows per batch when the producer doesn't choose
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final List<String> columnNames;
+    private final String[][] values;  // [column][row]
+    private final long[][] nulls;     // [column][row / 64], bit set = null
+    private final int capacity;
+    private int rowCount;
+
+    public RecordBatch(List<String> columnNames, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.columnNames = Collections.unmodifiableList(columnNames);
+        this.capacity = capacity;
+        this.values = new String[columnNames.size()][capacity];
+        this.nulls = new long[columnNames.size()][(capacity + 63) / 64];
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public int getColumnCount() {
+        return values.length;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isFull() {
+        return rowCount >= getCapacity();
+    }
+
+    /**
+     * @return The value, or null if it is null
+     */
+    public String get(int row, int column) {
+        return values[column][row];
+    }
+
+    public boolean isNull(int row, int column) {
+        return (nulls[column][row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * A column's values; only the first {@link #getRowCount()} entries belong to this batch
+     */
+    public String[] getColumn(int column) {
+        return values[column];
+    }
+
+    /**
+     * Append a row with every value null
+     * @return The new row's index
+     */
+    public int addRow() {
+        if (isFull()) {
+            throw new IllegalStateException("Batch is full");
+        }
+        int row = rowCount++;
+        for (int column = 0; column < values.length; column++) {
+            values[column][row] = null;
+            nulls[column][row >>> 6] |= 1L << row;
+        }
+        return row;
+    }
+
+    /**
+     * Set a value of a row added with {@link #addRow()}; null marks the value null
+     */
+    public void set(int row, int column, String value) {
+        values[column][row] = value;
+        if (value == null) {
+            nulls[column][row >>> 6] |= 1L << row;
+        } else {
+            nulls[column][row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    /**
+     * A copy of the batch's rows that is unaffected by the batch being reused
+     */
+    public RecordBatch copy() {
+        RecordBatch copy = new RecordBatch(columnNames, Math.max(1, rowCount));
+        for (int column = 0; column < values.length; column++) {
+            System.arraycopy(values[column], 0, copy.values[column], 0, rowCount);
+            System.arraycopy(nulls[column], 0, copy.nulls[column], 0, copy.nulls[column].length);
+        }
+        copy.rowCount = rowCount;
+        return copy;
+    }
+
+    /**
+     * Drop the last row, e.g. when a producer added one and found no more input
+     */
+    void removeLastRow() {
+        if (rowCount > 0) {
+            rowCount--;
+        }
+    }
+
+    /**
+     * Empty the batch for reuse
+     */
+    public void clear() {
+        for (String[] column : values) {
+            // Let the previous batch's strings be collected
+            Arrays.fill(column, 0, rowCount, null);
+        }
+        rowCount = 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.backupforce.sink;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Records of one object, delivered as reusable columnar batches
+ */
+public interface RecordBatchSource extends AutoCloseable {
+
+    /**
+     * Column names, in the order of every batch's columns
+     */
+    List<String> getColumnNames();
+
+    /**
+     * The next batch, or null once every record has been delivered. The same batch object
+     * may be returned every time, so a batch's values are only valid until this is called again.
+     */
+    RecordBatch next() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
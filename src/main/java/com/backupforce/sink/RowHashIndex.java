@@ -0,0 +1,113 @@
+package com.backupforce.sink;
+
+/**
+ * The latest row fingerprint per record Id, for change detection, held in two primitive
+ * arrays instead of a map of strings.
+ *
+ * Ids are stored as a 64-bit hash of the Id, so an entry takes 16 bytes and the table is
+ * kept at most half full: about {@link #BYTES_PER_ENTRY} bytes per record. A row is only
+ * taken as unchanged if both its Id hash and its fingerprint match, so a collision between
+ * two Ids would also need their fingerprints to collide.
+ *
+ * The index holds at most {@code maxEntries} Ids. Adding more fails, and the caller loads
+ * every row rather than holding a larger index in memory.
+ *
+ * Not thread-safe; filled once before the load, then only read.
+ */
+final class RowHashIndex {
+
+    static final int BYTES_PER_ENTRY = 32;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // Marks an empty slot; an Id that hashes to it is stored as EMPTY_KEY_REPLACEMENT
+    private static final long EMPTY = 0;
+    private static final long EMPTY_KEY_REPLACEMENT = 1;
+
+    private final long maxEntries;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] hashes = new long[INITIAL_CAPACITY];
+    private int size;
+
+    RowHashIndex(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Add or replace an Id's fingerprint
+     * @return false if the index already holds {@code maxEntries} Ids
+     */
+    boolean put(String id, long hash) {
+        long key = key(id);
+        int slot = find(keys, key);
+        if (keys[slot] == EMPTY) {
+            if (size >= maxEntries) {
+                return false;
+            }
+            if ((size + 1) * 2L > keys.length) {
+                grow();
+                slot = find(keys, key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        hashes[slot] = hash;
+        return true;
+    }
+
+    /**
+     * Whether the Id's latest fingerprint is {@code hash}
+     */
+    boolean matches(String id, long hash) {
+        int slot = find(keys, key(id));
+        return keys[slot] != EMPTY && hashes[slot] == hash;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldHashes = hashes;
+        keys = new long[oldKeys.length * 2];
+        hashes = new long[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    /**
+     * The key's slot, or the empty slot it would go in (linear probing)
+     */
+    private static int find(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the Id, mixed so its low bits spread over the table
+     */
+    static long key(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h == EMPTY ? EMPTY_KEY_REPLACEMENT : h;
+    }
+}
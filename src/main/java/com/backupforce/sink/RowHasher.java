@@ -0,0 +1,111 @@
+package com.backupforce.sink;
+
+import org.apache.commons.csv.CSVRecord;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+/**
+ * Fingerprints CSV records so rows whose content hasn't changed since the last load can be
+ * skipped. The fingerprint is the first 64 bits of a SHA-256 over the field names and
+ * values, written as 16 hex digits.
+ *
+ * Fields that change without the record's content changing (SystemModstamp, view dates)
+ * are left out. Field names are part of the input, so adding or removing a field changes
+ * every fingerprint and each row is written once with the new columns.
+ *
+ * Not thread-safe; use one hasher per load.
+ */
+final class RowHasher {
+
+    /**
+     * Fields left out of fingerprints unless configured otherwise
+     */
+    static final Set<String> DEFAULT_EXCLUDED_FIELDS = Collections.unmodifiableSet(new TreeSet<>(Arrays.asList(
+        "SystemModstamp", "LastModifiedDate", "LastModifiedById", "LastViewedDate", "LastReferencedDate")));
+
+    private final MessageDigest digest;
+    private final int[] fieldIndexes;
+    private final byte[][] fieldNames;
+
+    /**
+     * @param excludedFields Field names to leave out, matched without regard to case
+     */
+    RowHasher(List<String> headers, Collection<String> excludedFields) {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        Set<String> excluded = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        excluded.addAll(excludedFields);
+        List<Integer> included = new ArrayList<>();
+        for (int i = 0; i < headers.size(); i++) {
+            if (!excluded.contains(headers.get(i))) {
+                included.add(i);
+            }
+        }
+        fieldIndexes = included.stream().mapToInt(Integer::intValue).toArray();
+        fieldNames = new byte[fieldIndexes.length][];
+        for (int i = 0; i < fieldIndexes.length; i++) {
+            fieldNames[i] = headers.get(fieldIndexes[i]).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    String hash(CSVRecord record) {
+        return hash(index -> index < record.size() ? record.get(index) : null);
+    }
+
+    /**
+     * Fingerprint of a batch row. Batches hold empty values as null, which are hashed as
+     * the empty strings a CSVRecord would give, so both forms of a row match.
+     */
+    String hash(RecordBatch batch, int row) {
+        return hash(index -> {
+            if (index >= batch.getColumnCount()) {
+                return null;
+            }
+            String value = batch.get(row, index);
+            return value != null ? value : "";
+        });
+    }
+
+    private String hash(IntFunction<String> values) {
+        digest.reset();
+        for (int i = 0; i < fieldIndexes.length; i++) {
+            String value = values.apply(fieldIndexes[i]);
+            update(fieldNames[i]);
+            if (value == null) {
+                digest.update((byte) 0);
+            } else {
+                digest.update((byte) 1);
+                update(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        byte[] hash = digest.digest();
+        long fingerprint = 0;
+        for (int i = 0; i < 8; i++) {
+            fingerprint = (fingerprint << 8) | (hash[i] & 0xff);
+        }
+        return String.format("%016x", fingerprint);
+    }
+
+    /**
+     * Length-prefix each part so adjacent values can't run together
+     */
+    private void update(byte[] bytes) {
+        int length = bytes.length;
+        digest.update(new byte[] {(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,68 @@
+package com.backupforce.sink;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tables and columns seen in a sink's database, so repeated schema checks don't each cost
+ * a metadata round trip.
+ *
+ * Entries are filled in the first time a table is looked at. The sink records its own DDL
+ * (creating, dropping or altering a table) here, which resets what is known about that
+ * table's columns. The catalog is cleared when the sink connects, so every run starts
+ * from the database's actual schema.
+ */
+final class SchemaCatalog {
+
+    private static final class Entry {
+        final boolean exists;
+        final Map<String, Integer> columns;  // Lower-case name -> java.sql.Types, null until loaded
+
+        Entry(boolean exists, Map<String, Integer> columns) {
+            this.exists = exists;
+            this.columns = columns;
+        }
+    }
+
+    private final Map<String, Entry> tables = new ConcurrentHashMap<>();
+
+    /**
+     * @return Whether the table exists, or null if it hasn't been checked yet
+     */
+    Boolean tableExists(String table) {
+        Entry entry = tables.get(key(table));
+        return entry != null ? entry.exists : null;
+    }
+
+    /**
+     * Record whether a table exists, forgetting its columns
+     */
+    void recordTable(String table, boolean exists) {
+        tables.put(key(table), new Entry(exists, null));
+    }
+
+    /**
+     * @return The table's columns (lower-case name to java.sql.Types), or null if not loaded.
+     *         An empty map means the database reported no column metadata.
+     */
+    Map<String, Integer> columns(String table) {
+        Entry entry = tables.get(key(table));
+        return entry != null ? entry.columns : null;
+    }
+
+    /**
+     * Record a table's columns, which also records that it exists
+     */
+    void recordColumns(String table, Map<String, Integer> columns) {
+        tables.put(key(table), new Entry(true, Collections.unmodifiableMap(columns)));
+    }
+
+    void clear() {
+        tables.clear();
+    }
+
+    private static String key(String table) {
+        return JdbcDatabaseSink.unquote(table).toUpperCase();
+    }
+}
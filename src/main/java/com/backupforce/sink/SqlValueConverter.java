@@ -0,0 +1,109 @@
+package com.backupforce.sink;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Converts Bulk API CSV text to typed JDBC values for the column it's loaded into.
+ *
+ * Salesforce writes booleans as true/false, dates as yyyy-MM-dd, datetimes as ISO-8601
+ * UTC (2024-01-31T12:34:56.000Z) and times as HH:mm:ss.SSSZ. Datetimes are stored as
+ * their UTC wall-clock time. Text that doesn't parse is passed through as a String so the
+ * database can report (or cast) it instead of silently losing the value.
+ */
+final class SqlValueConverter {
+
+    private SqlValueConverter() {
+    }
+
+    /**
+     * Convert a CSV value for a column of the given java.sql.Types type.
+     * @return Boolean, Long, BigDecimal, java.sql.Date, Timestamp, Time, String, or null for blank values
+     */
+    static Object convert(String value, int sqlType) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            switch (sqlType) {
+                case Types.BOOLEAN:
+                case Types.BIT:
+                    if (value.equalsIgnoreCase("true") || value.equals("1")) {
+                        return Boolean.TRUE;
+                    } else if (value.equalsIgnoreCase("false") || value.equals("0")) {
+                        return Boolean.FALSE;
+                    }
+                    return value;
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                    return Long.parseLong(value.trim());
+                case Types.NUMERIC:
+                case Types.DECIMAL:
+                case Types.DOUBLE:
+                case Types.FLOAT:
+                case Types.REAL:
+                    return new BigDecimal(value.trim());
+                case Types.DATE:
+                    return java.sql.Date.valueOf(LocalDate.parse(value.trim()));
+                case Types.TIMESTAMP:
+                case Types.TIMESTAMP_WITH_TIMEZONE:
+                    return parseTimestamp(value.trim());
+                case Types.TIME:
+                case Types.TIME_WITH_TIMEZONE:
+                    return java.sql.Time.valueOf(parseTime(value.trim()));
+                default:
+                    return value;
+            }
+        } catch (RuntimeException e) {
+            return value;
+        }
+    }
+
+    private static java.sql.Timestamp parseTimestamp(String value) {
+        LocalDateTime dateTime;
+        if (value.length() == 10) {
+            dateTime = LocalDate.parse(value).atStartOfDay();
+        } else if (value.endsWith("Z") || value.matches(".*[+-]\\d{2}:\\d{2}$")) {
+            dateTime = LocalDateTime.ofInstant(OffsetDateTime.parse(value).toInstant(), ZoneOffset.UTC);
+        } else {
+            dateTime = LocalDateTime.parse(value.replace(' ', 'T'));
+        }
+        return java.sql.Timestamp.valueOf(dateTime);
+    }
+
+    private static LocalTime parseTime(String value) {
+        return LocalTime.parse(value.endsWith("Z") ? value.substring(0, value.length() - 1) : value);
+    }
+
+    /**
+     * Bind a converted value with the setter matching its Java type.
+     */
+    static void bind(PreparedStatement stmt, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            stmt.setNull(index, sqlType);
+        } else if (value instanceof Boolean) {
+            stmt.setBoolean(index, (Boolean) value);
+        } else if (value instanceof Long) {
+            stmt.setLong(index, (Long) value);
+        } else if (value instanceof BigDecimal) {
+            stmt.setBigDecimal(index, (BigDecimal) value);
+        } else if (value instanceof java.sql.Date) {
+            stmt.setDate(index, (java.sql.Date) value);
+        } else if (value instanceof java.sql.Timestamp) {
+            stmt.setTimestamp(index, (java.sql.Timestamp) value);
+        } else if (value instanceof java.sql.Time) {
+            stmt.setTime(index, (java.sql.Time) value);
+        } else {
+            stmt.setString(index, value.toString());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.backupforce.sink.dialect;
+
+import com.backupforce.sink.JdbcDatabaseSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL/MariaDB-specific SQL dialect
+ */
+public class MySqlDialect implements JdbcDatabaseSink.DatabaseDialect {
+    private static final Logger logger = LoggerFactory.getLogger(MySqlDialect.class);
+    
+    // InnoDB rows are limited to 65,535 bytes across all VARCHAR columns (4 bytes per
+    // utf8mb4 character), so anything but short strings goes to TEXT types, stored off-row
+    private static final int MAX_INLINE_VARCHAR = 64;
+    
+    private boolean loadDataEnabled = true;
+    
+    /**
+     * Load with LOAD DATA LOCAL INFILE instead of batched inserts (default true)
+     */
+    public void setLoadDataEnabled(boolean enabled) {
+        this.loadDataEnabled = enabled;
+    }
+    
+    @Override
+    public String sanitizeTableName(String name) {
+        // Upper case, since table names are case-sensitive on most MySQL servers
+        // and the sink looks tables up by upper-cased name
+        String sanitized = name.replaceAll("[^a-zA-Z0-9_]", "_");
+        if (!sanitized.matches("^[a-zA-Z_].*")) {
+            sanitized = "SF_" + sanitized;
+        }
+        return "`" + sanitized.toUpperCase() + "`";
+    }
+    
+    @Override
+    public String sanitizeColumnName(String name) {
+        String sanitized = name.replaceAll("[^a-zA-Z0-9_]", "_");
+        if (!sanitized.matches("^[a-zA-Z_].*")) {
+            sanitized = "COL_" + sanitized;
+        }
+        return "`" + sanitized.toUpperCase() + "`";
+    }
+    
+    @Override
+    public String mapSalesforceType(String sfType, int length) {
+        switch (sfType.toUpperCase()) {
+            case "ID":
+            case "REFERENCE":
+                return "VARCHAR(18)";
+            
+            case "STRING":
+            case "PICKLIST":
+            case "MULTIPICKLIST":
+            case "COMBOBOX":
+            case "PHONE":
+            case "EMAIL":
+            case "URL":
+            case "ENCRYPTEDSTRING":
+                return getVarcharType(length);
+            
+            case "TEXTAREA":
+            case "LONGTEXTAREA":
+                return "MEDIUMTEXT";
+            
+            case "INT":
+                return "INT";
+            
+            case "DOUBLE":
+            case "CURRENCY":
+            case "PERCENT":
+                return "DECIMAL(18, 2)";
+            
+            case "BOOLEAN":
+                return "BOOLEAN";
+            
+            case "DATE":
+                return "DATE";
+            
+            case "DATETIME":
+                return "DATETIME(3)";
+            
+            case "TIME":
+                return "TIME(3)";
+            
+            case "BASE64":
+                return "LONGBLOB";
+            
+            case "ADDRESS":
+            case "LOCATION":
+                return null;
+            
+            default:
+                logger.debug("Unknown Salesforce type: {}, using TEXT", sfType);
+                return "TEXT";
+        }
+    }
+    
+    @Override
+    public String mapSalesforceType(String sfType, int length, int precision, int scale) {
+        switch (sfType.toUpperCase()) {
+            case "DOUBLE":
+            case "CURRENCY":
+            case "PERCENT":
+                if (precision > 0) {
+                    return "DECIMAL(" + precision + ", " + scale + ")";
+                }
+                break;
+            default:
+                break;
+        }
+        return mapSalesforceType(sfType, length);
+    }
+    
+    @Override
+    public String getTimestampType() {
+        return "DATETIME(3)";
+    }
+    
+    @Override
+    public String getCurrentTimestamp() {
+        return "CURRENT_TIMESTAMP(3)";
+    }
+    
+    @Override
+    public String getVarcharType(int length) {
+        if (length > 0 && length <= MAX_INLINE_VARCHAR) {
+            return "VARCHAR(" + length + ")";
+        } else if (length > 0 && length <= 16383) {
+            return "TEXT";
+        } else if (length > 0 && length <= 4194303) {
+            return "MEDIUMTEXT";
+        }
+        return "LONGTEXT";
+    }
+    
+    @Override
+    public String getBinaryType() {
+        // LONGBLOB holds up to 4GB
+        return "LONGBLOB";
+    }
+    
+    @Override
+    public int getOptimalBatchSize() {
+        // The driver rewrites each batch into multi-row INSERTs (rewriteBatchedStatements)
+        return 2000;
+    }
+    
+    @Override
+    public int getLoadParallelism() {
+        return 4;
+    }
+    
+    @Override
+    public JdbcDatabaseSink.BulkLoader getBulkLoader() {
+        return loadDataEnabled ? new MySqlLoadDataLoader() : null;
+    }
+    
+    @Override
+    public String getMergeSql(String targetTable, String stagingTable, String keyColumn, List<String> columns) {
+        String columnList = String.join(", ", columns);
+        String updates = columns.stream()
+            .filter(c -> !c.equals(keyColumn))
+            .map(c -> c + " = VALUES(" + c + ")")
+            .collect(Collectors.joining(", "));
+        return "INSERT INTO " + targetTable + " (" + columnList + ") SELECT " + columnList + " FROM " + stagingTable
+            + " ON DUPLICATE KEY UPDATE " + updates;
+    }
+    
+    @Override
+    public String getUniqueKeySql(String tableName, String keyColumn) {
+        // ON DUPLICATE KEY needs a unique key. The 18-character prefix covers Salesforce Ids
+        // and also works on Id columns created as TEXT. Fails once the key exists.
+        String bareColumn = keyColumn.replace("`", "");
+        return "ALTER TABLE " + tableName + " ADD UNIQUE KEY `UQ_" + bareColumn + "` (" + keyColumn + "(18))";
+    }
+}
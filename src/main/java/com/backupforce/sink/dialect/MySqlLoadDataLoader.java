@@ -0,0 +1,196 @@
+package com.backupforce.sink.dialect;
+
+import com.backupforce.sink.JdbcDatabaseSink;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk loads MySQL/MariaDB tables with LOAD DATA LOCAL INFILE, reading from an input
+ * stream handed to Connector/J instead of a file.
+ *
+ * Rows are encoded as they're read by the driver, so the load streams without a temp file.
+ * Servers with local_infile disabled refuse before any row is read, and the sink falls back
+ * to batched (multi-row) inserts.
+ * Kept apart from MySqlDialect so the driver classes are only loaded when LOAD DATA is used.
+ */
+public class MySqlLoadDataLoader implements JdbcDatabaseSink.BulkLoader {
+    private static final Logger logger = LoggerFactory.getLogger(MySqlLoadDataLoader.class);
+    
+    // Command not allowed (1148), local data disabled (3948), client refused the request (2068)
+    private static final Set<Integer> NOT_ALLOWED_ERRORS = Set.of(1148, 2068, 3948);
+    
+    private static final int CHUNK_SIZE = 65536;
+    
+    @Override
+    public String getName() {
+        return "MySQL LOAD DATA LOCAL INFILE";
+    }
+    
+    @Override
+    public boolean isSupported(Connection connection) {
+        try {
+            return connection.isWrapperFor(JdbcConnection.class);
+        } catch (SQLException | LinkageError e) {
+            logger.debug("MySQL LOAD DATA not available: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public int load(Connection connection, String tableName, List<JdbcDatabaseSink.TableColumn> columns,
+                    Iterator<Object[]> rows)
+            throws SQLException {
+        RowInputStream input = new RowInputStream(rows);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.unwrap(JdbcStatement.class).setLocalInfileInputStream(input);
+            stmt.execute(buildLoadSql(tableName, columns));
+            // Rows the server skipped (e.g. duplicate keys) aren't counted as loaded
+            int loaded = stmt.getUpdateCount();
+            logWarnings(tableName, input.getRowsRead(), loaded, stmt.getWarnings());
+            return loaded;
+        } catch (SQLException e) {
+            if (input.getRowsRead() == 0 && isNotAllowedError(e)) {
+                throw new JdbcDatabaseSink.BulkLoadUnavailableException(e.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * LOAD DATA truncates or skips bad values with a warning instead of failing, so report
+     * how many the server raised
+     */
+    private static void logWarnings(String tableName, int rowsRead, int loaded, SQLWarning warnings) {
+        int count = 0;
+        for (SQLWarning warning = warnings; warning != null; warning = warning.getNextWarning()) {
+            count++;
+        }
+        if (count > 0) {
+            logger.warn("LOAD DATA into {} loaded {} of {} rows with {} warnings, first: {}",
+                tableName, loaded, rowsRead, count, warnings.getMessage());
+        }
+    }
+    
+    static String buildLoadSql(String tableName, List<JdbcDatabaseSink.TableColumn> columns) {
+        return "LOAD DATA LOCAL INFILE 'stream' INTO TABLE " + tableName
+            + " CHARACTER SET utf8mb4"
+            + " FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '\\\\'"
+            + " LINES TERMINATED BY '\\n'"
+            + " (" + columns.stream().map(JdbcDatabaseSink.TableColumn::getName).collect(Collectors.joining(", ")) + ")";
+    }
+    
+    static boolean isNotAllowedError(SQLException e) {
+        if (NOT_ALLOWED_ERRORS.contains(e.getErrorCode())) {
+            return true;
+        }
+        String message = e.getMessage() != null ? e.getMessage().toLowerCase() : "";
+        return message.contains("local data is disabled") || message.contains("not allowed");
+    }
+    
+    /**
+     * Encode one row: values are quoted with backslash escapes, booleans are 1/0 and null is \N.
+     */
+    static void appendRow(StringBuilder line, Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value = row[i];
+            if (value == null) {
+                line.append("\\N");
+                continue;
+            }
+            if (value instanceof Boolean) {
+                // BOOLEAN is TINYINT(1) - LOAD DATA would read "true" as 0
+                line.append((Boolean) value ? '1' : '0');
+                continue;
+            }
+            String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+            line.append('"');
+            for (int c = 0; c < text.length(); c++) {
+                char ch = text.charAt(c);
+                switch (ch) {
+                    case '\\': line.append("\\\\"); break;
+                    case '"': line.append("\\\""); break;
+                    case '\n': line.append("\\n"); break;
+                    case '\r': line.append("\\r"); break;
+                    case '\0': line.append("\\0"); break;
+                    default: line.append(ch);
+                }
+            }
+            line.append('"');
+        }
+        line.append('\n');
+    }
+    
+    /**
+     * Input stream that encodes rows on demand, a chunk at a time.
+     */
+    static class RowInputStream extends InputStream {
+        private final Iterator<Object[]> rows;
+        private final StringBuilder line = new StringBuilder();
+        private final ByteArrayOutputStream chunk = new ByteArrayOutputStream(CHUNK_SIZE);
+        private byte[] buffer = new byte[0];
+        private int position;
+        private int rowsRead;
+        
+        RowInputStream(Iterator<Object[]> rows) {
+            this.rows = rows;
+        }
+        
+        private boolean fill() {
+            chunk.reset();
+            while (chunk.size() < CHUNK_SIZE && rows.hasNext()) {
+                line.setLength(0);
+                appendRow(line, rows.next());
+                rowsRead++;
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                chunk.write(bytes, 0, bytes.length);
+            }
+            buffer = chunk.toByteArray();
+            position = 0;
+            return buffer.length > 0;
+        }
+        
+        @Override
+        public int read() {
+            if (position == buffer.length && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position == buffer.length && !fill()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.length - position);
+            System.arraycopy(buffer, position, b, off, n);
+            position += n;
+            return n;
+        }
+        
+        int getRowsRead() {
+            return rowsRead;
+        }
+    }
+}
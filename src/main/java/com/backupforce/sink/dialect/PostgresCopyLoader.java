@@ -0,0 +1,104 @@
+package com.backupforce.sink.dialect;
+
+import com.backupforce.sink.JdbcDatabaseSink;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk loads PostgreSQL tables with COPY ... FROM STDIN through the driver's CopyManager.
+ *
+ * Rows are streamed to the server as CSV - unquoted empty fields are NULL and every
+ * value is quoted, so empty strings, quotes and line breaks survive unchanged.
+ * Kept apart from PostgresDialect so the driver classes are only loaded when COPY is used.
+ */
+public class PostgresCopyLoader implements JdbcDatabaseSink.BulkLoader {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresCopyLoader.class);
+    
+    private static final int BUFFER_SIZE = 65536;
+    
+    @Override
+    public String getName() {
+        return "PostgreSQL COPY";
+    }
+    
+    @Override
+    public boolean isSupported(Connection connection) {
+        try {
+            return connection.isWrapperFor(PGConnection.class);
+        } catch (SQLException | LinkageError e) {
+            logger.debug("PostgreSQL COPY not available: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public int load(Connection connection, String tableName, List<JdbcDatabaseSink.TableColumn> columns,
+                    Iterator<Object[]> rows)
+            throws SQLException, IOException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        String copySql = buildCopySql(tableName, columns);
+        logger.debug("Executing: {}", copySql);
+        
+        PGCopyOutputStream copyStream = new PGCopyOutputStream(copyManager.copyIn(copySql), BUFFER_SIZE);
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+            while (rows.hasNext()) {
+                writeRow(writer, rows.next());
+            }
+            writer.flush();
+            return (int) copyStream.endCopy();
+        } catch (SQLException | IOException | RuntimeException e) {
+            // Abort so the connection can be used again - nothing from this COPY is kept
+            if (copyStream.isActive()) {
+                try {
+                    copyStream.cancelCopy();
+                } catch (SQLException cancelError) {
+                    logger.warn("Failed to cancel COPY into {}: {}", tableName, cancelError.getMessage());
+                }
+            }
+            throw e;
+        }
+    }
+    
+    static String buildCopySql(String tableName, List<JdbcDatabaseSink.TableColumn> columns) {
+        return "COPY " + tableName + " (" + columns.stream().map(JdbcDatabaseSink.TableColumn::getName)
+            .collect(Collectors.joining(", ")) + ") FROM STDIN WITH (FORMAT csv)";
+    }
+    
+    /**
+     * Write one row in COPY CSV format. Null is written as an empty unquoted field.
+     */
+    static void writeRow(Writer writer, Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = row[i];
+            if (value != null) {
+                String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+                writer.write('"');
+                if (text.indexOf('"') >= 0) {
+                    text = text.replace("\"", "\"\"");
+                }
+                writer.write(text);
+                writer.write('"');
+            }
+        }
+        writer.write('\n');
+    }
+}
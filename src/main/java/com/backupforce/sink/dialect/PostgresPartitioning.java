@@ -0,0 +1,109 @@
+package com.backupforce.sink.dialect;
+
+import com.backupforce.sink.JdbcDatabaseSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Daily declarative range partitions for PostgreSQL tables.
+ *
+ * Tables are created PARTITION BY RANGE on BACKUP_TIMESTAMP, and each day's partition is a
+ * table named &lt;table&gt;_pYYYYMMDD, created before the first load of that day. Retention
+ * drops whole partition tables, which is instant regardless of how many rows they hold.
+ */
+public class PostgresPartitioning implements JdbcDatabaseSink.TablePartitioning {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresPartitioning.class);
+    
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern PARTITION_NAME = Pattern.compile("(.+)_p(\\d{8})");
+    
+    @Override
+    public String getCreateTableClause(String tableName, String timestampColumn) {
+        return " PARTITION BY RANGE (" + timestampColumn + ")";
+    }
+    
+    @Override
+    public boolean isPartitioned(Connection connection, String tableName) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT 1 FROM pg_partitioned_table WHERE partrelid = CAST(? AS regclass)")) {
+            stmt.setString(1, tableName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+    
+    @Override
+    public void addPartition(Connection connection, String tableName, LocalDate day) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(getAddPartitionSql(tableName, day));
+        }
+    }
+    
+    String getAddPartitionSql(String tableName, LocalDate day) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(tableName, day) + " PARTITION OF " + tableName
+            + " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')";
+    }
+    
+    @Override
+    public void dropPartitionsBefore(Connection connection, String tableName, String timestampColumn,
+                                     LocalDate cutoff) throws SQLException {
+        List<String> expired = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                    + " WHERE i.inhparent = CAST(? AS regclass)")) {
+            stmt.setString(1, tableName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String partition = rs.getString(1);
+                    LocalDate day = partitionDay(tableName, partition);
+                    if (day != null && day.isBefore(cutoff)) {
+                        expired.add(partition);
+                    }
+                }
+            }
+        }
+        try (Statement stmt = connection.createStatement()) {
+            for (String partition : expired) {
+                stmt.execute("DROP TABLE " + partition);
+                logger.info("Dropped partition {} of {}", partition, tableName);
+            }
+        }
+    }
+    
+    @Override
+    public boolean isPartitionTable(String tableName) {
+        return PARTITION_NAME.matcher(tableName).matches();
+    }
+    
+    static String partitionName(String tableName, LocalDate day) {
+        return tableName + "_p" + day.format(SUFFIX);
+    }
+    
+    /**
+     * The day a partition of {@code tableName} holds, or null if it isn't one of ours
+     */
+    static LocalDate partitionDay(String tableName, String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches() || !matcher.group(1).equals(tableName)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(matcher.group(2), SUFFIX);
+        } catch (java.time.format.DateTimeParseException e) {
+            return null;
+        }
+    }
+}
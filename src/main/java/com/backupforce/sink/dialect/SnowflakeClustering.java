@@ -0,0 +1,51 @@
+package com.backupforce.sink.dialect;
+
+import com.backupforce.sink.JdbcDatabaseSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+/**
+ * Time partitioning for Snowflake, which has no user-defined partitions: tables are
+ * clustered by the day of BACKUP_TIMESTAMP, so each load's rows end up in their own
+ * micro-partitions.
+ *
+ * Queries filtering on BACKUP_TIMESTAMP skip every other micro-partition, and a retention
+ * DELETE of whole days removes entire micro-partitions without rewriting any.
+ */
+public class SnowflakeClustering implements JdbcDatabaseSink.TablePartitioning {
+    private static final Logger logger = LoggerFactory.getLogger(SnowflakeClustering.class);
+    
+    @Override
+    public String getCreateTableClause(String tableName, String timestampColumn) {
+        return " CLUSTER BY (TO_DATE(" + timestampColumn + "))";
+    }
+    
+    @Override
+    public boolean isPartitioned(Connection connection, String tableName) {
+        // Pruning by timestamp works on any table; clustering only keeps it effective
+        return true;
+    }
+    
+    @Override
+    public void addPartition(Connection connection, String tableName, LocalDate day) {
+        // Micro-partitions are created as rows arrive
+    }
+    
+    @Override
+    public void dropPartitionsBefore(Connection connection, String tableName, String timestampColumn,
+                                     LocalDate cutoff) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            int deleted = stmt.executeUpdate(getDeleteSql(tableName, timestampColumn, cutoff));
+            logger.info("Deleted {} expired rows from {}", deleted, tableName);
+        }
+    }
+    
+    String getDeleteSql(String tableName, String timestampColumn, LocalDate cutoff) {
+        return "DELETE FROM " + tableName + " WHERE " + timestampColumn + " < '" + cutoff + "'";
+    }
+}
@@ -82,6 +82,22 @@ public class SnowflakeDialect implements JdbcDatabaseSink.DatabaseDialect {
         }
     }
     
+    @Override
+    public String mapSalesforceType(String sfType, int length, int precision, int scale) {
+        switch (sfType.toUpperCase()) {
+            case "DOUBLE":
+            case "CURRENCY":
+            case "PERCENT":
+                if (precision > 0) {
+                    return "NUMBER(" + precision + ", " + scale + ")";
+                }
+                break;
+            default:
+                break;
+        }
+        return mapSalesforceType(sfType, length);
+    }
+    
     @Override
     public String getTimestampType() {
         return "TIMESTAMP_NTZ";
@@ -110,4 +126,21 @@ public class SnowflakeDialect implements JdbcDatabaseSink.DatabaseDialect {
         // Larger batches can cause memory issues and silent failures
         return 1000;
     }
+    
+    @Override
+    public int getMaxBatchSize() {
+        // Adaptive sizing may grow batches of narrow rows, but not into the sizes that misbehave
+        return 2000;
+    }
+    
+    @Override
+    public int getLoadParallelism() {
+        return 4;
+    }
+    
+    @Override
+    public JdbcDatabaseSink.TablePartitioning getPartitioning() {
+        // No user-defined partitions; clustering by day gives the same pruning
+        return new SnowflakeClustering();
+    }
 }
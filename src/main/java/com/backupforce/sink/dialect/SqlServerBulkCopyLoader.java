@@ -0,0 +1,207 @@
+package com.backupforce.sink.dialect;
+
+import com.backupforce.sink.JdbcDatabaseSink;
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+import com.microsoft.sqlserver.jdbc.ISQLServerConnection;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk loads SQL Server tables with the mssql-jdbc SQLServerBulkCopy API.
+ *
+ * Rows are streamed to the server as they're parsed, through an ISQLServerBulkData source.
+ * If the login lacks bulk load permissions the server refuses before any row is sent, and
+ * the sink falls back to batched inserts.
+ * Kept apart from SqlServerDialect so the driver classes are only loaded when bulk copy is used.
+ */
+public class SqlServerBulkCopyLoader implements JdbcDatabaseSink.BulkLoader {
+    private static final Logger logger = LoggerFactory.getLogger(SqlServerBulkCopyLoader.class);
+    
+    public static final int DEFAULT_BATCH_SIZE = 10000;
+    
+    // Permission denied (229, 230, 300), no permission or missing object (1088), bulk load not allowed (4834)
+    private static final Set<Integer> PERMISSION_ERRORS = Set.of(229, 230, 300, 1088, 4834);
+    
+    private final int batchSize;
+    private final boolean tableLock;
+    private final int timeoutSeconds;
+    
+    public SqlServerBulkCopyLoader(int batchSize, boolean tableLock, int timeoutSeconds) {
+        this.batchSize = batchSize;
+        this.tableLock = tableLock;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+    
+    @Override
+    public String getName() {
+        return "SQL Server bulk copy";
+    }
+    
+    @Override
+    public boolean isSupported(Connection connection) {
+        try {
+            return connection.isWrapperFor(ISQLServerConnection.class);
+        } catch (SQLException | LinkageError e) {
+            logger.debug("SQL Server bulk copy not available: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public int load(Connection connection, String tableName, List<JdbcDatabaseSink.TableColumn> columns,
+                    Iterator<Object[]> rows)
+            throws SQLException {
+        SQLServerBulkCopyOptions options = new SQLServerBulkCopyOptions();
+        options.setBatchSize(batchSize);
+        options.setTableLock(tableLock);
+        options.setBulkCopyTimeout(timeoutSeconds);
+        
+        RowSource source = new RowSource(columns, rows);
+        try (SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(connection.unwrap(ISQLServerConnection.class))) {
+            bulkCopy.setBulkCopyOptions(options);
+            bulkCopy.setDestinationTableName(tableName);
+            for (int i = 0; i < columns.size(); i++) {
+                bulkCopy.addColumnMapping(i + 1, unbracket(columns.get(i).getName()));
+            }
+            bulkCopy.writeToServer(source);
+        } catch (SQLException e) {
+            if (source.getRowsRead() == 0 && isPermissionError(e)) {
+                throw new JdbcDatabaseSink.BulkLoadUnavailableException(e.getMessage(), e);
+            }
+            throw e;
+        }
+        return source.getRowsRead();
+    }
+    
+    static boolean isPermissionError(SQLException e) {
+        if (PERMISSION_ERRORS.contains(e.getErrorCode())) {
+            return true;
+        }
+        String message = e.getMessage() != null ? e.getMessage().toLowerCase() : "";
+        return message.contains("permission") && (message.contains("denied") || message.contains("bulk"));
+    }
+    
+    static String unbracket(String name) {
+        return name.startsWith("[") && name.endsWith("]") ? name.substring(1, name.length() - 1) : name;
+    }
+    
+    /**
+     * Bulk copy source over the sink's row iterator. Each column is declared with the
+     * source type matching the Java values the sink converted for it; text columns are
+     * NVARCHAR.
+     */
+    static class RowSource implements ISQLServerBulkData {
+        private static final long serialVersionUID = 1L;
+        
+        private final List<String> names = new ArrayList<>();
+        private final int[] types;
+        private final transient Iterator<Object[]> rows;
+        private final Set<Integer> ordinals = new LinkedHashSet<>();
+        private transient Object[] current;
+        private int rowsRead;
+        
+        RowSource(List<JdbcDatabaseSink.TableColumn> columns, Iterator<Object[]> rows) {
+            this.rows = rows;
+            this.types = new int[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                names.add(unbracket(columns.get(i).getName()));
+                types[i] = sourceType(columns.get(i).getSqlType());
+                ordinals.add(i + 1);
+            }
+        }
+        
+        private static int sourceType(int tableType) {
+            switch (tableType) {
+                case Types.BIT:
+                case Types.BOOLEAN:
+                    return Types.BIT;
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                    return Types.BIGINT;
+                case Types.NUMERIC:
+                case Types.DECIMAL:
+                case Types.DOUBLE:
+                case Types.FLOAT:
+                case Types.REAL:
+                    return Types.DECIMAL;
+                case Types.DATE:
+                case Types.TIMESTAMP:
+                case Types.TIME:
+                    return tableType;
+                default:
+                    return Types.NVARCHAR;
+            }
+        }
+        
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            return ordinals;
+        }
+        
+        @Override
+        public String getColumnName(int column) {
+            return names.get(column - 1);
+        }
+        
+        @Override
+        public int getColumnType(int column) {
+            return types[column - 1];
+        }
+        
+        @Override
+        public int getPrecision(int column) {
+            switch (types[column - 1]) {
+                case Types.DECIMAL: return 38;
+                case Types.TIMESTAMP: return 27;
+                case Types.TIME: return 16;
+                case Types.DATE: return 10;
+                case Types.BIT: return 1;
+                case Types.BIGINT: return 19;
+                // Above 4000 characters the driver streams values as NVARCHAR(MAX)
+                default: return Integer.MAX_VALUE;
+            }
+        }
+        
+        @Override
+        public int getScale(int column) {
+            switch (types[column - 1]) {
+                case Types.DECIMAL: return 18;
+                case Types.TIMESTAMP:
+                case Types.TIME: return 7;
+                default: return 0;
+            }
+        }
+        
+        @Override
+        public Object[] getRowData() {
+            return current;
+        }
+        
+        @Override
+        public boolean next() {
+            if (!rows.hasNext()) {
+                return false;
+            }
+            current = rows.next();
+            rowsRead++;
+            return true;
+        }
+        
+        int getRowsRead() {
+            return rowsRead;
+        }
+    }
+}
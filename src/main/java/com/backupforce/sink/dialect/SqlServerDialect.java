@@ -4,12 +4,51 @@ import com.backupforce.sink.JdbcDatabaseSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * SQL Server-specific SQL dialect
  */
 public class SqlServerDialect implements JdbcDatabaseSink.DatabaseDialect {
     private static final Logger logger = LoggerFactory.getLogger(SqlServerDialect.class);
     
+    // Longest NVARCHAR(n); longer strings are stored as NVARCHAR(MAX)
+    private static final int MAX_NVARCHAR_LENGTH = 4000;
+    
+    private boolean bulkCopyEnabled = true;
+    private int bulkCopyBatchSize = SqlServerBulkCopyLoader.DEFAULT_BATCH_SIZE;
+    private boolean bulkCopyTableLock = true;
+    private int bulkCopyTimeoutSeconds = 0;
+    
+    /**
+     * Load with SQLServerBulkCopy instead of batched inserts (default true)
+     */
+    public void setBulkCopyEnabled(boolean enabled) {
+        this.bulkCopyEnabled = enabled;
+    }
+    
+    /**
+     * Rows per bulk copy batch; 0 sends everything as one batch
+     */
+    public void setBulkCopyBatchSize(int batchSize) {
+        this.bulkCopyBatchSize = batchSize;
+    }
+    
+    /**
+     * Take a table lock for the bulk copy (default true) - much faster, but blocks other
+     * writers to the table while it loads
+     */
+    public void setBulkCopyTableLock(boolean tableLock) {
+        this.bulkCopyTableLock = tableLock;
+    }
+    
+    /**
+     * Seconds before a bulk copy times out; 0 means no limit
+     */
+    public void setBulkCopyTimeoutSeconds(int timeoutSeconds) {
+        this.bulkCopyTimeoutSeconds = timeoutSeconds;
+    }
+    
     @Override
     public String sanitizeTableName(String name) {
         String sanitized = name.replaceAll("[^a-zA-Z0-9_]", "_");
@@ -40,7 +79,7 @@ public class SqlServerDialect implements JdbcDatabaseSink.DatabaseDialect {
             case "EMAIL":
             case "URL":
             case "ENCRYPTEDSTRING":
-                return "NVARCHAR(" + Math.min(length, 4000) + ")";
+                return getVarcharType(length);
             
             case "TEXTAREA":
             case "LONGTEXTAREA":
@@ -82,6 +121,22 @@ public class SqlServerDialect implements JdbcDatabaseSink.DatabaseDialect {
         }
     }
     
+    @Override
+    public String mapSalesforceType(String sfType, int length, int precision, int scale) {
+        switch (sfType.toUpperCase()) {
+            case "DOUBLE":
+            case "CURRENCY":
+            case "PERCENT":
+                if (precision > 0) {
+                    return "DECIMAL(" + precision + ", " + scale + ")";
+                }
+                break;
+            default:
+                break;
+        }
+        return mapSalesforceType(sfType, length);
+    }
+    
     @Override
     public String getTimestampType() {
         return "DATETIME2";
@@ -94,7 +149,8 @@ public class SqlServerDialect implements JdbcDatabaseSink.DatabaseDialect {
     
     @Override
     public String getVarcharType(int length) {
-        return "NVARCHAR(" + length + ")";
+        // NVARCHAR(n) goes up to 4000 characters; longer values need MAX so they aren't truncated
+        return length > MAX_NVARCHAR_LENGTH ? "NVARCHAR(MAX)" : "NVARCHAR(" + length + ")";
     }
     
     @Override
@@ -107,4 +163,54 @@ public class SqlServerDialect implements JdbcDatabaseSink.DatabaseDialect {
     public int getOptimalBatchSize() {
         return 1000; // SQL Server performs well with smaller batches
     }
+    
+    @Override
+    public int getMaxInsertParameters() {
+        // The driver sends each batched row as its own statement; requests may carry up to
+        // 2100 parameters and VALUES lists up to 1000 rows (the default row cap)
+        return 2000;
+    }
+    
+    @Override
+    public int getLoadParallelism() {
+        return 4;
+    }
+    
+    @Override
+    public JdbcDatabaseSink.BulkLoader getBulkLoader() {
+        if (!bulkCopyEnabled) {
+            return null;
+        }
+        return new SqlServerBulkCopyLoader(bulkCopyBatchSize, bulkCopyTableLock, bulkCopyTimeoutSeconds);
+    }
+    
+    @Override
+    public String getStagingTableName(String objectName) {
+        // '#' makes it a temporary table local to the session
+        String table = sanitizeTableName(objectName + "__STAGE");
+        return "[#" + table.substring(1);
+    }
+    
+    @Override
+    public String getCreateTableLikeSql(String newTable, String sourceTable, boolean temporary) {
+        // SQL Server has no CREATE TABLE ... AS; temporary tables are marked by their '#' name
+        return "SELECT * INTO " + newTable + " FROM " + sourceTable + " WHERE 1 = 0";
+    }
+    
+    @Override
+    public String getMergeSql(String targetTable, String stagingTable, String keyColumn, List<String> columns) {
+        // MERGE must be terminated with a semicolon
+        return JdbcDatabaseSink.DatabaseDialect.super.getMergeSql(targetTable, stagingTable, keyColumn, columns) + ";";
+    }
+    
+    @Override
+    public String getAddColumnSql(String tableName, String columnName, String columnType) {
+        // T-SQL has no COLUMN keyword in ALTER TABLE ... ADD
+        return "ALTER TABLE " + tableName + " ADD " + columnName + " " + columnType;
+    }
+    
+    @Override
+    public JdbcDatabaseSink.TablePartitioning getPartitioning() {
+        return new SqlServerPartitioning();
+    }
 }
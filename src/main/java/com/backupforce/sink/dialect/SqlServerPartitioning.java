@@ -0,0 +1,134 @@
+package com.backupforce.sink.dialect;
+
+import com.backupforce.sink.JdbcDatabaseSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Daily partitions for SQL Server tables through a partition function and scheme per table.
+ *
+ * The function pf_&lt;table&gt; is RANGE RIGHT on BACKUP_TIMESTAMP with one boundary per day,
+ * split off before the first load of the day; the scheme ps_&lt;table&gt; keeps every partition
+ * on PRIMARY. Retention truncates the expired partitions and merges their boundaries away,
+ * so no rows are deleted one by one. TRUNCATE ... WITH (PARTITIONS) needs SQL Server 2016.
+ */
+public class SqlServerPartitioning implements JdbcDatabaseSink.TablePartitioning {
+    private static final Logger logger = LoggerFactory.getLogger(SqlServerPartitioning.class);
+    
+    private static final String BOUNDARIES_SQL = "SELECT CAST(v.value AS DATE) FROM sys.partition_range_values v"
+        + " JOIN sys.partition_functions f ON f.function_id = v.function_id WHERE f.name = ? ORDER BY v.boundary_id";
+    
+    @Override
+    public List<String> getSetupSql(String tableName, String timestampColumn) {
+        // A dropped table leaves its function and scheme behind for the next one to reuse
+        String function = functionName(tableName);
+        String scheme = schemeName(tableName);
+        return Arrays.asList(
+            "IF NOT EXISTS (SELECT 1 FROM sys.partition_functions WHERE name = '" + function + "')"
+                + " CREATE PARTITION FUNCTION [" + function + "] (DATETIME2) AS RANGE RIGHT FOR VALUES ()",
+            "IF NOT EXISTS (SELECT 1 FROM sys.partition_schemes WHERE name = '" + scheme + "')"
+                + " CREATE PARTITION SCHEME [" + scheme + "] AS PARTITION [" + function + "] ALL TO ([PRIMARY])");
+    }
+    
+    @Override
+    public String getCreateTableClause(String tableName, String timestampColumn) {
+        return " ON [" + schemeName(tableName) + "](" + timestampColumn + ")";
+    }
+    
+    @Override
+    public boolean isPartitioned(Connection connection, String tableName) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT 1 FROM sys.indexes i JOIN sys.partition_schemes s ON s.data_space_id = i.data_space_id"
+                    + " WHERE i.object_id = OBJECT_ID(?) AND i.index_id IN (0, 1)")) {
+            stmt.setString(1, tableName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+    
+    @Override
+    public void addPartition(Connection connection, String tableName, LocalDate day) throws SQLException {
+        if (boundaries(connection, tableName).contains(day)) {
+            return;
+        }
+        // The new day's rows all fall right of the last boundary, so the split moves no rows
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("ALTER PARTITION SCHEME [" + schemeName(tableName) + "] NEXT USED [PRIMARY]");
+            stmt.execute("ALTER PARTITION FUNCTION [" + functionName(tableName) + "]() SPLIT RANGE ('" + day + "')");
+        }
+    }
+    
+    @Override
+    public void dropPartitionsBefore(Connection connection, String tableName, String timestampColumn,
+                                     LocalDate cutoff) throws SQLException {
+        List<LocalDate> expired = new ArrayList<>();
+        for (LocalDate boundary : boundaries(connection, tableName)) {
+            if (!boundary.isAfter(cutoff)) {
+                expired.add(boundary);
+            }
+        }
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : getDropPartitionsSql(tableName, expired)) {
+                stmt.execute(sql);
+            }
+        }
+        if (!expired.isEmpty()) {
+            logger.info("Truncated {} partitions of {}", expired.size(), tableName);
+        }
+    }
+    
+    /**
+     * With RANGE RIGHT, partitions 1..k hold everything before the k-th boundary. They are
+     * truncated, then all but the k-th boundary are merged: each merge removes an empty
+     * partition, and the k-th boundary stays as the lower edge of the data that's kept.
+     * @param expired Boundaries up to the cutoff, oldest first
+     */
+    List<String> getDropPartitionsSql(String tableName, List<LocalDate> expired) {
+        List<String> sql = new ArrayList<>();
+        int count = expired.size();
+        if (count == 0) {
+            return sql;
+        }
+        sql.add("TRUNCATE TABLE " + tableName + " WITH (PARTITIONS (" + (count == 1 ? "1" : "1 TO " + count) + "))");
+        for (LocalDate boundary : expired.subList(0, count - 1)) {
+            sql.add("ALTER PARTITION FUNCTION [" + functionName(tableName) + "]() MERGE RANGE ('" + boundary + "')");
+        }
+        return sql;
+    }
+    
+    private List<LocalDate> boundaries(Connection connection, String tableName) throws SQLException {
+        List<LocalDate> boundaries = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(BOUNDARIES_SQL)) {
+            stmt.setString(1, functionName(tableName));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    boundaries.add(rs.getDate(1).toLocalDate());
+                }
+            }
+        }
+        return boundaries;
+    }
+    
+    static String functionName(String tableName) {
+        return "pf_" + bareName(tableName);
+    }
+    
+    static String schemeName(String tableName) {
+        return "ps_" + bareName(tableName);
+    }
+    
+    private static String bareName(String tableName) {
+        return tableName.replace("[", "").replace("]", "");
+    }
+}
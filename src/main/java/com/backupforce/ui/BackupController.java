@@ -2,11 +2,15 @@ package com.backupforce.ui;
 
 import com.backupforce.bulkv2.BulkV2Client;
 import com.backupforce.bulkv2.BulkV2Client.ApiLimits;
+import com.backupforce.bulkv2.ExtractionProfile;
 import com.backupforce.config.BackupHistory;
 import com.backupforce.config.BackupHistory.BackupRun;
-import com.backupforce.config.BackupHistory.ObjectBackupResult;
 import com.backupforce.config.ConnectionManager;
 import com.backupforce.config.ConnectionManager.SavedConnection;
+import com.backupforce.config.JdbcHelper;
+import com.backupforce.engine.AdaptiveConcurrencyController;
+import com.backupforce.engine.BackupEngine;
+import com.backupforce.engine.BackupWorkPlanner;
 import com.backupforce.relationship.BackupManifestGenerator;
 import com.backupforce.relationship.BackupManifestGenerator.RelatedObjectInfo;
 import com.backupforce.relationship.ChildRelationshipAnalyzer;
@@ -17,6 +21,7 @@ import com.backupforce.ui.RelationshipPreviewController.RelationshipBackupConfig
 import com.backupforce.ui.RelationshipPreviewController.SelectedRelatedObject;
 import com.backupforce.sink.DataSink;
 import com.backupforce.sink.DataSinkFactory;
+import com.backupforce.sink.JdbcConnectionPool;
 import com.backupforce.ui.DatabaseSettingsController.DatabaseConnectionInfo;
 import com.backupforce.verification.BackupVerifier;
 import com.backupforce.verification.BackupVerifier.VerificationResult;
@@ -70,10 +75,6 @@ public class BackupController {
     private static final Logger logger = LoggerFactory.getLogger(BackupController.class);
     
     // Objects known to cause memory issues due to large binary data
-    private static final Set<String> LARGE_OBJECTS = new HashSet<>(Arrays.asList(
-        "Attachment", "ContentVersion", "Document", "StaticResource"
-    ));
-    
     // System/metadata objects that typically fail or aren't useful for backup
     private static final Set<String> SYSTEM_OBJECTS = new HashSet<>(Arrays.asList(
         // Metadata objects requiring special filters
@@ -114,6 +115,9 @@ public class BackupController {
     private ScheduledExecutorService logFlushScheduler;
     private volatile long lastUiUpdate = 0;
     private static final long UI_UPDATE_THROTTLE_MS = 100; // Throttle UI updates to max 10/sec per object
+    private static final int BACKUP_THREAD_COUNT = 5; // Starting level - kept low to reduce memory pressure and UI event flooding
+    private static final int MIN_BACKUP_THREAD_COUNT = 2;
+    private static final int MAX_BACKUP_THREAD_COUNT = 12; // Adaptive ceiling, below the org's concurrent Bulk job limits
 
     // Selection Table (before backup)
     @FXML private TableView<SObjectItem> allObjectsTable;
@@ -164,11 +168,14 @@ public class BackupController {
     @FXML private Label connectionStatusIcon;
     
     @FXML private TextField outputFolderField;
+    @FXML private ComboBox<DataSinkFactory.FileFormat> fileFormatCombo;
     @FXML private TextField recordLimitField;
     @FXML private CheckBox customWhereCheckbox;
     @FXML private TextArea customWhereField;
     @FXML private CheckBox incrementalBackupCheckbox;
     @FXML private CheckBox compressBackupCheckbox;
+    @FXML private CheckBox splitCsvPartsCheckbox;
+    @FXML private ComboBox<ExtractionProfile> extractionProfileCombo;
     @FXML private CheckBox preserveRelationshipsCheckbox;
     @FXML private CheckBox includeRelatedRecordsCheckbox;
     @FXML private ComboBox<String> relationshipDepthCombo;
@@ -188,6 +195,7 @@ public class BackupController {
     @FXML private ProgressBar progressBar;
     @FXML private Label progressLabel;
     @FXML private Label progressPercentLabel;
+    @FXML private Label concurrencyLabel;
     @FXML private TextArea logArea;
     
     @FXML private Label connectionLabel;
@@ -256,6 +264,18 @@ public class BackupController {
             });
         }
         
+        // Setup extraction profile selector (defaults to all fields)
+        if (extractionProfileCombo != null) {
+            extractionProfileCombo.getItems().setAll(ExtractionProfile.values());
+            extractionProfileCombo.setValue(ExtractionProfile.FULL);
+        }
+        
+        // Setup file format selector (defaults to CSV only)
+        if (fileFormatCombo != null) {
+            fileFormatCombo.getItems().setAll(DataSinkFactory.FileFormat.values());
+            fileFormatCombo.setValue(DataSinkFactory.FileFormat.CSV);
+        }
+        
         // Setup "Include Related Records" checkbox and depth selector
         setupRelationshipAwareBackupControls();
         
@@ -825,8 +845,14 @@ public class BackupController {
             java.sql.Connection conn = validateTask.getValue();
             logger.info("Connection authenticated successfully: {}", connection.getName());
             
-            // Cache the session for future use
-            ConnectionManager.getInstance().cacheSession(connection.getId(), conn);
+            // Cache the session for future use. Password sessions keep their credentials so
+            // the database sink can open more connections for concurrent writes.
+            if (connection.isUseSso()) {
+                ConnectionManager.getInstance().cacheSession(connection.getId(), conn);
+            } else {
+                ConnectionManager.getInstance().cacheSession(connection.getId(), conn, buildJdbcUrl(connection),
+                    connection.getUsername(), ConnectionManager.getInstance().getDecryptedPassword(connection));
+            }
             logger.info("Session cached for connection: {} (ID: {})", connection.getName(), connection.getId());
             
             // Connection is valid - apply it
@@ -873,6 +899,9 @@ public class BackupController {
                 String pgDb = connection.getDatabase();
                 return String.format("jdbc:postgresql://%s:%s/%s", host, port, pgDb);
                 
+            case "MySQL":
+                return JdbcHelper.buildJdbcUrl(connection);
+                
             default:
                 return "";
         }
@@ -943,6 +972,11 @@ public class BackupController {
                 connection.isRecreateTables()
             );
             databaseConnectionInfo.setSkipMatchingCounts(connection.isSkipMatchingCounts());
+            databaseConnectionInfo.setMergeMode(connection.isMergeMode());
+            databaseConnectionInfo.setKeepHistory(connection.isKeepHistory());
+            databaseConnectionInfo.setSkipUnchangedRows(connection.isSkipUnchangedRows());
+            databaseConnectionInfo.setPartitionByBackupTime(connection.isPartitionByBackupTime());
+            databaseConnectionInfo.setRetentionDays(connection.getRetentionDays());
             
             logger.info("Created DatabaseConnectionInfo - recreateTables: {}, skipMatchingCounts: {}", 
                 databaseConnectionInfo.isRecreateTables(), databaseConnectionInfo.isSkipMatchingCounts());
@@ -1324,6 +1358,7 @@ public class BackupController {
         
         // Check for cached session first to avoid re-authentication (especially for SSO)
         java.sql.Connection cachedConnection = null;
+        JdbcConnectionPool.ConnectionFactory moreConnections = null;
         if (currentSavedConnection != null) {
             ConnectionManager.CachedSession cachedSession = ConnectionManager.getInstance()
                 .getCachedSession(currentSavedConnection.getId());
@@ -1331,6 +1366,9 @@ public class BackupController {
                 try {
                     if (cachedSession.getConnection().isValid(5)) {
                         cachedConnection = cachedSession.getConnection();
+                        if (cachedSession.canOpenConnections()) {
+                            moreConnections = cachedSession::openConnection;
+                        }
                         logger.info("Using cached database session for: {} (ID: {})", 
                             currentSavedConnection.getName(), currentSavedConnection.getId());
                     }
@@ -1362,7 +1400,7 @@ public class BackupController {
                 // Use cached connection if available, otherwise create new
                 if (cachedConnection != null) {
                     sink = DataSinkFactory.createSnowflakeSinkWithExistingConnection(
-                        cachedConnection, database, schema, warehouse);
+                        cachedConnection, moreConnections, database, schema, warehouse);
                 } else {
                     // For SSO, password can be null - this will trigger browser auth
                     sink = DataSinkFactory.createSnowflakeSink(account, warehouse, database, schema, username, password);
@@ -1371,7 +1409,7 @@ public class BackupController {
             case "SQL Server":
                 if (cachedConnection != null) {
                     sink = DataSinkFactory.createSqlServerSinkWithExistingConnection(
-                        cachedConnection, fields.get("Server"), fields.get("Database"));
+                        cachedConnection, moreConnections, fields.get("Server"), fields.get("Database"));
                 } else {
                     sink = DataSinkFactory.createSqlServerSink(
                         fields.get("Server"), 
@@ -1384,7 +1422,7 @@ public class BackupController {
             case "PostgreSQL":
                 if (cachedConnection != null) {
                     sink = DataSinkFactory.createPostgresSinkWithExistingConnection(
-                        cachedConnection, 
+                        cachedConnection, moreConnections,
                         fields.get("Host"),
                         Integer.parseInt(fields.getOrDefault("Port", "5432")),
                         fields.get("Database"), 
@@ -1400,6 +1438,23 @@ public class BackupController {
                     );
                 }
                 break;
+            case "MySQL":
+                if (cachedConnection != null) {
+                    sink = DataSinkFactory.createMySqlSinkWithExistingConnection(
+                        cachedConnection, moreConnections,
+                        fields.get("Host"),
+                        Integer.parseInt(fields.getOrDefault("Port", "3306")),
+                        fields.get("Database"));
+                } else {
+                    sink = DataSinkFactory.createMySqlSink(
+                        fields.get("Host"),
+                        Integer.parseInt(fields.getOrDefault("Port", "3306")),
+                        fields.get("Database"),
+                        fields.get("Username"),
+                        fields.get("Password")
+                    );
+                }
+                break;
             default:
                 throw new IllegalArgumentException("Unsupported database type: " + config.getDatabaseType());
         }
@@ -1409,6 +1464,11 @@ public class BackupController {
             config.isRecreateTables(), config.isSkipMatchingCounts());
         sink.setRecreateTables(config.isRecreateTables());
         sink.setSkipMatchingCounts(config.isSkipMatchingCounts());
+        sink.setMergeMode(config.isMergeMode());
+        sink.setKeepHistory(config.isKeepHistory());
+        sink.setSkipUnchangedRows(config.isSkipUnchangedRows());
+        sink.setPartitionByBackupTime(config.isPartitionByBackupTime());
+        sink.setRetentionDays(config.getRetentionDays());
         return sink;
     }
 
@@ -1536,7 +1596,7 @@ public class BackupController {
         // Check for potentially problematic objects
         List<String> largeObjectsSelected = selectedObjects.stream()
             .map(SObjectItem::getName)
-            .filter(LARGE_OBJECTS::contains)
+            .filter(BackupEngine::isLargeObject)
             .collect(Collectors.toList());
         
         if (!largeObjectsSelected.isEmpty()) {
@@ -1578,7 +1638,8 @@ public class BackupController {
                 outputDir.mkdirs();
             }
             
-            dataSink = DataSinkFactory.createCsvFileSink(outputFolder);
+            dataSink = DataSinkFactory.createFileSink(
+                fileFormatCombo != null ? fileFormatCombo.getValue() : DataSinkFactory.FileFormat.CSV, outputFolder);
             displayFolder = outputFolder;
         } else {
             logger.info("Database backup selected. databaseConnectionInfo: {}", 
@@ -2191,7 +2252,7 @@ public class BackupController {
         private final int relationshipDepth;
         private final boolean priorityObjectsOnly;
         private volatile boolean cancelled = false;
-        private ExecutorService executor;
+        private volatile BackupEngine engine;
 
         public BackupTask(List<SObjectItem> objects, String outputFolder, String displayFolder, 
                          DataSink dataSink, int recordLimit, boolean preserveRelationships,
@@ -2219,514 +2280,40 @@ public class BackupController {
             
             logMessage("Connected to Salesforce: " + connectionInfo.getInstanceUrl());
             
-            // Connect to data sink
-            if (dataSink != null && !dataSink.getType().equals("CSV")) {
-                try {
-                    logMessage("Connecting to " + dataSink.getDisplayName() + "...");
-                    dataSink.connect();
-                    logMessage("Successfully connected to " + dataSink.getDisplayName());
-                } catch (Exception e) {
-                    logMessage("ERROR: Failed to connect to " + dataSink.getDisplayName() + ": " + e.getMessage());
-                    throw new RuntimeException("Failed to connect to backup destination", e);
-                }
+            BackupEngine.Options options = new BackupEngine.Options();
+            options.setObjects(objects.stream().map(SObjectItem::getName).collect(Collectors.toList()));
+            for (SObjectItem item : objects) {
+                options.setSelectedFields(item.getName(), item.getSelectedFields());
+            }
+            options.setOutputFolder(outputFolder);
+            options.setDataSink(dataSink);
+            options.setRecordLimit(recordLimit);
+            options.setIncremental(incrementalBackupCheckbox != null && incrementalBackupCheckbox.isSelected());
+            if (customWhereCheckbox != null && customWhereCheckbox.isSelected() && customWhereField != null) {
+                options.setCustomWhere(customWhereField.getText());
+            }
+            options.setExtractionProfile(extractionProfileCombo != null ? extractionProfileCombo.getValue() : null);
+            options.setUsername(connectionInfo.getUsername());
+            options.setHistoryRun(currentBackupRun);
+            options.setWorkers(MIN_BACKUP_THREAD_COUNT, BACKUP_THREAD_COUNT, MAX_BACKUP_THREAD_COUNT);
+            if (splitCsvPartsCheckbox != null && splitCsvPartsCheckbox.isSelected()) {
+                options.setCsvPartBytes(BackupEngine.DEFAULT_CSV_PART_BYTES);
             }
-            
-            logMessage("Starting parallel backup with 5 threads...");
-            logMessage("");
             
             // Start the log flush scheduler for batched UI updates
             startLogFlushScheduler();
             
-            AtomicInteger completed = new AtomicInteger(0);
-            AtomicInteger successful = new AtomicInteger(0);
-            AtomicInteger failed = new AtomicInteger(0);
-            AtomicLong totalRecords = new AtomicLong(0);
-            int totalObjects = objects.size();
-            long startTime = System.currentTimeMillis();
-            
-            // Use 5 threads to reduce memory pressure and UI event flooding
-            executor = Executors.newFixedThreadPool(5);
+            Map<String, SObjectItem> itemsByName = new HashMap<>();
+            objects.forEach(item -> itemsByName.put(item.getName(), item));
+            engine = new BackupEngine(bulkClient, new UiBackupListener(itemsByName));
             
-            for (SObjectItem item : objects) {
-                if (cancelled) {
-                    break;
-                }
-                
-                executor.submit(() -> {
-                    if (cancelled) return;
-                    
-                    String objectName = item.getName();
-                    
-                    // Only log for large objects
-                    if (LARGE_OBJECTS.contains(objectName)) {
-                        Runtime runtime = Runtime.getRuntime();
-                        long usedMemory = (runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024;
-                        long maxMemory = runtime.maxMemory() / 1024 / 1024;
-                        logMessage(String.format("[%s] WARNING: Large object - Memory: %d/%d MB",
-                            objectName, usedMemory, maxMemory));
-                    }
-                    
-                    try {
-                        Platform.runLater(() -> item.setStatus("Processing..."));
-                        
-                        // Check if this is a known problematic object
-                        if (com.backupforce.bulkv2.BulkV2Client.isProblematicObject(objectName)) {
-                            logMessage(String.format("[%s] ⚠ Known Bulk API limitation - may require special filters or fail", objectName));
-                        }
-                        
-                        long objectStart = System.currentTimeMillis();
-                        
-                        // Check if doing incremental backup
-                        String whereClause = null;
-                        
-                        // Log blob objects for visibility
-                        if (LARGE_OBJECTS.contains(objectName)) {
-                            logMessage(String.format("[%s] ⚠ Large blob object - checking incremental status...", objectName));
-                        }
-                        
-                        // For CSV backups, check if incremental mode is enabled
-                        if (dataSink == null || dataSink.getType().equals("CSV")) {
-                            if (incrementalBackupCheckbox != null && incrementalBackupCheckbox.isSelected()) {
-                                if (!supportsLastModifiedDate(objectName)) {
-                                    Platform.runLater(() -> item.setStatus("Full backup - no LastModifiedDate"));
-                                    logMessage(String.format("[%s] Full backup - object does not support incremental", objectName));
-                                } else {
-                                    // Get last successful backup from history
-                                    Optional<ObjectBackupResult> lastBackup = BackupHistory.getInstance()
-                                            .getLastSuccessfulBackup(connectionInfo.getUsername(), objectName);
-                                    
-                                    if (lastBackup.isPresent() && lastBackup.get().getLastModifiedDate() != null) {
-                                        String lastModified = lastBackup.get().getLastModifiedDate();
-                                        // Convert Java ISO format to Salesforce SOQL format
-                                        // Input: 2025-12-22T22:49:05.6774347 -> Output: 2025-12-22T22:49:05Z
-                                        String soqlDate = lastModified;
-                                        if (lastModified.contains(".")) {
-                                            soqlDate = lastModified.substring(0, lastModified.indexOf('.')) + "Z";
-                                        } else if (!lastModified.endsWith("Z")) {
-                                            soqlDate = lastModified + "Z";
-                                        }
-                                        whereClause = "LastModifiedDate > " + soqlDate;
-                                        String displayDate = lastModified.length() > 10 ? lastModified.substring(0, 10) : lastModified;
-                                        Platform.runLater(() -> item.setStatus("Incremental since " + displayDate));
-                                        logMessage(String.format("[%s] Incremental backup - records modified after %s", objectName, displayDate));
-                                    } else {
-                                        Platform.runLater(() -> item.setStatus("Full backup - first time"));
-                                        logMessage(String.format("[%s] Full backup - no previous successful backup found in history", objectName));
-                                    }
-                                }
-                            }
-                        } else if (dataSink != null && !dataSink.getType().equals("CSV")) {
-                            // Database backup - check recreate tables and incremental checkbox
-                            com.backupforce.sink.JdbcDatabaseSink jdbcSink = (com.backupforce.sink.JdbcDatabaseSink) dataSink;
-                            boolean incrementalEnabled = incrementalBackupCheckbox != null && incrementalBackupCheckbox.isSelected();
-                            String fullTablePath = jdbcSink.getFullTablePath(objectName);
-                            
-                            // Check if skip matching counts is enabled - if counts match, skip this object
-                            logMessage(String.format("[%s] Checking %s - skipEnabled: %s, recreateTables: %s", 
-                                objectName, fullTablePath, jdbcSink.isSkipMatchingCounts(), jdbcSink.isRecreateTables()));
-                            if (jdbcSink.isSkipMatchingCounts() && !jdbcSink.isRecreateTables()) {
-                                long tableRowCount = jdbcSink.getTableRowCount(objectName);
-                                logMessage(String.format("[%s] Snowflake unique record count: %d", objectName, tableRowCount));
-                                if (tableRowCount >= 0) {
-                                    // Table exists, check if count matches Salesforce
-                                    try {
-                                        int sfCount = bulkClient.getRecordCount(objectName);
-                                        logMessage(String.format("[%s] Salesforce record count: %d", objectName, sfCount));
-                                        
-                                        if (sfCount >= 0 && tableRowCount == sfCount) {
-                                            // Counts match - skip this object
-                                            final int displayCount = sfCount;
-                                            Platform.runLater(() -> item.setStatus("Skipped - count matches (" + displayCount + ")"));
-                                            logMessage(String.format("[%s] ✓ SKIPPED - Snowflake has %d unique records matching Salesforce", objectName, sfCount));
-                                            item.setRecordCount(String.valueOf(sfCount));
-                                            // Only increment successful here - completed is handled in finally block
-                                            successful.incrementAndGet();
-                                            return; // Skip this object
-                                        } else if (sfCount >= 0) {
-                                            logMessage(String.format("[%s] Count mismatch - Snowflake: %d unique, Salesforce: %d - will backup", 
-                                                objectName, tableRowCount, sfCount));
-                                        }
-                                    } catch (Exception countEx) {
-                                        logMessage(String.format("[%s] Could not get Salesforce count: %s - proceeding with backup", 
-                                            objectName, countEx.getMessage()));
-                                    }
-                                } else {
-                                    logMessage(String.format("[%s] Table does not exist in Snowflake - will create", objectName));
-                                }
-                            }
-                            
-                            if (jdbcSink.isRecreateTables()) {
-                                // Full reload mode - drop and recreate table, always query all records
-                                Platform.runLater(() -> item.setStatus("Full backup - recreate mode"));
-                                logMessage(String.format("[%s] Full backup - recreate tables mode enabled", objectName));
-                            } else if (!incrementalEnabled) {
-                                // Incremental checkbox not checked - do full query but append to existing table
-                                Platform.runLater(() -> item.setStatus("Full backup"));
-                                logMessage(String.format("[%s] Full backup - incremental mode not enabled", objectName));
-                            } else if (!supportsLastModifiedDate(objectName)) {
-                                // Object doesn't support LastModifiedDate field (History, __mdt, etc.)
-                                Platform.runLater(() -> item.setStatus("Full backup - no LastModifiedDate"));
-                                logMessage(String.format("[%s] Full backup - object does not support incremental (no LastModifiedDate)", objectName));
-                            } else {
-                                // Incremental mode enabled - use backup history to find last successful backup
-                                Optional<ObjectBackupResult> lastBackupResult = BackupHistory.getInstance()
-                                        .getLastSuccessfulBackup(connectionInfo.getUsername(), objectName);
-                                
-                                if (lastBackupResult.isPresent() && lastBackupResult.get().getLastModifiedDate() != null) {
-                                    String lastModified = lastBackupResult.get().getLastModifiedDate();
-                                    // Convert Java ISO format to Salesforce SOQL format
-                                    // Input: 2025-12-22T22:49:05.6774347 -> Output: 2025-12-22T22:49:05Z
-                                    String soqlDate = lastModified;
-                                    if (lastModified.contains(".")) {
-                                        soqlDate = lastModified.substring(0, lastModified.indexOf('.')) + "Z";
-                                    } else if (!lastModified.endsWith("Z")) {
-                                        soqlDate = lastModified + "Z";
-                                    }
-                                    whereClause = "LastModifiedDate > " + soqlDate;
-                                    String displayDate = lastModified.length() > 10 ? lastModified.substring(0, 10) : lastModified;
-                                    Platform.runLater(() -> item.setStatus("Incremental since " + displayDate));
-                                    logMessage(String.format("[%s] Incremental backup - records modified after %s", objectName, displayDate));
-                                } else {
-                                    Platform.runLater(() -> item.setStatus("Full backup - first time"));
-                                    logMessage(String.format("[%s] Full backup - no previous successful backup found", objectName));
-                                }
-                            }
-                        }
-                        
-                        // Add custom WHERE clause if specified
-                        if (customWhereCheckbox != null && customWhereCheckbox.isSelected() 
-                                && customWhereField != null && customWhereField.getText() != null 
-                                && !customWhereField.getText().trim().isEmpty()) {
-                            String customWhere = customWhereField.getText().trim();
-                            // Remove leading WHERE if user included it
-                            if (customWhere.toUpperCase().startsWith("WHERE ")) {
-                                customWhere = customWhere.substring(6).trim();
-                            }
-                            
-                            if (whereClause != null) {
-                                // Combine incremental WHERE with custom WHERE
-                                whereClause = "(" + whereClause + ") AND (" + customWhere + ")";
-                                logMessage(String.format("[%s] Combined incremental + custom WHERE: %s", objectName, whereClause));
-                            } else {
-                                whereClause = customWhere;
-                                logMessage(String.format("[%s] Custom WHERE clause: %s", objectName, whereClause));
-                            }
-                        }
-                        
-                        // Step 1: Query object using Bulk API (writes CSV file)
-                        // Pass selected fields if configured (null = all fields)
-                        Set<String> selectedFields = item.getSelectedFields();
-                        if (selectedFields != null) {
-                            logMessage(String.format("[%s] Using custom field selection: %d fields", 
-                                objectName, selectedFields.size()));
-                        }
-                        
-                        // Use throttled callback to prevent UI thread saturation
-                        BulkV2Client.ProgressCallback throttledCallback = createThrottledCallback(item);
-                        bulkClient.queryObject(objectName, outputFolder, whereClause, recordLimit, selectedFields, throttledCallback);
-                        
-                        // Step 1.5: Download blobs for objects with blob fields
-                        // Download for both CSV and database backups - store files in _blobs folder
-                        // For database backups, the blob file path will be stored in BLOB_FILE_PATH column
-                        String blobField = getBlobFieldName(objectName);
-                        if (blobField != null) {
-                            try {
-                                Platform.runLater(() -> item.setStatus("Downloading blob files..."));
-                                int blobCount = bulkClient.downloadBlobs(objectName, outputFolder, blobField, recordLimit, throttledCallback);
-                                if (blobCount > 0) {
-                                    logMessage(String.format("[%s] Downloaded %,d blob files", objectName, blobCount));
-                                }
-                            } catch (Exception blobEx) {
-                                logMessage(String.format("[%s] WARNING: Failed to download blobs: %s", 
-                                    objectName, blobEx.getMessage()));
-                                logger.warn("Failed to download blobs for {}", objectName, blobEx);
-                            }
-                        }
-                        
-                        // Step 2: If using database sink, write to database
-                        logger.info("DataSink check for {}: dataSink={}, type={}", 
-                            objectName, dataSink != null ? dataSink.getDisplayName() : "null",
-                            dataSink != null ? dataSink.getType() : "N/A");
-                        if (dataSink != null && !dataSink.getType().equals("CSV")) {
-                            // Get full table path for better logging
-                            String writeTablePath = dataSink.getDisplayName();
-                            if (dataSink instanceof com.backupforce.sink.JdbcDatabaseSink) {
-                                writeTablePath = ((com.backupforce.sink.JdbcDatabaseSink) dataSink).getFullTablePath(objectName);
-                            }
-                            logMessage(String.format("[%s] Writing to %s...", objectName, writeTablePath));
-                            Platform.runLater(() -> item.setStatus("Writing to database..."));
-                            
-                            File csvFile = new File(outputFolder, objectName + ".csv");
-                            if (csvFile.exists()) {
-                                try (java.io.FileReader reader = new java.io.FileReader(csvFile)) {
-                                    // For now, we skip prepareSink since we don't have field metadata
-                                    // The JdbcDatabaseSink will auto-create tables from CSV headers
-                                    String backupId = String.valueOf(System.currentTimeMillis());
-                                    
-                                    // Create throttled callback for database writes (different interface)
-                                    final long[] lastDbUpdate = {0};
-                                    DataSink.ProgressCallback dbCallback = (status) -> {
-                                        long now = System.currentTimeMillis();
-                                        if (now - lastDbUpdate[0] >= UI_UPDATE_THROTTLE_MS) {
-                                            lastDbUpdate[0] = now;
-                                            Platform.runLater(() -> item.setStatus(status));
-                                        }
-                                    };
-                                    int recordsWritten = dataSink.writeData(objectName, reader, backupId, dbCallback);
-                                    
-                                    // Get CSV record count for comparison (count records properly using CSVParser)
-                                    int csvRecords = 0;
-                                    try (java.io.FileReader countReader = new java.io.FileReader(csvFile);
-                                         org.apache.commons.csv.CSVParser countParser = org.apache.commons.csv.CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(countReader)) {
-                                        for (org.apache.commons.csv.CSVRecord ignored : countParser) {
-                                            csvRecords++;
-                                        }
-                                    }
-                                    
-                                    // Get full table path for better logging
-                                    String tablePath = dataSink.getDisplayName();
-                                    if (dataSink instanceof com.backupforce.sink.JdbcDatabaseSink) {
-                                        tablePath = ((com.backupforce.sink.JdbcDatabaseSink) dataSink).getFullTablePath(objectName);
-                                    }
-                                    
-                                    if (recordsWritten < csvRecords) {
-                                        logMessage(String.format("[%s] ⚠ WARNING: CSV has %d records but only %d written to database (missing %d)", 
-                                            objectName, csvRecords, recordsWritten, csvRecords - recordsWritten));
-                                    } else {
-                                        logMessage(String.format("[%s] ✓ Wrote %d records to %s", 
-                                            objectName, recordsWritten, tablePath));
-                                    }
-                                } catch (Exception dbEx) {
-                                    logMessage(String.format("[%s] WARNING: Failed to write to database: %s", 
-                                        objectName, dbEx.getMessage()));
-                                    logger.warn("Failed to write {} to database", objectName, dbEx);
-                                }
-                            }
-                        }
-                        
-                        long objectTime = System.currentTimeMillis() - objectStart;
-                        
-                        successful.incrementAndGet();
-                        
-                        // Get file info
-                        File csvFile = new File(outputFolder, objectName + ".csv");
-                        long fileSize = csvFile.exists() ? csvFile.length() : 0;
-                        long recordCount = 0;
-                        
-                        // Count records from CSV (subtract 1 for header)
-                        if (csvFile.exists()) {
-                            try {
-                                recordCount = Files.lines(Paths.get(csvFile.getPath())).count() - 1;
-                            } catch (Exception ex) {
-                                // Ignore count errors
-                            }
-                        }
-                        
-                        final long finalRecordCount = recordCount;
-                        totalRecords.addAndGet(recordCount);
-                        final String formattedSize = formatFileSize(fileSize);
-                        final String formattedDuration = formatDuration(objectTime);
-                        
-                        // Record in backup history
-                        if (currentBackupRun != null) {
-                            ObjectBackupResult objResult = new ObjectBackupResult(objectName);
-                            objResult.setStatus("COMPLETED");
-                            objResult.setRecordCount(finalRecordCount);
-                            objResult.setByteCount(fileSize);
-                            objResult.setDurationMs(objectTime);
-                            objResult.setLastModifiedDate(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-                            currentBackupRun.getObjectResults().add(objResult);
-                            // Save progress periodically (every 10 objects) to persist in case of crash
-                            if (currentBackupRun.getObjectResults().size() % 10 == 0) {
-                                BackupHistory.getInstance().updateBackup(currentBackupRun);
-                            }
-                        }
-                        
-                        Platform.runLater(() -> {
-                            item.setStatus("✓ Completed");
-                            item.setRecordCount(String.format("%,d", finalRecordCount));
-                            item.setFileSize(formattedSize);
-                            item.setDuration(formattedDuration);
-                        });
-                        
-                        // Only log completion for large objects or slow backups
-                        if (LARGE_OBJECTS.contains(objectName) || objectTime > 5000) {
-                            logMessage("[" + objectName + "] ✓ Completed in " + objectTime / 1000.0 + "s - " + 
-                                      finalRecordCount + " records, " + formattedSize);
-                        }
-                        
-                        // Check memory after large object backup
-                        if (LARGE_OBJECTS.contains(objectName)) {
-                            Runtime runtime = Runtime.getRuntime();
-                            long usedMemory = (runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024;
-                            long maxMemory = runtime.maxMemory() / 1024 / 1024;
-                            double percentUsed = (usedMemory * 100.0) / maxMemory;
-                            logMessage(String.format("[%s] Memory after backup: %d/%d MB (%.1f%% used)",
-                                objectName, usedMemory, maxMemory, percentUsed));
-                            
-                            if (percentUsed > 80) {
-                                logMessage("[WARNING] High memory usage detected! Suggesting garbage collection.");
-                                System.gc();
-                            }
-                        }
-                        
-                    } catch (OutOfMemoryError oom) {
-                        failed.incrementAndGet();
-                        String errorText = "OUT OF MEMORY - Try increasing heap size: java -Xmx4g -jar BackupForce.jar";
-                        Platform.runLater(() -> {
-                            item.setStatus("✗ Out of Memory");
-                            item.setErrorMessage(errorText);
-                        });
-                        logMessage("✗ FAILED: " + objectName + " - OUT OF MEMORY");
-                        logMessage("  → Try increasing heap size: java -Xmx4g -jar BackupForce.jar");
-                        logger.error("Out of memory backing up " + objectName, oom);
-                        
-                        // Force garbage collection after OOM to try to recover
-                        System.gc();
-                        
-                    } catch (Exception e) {
-                        String errorMsg = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
-                        
-                        // Check if this is a connection pool error that we can recover from
-                        if (errorMsg.contains("Connection pool shut down") || 
-                            errorMsg.contains("Pool closed") ||
-                            errorMsg.contains("shut down")) {
-                            // Try to reconnect and retry this object
-                            logMessage("⚠ Connection pool error on " + objectName + " - reconnecting and retrying...");
-                            Platform.runLater(() -> item.setStatus("Reconnecting..."));
-                            
-                            try {
-                                // Force the BulkV2Client to reconnect
-                                bulkClient.forceReconnect();
-                                
-                                // Brief pause after reconnect
-                                Thread.sleep(500);
-                                
-                                // Retry the query
-                                BulkV2Client.ProgressCallback retryCallback = createThrottledCallback(item);
-                                bulkClient.queryObject(objectName, outputFolder, null, 0, null, retryCallback);
-                                
-                                successful.incrementAndGet();
-                                Platform.runLater(() -> item.setStatus("✓ Completed (retry)"));
-                                logMessage("[" + objectName + "] ✓ Completed after reconnect");
-                                
-                            } catch (Exception retryEx) {
-                                // Retry failed - mark as failed but don't stop the whole backup
-                                failed.incrementAndGet();
-                                String retryError = retryEx.getMessage() != null ? retryEx.getMessage() : retryEx.getClass().getSimpleName();
-                                Platform.runLater(() -> {
-                                    item.setStatus("✗ Failed (retry)");
-                                    item.setErrorMessage("Retry failed: " + retryError);
-                                });
-                                logMessage("✗ FAILED: " + objectName + " - retry also failed: " + retryError);
-                                logger.error("Retry failed for " + objectName, retryEx);
-                            }
-                        } else if (errorMsg.contains("not supported by the Bulk API") || 
-                            errorMsg.contains("INVALIDENTITY") ||
-                            errorMsg.contains("Object not supported by Bulk API")) {
-                            // Don't count as failed - it's just not supported
-                            Platform.runLater(() -> {
-                                item.setStatus("⊘ Not Supported");
-                                item.setErrorMessage("Object not supported by Bulk API");
-                            });
-                            logMessage("⊘ SKIPPED: " + objectName + " - Not supported by Bulk API");
-                        } else if (errorMsg.contains("Implementation restriction") || 
-                                   errorMsg.contains("requires a filter")) {
-                            // Object requires specific filter - not a real failure
-                            Platform.runLater(() -> {
-                                item.setStatus("⊘ Requires Filter");
-                                item.setErrorMessage("Object requires specific WHERE filter");
-                            });
-                            logMessage("⊘ SKIPPED: " + objectName + " - Requires specific filter (use WHERE clause)");
-                        } else if (errorMsg.contains("EXCEEDED_ID_LIMIT") || 
-                                   errorMsg.contains("does not support queryMore")) {
-                            // Object doesn't support pagination
-                            Platform.runLater(() -> {
-                                item.setStatus("⊘ No Pagination");
-                                item.setErrorMessage("Object doesn't support Bulk API pagination");
-                            });
-                            logMessage("⊘ SKIPPED: " + objectName + " - Doesn't support Bulk API pagination");
-                        } else if (errorMsg.contains("EXTERNAL_OBJECT_EXCEPTION") || 
-                                   errorMsg.contains("Transient queries")) {
-                            // External object not supported
-                            Platform.runLater(() -> {
-                                item.setStatus("⊘ External Object");
-                                item.setErrorMessage("External objects not supported");
-                            });
-                            logMessage("⊘ SKIPPED: " + objectName + " - External object (not supported)");
-                        } else if (errorMsg.contains("Cannot serialize") || 
-                                   errorMsg.contains("CSV format")) {
-                            // CSV serialization issue
-                            Platform.runLater(() -> {
-                                item.setStatus("⊘ CSV Error");
-                                item.setErrorMessage("Cannot export to CSV format");
-                            });
-                            logMessage("⊘ SKIPPED: " + objectName + " - Cannot serialize to CSV");
-                        } else if (errorMsg.contains("MALFORMED_QUERY") && 
-                                   errorMsg.contains("reified column")) {
-                            // Metadata object requiring reified filter
-                            Platform.runLater(() -> {
-                                item.setStatus("⊘ Metadata Object");
-                                item.setErrorMessage("Metadata object requires special filter");
-                            });
-                            logMessage("⊘ SKIPPED: " + objectName + " - Metadata object (requires special filter)");
-                        } else {
-                            // Actual failure
-                            failed.incrementAndGet();
-                            
-                            // Extract meaningful error message
-                            String cleanError = errorMsg;
-                            if (errorMsg.contains("Failed to create query job:")) {
-                                cleanError = errorMsg.substring(errorMsg.indexOf(":") + 1).trim();
-                            }
-                            
-                            // Record failed object in backup history
-                            if (currentBackupRun != null) {
-                                ObjectBackupResult objResult = new ObjectBackupResult(objectName);
-                                objResult.setStatus("FAILED");
-                                objResult.setErrorMessage(cleanError);
-                                currentBackupRun.getObjectResults().add(objResult);
-                                // Save progress periodically (every 10 objects) to persist in case of crash
-                                if (currentBackupRun.getObjectResults().size() % 10 == 0) {
-                                    BackupHistory.getInstance().updateBackup(currentBackupRun);
-                                }
-                            }
-                            
-                            final String finalError = cleanError;
-                            Platform.runLater(() -> {
-                                item.setStatus("✗ Failed");
-                                item.setErrorMessage(finalError);
-                            });
-                            logMessage("✗ FAILED: " + objectName + " - " + cleanError);
-                        }
-                        logger.error("Backup failed for " + objectName, e);
-                        
-                    } finally {
-                        int completedCount = completed.incrementAndGet();
-                        double progress = (double) completedCount / totalObjects;
-                        
-                        Platform.runLater(() -> {
-                            progressBar.setProgress(progress);
-                            progressLabel.setText(String.format("Progress: %d/%d (%d successful, %d failed)",
-                                completedCount, totalObjects, successful.get(), failed.get()));
-                            // Update the percentage label
-                            if (progressPercentLabel != null) {
-                                progressPercentLabel.setText(String.format("%.0f%%", progress * 100));
-                            }
-                        });
-                        
-                        // Status bar shows progress, only log milestones
-                        if (completedCount % 100 == 0 || completedCount == totalObjects) {
-                            long elapsed = System.currentTimeMillis() - startTime;
-                            logMessage(String.format("Progress: %d/%d (%.1f%%) - %d successful, %d failed",
-                                completedCount, totalObjects, progress * 100, successful.get(), failed.get()));
-                        }
-                    }
-                });
-            }
+            long startTime = System.currentTimeMillis();
+            BackupEngine.Result result = engine.run(options);
             
-            executor.shutdown();
-            executor.awaitTermination(1, TimeUnit.HOURS);
+            int totalObjects = result.getTotalObjects();
+            AtomicInteger successful = new AtomicInteger(result.getSuccessful());
+            AtomicInteger failed = new AtomicInteger(result.getFailed());
+            AtomicLong totalRecords = new AtomicLong(result.getTotalRecords());
             
             // ==================== RELATIONSHIP-AWARE BACKUP ====================
             // After backing up parent objects, fetch related child records
@@ -2736,23 +2323,13 @@ public class BackupController {
             
             bulkClient.close();
             
-            // Disconnect from data sink
-            if (dataSink != null && !dataSink.getType().equals("CSV")) {
-                try {
-                    logMessage("Disconnecting from " + dataSink.getDisplayName() + "...");
-                    dataSink.disconnect();
-                } catch (Exception e) {
-                    logger.warn("Error disconnecting from data sink", e);
-                }
-            }
-            
-            // Compress CSV files to ZIP if enabled (only for CSV backups)
+            // Compress CSV files to ZIP if enabled (only for backups to a folder)
             String finalOutputInfo = displayFolder;
             if (compressBackupCheckbox != null && compressBackupCheckbox.isSelected() && 
-                (dataSink == null || dataSink.getType().equals("CSV"))) {
+                csvRadioButton.isSelected()) {
                 try {
                     Platform.runLater(() -> logMessage("Compressing backup to ZIP..."));
-                    String zipPath = compressCsvFilesToZip(outputFolder);
+                    String zipPath = BackupEngine.compressCsvFiles(outputFolder);
                     if (zipPath != null) {
                         finalOutputInfo = zipPath;
                         Platform.runLater(() -> logMessage("✓ Compressed to: " + zipPath));
@@ -2763,8 +2340,8 @@ public class BackupController {
                 }
             }
             
-            // Generate relationship metadata for restore (only for CSV backups)
-            if (preserveRelationships && (dataSink == null || dataSink.getType().equals("CSV"))) {
+            // Generate relationship metadata for restore (only for backups to a folder)
+            if (preserveRelationships && csvRadioButton.isSelected()) {
                 try {
                     Platform.runLater(() -> logMessage("Generating relationship metadata for restore..."));
                     generateRelationshipMetadata(outputFolder, objects);
@@ -2839,6 +2416,79 @@ public class BackupController {
             return null;
         }
         
+        private void updateConcurrencyLabel(AdaptiveConcurrencyController concurrency) {
+            String text = concurrency.getStatusText();
+            Platform.runLater(() -> {
+                if (concurrencyLabel != null) {
+                    concurrencyLabel.setText(text);
+                }
+            });
+        }
+        
+        /**
+         * Forwards engine progress to the object table, progress bar and log.
+         */
+        private class UiBackupListener implements BackupEngine.Listener {
+            private final Map<String, SObjectItem> itemsByName;
+            
+            UiBackupListener(Map<String, SObjectItem> itemsByName) {
+                this.itemsByName = itemsByName;
+            }
+            
+            @Override
+            public void onRunStarted(BackupWorkPlanner.Plan plan, AdaptiveConcurrencyController concurrency) {
+                concurrency.addListener((oldLimit, newLimit, reason) -> updateConcurrencyLabel(concurrency));
+                updateConcurrencyLabel(concurrency);
+            }
+            
+            @Override
+            public void onObjectStatus(String objectName, String status) {
+                SObjectItem item = itemsByName.get(objectName);
+                if (item != null) {
+                    Platform.runLater(() -> item.setStatus(status));
+                }
+            }
+            
+            @Override
+            public void onObjectFinished(BackupEngine.ObjectResult result) {
+                SObjectItem item = itemsByName.get(result.getObjectName());
+                if (item == null) {
+                    return;
+                }
+                Platform.runLater(() -> {
+                    item.setStatus(result.getStatusText());
+                    if (result.getRecordCount() >= 0) {
+                        item.setRecordCount(String.format("%,d", result.getRecordCount()));
+                    }
+                    if (result.getOutcome() == BackupEngine.Outcome.COMPLETED) {
+                        item.setFileSize(formatFileSize(result.getByteCount()));
+                        item.setDuration(formatDuration(result.getDurationMs()));
+                    }
+                    if (result.getErrorMessage() != null) {
+                        item.setErrorMessage(result.getErrorMessage());
+                    }
+                });
+            }
+            
+            @Override
+            public void onProgress(int completed, int total, int successful, int failed) {
+                double progress = (double) completed / total;
+                Platform.runLater(() -> {
+                    progressBar.setProgress(progress);
+                    progressLabel.setText(String.format("Progress: %d/%d (%d successful, %d failed)",
+                        completed, total, successful, failed));
+                    if (progressPercentLabel != null) {
+                        progressPercentLabel.setText(String.format("%.0f%%", progress * 100));
+                    }
+                });
+            }
+            
+            @Override
+            public void onLog(String message) {
+                logMessage(message);
+            }
+        }
+        
         /**
          * Process relationship-aware backup: after backing up parent objects,
          * automatically fetch and backup related child records.
@@ -2887,8 +2537,7 @@ public class BackupController {
                     String parentObject = parentItem.getName();
                     
                     // Check if this object actually has records in the backup
-                    java.nio.file.Path csvPath = java.nio.file.Paths.get(outputFolder, parentObject + ".csv");
-                    if (!java.nio.file.Files.exists(csvPath)) {
+                    if (!com.backupforce.bulkv2.CsvPartSet.hasCsv(java.nio.file.Paths.get(outputFolder), parentObject)) {
                         continue;
                     }
                     
@@ -3188,10 +2837,9 @@ public class BackupController {
         public boolean cancel(boolean mayInterruptIfRunning) {
             cancelled = true;
             
-            // Force shutdown the executor
-            if (executor != null && !executor.isShutdown()) {
-                logMessage("Cancelling backup - shutting down tasks...");
-                executor.shutdownNow();
+            // Stop submitting objects and interrupt running ones
+            if (engine != null) {
+                engine.cancel();
             }
             
             // Re-enable controls immediately
@@ -3263,74 +2911,6 @@ public class BackupController {
         }
     }
     
-    /**
-     * Compress all CSV files in the output folder to a single ZIP file
-     * @param outputFolder The folder containing CSV files
-     * @return Path to the created ZIP file, or null if no files were compressed
-     */
-    private String compressCsvFilesToZip(String outputFolder) throws IOException {
-        File folder = new File(outputFolder);
-        if (!folder.exists() || !folder.isDirectory()) {
-            return null;
-        }
-        
-        File[] csvFiles = folder.listFiles((dir, name) -> name.endsWith(".csv"));
-        if (csvFiles == null || csvFiles.length == 0) {
-            return null;
-        }
-        
-        // Create ZIP file name with timestamp
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String zipFileName = "backup_" + timestamp + ".zip";
-        File zipFile = new File(folder, zipFileName);
-        
-        long totalUncompressed = 0;
-        long totalCompressed = 0;
-        
-        try (java.util.zip.ZipOutputStream zos = new java.util.zip.ZipOutputStream(
-                new java.io.BufferedOutputStream(new java.io.FileOutputStream(zipFile)))) {
-            
-            // Set compression level
-            zos.setLevel(java.util.zip.Deflater.DEFAULT_COMPRESSION);
-            
-            byte[] buffer = new byte[8192];
-            
-            for (File csvFile : csvFiles) {
-                totalUncompressed += csvFile.length();
-                
-                java.util.zip.ZipEntry entry = new java.util.zip.ZipEntry(csvFile.getName());
-                zos.putNextEntry(entry);
-                
-                try (java.io.FileInputStream fis = new java.io.FileInputStream(csvFile)) {
-                    int bytesRead;
-                    while ((bytesRead = fis.read(buffer)) != -1) {
-                        zos.write(buffer, 0, bytesRead);
-                    }
-                }
-                
-                zos.closeEntry();
-            }
-        }
-        
-        totalCompressed = zipFile.length();
-        
-        // Delete original CSV files after successful compression
-        for (File csvFile : csvFiles) {
-            if (!csvFile.delete()) {
-                logger.warn("Failed to delete CSV file after compression: {}", csvFile.getName());
-            }
-        }
-        
-        // Log compression ratio
-        double ratio = totalUncompressed > 0 ? (1.0 - (double) totalCompressed / totalUncompressed) * 100 : 0;
-        logger.info("Compressed {} files: {} MB -> {} MB (saved {:.1f}%)", 
-            csvFiles.length, 
-            totalUncompressed / (1024 * 1024),
-            totalCompressed / (1024 * 1024),
-            ratio);
-        
-        return zipFile.getAbsolutePath();
-    }
     
     /**
      * Generates relationship metadata file for data restoration.
@@ -3382,113 +2962,6 @@ public class BackupController {
     }
 
     // Utility methods
-    private static String getBlobFieldName(String objectName) {
-        // Map of objects that have blob fields and their blob field names
-        switch (objectName) {
-            case "Document":
-            case "Attachment":
-            case "StaticResource":
-            case "ApexClass":  // ApexClass Body is text but sometimes treated as blob
-            case "ApexTrigger":
-            case "ApexPage":
-            case "ApexComponent":
-                return "Body";
-            case "ContentVersion":
-                return "VersionData";
-            case "ContentNote":
-                return "Content";
-            case "Folder":
-                return null; // Folders don't have blobs
-            case "ContentDocument":
-                return null; // ContentDocument doesn't have blob - use ContentVersion instead
-            case "EmailMessage":
-                return null; // Has TextBody and HtmlBody but not binary blobs
-            case "EmailTemplate":
-                return null; // Has Body but it's text, not binary
-            case "FeedItem":
-                return null; // FeedItem content is in ContentVersion via FeedAttachment
-            case "EventLogFile":
-                return "LogFile"; // Event Monitoring logs
-            case "MobileApplicationDetail":
-                return "ApplicationBinary";
-            default:
-                return null;
-        }
-    }
-    
-    /**
-     * Determines whether an object should download blobs even if not explicitly listed.
-     * Some custom objects may have blob fields that we discover dynamically.
-     */
-    private static boolean shouldDownloadBlobs(String objectName) {
-        // Always download blobs for known blob objects
-        if (getBlobFieldName(objectName) != null) {
-            return true;
-        }
-        // Could add dynamic detection here in the future
-        return false;
-    }
-    
-    /**
-     * Determines if an object supports the LastModifiedDate field for incremental backups.
-     * 
-     * Objects that do NOT support LastModifiedDate include:
-     * - History objects (e.g., AccountHistory, OpportunityHistory, *__History)
-     * - Custom Metadata Types (__mdt)
-     * - Some system objects
-     * 
-     * @param objectName The Salesforce object API name
-     * @return true if the object supports LastModifiedDate, false otherwise
-     */
-    private static boolean supportsLastModifiedDate(String objectName) {
-        // History objects don't have LastModifiedDate - they use CreatedDate instead
-        if (objectName.endsWith("History") || objectName.endsWith("__History")) {
-            return false;
-        }
-        
-        // Custom Metadata Types (__mdt) don't support LastModifiedDate in SOQL queries via Bulk API
-        if (objectName.endsWith("__mdt")) {
-            return false;
-        }
-        
-        // Share objects often don't have LastModifiedDate
-        if (objectName.endsWith("Share") || objectName.endsWith("__Share")) {
-            return false;
-        }
-        
-        // Feed objects may not support incremental well
-        if (objectName.endsWith("Feed")) {
-            return false;
-        }
-        
-        // ChangeEvent objects for Change Data Capture don't support LastModifiedDate
-        if (objectName.endsWith("ChangeEvent") || objectName.endsWith("__ChangeEvent")) {
-            return false;
-        }
-        
-        // Info/Definition objects typically don't have LastModifiedDate
-        if (objectName.endsWith("Info") || objectName.endsWith("Definition")) {
-            return false;
-        }
-        
-        // Specific objects known not to support LastModifiedDate
-        Set<String> noLastModifiedDate = Set.of(
-            "AsyncApexJob", "ApexPageInfo", "AppDefinition", "AppTabMember",
-            "AuraDefinitionBundleInfo", "AuraDefinitionInfo", 
-            "ClientBrowser", "DeleteEvent", "DataStatistics", "DataType",
-            "ContentDocumentLink", "ContentFolderItem", "ContentFolderMember",
-            "DatacloudAddress", "BrowserPolicyViolation", "ColorDefinition",
-            "ApexTypeImplementor", "ActivityMetric", "ActivityMetricRollup",
-            "ActivityUsrConnectionStatus", "AnalyticsDashPageWidget"
-        );
-        if (noLastModifiedDate.contains(objectName)) {
-            return false;
-        }
-        
-        // By default, assume object supports LastModifiedDate
-        return true;
-    }
-    
     private static String formatFileSize(long bytes) {
         if (bytes < 1024) return bytes + " B";
         int exp = (int) (Math.log(bytes) / Math.log(1024));
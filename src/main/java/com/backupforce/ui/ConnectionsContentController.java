@@ -213,6 +213,17 @@ public class ConnectionsContentController {
                         connection.getUsername(), 
                         password
                     );
+                case "MySQL":
+                    int myPort = 3306;
+                    try {
+                        if (connection.getPort() != null) myPort = Integer.parseInt(connection.getPort());
+                    } catch (NumberFormatException ignored) {}
+                    return DataSinkFactory.createMySqlSink(
+                        connection.getHost(), myPort,
+                        connection.getDatabase(),
+                        connection.getUsername(),
+                        password
+                    );
                 default:
                     logger.warn("Unsupported database type for testing: {}", type);
                     return null;
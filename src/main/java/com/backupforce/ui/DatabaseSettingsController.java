@@ -29,6 +29,11 @@ public class DatabaseSettingsController {
     @FXML private CheckBox rememberCheckBox;
     @FXML private CheckBox recreateTablesCheckBox;
     @FXML private CheckBox skipMatchingCountsCheckBox;
+    @FXML private CheckBox mergeModeCheckBox;
+    @FXML private CheckBox keepHistoryCheckBox;
+    @FXML private CheckBox skipUnchangedRowsCheckBox;
+    @FXML private CheckBox partitionByBackupTimeCheckBox;
+    @FXML private TextField retentionDaysField;
     @FXML private TextField connectionNameField;
     @FXML private Label statusLabel;
     
@@ -49,6 +54,9 @@ public class DatabaseSettingsController {
         setupDatabaseTypes();
         databaseTypeCombo.setOnAction(e -> updateFieldsForDatabase());
         loadSavedCredentials();
+        if (retentionDaysField != null && skipUnchangedRowsCheckBox != null) {
+            retentionDaysField.disableProperty().bind(skipUnchangedRowsCheckBox.selectedProperty());
+        }
         statusLabel.setText("");
     }
     
@@ -56,7 +64,8 @@ public class DatabaseSettingsController {
         databaseTypeCombo.setItems(FXCollections.observableArrayList(
             new DatabaseType("Snowflake", Arrays.asList("Account", "Warehouse", "Database", "Schema", "Username", "Password")),
             new DatabaseType("SQL Server", Arrays.asList("Server", "Database", "Username", "Password")),
-            new DatabaseType("PostgreSQL", Arrays.asList("Host", "Port", "Database", "Schema", "Username", "Password"))
+            new DatabaseType("PostgreSQL", Arrays.asList("Host", "Port", "Database", "Schema", "Username", "Password")),
+            new DatabaseType("MySQL", Arrays.asList("Host", "Port", "Database", "Username", "Password"))
         ));
         databaseTypeCombo.getSelectionModel().selectFirst();
         updateFieldsForDatabase();
@@ -249,6 +258,12 @@ public class DatabaseSettingsController {
                 case "Server": return "localhost:1433";
                 case "Database": return "SalesforceBackup";
             }
+        } else if (dbType.equals("MySQL")) {
+            switch (field) {
+                case "Host": return "localhost";
+                case "Port": return "3306";
+                case "Database": return "salesforce";
+            }
         }
         return "";
     }
@@ -761,11 +776,22 @@ public class DatabaseSettingsController {
         logger.info("Creating DatabaseConnectionInfo with fields: {}", fields.keySet());
         boolean recreateTables = recreateTablesCheckBox != null && recreateTablesCheckBox.isSelected();
         boolean skipMatchingCounts = skipMatchingCountsCheckBox != null && skipMatchingCountsCheckBox.isSelected();
+        boolean mergeMode = mergeModeCheckBox != null && mergeModeCheckBox.isSelected();
+        boolean keepHistory = mergeMode && keepHistoryCheckBox != null && keepHistoryCheckBox.isSelected();
+        boolean skipUnchangedRows = skipUnchangedRowsCheckBox != null && skipUnchangedRowsCheckBox.isSelected();
+        boolean partitionByBackupTime = partitionByBackupTimeCheckBox != null && partitionByBackupTimeCheckBox.isSelected();
+        // Old partitions can hold the only copy of records skipped as unchanged
+        int retentionDays = partitionByBackupTime && !skipUnchangedRows ? parseRetentionDays() : 0;
         boolean useSso = ssoCheckBox != null && ssoCheckBox.isSelected();
         logger.info("Recreate tables option: {}", recreateTables);
         logger.info("Skip matching counts option: {}", skipMatchingCounts);
         connectionInfo = new DatabaseConnectionInfo(dbType.name, fields, useSso, recreateTables);
         connectionInfo.setSkipMatchingCounts(skipMatchingCounts);
+        connectionInfo.setMergeMode(mergeMode);
+        connectionInfo.setKeepHistory(keepHistory);
+        connectionInfo.setSkipUnchangedRows(skipUnchangedRows);
+        connectionInfo.setPartitionByBackupTime(partitionByBackupTime);
+        connectionInfo.setRetentionDays(retentionDays);
         
         // Save to ConnectionManager if "remember" is checked
         if (rememberCheckBox.isSelected()) {
@@ -788,6 +814,11 @@ public class DatabaseSettingsController {
                 savedConn.setUseSso(useSso);
                 savedConn.setRecreateTables(recreateTables);
                 savedConn.setSkipMatchingCounts(skipMatchingCounts);
+                savedConn.setMergeMode(mergeMode);
+                savedConn.setKeepHistory(keepHistory);
+                savedConn.setSkipUnchangedRows(skipUnchangedRows);
+                savedConn.setPartitionByBackupTime(partitionByBackupTime);
+                savedConn.setRetentionDays(retentionDays);
                 
                 if (dbType.name.equals("Snowflake")) {
                     savedConn.setAccount(fields.get("Account"));
@@ -883,6 +914,19 @@ public class DatabaseSettingsController {
         return fields;
     }
     
+    /**
+     * Days of backups to keep, 0 (keep all) if the field is blank or not a positive number
+     */
+    private int parseRetentionDays() {
+        String text = retentionDaysField != null ? retentionDaysField.getText().trim() : "";
+        try {
+            return text.isEmpty() ? 0 : Math.max(0, Integer.parseInt(text));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid retention days: {}", text);
+            return 0;
+        }
+    }
+    
     private String generateConnectionName(String dbType, Map<String, String> fields) {
         if (dbType.equals("Snowflake")) {
             String account = fields.getOrDefault("Account", "Unknown");
@@ -1001,6 +1045,15 @@ public class DatabaseSettingsController {
                     fieldMap.get("Password").getText()
                 );
             
+            case "MySQL":
+                return DataSinkFactory.createMySqlSink(
+                    fieldMap.get("Host").getText().trim(),
+                    Integer.parseInt(fieldMap.get("Port").getText().trim()),
+                    fieldMap.get("Database").getText().trim(),
+                    fieldMap.get("Username").getText().trim(),
+                    fieldMap.get("Password").getText()
+                );
+            
             default:
                 throw new IllegalArgumentException("Unsupported database type: " + dbType.name);
         }
@@ -1073,6 +1126,23 @@ public class DatabaseSettingsController {
                 skipMatchingCountsCheckBox.setSelected(conn.isSkipMatchingCounts());
             }
             
+            // Restore merge mode checkboxes
+            if (mergeModeCheckBox != null) {
+                mergeModeCheckBox.setSelected(conn.isMergeMode());
+            }
+            if (keepHistoryCheckBox != null) {
+                keepHistoryCheckBox.setSelected(conn.isKeepHistory());
+            }
+            if (skipUnchangedRowsCheckBox != null) {
+                skipUnchangedRowsCheckBox.setSelected(conn.isSkipUnchangedRows());
+            }
+            if (partitionByBackupTimeCheckBox != null) {
+                partitionByBackupTimeCheckBox.setSelected(conn.isPartitionByBackupTime());
+            }
+            if (retentionDaysField != null) {
+                retentionDaysField.setText(conn.getRetentionDays() > 0 ? String.valueOf(conn.getRetentionDays()) : "");
+            }
+            
             // Populate fields based on database type
             if (fieldMap.containsKey("Account") && conn.getAccount() != null) {
                 fieldMap.get("Account").setText(conn.getAccount());
@@ -1160,6 +1230,11 @@ public class DatabaseSettingsController {
         private final boolean useSso;
         private final boolean recreateTables;
         private boolean skipMatchingCounts;
+        private boolean mergeMode;
+        private boolean keepHistory;
+        private boolean skipUnchangedRows;
+        private boolean partitionByBackupTime;
+        private int retentionDays;
         
         public DatabaseConnectionInfo(String databaseType, Map<String, String> fields, boolean useSso, boolean recreateTables) {
             this.databaseType = databaseType;
@@ -1175,5 +1250,15 @@ public class DatabaseSettingsController {
         public boolean isRecreateTables() { return recreateTables; }
         public boolean isSkipMatchingCounts() { return skipMatchingCounts; }
         public void setSkipMatchingCounts(boolean skipMatchingCounts) { this.skipMatchingCounts = skipMatchingCounts; }
+        public boolean isMergeMode() { return mergeMode; }
+        public void setMergeMode(boolean mergeMode) { this.mergeMode = mergeMode; }
+        public boolean isKeepHistory() { return keepHistory; }
+        public void setKeepHistory(boolean keepHistory) { this.keepHistory = keepHistory; }
+        public boolean isSkipUnchangedRows() { return skipUnchangedRows; }
+        public void setSkipUnchangedRows(boolean skipUnchangedRows) { this.skipUnchangedRows = skipUnchangedRows; }
+        public boolean isPartitionByBackupTime() { return partitionByBackupTime; }
+        public void setPartitionByBackupTime(boolean partitionByBackupTime) { this.partitionByBackupTime = partitionByBackupTime; }
+        public int getRetentionDays() { return retentionDays; }
+        public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
     }
 }
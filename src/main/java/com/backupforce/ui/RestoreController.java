@@ -1,6 +1,8 @@
 package com.backupforce.ui;
 
+import com.backupforce.bulkv2.CsvPartSet;
 import com.backupforce.config.ConnectionManager;
+import com.backupforce.engine.AdaptiveConcurrencyController;
 import com.backupforce.config.ConnectionManager.SavedConnection;
 import com.backupforce.restore.DatabaseScanner;
 import com.backupforce.restore.DatabaseScanner.BackupTable;
@@ -52,6 +54,7 @@ import java.util.stream.Collectors;
 public class RestoreController {
     
     private static final Logger logger = LoggerFactory.getLogger(RestoreController.class);
+    private static final int MAX_PARALLEL_RESTORE_BATCHES = 8;
     
     // Source selection
     @FXML private RadioButton folderSourceRadio;
@@ -397,12 +400,23 @@ public class RestoreController {
         currentObjectLabel.setText("Scanning...");
         recordsProcessedLabel.setText("0 files scanned");
         
-        // Find CSV and JSON files
-        File[] backupFiles = sourceDir.listFiles((dir, name) -> 
+        // Find CSV and JSON files, and the folders of objects written as CSV parts
+        List<File> backupFiles = new ArrayList<>();
+        File[] files = sourceDir.listFiles((dir, name) -> 
             name.toLowerCase().endsWith(".csv") || name.toLowerCase().endsWith(".json")
         );
+        if (files != null) {
+            backupFiles.addAll(Arrays.asList(files));
+        }
+        try {
+            for (String objectName : CsvPartSet.listObjects(sourceDir.toPath())) {
+                backupFiles.add(CsvPartSet.directory(sourceDir.toPath(), objectName).toFile());
+            }
+        } catch (IOException e) {
+            logMessage("WARNING: Could not list CSV part folders: " + e.getMessage());
+        }
         
-        if (backupFiles == null || backupFiles.length == 0) {
+        if (backupFiles.isEmpty()) {
             logMessage("No backup files found in folder");
             showError("No CSV or JSON backup files found in selected folder");
             return;
@@ -413,13 +427,14 @@ public class RestoreController {
             @Override
             protected List<RestoreObject> call() throws Exception {
                 List<RestoreObject> objects = new ArrayList<>();
-                int total = backupFiles.length;
+                int total = backupFiles.size();
                 int processed = 0;
                 
                 for (File file : backupFiles) {
                     if (isCancelled()) break;
                     
-                    String objectName = file.getName().replaceAll("\\.(csv|json)$", "");
+                    String objectName = file.isDirectory() ? file.getName()
+                        : file.getName().replaceAll("\\.(csv|json)$", "");
                     
                     // Use fast line counting for large files
                     long recordCount = countRecordsInFileFast(file);
@@ -564,6 +579,14 @@ public class RestoreController {
      * For very large files (>50MB), uses file size estimation to avoid long waits.
      */
     private long countRecordsInFileFast(File file) {
+        if (file.isDirectory()) {
+            // CSV parts - their manifest has the record count
+            try {
+                return CsvPartSet.load(file.getParentFile().toPath(), file.getName()).getRecordCount();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
         if (file.getName().toLowerCase().endsWith(".json")) {
             // For JSON, return rough estimate based on file size
             return file.length() / 500;
@@ -797,17 +820,25 @@ public class RestoreController {
             "60.0"
         );
         
+        // Batches of each object run in parallel; the level adapts to throttling and row lock errors
+        AdaptiveConcurrencyController batchConcurrency = new AdaptiveConcurrencyController(
+            "restore", 1, 2, MAX_PARALLEL_RESTORE_BATCHES);
+        batchConcurrency.addListener((oldLimit, newLimit, reason) -> 
+            logMessage(String.format("Parallel batches %d -> %d (%s)", oldLimit, newLimit, reason)));
+        restoreExecutor.setConcurrencyController(batchConcurrency);
+        
         // Set up callbacks
         restoreExecutor.setLogCallback(this::logMessage);
         restoreExecutor.setProgressCallback(progress -> {
+            String concurrencyText = batchConcurrency.getStatusText();
             Platform.runLater(() -> {
                 double percent = progress.getPercentComplete() / 100.0;
                 progressBar.setProgress(percent);
                 progressPercentLabel.setText(String.format("%.1f%%", progress.getPercentComplete()));
                 currentObjectLabel.setText(progress.getCurrentObject());
-                recordsProcessedLabel.setText(String.format("%d / %d (✓ %d, ✗ %d)",
+                recordsProcessedLabel.setText(String.format("%d / %d (✓ %d, ✗ %d) · %s",
                     progress.getProcessedRecords(), progress.getTotalRecords(),
-                    progress.getSuccessCount(), progress.getFailureCount()));
+                    progress.getSuccessCount(), progress.getFailureCount(), concurrencyText));
             });
         });
         
@@ -1,10 +1,12 @@
 package com.backupforce.ui;
 
+import com.backupforce.bulkv2.CsvPartSet;
 import com.backupforce.config.AppConfig;
 import com.backupforce.config.ConnectionManager;
 import com.backupforce.config.ConnectionManager.SavedConnection;
 import com.backupforce.config.JdbcHelper;
 import com.backupforce.config.SSLHelper;
+import com.backupforce.restore.BackupManifestLoader;
 import com.backupforce.restore.DatabaseScanner;
 import com.backupforce.restore.RestoreExecutor;
 import com.sforce.soap.partner.DescribeSObjectResult;
@@ -945,11 +947,7 @@ public class RestoreWizardController {
                 File[] csvFiles = selectedFolder.listFiles((dir, name) -> 
                     name.toLowerCase().endsWith(".csv"));
                 
-                if (csvFiles == null || csvFiles.length == 0) {
-                    return objects;
-                }
-                
-                for (File csvFile : csvFiles) {
+                for (File csvFile : csvFiles != null ? csvFiles : new File[0]) {
                     try {
                         // Object name is filename without .csv extension
                         String objectName = csvFile.getName().replaceAll("\\.csv$", "");
@@ -963,6 +961,17 @@ public class RestoreWizardController {
                     }
                 }
                 
+                // Objects written as CSV parts have a folder whose manifest counts the records
+                for (String objectName : CsvPartSet.listObjects(selectedFolder.toPath())) {
+                    try {
+                        long recordCount = CsvPartSet.load(selectedFolder.toPath(), objectName).getRecordCount();
+                        objects.add(new BackupObject(objectName, objectName, recordCount, null));
+                        logger.info("Found CSV parts: {} with {} records", objectName, recordCount);
+                    } catch (Exception e) {
+                        logger.warn("Failed to read CSV parts: {}", objectName, e);
+                    }
+                }
+                
                 return objects;
             }
         };
@@ -1950,6 +1959,11 @@ public class RestoreWizardController {
                     options.setBatchSize(200);
                     options.setStopOnError(stopOnErrorCheck.isSelected());
                     options.setValidateBeforeRestore(true);
+                    if (sourceType == SourceType.FOLDER && selectedFolder != null) {
+                        // The restore reads a temporary CSV, so pass the backup's exclusions along
+                        options.setExcludedFields(BackupManifestLoader.readExcludedFields(
+                            selectedFolder.toPath(), selectedObject.getObjectName()));
+                    }
                     
                     // Get selected records to restore
                     List<Map<String, Object>> recordsToRestore = new ArrayList<>();
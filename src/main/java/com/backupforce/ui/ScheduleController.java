@@ -4,6 +4,7 @@ import com.backupforce.scheduler.BackupSchedule;
 import com.backupforce.scheduler.BackupSchedule.Frequency;
 import com.backupforce.scheduler.BackupSchedulerService;
 import com.backupforce.scheduler.ScheduleManager;
+import com.backupforce.sink.DataSinkFactory;
 import javafx.application.Platform;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
@@ -321,6 +322,11 @@ public class ScheduleController {
         HBox folderBox = new HBox(10, folderField, browseBtn);
         HBox folderRow = createFormRow("Output Folder:", folderBox);
         
+        ComboBox<DataSinkFactory.FileFormat> formatCombo = new ComboBox<>();
+        formatCombo.getItems().setAll(DataSinkFactory.FileFormat.values());
+        formatCombo.setValue(editSchedule.getFileFormat());
+        HBox formatRow = createFormRow("File Format:", formatCombo);
+        
         // Backup options
         CheckBox incrementalCb = new CheckBox("Incremental backup");
         incrementalCb.setSelected(editSchedule.isIncremental());
@@ -330,11 +336,15 @@ public class ScheduleController {
         compressCb.setSelected(editSchedule.isCompress());
         compressCb.setStyle("-fx-text-fill: #cccccc;");
         
+        CheckBox splitCsvCb = new CheckBox("Split large CSVs into 1 GB parts");
+        splitCsvCb.setSelected(editSchedule.isSplitCsvParts());
+        splitCsvCb.setStyle("-fx-text-fill: #cccccc;");
+        
         CheckBox preserveRelCb = new CheckBox("Preserve relationships");
         preserveRelCb.setSelected(editSchedule.isPreserveRelationships());
         preserveRelCb.setStyle("-fx-text-fill: #cccccc;");
         
-        VBox optionsBox = new VBox(8, incrementalCb, compressCb, preserveRelCb);
+        VBox optionsBox = new VBox(8, incrementalCb, compressCb, splitCsvCb, preserveRelCb);
         HBox optionsRow = createFormRow("Options:", optionsBox);
         
         // Objects info
@@ -369,8 +379,10 @@ public class ScheduleController {
                 .collect(Collectors.toSet()));
             editSchedule.setDayOfMonth(dayOfMonthCombo.getValue());
             editSchedule.setOutputFolder(folderField.getText());
+            editSchedule.setFileFormat(formatCombo.getValue());
             editSchedule.setIncremental(incrementalCb.isSelected());
             editSchedule.setCompress(compressCb.isSelected());
+            editSchedule.setSplitCsvParts(splitCsvCb.isSelected());
             editSchedule.setPreserveRelationships(preserveRelCb.isSelected());
             editSchedule.setEnabled(enabledCb.isSelected());
             
@@ -397,7 +409,7 @@ public class ScheduleController {
             nameRow, freqRow, timeRow, daysRow, domRow,
             new Separator(),
             createSectionLabel("Backup Settings"),
-            folderRow, optionsRow, objectsRow,
+            folderRow, formatRow, optionsRow, objectsRow,
             new Separator(),
             enabledCb,
             buttonBox
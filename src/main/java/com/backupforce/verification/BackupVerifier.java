@@ -1,9 +1,11 @@
 package com.backupforce.verification;
 
 import com.backupforce.bulkv2.BulkV2Client;
+import com.backupforce.bulkv2.CsvPartSet;
 import com.backupforce.config.BackupHistory;
 import com.backupforce.config.BackupHistory.BackupRun;
 import com.backupforce.config.BackupHistory.ObjectBackupResult;
+import com.backupforce.restore.BackupManifestLoader;
 import com.backupforce.sink.DataSink;
 import com.backupforce.sink.JdbcDatabaseSink;
 import org.apache.commons.csv.CSVFormat;
@@ -205,38 +207,47 @@ public class BackupVerifier {
                 return result;
             }
             
-            List<Path> csvFiles = Files.list(folder)
-                    .filter(p -> p.toString().endsWith(".csv"))
-                    .filter(p -> !p.getFileName().toString().startsWith("_")) // Exclude metadata files
-                    .collect(Collectors.toList());
+            List<String> objectNames;
+            try (java.util.stream.Stream<Path> files = Files.list(folder)) {
+                objectNames = files
+                        .filter(p -> p.toString().endsWith(".csv"))
+                        .filter(p -> !p.getFileName().toString().startsWith("_")) // Exclude metadata files
+                        .map(this::getObjectName)
+                        .collect(Collectors.toCollection(ArrayList::new));
+            }
+            // Objects written as size-rolled parts
+            objectNames.addAll(CsvPartSet.listObjects(folder));
             
-            if (csvFiles.isEmpty()) {
+            if (objectNames.isEmpty()) {
                 result.addWarning("No CSV files found in backup folder");
                 result.setOverallStatus(VerificationStatus.WARNING);
                 return result;
             }
             
-            log("Found " + csvFiles.size() + " CSV files to verify");
+            log("Found " + objectNames.size() + " CSV files to verify");
             
             // Filter to specific objects if requested
             if (objectsToVerify != null && !objectsToVerify.isEmpty()) {
                 Set<String> objectSet = new HashSet<>(objectsToVerify);
-                csvFiles = csvFiles.stream()
-                        .filter(p -> objectSet.contains(getObjectName(p)))
+                objectNames = objectNames.stream()
+                        .filter(objectSet::contains)
                         .collect(Collectors.toList());
             }
             
+            // Fields left out by the extraction profile are expected to be missing
+            Map<String, Map<String, String>> excludedFields = loadExcludedFields(folder);
+            
             // Verify each object
             int verified = 0;
             int warnings = 0;
             int errors = 0;
             
-            for (Path csvFile : csvFiles) {
-                String objectName = getObjectName(csvFile);
+            for (String objectName : objectNames) {
                 log("Verifying " + objectName + "...");
                 
                 try {
-                    ObjectVerificationResult objResult = verifyObject(csvFile, objectName, bulkClient);
+                    ObjectVerificationResult objResult = verifyObject(folder, objectName, bulkClient);
+                    objResult.setExcludedFields(excludedFields.getOrDefault(objectName, Collections.emptyMap()));
                     result.addObjectResult(objResult);
                     
                     if (objResult.getStatus() == VerificationStatus.PASSED) {
@@ -269,7 +280,7 @@ public class BackupVerifier {
             }
             
             result.setSummary(String.format("Verified %d objects: %d passed, %d warnings, %d errors",
-                    csvFiles.size(), verified, warnings, errors));
+                    objectNames.size(), verified, warnings, errors));
             
             log("\n📊 Verification Summary: " + result.getSummary());
             
@@ -283,36 +294,45 @@ public class BackupVerifier {
     }
     
     /**
-     * Verify a single object's backup.
+     * Load the extraction profile exclusions recorded in the backup manifest, if any.
+     */
+    private Map<String, Map<String, String>> loadExcludedFields(Path folder) {
+        try {
+            BackupManifestLoader.BackupManifest manifest = new BackupManifestLoader(folder).loadManifest();
+            if (manifest != null && !manifest.excludedFields.isEmpty()) {
+                log("Extraction profile " + manifest.extractionProfile + " excluded fields from " 
+                        + manifest.excludedFields.size() + " objects - treating them as expected");
+                return manifest.excludedFields;
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read backup manifest: {}", e.getMessage());
+        }
+        return Collections.emptyMap();
+    }
+    
+    /**
+     * Verify a single object's backup. An object written as parts has its parts
+     * scanned in parallel.
      */
-    private ObjectVerificationResult verifyObject(Path csvFile, String objectName, BulkV2Client bulkClient) throws Exception {
+    private ObjectVerificationResult verifyObject(Path folder, String objectName, BulkV2Client bulkClient) throws Exception {
         ObjectVerificationResult result = new ObjectVerificationResult(objectName);
         
         // 1. Count records in CSV
-        long csvRecordCount = 0;
-        Set<String> uniqueIds = new HashSet<>();
-        Set<String> fields = new HashSet<>();
-        long fileSize = Files.size(csvFile);
+        List<Path> csvFiles = CsvPartSet.csvFiles(folder, objectName);
+        Set<String> uniqueIds = ConcurrentHashMap.newKeySet();
+        Set<String> fields = ConcurrentHashMap.newKeySet();
+        long fileSize = 0;
+        for (Path csvFile : csvFiles) {
+            fileSize += Files.size(csvFile);
+        }
         
-        try (Reader reader = new FileReader(csvFile.toFile());
-             CSVParser parser = CSVFormat.DEFAULT.builder()
-                     .setHeader()
-                     .setSkipHeaderRecord(true)
-                     .build().parse(reader)) {
-            
-            fields.addAll(parser.getHeaderNames());
-            
-            for (CSVRecord record : parser) {
-                csvRecordCount++;
-                
-                // Track unique IDs
-                if (parser.getHeaderNames().contains("Id")) {
-                    String id = record.get("Id");
-                    if (id != null && !id.isEmpty()) {
-                        uniqueIds.add(id);
-                    }
-                }
-            }
+        long csvRecordCount;
+        try {
+            csvRecordCount = csvFiles.parallelStream()
+                    .mapToLong(csvFile -> scanCsv(csvFile, fields, uniqueIds))
+                    .sum();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
         
         result.setBackupRecordCount(csvRecordCount);
@@ -373,12 +393,43 @@ public class BackupVerifier {
         }
         
         // 5. Calculate file checksum
-        String checksum = calculateChecksum(csvFile);
+        String checksum = calculateChecksum(csvFiles);
         result.setChecksum(checksum);
         
         return result;
     }
     
+    /**
+     * Count the records of one CSV file, collecting its header names and Ids.
+     */
+    private static long scanCsv(Path csvFile, Set<String> fields, Set<String> uniqueIds) {
+        long records = 0;
+        try (Reader reader = new FileReader(csvFile.toFile());
+             CSVParser parser = CSVFormat.DEFAULT.builder()
+                     .setHeader()
+                     .setSkipHeaderRecord(true)
+                     .build().parse(reader)) {
+            
+            fields.addAll(parser.getHeaderNames());
+            boolean hasId = parser.getHeaderNames().contains("Id");
+            
+            for (CSVRecord record : parser) {
+                records++;
+                
+                // Track unique IDs
+                if (hasId) {
+                    String id = record.get("Id");
+                    if (id != null && !id.isEmpty()) {
+                        uniqueIds.add(id);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return records;
+    }
+    
     /**
      * Verify backup against a database destination (Snowflake, PostgreSQL, SQL Server).
      */
@@ -625,6 +676,10 @@ public class BackupVerifier {
             if (obj.getStatus() != VerificationStatus.PASSED) {
                 sb.append("  └─ ").append(obj.getMessage()).append("\n");
             }
+            if (!obj.getExcludedFields().isEmpty()) {
+                sb.append("  └─ ").append(obj.getExcludedFields().size())
+                  .append(" field(s) excluded by extraction profile (expected)\n");
+            }
         }
         
         // Errors and warnings
@@ -699,14 +754,17 @@ public class BackupVerifier {
         return filename.substring(0, filename.length() - 4); // Remove .csv
     }
     
-    private String calculateChecksum(Path file) throws Exception {
+    private String calculateChecksum(List<Path> files) throws Exception {
         CRC32 crc = new CRC32();
         byte[] buffer = new byte[8192];
         
-        try (InputStream is = Files.newInputStream(file)) {
-            int bytesRead;
-            while ((bytesRead = is.read(buffer)) != -1) {
-                crc.update(buffer, 0, bytesRead);
+        // Parts are checksummed in order, as one stream
+        for (Path file : files) {
+            try (InputStream is = Files.newInputStream(file)) {
+                int bytesRead;
+                while ((bytesRead = is.read(buffer)) != -1) {
+                    crc.update(buffer, 0, bytesRead);
+                }
             }
         }
         
@@ -807,6 +865,7 @@ public class BackupVerifier {
         private long fileSizeBytes;
         private String checksum;
         private List<String> warnings = new ArrayList<>();
+        private Map<String, String> excludedFields = Collections.emptyMap();
         
         public ObjectVerificationResult(String objectName) {
             this.objectName = objectName;
@@ -844,5 +903,8 @@ public class BackupVerifier {
         
         public List<String> getWarnings() { return warnings; }
         public void addWarning(String warning) { warnings.add(warning); }
+        
+        public Map<String, String> getExcludedFields() { return excludedFields; }
+        public void setExcludedFields(Map<String, String> excludedFields) { this.excludedFields = excludedFields; }
     }
 }
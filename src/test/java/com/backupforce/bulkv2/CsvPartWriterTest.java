@@ -0,0 +1,157 @@
+package com.backupforce.bulkv2;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CsvPartWriter and CsvPartSet.
+ * Tests rolling at record boundaries, the part manifest and reading parts back as one CSV.
+ */
+@DisplayName("CsvPartWriter Tests")
+class CsvPartWriterTest {
+
+    private static final String HEADER = "\"Id\",\"Description\"\n";
+
+    @TempDir
+    Path tempDir;
+
+    private static String records(int count) {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < count; i++) {
+            // Every third value spans lines, so a naive line split would cut the record
+            String description = i % 3 == 0 ? "line one\nline \"\"two\"\"" : "value " + i;
+            csv.append("\"00").append(i).append("\",\"").append(description).append("\"\n");
+        }
+        return csv.toString();
+    }
+
+    private void write(String csv, long partBytes) throws IOException {
+        try (CsvPartWriter writer = new CsvPartWriter(tempDir, "Account", partBytes)) {
+            // Uneven chunks, so quotes and line breaks straddle writes
+            for (int i = 0; i < csv.length(); i += 7) {
+                writer.write(csv, i, Math.min(7, csv.length() - i));
+            }
+        }
+    }
+
+    private static String read(Reader reader) throws IOException {
+        try (Reader r = reader) {
+            StringWriter text = new StringWriter();
+            r.transferTo(text);
+            return text.toString();
+        }
+    }
+
+    @Test
+    @DisplayName("Parts roll at record boundaries and each starts with the header")
+    void testRollsAtRecordBoundaries() throws IOException {
+        String csv = records(30);
+        write(csv, 200);
+
+        CsvPartSet partSet = CsvPartSet.load(tempDir, "Account");
+        assertTrue(partSet.getParts().size() > 2, "expected several parts");
+        long records = 0;
+        for (Path part : partSet.getPartPaths()) {
+            String text = Files.readString(part, StandardCharsets.UTF_8);
+            assertTrue(text.startsWith(HEADER), part.toString());
+            assertTrue(text.endsWith("\"\n"), part.toString());
+            records += text.split("\n\"00").length - 1;
+        }
+        assertEquals(30, records);
+        assertEquals(30, partSet.getRecordCount());
+        assertEquals("part-00000.csv", partSet.getParts().get(0).getFile());
+    }
+
+    @Test
+    @DisplayName("The parts read back as the original CSV, with byte ranges into it")
+    void testLogicalFile() throws IOException {
+        String csv = records(30);
+        write(csv, 200);
+
+        assertEquals(csv, read(CsvPartSet.openCsv(tempDir, "Account")));
+
+        CsvPartSet partSet = CsvPartSet.load(tempDir, "Account");
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        assertEquals(bytes.length, partSet.getByteCount());
+        int headerBytes = HEADER.getBytes(StandardCharsets.UTF_8).length;
+        for (CsvPartSet.Part part : partSet.getParts()) {
+            byte[] partBytes = Files.readAllBytes(tempDir.resolve("Account").resolve(part.getFile()));
+            assertEquals(part.getBytes(), partBytes.length);
+            String body = new String(partBytes, headerBytes, partBytes.length - headerBytes, StandardCharsets.UTF_8);
+            String range = new String(bytes, (int) part.getOffset(), partBytes.length - headerBytes,
+                StandardCharsets.UTF_8);
+            assertEquals(range, body);
+        }
+    }
+
+    @Test
+    @DisplayName("Reset discards what was written after the mark")
+    void testMarkAndReset() throws IOException {
+        String csv = records(10);
+        try (CsvPartWriter writer = new CsvPartWriter(tempDir, "Account", 100)) {
+            writer.write(csv);
+            assertEquals(10, writer.getRecordCount());
+            CsvPartWriter.Mark mark = writer.mark();
+            writer.write(records(40).substring(HEADER.length()));
+            assertEquals(50, writer.getRecordCount());
+
+            writer.reset(mark);
+            assertEquals(10, writer.getRecordCount());
+        }
+
+        assertEquals(csv, read(CsvPartSet.openCsv(tempDir, "Account")));
+        CsvPartSet partSet = CsvPartSet.load(tempDir, "Account");
+        try (var files = Files.list(tempDir.resolve("Account"))) {
+            assertEquals(partSet.getParts().size() + 1, files.count(), "no parts left over from the reset");
+        }
+    }
+
+    @Test
+    @DisplayName("A header-only CSV is one part without records")
+    void testHeaderOnly() throws IOException {
+        write(HEADER, 100);
+
+        CsvPartSet partSet = CsvPartSet.load(tempDir, "Account");
+        assertEquals(1, partSet.getParts().size());
+        assertEquals(0, partSet.getRecordCount());
+        assertEquals(HEADER, read(partSet.openReader()));
+    }
+
+    @Test
+    @DisplayName("A new part set replaces the earlier one")
+    void testReplacesEarlierParts() throws IOException {
+        write(records(30), 100);
+        write(records(2), 100_000);
+
+        assertEquals(1, CsvPartSet.csvFiles(tempDir, "Account").size());
+        assertEquals(records(2), read(CsvPartSet.openCsv(tempDir, "Account")));
+
+        CsvPartSet.delete(tempDir, "Account");
+        assertFalse(Files.exists(tempDir.resolve("Account")));
+        assertFalse(CsvPartSet.hasCsv(tempDir, "Account"));
+    }
+
+    @Test
+    @DisplayName("Objects written as one file are read the same way")
+    void testSingleFileLayout() throws IOException {
+        String csv = records(3);
+        Files.writeString(tempDir.resolve("Contact.csv"), csv, StandardCharsets.UTF_8);
+        write(records(1), 100);
+
+        assertTrue(CsvPartSet.hasCsv(tempDir, "Contact"));
+        assertEquals(List.of(tempDir.resolve("Contact.csv")), CsvPartSet.csvFiles(tempDir, "Contact"));
+        assertEquals(csv.getBytes(StandardCharsets.UTF_8).length, CsvPartSet.csvSize(tempDir, "Contact"));
+        assertEquals(csv, read(CsvPartSet.openCsv(tempDir, "Contact")));
+        assertEquals(List.of("Account"), CsvPartSet.listObjects(tempDir));
+    }
+}
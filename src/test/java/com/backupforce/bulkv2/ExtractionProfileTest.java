@@ -0,0 +1,126 @@
+package com.backupforce.bulkv2;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExtractionProfile and ColumnStatistics.
+ * Tests which describe fields each profile excludes and empty-column detection.
+ */
+@DisplayName("ExtractionProfile Tests")
+class ExtractionProfileTest {
+
+    private static JsonObject field(String name, boolean calculated, String formula) {
+        JsonObject field = new JsonObject();
+        field.addProperty("name", name);
+        field.addProperty("type", "string");
+        field.addProperty("calculated", calculated);
+        if (formula != null) {
+            field.addProperty("calculatedFormula", formula);
+        } else {
+            field.add("calculatedFormula", JsonNull.INSTANCE);
+        }
+        return field;
+    }
+
+    @Nested
+    @DisplayName("Field exclusion")
+    class ExclusionTests {
+
+        private final JsonObject plain = field("Industry", false, null);
+        private final JsonObject formula = field("Score__c", true, "Amount__c * 2");
+        private final JsonObject rollup = field("Total_Amount__c", true, null);
+        private final Set<String> emptyFields = new HashSet<>(Arrays.asList("Legacy__c", "Id"));
+
+        @Test
+        @DisplayName("FULL keeps every field")
+        void testFullKeepsEverything() {
+            assertNull(ExtractionProfile.FULL.exclusionReason(formula, emptyFields));
+            assertNull(ExtractionProfile.FULL.exclusionReason(rollup, emptyFields));
+            assertNull(ExtractionProfile.FULL.exclusionReason(field("Legacy__c", false, null), emptyFields));
+        }
+
+        @Test
+        @DisplayName("LEAN excludes formula and roll-up fields with distinct reasons")
+        void testLeanExcludesCalculated() {
+            assertEquals(ExtractionProfile.REASON_FORMULA, ExtractionProfile.LEAN.exclusionReason(formula, null));
+            assertEquals(ExtractionProfile.REASON_ROLLUP, ExtractionProfile.LEAN.exclusionReason(rollup, null));
+            assertNull(ExtractionProfile.LEAN.exclusionReason(plain, null));
+        }
+
+        @Test
+        @DisplayName("LEAN ignores known-empty fields; LEAN_SKIP_EMPTY excludes them")
+        void testSkipEmpty() {
+            JsonObject legacy = field("Legacy__c", false, null);
+            assertNull(ExtractionProfile.LEAN.exclusionReason(legacy, emptyFields));
+            assertEquals(ExtractionProfile.REASON_EMPTY, ExtractionProfile.LEAN_SKIP_EMPTY.exclusionReason(legacy, emptyFields));
+            assertNull(ExtractionProfile.LEAN_SKIP_EMPTY.exclusionReason(legacy, Collections.emptySet()));
+        }
+
+        @Test
+        @DisplayName("Id and audit timestamps are never excluded")
+        void testAlwaysIncluded() {
+            assertNull(ExtractionProfile.LEAN_SKIP_EMPTY.exclusionReason(field("Id", false, null), emptyFields));
+            assertNull(ExtractionProfile.LEAN_SKIP_EMPTY.exclusionReason(field("SystemModstamp", true, null), null));
+        }
+
+        @Test
+        @DisplayName("fromString accepts enum and display names, defaulting to FULL")
+        void testFromString() {
+            assertEquals(ExtractionProfile.LEAN, ExtractionProfile.fromString("lean"));
+            assertEquals(ExtractionProfile.LEAN_SKIP_EMPTY,
+                ExtractionProfile.fromString(ExtractionProfile.LEAN_SKIP_EMPTY.getDisplayName()));
+            assertEquals(ExtractionProfile.FULL, ExtractionProfile.fromString(null));
+            assertEquals(ExtractionProfile.FULL, ExtractionProfile.fromString("unknown"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Column statistics")
+    class ColumnStatisticsTests {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("Columns empty in every record are reported")
+        void testEmptyColumns() throws IOException {
+            Path csv = tempDir.resolve("Account.csv");
+            Files.write(csv, Arrays.asList(
+                "\"Id\",\"Name\",\"Legacy__c\",\"Notes__c\"",
+                "\"001A\",\"Acme\",\"\",\"\"",
+                "\"001B\",\"Globex\",\"\",\"multi\nline\""), StandardCharsets.UTF_8);
+
+            ColumnStatistics stats = ColumnStatistics.collect(csv);
+
+            assertEquals(2, stats.getRecordCount());
+            assertEquals(1, stats.getNonEmptyCount("Notes__c"));
+            assertEquals(Collections.singleton("Legacy__c"), stats.getEmptyColumns());
+        }
+
+        @Test
+        @DisplayName("An empty result reports no empty columns")
+        void testNoRecords() throws IOException {
+            Path csv = tempDir.resolve("Empty.csv");
+            Files.write(csv, Collections.singletonList("\"Id\",\"Name\""), StandardCharsets.UTF_8);
+
+            ColumnStatistics stats = ColumnStatistics.collect(csv);
+
+            assertEquals(0, stats.getRecordCount());
+            assertTrue(stats.getEmptyColumns().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.backupforce.bulkv2;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WideObjectSplitter.
+ * Tests field group planning and the merge-join of group results on Id.
+ */
+@DisplayName("WideObjectSplitter Tests")
+class WideObjectSplitterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<String> fields(int count) {
+        List<String> fields = new ArrayList<>();
+        fields.add("Id");
+        for (int i = 1; i < count; i++) {
+            fields.add("Field" + i + "__c");
+        }
+        return fields;
+    }
+
+    private Path writeCsv(String name, String... lines) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private List<String> readLines(Path file) throws IOException {
+        return Files.readAllLines(file, StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Field group planning")
+    class PlanningTests {
+
+        @Test
+        @DisplayName("Narrow objects are not split")
+        void testNarrowObjectNotSplit() {
+            WideObjectSplitter splitter = new WideObjectSplitter();
+            List<String> fields = fields(50);
+
+            assertFalse(splitter.shouldSplit(fields, Collections.emptyMap()));
+            List<List<String>> groups = splitter.planFieldGroups(fields, Collections.emptyMap());
+            assertEquals(1, groups.size());
+            assertEquals(fields, groups.get(0));
+        }
+
+        @Test
+        @DisplayName("Objects over the field threshold are split into groups that all start with Id")
+        void testWideObjectSplit() {
+            WideObjectSplitter splitter = new WideObjectSplitter(10, Integer.MAX_VALUE, 4, Integer.MAX_VALUE, 1024);
+            List<String> fields = fields(11);
+
+            List<List<String>> groups = splitter.planFieldGroups(fields, Collections.emptyMap());
+
+            assertTrue(groups.size() > 1);
+            List<String> recombined = new ArrayList<>();
+            recombined.add("Id");
+            for (List<String> group : groups) {
+                assertEquals("Id", group.get(0));
+                assertTrue(group.size() <= 4);
+                recombined.addAll(group.subList(1, group.size()));
+            }
+            assertEquals(fields, recombined, "Groups should cover every field once, in original order");
+        }
+
+        @Test
+        @DisplayName("Estimated row width triggers a split and bounds each group")
+        void testRowWidthSplit() {
+            WideObjectSplitter splitter = new WideObjectSplitter(1000, 100_000, 1000, 40_000, 1024);
+            List<String> fields = fields(6);
+            Map<String, Integer> widths = new HashMap<>();
+            for (String field : fields) {
+                widths.put(field, field.equals("Id") ? 18 : 32_000);
+            }
+
+            List<List<String>> groups = splitter.planFieldGroups(fields, widths);
+
+            assertEquals(5, groups.size(), "Each 32K text field should land in its own group");
+        }
+
+        @Test
+        @DisplayName("Field width estimates follow describe type and length")
+        void testEstimateFieldWidth() {
+            JsonObject checkbox = new JsonObject();
+            checkbox.addProperty("type", "boolean");
+            JsonObject longText = new JsonObject();
+            longText.addProperty("type", "textarea");
+            longText.addProperty("length", 131072);
+
+            assertEquals(5, WideObjectSplitter.estimateFieldWidth(checkbox));
+            assertEquals(32 * 1024, WideObjectSplitter.estimateFieldWidth(longText));
+        }
+    }
+
+    @Nested
+    @DisplayName("Merge on Id")
+    class MergeTests {
+
+        @Test
+        @DisplayName("Sorted groups are merged column-wise")
+        void testMergeSortedGroups() throws IOException {
+            Path g1 = writeCsv("g1.csv", "\"Id\",\"Name\"", "\"001A\",\"Acme\"", "\"001B\",\"Globex\"");
+            Path g2 = writeCsv("g2.csv", "\"Id\",\"Notes__c\"", "\"001A\",\"line1\nline2\"", "\"001B\",\"x\"");
+            Path out = tempDir.resolve("Account.csv");
+
+            long count = new WideObjectSplitter().mergeOnId(Arrays.asList(g1, g2), out, tempDir.resolve("work"));
+
+            assertEquals(2, count);
+            String content = new String(Files.readAllBytes(out), StandardCharsets.UTF_8);
+            assertTrue(content.startsWith("\"Id\",\"Name\",\"Notes__c\""));
+            assertTrue(content.contains("\"001A\",\"Acme\",\"line1\nline2\""));
+            assertTrue(content.contains("\"001B\",\"Globex\",\"x\""));
+        }
+
+        @Test
+        @DisplayName("Unsorted groups are externally sorted before merging")
+        void testMergeUnsortedGroups() throws IOException {
+            Path g1 = writeCsv("g1.csv", "Id,A", "003,a3", "001,a1", "002,a2");
+            Path g2 = writeCsv("g2.csv", "Id,B", "002,b2", "003,b3", "001,b1");
+            Path out = tempDir.resolve("out.csv");
+
+            // Tiny sort buffer forces several spilled runs
+            WideObjectSplitter splitter = new WideObjectSplitter(500, 1 << 20, 250, 1 << 16, 4);
+            long count = splitter.mergeOnId(Arrays.asList(g1, g2), out, tempDir.resolve("work"));
+
+            assertEquals(3, count);
+            List<String> lines = readLines(out);
+            assertEquals(4, lines.size());
+            assertTrue(lines.get(1).startsWith("\"001\",\"a1\",\"b1\""));
+            assertTrue(lines.get(2).startsWith("\"002\",\"a2\",\"b2\""));
+            assertTrue(lines.get(3).startsWith("\"003\",\"a3\",\"b3\""));
+        }
+
+        @Test
+        @DisplayName("Records missing from a group get empty values for that group")
+        void testMergeMissingIds() throws IOException {
+            Path g1 = writeCsv("g1.csv", "Id,A", "001,a1", "002,a2");
+            Path g2 = writeCsv("g2.csv", "Id,B", "002,b2", "003,b3");
+            Path out = tempDir.resolve("out.csv");
+
+            long count = new WideObjectSplitter().mergeOnId(Arrays.asList(g1, g2), out, tempDir.resolve("work"));
+
+            assertEquals(3, count);
+            List<String> lines = readLines(out);
+            assertEquals("\"001\",\"a1\",\"\"", lines.get(1));
+            assertEquals("\"002\",\"a2\",\"b2\"", lines.get(2));
+            assertEquals("\"003\",\"\",\"b3\"", lines.get(3));
+        }
+
+        @Test
+        @DisplayName("Group without an Id column is rejected")
+        void testMissingIdColumn() throws IOException {
+            Path g1 = writeCsv("g1.csv", "Name", "Acme");
+            Path out = tempDir.resolve("out.csv");
+
+            assertThrows(IOException.class, () ->
+                new WideObjectSplitter().mergeOnId(Collections.singletonList(g1), out, tempDir.resolve("work")));
+        }
+    }
+}
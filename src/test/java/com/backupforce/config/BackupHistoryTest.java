@@ -3,6 +3,9 @@ package com.backupforce.config;
 import com.backupforce.config.BackupHistory.BackupRun;
 import com.backupforce.config.BackupHistory.ObjectBackupResult;
 import org.junit.jupiter.api.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -246,4 +249,17 @@ class BackupHistoryTest {
         List<BackupRun> allHistory = history.getHistory();
         assertFalse(allHistory.stream().anyMatch(r -> r.getId().equals(runId)));
     }
+    
+    @Test
+    void testEmptyFieldScanFreshness() {
+        ObjectBackupResult obj = new ObjectBackupResult("Account");
+        assertFalse(obj.hasFreshEmptyFields(Duration.ofDays(7)));
+        
+        obj.setEmptyFields(Arrays.asList("Legacy__c", "Unused__c"));
+        obj.setEmptyFieldsCheckedAt(LocalDateTime.now().minusDays(1).toString());
+        assertTrue(obj.hasFreshEmptyFields(Duration.ofDays(7)));
+        
+        obj.setEmptyFieldsCheckedAt(LocalDateTime.now().minusDays(10).toString());
+        assertFalse(obj.hasFreshEmptyFields(Duration.ofDays(7)));
+    }
 }
@@ -212,6 +212,21 @@ class ConfigTest {
         assertEquals(300, config.getReadTimeout());
     }
     
+    @Test
+    @DisplayName("getCsvPartBytes converts megabytes and defaults to one file per object")
+    void testCsvPartBytes() throws IOException {
+        String content = "sf.username=user\n" +
+                "sf.password=pass\n" +
+                "sf.serverurl=https://test.salesforce.com\n";
+        assertEquals(0, new Config(createConfigFile(content).toString()).getCsvPartBytes());
+        
+        Path configFile = createConfigFile(content + "backup.csvPartMb=512\n");
+        
+        Config config = new Config(configFile.toString());
+        
+        assertEquals(512L * 1024 * 1024, config.getCsvPartBytes());
+    }
+    
     @Test
     @DisplayName("getApiVersion returns current version")
     void testApiVersion() throws IOException {
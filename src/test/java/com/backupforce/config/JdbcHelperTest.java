@@ -0,0 +1,38 @@
+package com.backupforce.config;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcHelper
+ */
+@DisplayName("JdbcHelper Tests")
+class JdbcHelperTest {
+    
+    private static ConnectionManager.SavedConnection connection(String type, String port) {
+        ConnectionManager.SavedConnection conn = new ConnectionManager.SavedConnection("Test", type);
+        conn.setHost("db.example.com");
+        conn.setPort(port);
+        conn.setDatabase("backups");
+        return conn;
+    }
+    
+    @Test
+    @DisplayName("MySQL URLs carry the properties the database sink's bulk writes need")
+    void testMySqlUrl() {
+        String url = JdbcHelper.buildJdbcUrl(connection("MySQL", "3307"));
+        
+        assertEquals("jdbc:mysql://db.example.com:3307/backups?rewriteBatchedStatements=true&allowLoadLocalInfile=true",
+            url);
+        assertEquals(url, JdbcHelper.buildMySqlUrl("db.example.com", 3307, "backups"));
+        assertTrue(JdbcHelper.buildJdbcUrl(connection("MySQL", null)).startsWith("jdbc:mysql://db.example.com:3306/backups?"));
+    }
+    
+    @Test
+    @DisplayName("PostgreSQL URLs use the default port when none is set")
+    void testPostgresUrl() {
+        assertEquals("jdbc:postgresql://db.example.com:5432/backups",
+            JdbcHelper.buildJdbcUrl(connection("PostgreSQL", "")));
+    }
+}
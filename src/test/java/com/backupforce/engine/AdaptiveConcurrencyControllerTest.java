@@ -0,0 +1,141 @@
+package com.backupforce.engine;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyController.
+ * Tests additive increase, multiplicative decrease and executor resizing.
+ */
+@DisplayName("AdaptiveConcurrencyController Tests")
+class AdaptiveConcurrencyControllerTest {
+
+    private AtomicLong now;
+    private double heapUsage;
+    private AdaptiveConcurrencyController controller;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000_000);
+        heapUsage = 0.2;
+        controller = new AdaptiveConcurrencyController("test", 2, 4, 10);
+        controller.setClock(now::get);
+        controller.setHeapUsageSupplier(() -> heapUsage);
+    }
+
+    /** Complete one full window (limit completions) at the given units per second */
+    private void completeWindow(long unitsPerSecond) {
+        int completions = Math.max(3, controller.getLimit());
+        for (int i = 0; i < completions; i++) {
+            now.addAndGet(1000);
+            controller.recordSuccess(unitsPerSecond);
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects invalid limits and clamps the initial level")
+    void testLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyController("x", 0, 1, 5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyController("x", 5, 5, 4));
+        assertEquals(3, new AdaptiveConcurrencyController("x", 1, 20, 3).getLimit());
+    }
+
+    @Test
+    @DisplayName("Increases by one per window while throughput holds")
+    void testAdditiveIncrease() {
+        completeWindow(1000);
+        assertEquals(5, controller.getLimit());
+        completeWindow(1000);
+        assertEquals(6, controller.getLimit());
+    }
+
+    @Test
+    @DisplayName("Never grows past the maximum")
+    void testMaximum() {
+        for (int i = 0; i < 20; i++) {
+            completeWindow(1000);
+        }
+        assertEquals(10, controller.getLimit());
+    }
+
+    @Test
+    @DisplayName("Undoes an increase that lowered throughput")
+    void testStepBackOnRegression() {
+        completeWindow(1000);
+        assertEquals(5, controller.getLimit());
+        completeWindow(500);
+        assertEquals(4, controller.getLimit());
+    }
+
+    @Test
+    @DisplayName("Halves on throttling, once per burst")
+    void testMultiplicativeDecrease() {
+        controller = new AdaptiveConcurrencyController("test", 2, 8, 10);
+        controller.setClock(now::get);
+        controller.setHeapUsageSupplier(() -> heapUsage);
+
+        controller.recordThrottled("REQUEST_LIMIT_EXCEEDED");
+        assertEquals(4, controller.getLimit());
+
+        controller.recordThrottled("REQUEST_LIMIT_EXCEEDED");
+        assertEquals(4, controller.getLimit(), "Second error in the same burst is ignored");
+
+        now.addAndGet(10_000);
+        controller.recordThrottled("REQUEST_LIMIT_EXCEEDED");
+        assertEquals(2, controller.getLimit());
+
+        now.addAndGet(10_000);
+        controller.recordThrottled(null);
+        assertEquals(2, controller.getLimit(), "Never drops below the minimum");
+    }
+
+    @Test
+    @DisplayName("Backs off when heap usage crosses the threshold")
+    void testHeapPressure() {
+        heapUsage = 0.95;
+        controller.recordSuccess(100);
+        assertEquals(2, controller.getLimit());
+    }
+
+    @Test
+    @DisplayName("Notifies listeners and resizes executors")
+    void testExecutorResize() throws InterruptedException {
+        List<String> changes = new ArrayList<>();
+        controller.addListener((oldLimit, newLimit, reason) -> changes.add(oldLimit + "->" + newLimit));
+        ThreadPoolExecutor executor = controller.createExecutor("test-worker");
+        try {
+            assertEquals(4, executor.getCorePoolSize());
+
+            completeWindow(1000);
+            assertEquals(5, executor.getCorePoolSize());
+            assertEquals(5, executor.getMaximumPoolSize());
+
+            controller.recordThrottled("429");
+            assertEquals(2, executor.getCorePoolSize());
+            assertEquals(2, executor.getMaximumPoolSize());
+            assertEquals(List.of("4->5", "5->2"), changes);
+            assertEquals("Concurrency: 2 (2-10)", controller.getStatusText());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Recognizes throttling errors, including wrapped ones")
+    void testIsThrottlingError() {
+        assertTrue(AdaptiveConcurrencyController.isThrottlingError(
+            new IOException("Failed to create query job: [{\"errorCode\":\"REQUEST_LIMIT_EXCEEDED\"}]")));
+        assertTrue(AdaptiveConcurrencyController.isThrottlingError(
+            new RuntimeException("wrapped", new IOException("HTTP 429 Too Many Requests"))));
+        assertTrue(AdaptiveConcurrencyController.isThrottlingError(new IOException("UNABLE_TO_LOCK_ROW")));
+        assertFalse(AdaptiveConcurrencyController.isThrottlingError(new IOException("INVALID_FIELD: Foo__c")));
+        assertFalse(AdaptiveConcurrencyController.isThrottlingError(new IOException()));
+    }
+}
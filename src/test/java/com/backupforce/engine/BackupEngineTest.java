@@ -0,0 +1,315 @@
+package com.backupforce.engine;
+
+import com.backupforce.bulkv2.BulkV2Client;
+import com.backupforce.bulkv2.CsvPartSet;
+import com.backupforce.bulkv2.CsvPartWriter;
+import com.backupforce.config.BackupHistory.BackupRun;
+import com.backupforce.config.BackupHistory.ObjectBackupResult;
+import com.backupforce.sink.DataSink;
+import com.backupforce.sink.PartialWriteException;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BackupEngine.
+ * Runs the engine against a mocked Bulk client that writes CSV files to a temp folder.
+ */
+@DisplayName("BackupEngine Tests")
+class BackupEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BulkV2Client bulkClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        bulkClient = mock(BulkV2Client.class);
+        doAnswer(invocation -> {
+            String objectName = invocation.getArgument(0);
+            String folder = invocation.getArgument(1);
+            if (objectName.startsWith("Bad")) {
+                throw new IOException("Failed to create query job: INVALID_FIELD");
+            }
+            if (objectName.startsWith("Unsupported")) {
+                throw new IOException("Entity 'X' is not supported by the Bulk API");
+            }
+            List<String> lines = Arrays.asList("\"Id\",\"Name\"", "\"001\",\"a\"", "\"002\",\"b\"");
+            Files.write(Path.of(folder, objectName + ".csv"), lines, StandardCharsets.UTF_8);
+            Writer tee = invocation.getArgument(6);
+            for (String line : lines) {
+                tee.write(line + "\n");
+            }
+            return null;
+        }).when(bulkClient).queryObject(anyString(), anyString(), any(), anyInt(), any(), any(), any());
+    }
+
+    private BackupEngine.Options options(String... objects) {
+        BackupEngine.Options options = new BackupEngine.Options();
+        options.setObjects(Arrays.asList(objects));
+        options.setOutputFolder(tempDir.toString());
+        options.setWorkers(1, 2, 4);
+        return options;
+    }
+
+    @Nested
+    @DisplayName("Running a backup")
+    class RunTests {
+
+        @Test
+        @DisplayName("Backs up every object and reports progress and results")
+        void testRunAllObjects() throws Exception {
+            Map<String, BackupEngine.ObjectResult> finished = new ConcurrentHashMap<>();
+            AtomicInteger progressCalls = new AtomicInteger();
+            BackupEngine engine = new BackupEngine(bulkClient, new BackupEngine.Listener() {
+                @Override
+                public void onObjectFinished(BackupEngine.ObjectResult result) {
+                    finished.put(result.getObjectName(), result);
+                }
+
+                @Override
+                public void onProgress(int completed, int total, int successful, int failed) {
+                    progressCalls.incrementAndGet();
+                }
+            });
+
+            BackupEngine.Result result = engine.run(options("Account", "Contact", "Lead"));
+
+            assertEquals(3, result.getTotalObjects());
+            assertEquals(3, result.getSuccessful());
+            assertEquals(0, result.getFailed());
+            assertEquals(6, result.getTotalRecords());
+            assertEquals(3, progressCalls.get());
+            assertEquals(BackupEngine.Outcome.COMPLETED, finished.get("Account").getOutcome());
+            assertEquals(2, finished.get("Account").getRecordCount());
+        }
+
+        @Test
+        @DisplayName("Unsupported objects are skipped and real errors are failures")
+        void testFailureClassification() throws Exception {
+            BackupEngine.Result result = new BackupEngine(bulkClient, null)
+                .run(options("Account", "BadObject", "UnsupportedObject"));
+
+            assertEquals(1, result.getSuccessful());
+            assertEquals(1, result.getFailed());
+            Map<String, BackupEngine.ObjectResult> byName = new HashMap<>();
+            result.getObjectResults().forEach(r -> byName.put(r.getObjectName(), r));
+            assertEquals(BackupEngine.Outcome.FAILED, byName.get("BadObject").getOutcome());
+            assertEquals("INVALID_FIELD", byName.get("BadObject").getErrorMessage());
+            assertEquals(BackupEngine.Outcome.UNSUPPORTED, byName.get("UnsupportedObject").getOutcome());
+        }
+
+        @Test
+        @DisplayName("Known record counts order the plan")
+        void testPlanUsesRecordCounts() throws Exception {
+            List<String> order = new ArrayList<>();
+            BackupEngine engine = new BackupEngine(bulkClient, new BackupEngine.Listener() {
+                @Override
+                public void onRunStarted(BackupWorkPlanner.Plan plan, AdaptiveConcurrencyController concurrency) {
+                    order.addAll(plan.getOrder());
+                }
+            });
+            BackupEngine.Options options = options("Account", "Contact", "Lead");
+            options.setCurrentRecordCounts(Map.of("Lead", 5_000_000L, "Contact", 20_000L));
+
+            engine.run(options);
+
+            assertEquals(List.of("Lead", "Contact", "Account"), order);
+        }
+
+        @Test
+        @DisplayName("Custom WHERE clause and field selection are passed to the query")
+        void testQueryArguments() throws Exception {
+            BackupEngine.Options options = options("Account");
+            options.setCustomWhere("WHERE Industry = 'Tech'");
+            options.setRecordLimit(50);
+            Set<String> fields = new HashSet<>(Arrays.asList("Id", "Name"));
+            options.setSelectedFields("Account", fields);
+
+            new BackupEngine(bulkClient, null).run(options);
+
+            verify(bulkClient).queryObject(eq("Account"), eq(tempDir.toString()), eq("Industry = 'Tech'"),
+                eq(50), eq(fields), any(), any());
+        }
+
+        @Test
+        @DisplayName("Database sinks are connected, written and disconnected")
+        void testDatabaseSink() throws Exception {
+            DataSink sink = mock(DataSink.class);
+            when(sink.getType()).thenReturn("PostgreSQL");
+            when(sink.getDisplayName()).thenReturn("PostgreSQL (test)");
+            when(sink.writeData(anyString(), any(Reader.class), anyString(), any())).thenReturn(2);
+            BackupEngine.Options options = options("Account", "Contact");
+            options.setDataSink(sink);
+
+            BackupEngine.Result result = new BackupEngine(bulkClient, null).run(options);
+
+            assertEquals(2, result.getSuccessful());
+            verify(sink).connect();
+            verify(sink).writeData(eq("Account"), any(Reader.class), anyString(), any());
+            verify(sink).writeData(eq("Contact"), any(Reader.class), anyString(), any());
+            verify(sink).disconnect();
+        }
+
+        @Test
+        @DisplayName("Database sinks load the download stream without re-reading the CSV file")
+        void testDatabaseSinkStreamsDownload() throws Exception {
+            DataSink sink = mock(DataSink.class);
+            when(sink.getType()).thenReturn("PostgreSQL");
+            when(sink.getDisplayName()).thenReturn("PostgreSQL (test)");
+            Map<String, String> received = new ConcurrentHashMap<>();
+            when(sink.writeData(anyString(), any(Reader.class), anyString(), any())).thenAnswer(invocation -> {
+                StringWriter content = new StringWriter();
+                ((Reader) invocation.getArgument(1)).transferTo(content);
+                received.put(invocation.getArgument(0), content.toString());
+                return 2;
+            });
+            BackupEngine.Options options = options("Account");
+            options.setDataSink(sink);
+
+            BackupEngine.Result result = new BackupEngine(bulkClient, null).run(options);
+
+            assertEquals(2, result.getTotalRecords());
+            assertEquals("\"Id\",\"Name\"\n\"001\",\"a\"\n\"002\",\"b\"\n", received.get("Account"));
+        }
+
+        @Test
+        @DisplayName("Objects some destinations didn't get are not recorded as completed in history")
+        void testPartialWriteNotRecorded() throws Exception {
+            DataSink sink = mock(DataSink.class);
+            when(sink.getType()).thenReturn("COMPOSITE");
+            when(sink.getDisplayName()).thenReturn("CSV + DuckDB");
+            when(sink.writeData(anyString(), any(Reader.class), anyString(), any())).thenAnswer(invocation -> {
+                ((Reader) invocation.getArgument(1)).transferTo(Writer.nullWriter());
+                throw new PartialWriteException(2, List.of("DuckDB"), new IOException("disk full"));
+            });
+            BackupEngine.Options options = options("Account");
+            options.setDataSink(sink);
+            BackupRun historyRun = new BackupRun();
+            options.setHistoryRun(historyRun);
+
+            BackupEngine.Result result = new BackupEngine(bulkClient, null).run(options);
+
+            assertEquals(1, result.getSuccessful());
+            assertEquals("Not written to DuckDB: disk full", result.getObjectResults().get(0).getErrorMessage());
+            ObjectBackupResult history = historyRun.getObjectResults().get(0);
+            assertEquals("FAILED", history.getStatus());
+            assertEquals("Not written to DuckDB: disk full", history.getErrorMessage());
+        }
+
+        @Test
+        @DisplayName("An object no destination got is failed and not recorded as completed")
+        void testFailedWriteNotRecorded() throws Exception {
+            DataSink sink = mock(DataSink.class);
+            when(sink.getType()).thenReturn("PostgreSQL");
+            when(sink.getDisplayName()).thenReturn("PostgreSQL (test)");
+            when(sink.writeData(anyString(), any(Reader.class), anyString(), any())).thenAnswer(invocation -> {
+                ((Reader) invocation.getArgument(1)).transferTo(Writer.nullWriter());
+                throw new IOException("disk full");
+            });
+            BackupEngine.Options options = options("Account");
+            options.setDataSink(sink);
+            BackupRun historyRun = new BackupRun();
+            options.setHistoryRun(historyRun);
+
+            BackupEngine.Result result = new BackupEngine(bulkClient, null).run(options);
+
+            assertEquals(0, result.getSuccessful());
+            assertEquals(1, result.getFailed());
+            assertEquals("Failed to write to PostgreSQL (test): disk full",
+                result.getObjectResults().get(0).getErrorMessage());
+            ObjectBackupResult history = historyRun.getObjectResults().get(0);
+            assertEquals("FAILED", history.getStatus());
+            assertEquals("Failed to write to PostgreSQL (test): disk full", history.getErrorMessage());
+        }
+
+        @Test
+        @DisplayName("A sink that fails to connect stops the run before any query")
+        void testSinkConnectFailure() throws Exception {
+            DataSink sink = mock(DataSink.class);
+            when(sink.getType()).thenReturn("PostgreSQL");
+            when(sink.getDisplayName()).thenReturn("PostgreSQL (test)");
+            doThrow(new RuntimeException("refused")).when(sink).connect();
+            BackupEngine.Options options = options("Account");
+            options.setDataSink(sink);
+
+            assertThrows(IllegalStateException.class, () -> new BackupEngine(bulkClient, null).run(options));
+            verify(bulkClient, never()).queryObject(anyString(), anyString(), any(), anyInt(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Helpers")
+    class HelperTests {
+
+        @Test
+        @DisplayName("History timestamps convert to SOQL datetimes")
+        void testToSoqlDateTime() {
+            assertEquals("2025-12-22T22:49:05Z", BackupEngine.toSoqlDateTime("2025-12-22T22:49:05.6774347"));
+            assertEquals("2025-12-22T22:49:05Z", BackupEngine.toSoqlDateTime("2025-12-22T22:49:05"));
+            assertEquals("2025-12-22T22:49:05Z", BackupEngine.toSoqlDateTime("2025-12-22T22:49:05Z"));
+        }
+
+        @Test
+        @DisplayName("Leading WHERE is stripped from custom filters")
+        void testNormalizeCustomWhere() {
+            assertEquals("Name != null", BackupEngine.normalizeCustomWhere("  where Name != null "));
+            assertNull(BackupEngine.normalizeCustomWhere("   "));
+            assertNull(BackupEngine.normalizeCustomWhere(null));
+        }
+
+        @Test
+        @DisplayName("Objects without LastModifiedDate are detected")
+        void testSupportsLastModifiedDate() {
+            assertTrue(BackupEngine.supportsLastModifiedDate("Account"));
+            assertFalse(BackupEngine.supportsLastModifiedDate("AccountHistory"));
+            assertFalse(BackupEngine.supportsLastModifiedDate("Setting__mdt"));
+            assertFalse(BackupEngine.supportsLastModifiedDate("ContentDocumentLink"));
+        }
+
+        @Test
+        @DisplayName("CSV files are compressed into one ZIP")
+        void testCompressCsvFiles() throws IOException {
+            Files.write(tempDir.resolve("Account.csv"), Collections.singletonList("Id"), StandardCharsets.UTF_8);
+            Files.write(tempDir.resolve("Contact.csv"), Collections.singletonList("Id"), StandardCharsets.UTF_8);
+
+            String zipPath = BackupEngine.compressCsvFiles(tempDir.toString());
+
+            assertNotNull(zipPath);
+            assertTrue(Files.exists(Path.of(zipPath)));
+            assertFalse(Files.exists(tempDir.resolve("Account.csv")));
+        }
+
+        @Test
+        @DisplayName("CSV part sets are compressed with their manifest")
+        void testCompressCsvPartSets() throws IOException {
+            try (CsvPartWriter parts = new CsvPartWriter(tempDir, "Task", 4)) {
+                parts.write("Id\n001\n002\n");
+            }
+
+            String zipPath = BackupEngine.compressCsvFiles(tempDir.toString());
+
+            assertNotNull(zipPath);
+            try (java.util.zip.ZipFile zip = new java.util.zip.ZipFile(zipPath)) {
+                assertNotNull(zip.getEntry("Task/part-00001.csv"));
+                assertNotNull(zip.getEntry("Task/" + CsvPartSet.MANIFEST_FILE));
+            }
+            assertFalse(Files.exists(tempDir.resolve("Task")));
+        }
+    }
+}
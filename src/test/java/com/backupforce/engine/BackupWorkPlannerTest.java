@@ -0,0 +1,118 @@
+package com.backupforce.engine;
+
+import com.backupforce.config.BackupHistory.ObjectBackupResult;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BackupWorkPlanner.
+ * Tests duration estimates, longest-first ordering and makespan prediction.
+ */
+@DisplayName("BackupWorkPlanner Tests")
+class BackupWorkPlannerTest {
+
+    private static ObjectBackupResult result(String objectName, long records, long durationMs) {
+        ObjectBackupResult result = new ObjectBackupResult(objectName);
+        result.setStatus("COMPLETED");
+        result.setRecordCount(records);
+        result.setDurationMs(durationMs);
+        return result;
+    }
+
+    private BackupWorkPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, ObjectBackupResult> history = new HashMap<>();
+        history.put("Account", result("Account", 1_000_000, 605_000));
+        history.put("Contact", result("Contact", 100_000, 65_000));
+        history.put("Task", result("Task", 2_000, 0)); // duration not recorded
+        ObjectBackupResult opportunity = result("Opportunity", 500, 5_300); // incremental: changed records only
+        opportunity.setFiltered(true);
+        history.put("Opportunity", opportunity);
+        planner = new BackupWorkPlanner(history);
+    }
+
+    @Nested
+    @DisplayName("Estimates")
+    class EstimateTests {
+
+        @Test
+        @DisplayName("Uses the last recorded duration")
+        void testHistoryDuration() {
+            assertEquals(605_000, planner.estimateDurationMs("Account", -1));
+        }
+
+        @Test
+        @DisplayName("Scales the last duration by the current record count")
+        void testScaledByRecordCount() {
+            assertEquals(1_210_000, planner.estimateDurationMs("Account", 2_000_000));
+        }
+
+        @Test
+        @DisplayName("Doesn't scale from a filtered run's partial record count")
+        void testFilteredRunNotScaled() {
+            assertEquals(BackupWorkPlanner.DEFAULT_OBJECT_OVERHEAD_MS + 600_000,
+                planner.estimateDurationMs("Opportunity", 1_000_000));
+        }
+
+        @Test
+        @DisplayName("Falls back to records times learned throughput")
+        void testRecordCountFallback() {
+            // Learned rate: (600,000 + 60,000 + 300) ms / 1,100,500 records = 0.6 ms per record
+            assertEquals(BackupWorkPlanner.DEFAULT_OBJECT_OVERHEAD_MS + 1_200, planner.estimateDurationMs("Task", -1));
+        }
+
+        @Test
+        @DisplayName("Objects without history get the fixed overhead")
+        void testNoHistory() {
+            assertFalse(planner.hasHistory("Lead"));
+            assertEquals(BackupWorkPlanner.DEFAULT_OBJECT_OVERHEAD_MS, planner.estimateDurationMs("Lead", -1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Planning")
+    class PlanTests {
+
+        @Test
+        @DisplayName("Orders objects longest-first")
+        void testLongestFirst() {
+            BackupWorkPlanner.Plan plan = planner.plan(Arrays.asList("Lead", "Task", "Contact", "Account"), null, 2);
+
+            assertEquals(Arrays.asList("Account", "Contact", "Task", "Lead"), plan.getOrder());
+            assertEquals(3, plan.getObjectsWithHistory());
+            assertTrue(plan.getSummary().startsWith("Predicted duration: ~"));
+        }
+
+        @Test
+        @DisplayName("Predicts the makespan of a fixed pool")
+        void testMakespan() {
+            assertEquals(10, BackupWorkPlanner.predictMakespan(Arrays.asList(10L, 4L, 3L, 3L), 2));
+            assertEquals(20, BackupWorkPlanner.predictMakespan(Arrays.asList(10L, 4L, 3L, 3L), 1));
+            assertEquals(0, BackupWorkPlanner.predictMakespan(Collections.emptyList(), 5));
+        }
+
+        @Test
+        @DisplayName("Longest-first beats a large object starting last")
+        void testBetterThanLargeLast() {
+            List<Long> largeLast = Arrays.asList(1L, 1L, 1L, 1L, 10L);
+            List<Long> largeFirst = Arrays.asList(10L, 1L, 1L, 1L, 1L);
+            assertTrue(BackupWorkPlanner.predictMakespan(largeFirst, 2) < BackupWorkPlanner.predictMakespan(largeLast, 2));
+        }
+
+        @Test
+        @DisplayName("Sorts arbitrary items into plan order")
+        void testSortItems() {
+            BackupWorkPlanner.Plan plan = planner.plan(Arrays.asList("Task", "Account"), null, 5);
+            List<String> items = Arrays.asList("task", "unknown", "account");
+
+            List<String> sorted = plan.sort(items, item -> Character.toUpperCase(item.charAt(0)) + item.substring(1));
+
+            assertEquals(Arrays.asList("account", "task", "unknown"), sorted);
+        }
+    }
+}
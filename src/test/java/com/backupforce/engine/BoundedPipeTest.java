@@ -0,0 +1,114 @@
+package com.backupforce.engine;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BoundedPipe and RecordCountingWriter.
+ */
+@DisplayName("BoundedPipe Tests")
+class BoundedPipeTest {
+
+    @Nested
+    @DisplayName("Pipe")
+    class PipeTests {
+
+        @Test
+        @DisplayName("Reader receives everything the writer wrote, across many small chunks")
+        void testRoundTrip() throws Exception {
+            BoundedPipe pipe = new BoundedPipe(2, 4);
+            CompletableFuture<String> read = CompletableFuture.supplyAsync(() -> {
+                try (Reader reader = pipe.reader()) {
+                    StringWriter out = new StringWriter();
+                    reader.transferTo(out);
+                    return out.toString();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            StringBuilder expected = new StringBuilder();
+            try (Writer writer = pipe.writer()) {
+                for (int i = 0; i < 500; i++) {
+                    String line = "\"" + i + "\",\"row\"\n";
+                    writer.write(line);
+                    expected.append(line);
+                }
+            }
+
+            assertEquals(expected.toString(), read.get(5, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("Writer keeps going after the reader closes early")
+        void testReaderClosedEarly() throws Exception {
+            BoundedPipe pipe = new BoundedPipe(1, 4);
+            pipe.reader().close();
+
+            Writer writer = pipe.writer();
+            for (int i = 0; i < 100; i++) {
+                writer.write("abcdefgh");
+            }
+            writer.close();
+        }
+
+        @Test
+        @DisplayName("Reader sees the writer's failure instead of a clean end of stream")
+        void testWriterFailure() throws Exception {
+            BoundedPipe pipe = new BoundedPipe();
+            pipe.writer().write("partial");
+            pipe.writer().flush();
+            pipe.fail(new IOException("connection reset"));
+
+            Reader reader = pipe.reader();
+            char[] buffer = new char[32];
+            assertEquals(7, reader.read(buffer));
+            IOException e = assertThrows(IOException.class, () -> reader.read(buffer));
+            assertTrue(e.getMessage().contains("connection reset"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Record counting")
+    class CountingTests {
+
+        @Test
+        @DisplayName("Counts data records and passes text through")
+        void testCountsRecords() throws IOException {
+            StringWriter out = new StringWriter();
+            RecordCountingWriter counter = new RecordCountingWriter(out);
+
+            counter.write("\"Id\",\"Name\"\n\"001\",\"a\"\n\"002\",\"b\"\n");
+
+            assertEquals(2, counter.getRecordCount());
+            assertEquals("\"Id\",\"Name\"\n\"001\",\"a\"\n\"002\",\"b\"\n", out.toString());
+        }
+
+        @Test
+        @DisplayName("Line breaks and escaped quotes inside values are not record breaks")
+        void testQuotedLineBreaks() throws IOException {
+            RecordCountingWriter counter = new RecordCountingWriter(null);
+
+            counter.write("\"Id\",\"Description\"\r\n\"001\",\"line one\nline \"\"two\"\"\"\r\n\"002\",\"x\"");
+
+            assertEquals(2, counter.getRecordCount());
+        }
+
+        @Test
+        @DisplayName("Header-only and empty output count as zero records")
+        void testEmpty() throws IOException {
+            RecordCountingWriter counter = new RecordCountingWriter(null);
+            assertEquals(0, counter.getRecordCount());
+            counter.write("\"Id\"\n\n");
+            assertEquals(0, counter.getRecordCount());
+        }
+    }
+}
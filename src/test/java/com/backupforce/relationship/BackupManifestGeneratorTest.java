@@ -1,6 +1,7 @@
 package com.backupforce.relationship;
 
 import com.backupforce.relationship.BackupManifestGenerator.RelatedObjectInfo;
+import com.backupforce.restore.BackupManifestLoader;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.io.TempDir;
@@ -63,6 +64,25 @@ class BackupManifestGeneratorTest {
         assertEquals(2, info.getDepth());
     }
     
+    @Test
+    @DisplayName("Generating the manifest keeps the extraction profile recorded by the backup")
+    void testGenerateManifestKeepsExtractionInfo() throws Exception {
+        BackupManifestGenerator.writeExtractionInfo(tempDir.toString(), "LEAN",
+            Map.of("Account", Map.of("Description", "long text")));
+        BackupManifestGenerator generator = new BackupManifestGenerator("https://test.my.salesforce.com", "token", "62.0");
+        generator.setCaptureExternalIds(false);
+        generator.setCaptureFieldMetadata(false);
+        generator.setGenerateIdMapping(false);
+        
+        generator.generateManifest(tempDir.toString(), List.of("Account", "Contact"), List.of("Account"),
+            List.of(new RelatedObjectInfo("Contact", "Account", "AccountId", 1, true)));
+        
+        BackupManifestLoader.BackupManifest manifest = new BackupManifestLoader(tempDir).loadManifest();
+        assertTrue(manifest.isRelationshipAware());
+        assertEquals("LEAN", manifest.extractionProfile);
+        assertEquals(Map.of("Description", "long text"), manifest.getExcludedFields("Account"));
+    }
+    
     // ==================== Manifest JSON Structure Tests ====================
     
     @Test
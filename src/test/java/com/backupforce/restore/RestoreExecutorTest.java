@@ -1,8 +1,14 @@
 package com.backupforce.restore;
 
+import com.backupforce.bulkv2.CsvPartSet;
+import com.backupforce.bulkv2.CsvPartWriter;
 import com.backupforce.restore.RestoreExecutor.*;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -61,6 +67,77 @@ class RestoreExecutorTest {
         }
     }
     
+    @Nested
+    @DisplayName("Extraction profile exclusions")
+    class ExcludedFieldsTests {
+        
+        @TempDir
+        Path backupFolder;
+        
+        @Test
+        @DisplayName("Options have no excluded fields by default")
+        void testDefaultNoExclusions() {
+            RestoreOptions options = new RestoreOptions();
+            
+            assertTrue(options.getExcludedFields().isEmpty());
+            options.setExcludedFields(null);
+            assertTrue(options.getExcludedFields().isEmpty());
+        }
+        
+        @Test
+        @DisplayName("Excluded fields are read from the backup manifest")
+        void testReadExcludedFields() throws IOException {
+            Files.writeString(backupFolder.resolve(BackupManifestLoader.MANIFEST_FILENAME),
+                "{\"extraction\": {\"profile\": \"LEAN\", \"excludedFields\": "
+                + "{\"Account\": {\"Description\": \"long text\"}}}}");
+            
+            assertEquals(Map.of("Description", "long text"),
+                BackupManifestLoader.readExcludedFields(backupFolder, "Account"));
+            assertTrue(BackupManifestLoader.readExcludedFields(backupFolder, "Contact").isEmpty());
+        }
+        
+        @Test
+        @DisplayName("Backups without a manifest have no excluded fields")
+        void testNoManifest() {
+            assertTrue(BackupManifestLoader.readExcludedFields(backupFolder, "Account").isEmpty());
+        }
+    }
+    
+    @Nested
+    @DisplayName("CSV Reading Tests")
+    class CsvReadingTests {
+        
+        @TempDir
+        Path backupFolder;
+        
+        @SuppressWarnings("unchecked")
+        private List<Map<String, String>> readCsvRecords(Path csvPath) throws Exception {
+            java.lang.reflect.Method method = RestoreExecutor.class.getDeclaredMethod("readCsvRecords", Path.class);
+            method.setAccessible(true);
+            RestoreExecutor executor = new RestoreExecutor("https://test.my.salesforce.com", "token", "62.0");
+            return (List<Map<String, String>>) method.invoke(executor, csvPath);
+        }
+        
+        @Test
+        @DisplayName("Objects written as CSV parts are read from their folder as one CSV")
+        void testReadCsvParts() throws Exception {
+            StringBuilder csv = new StringBuilder("\"Id\",\"Name\"\n");
+            for (int i = 0; i < 20; i++) {
+                csv.append("\"00").append(i).append("\",\"Account ").append(i).append("\"\n");
+            }
+            try (CsvPartWriter writer = new CsvPartWriter(backupFolder, "Account", 100)) {
+                writer.write(csv.toString());
+            }
+            assertTrue(CsvPartSet.load(backupFolder, "Account").getParts().size() > 1);
+            
+            List<Map<String, String>> records = readCsvRecords(CsvPartSet.directory(backupFolder, "Account"));
+            
+            assertEquals(20, records.size());
+            assertEquals(Map.of("Id", "000", "Name", "Account 0"), records.get(0));
+            assertEquals(Map.of("Id", "0019", "Name", "Account 19"), records.get(19));
+        }
+    }
+    
     @Nested
     @DisplayName("RestoreResult Tests")
     class RestoreResultTests {
@@ -0,0 +1,138 @@
+package com.backupforce.sink;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchPipeline: read-ahead into rotating buffers with backpressure.
+ */
+@DisplayName("BatchPipeline Tests")
+class BatchPipelineTest {
+
+    /**
+     * Counts the rows handed out, optionally failing at a given row
+     */
+    private static class CountingRows implements Iterator<Integer> {
+        final AtomicInteger read = new AtomicInteger();
+        final int total;
+        final int failAt;
+
+        CountingRows(int total, int failAt) {
+            this.total = total;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return read.get() < total;
+        }
+
+        @Override
+        public Integer next() {
+            int row = read.getAndIncrement();
+            if (row == failAt) {
+                throw new IllegalStateException("bad row " + row);
+            }
+            return row;
+        }
+    }
+
+    private static List<Integer> sizes(BatchPipeline<Integer> pipeline) throws Exception {
+        List<Integer> sizes = new ArrayList<>();
+        List<Integer> batch;
+        while ((batch = pipeline.take()) != null) {
+            sizes.add(batch.size());
+            pipeline.recycle(batch);
+        }
+        return sizes;
+    }
+
+    @Test
+    @DisplayName("Rows are split into batches of the row limit")
+    void testBatchesByRows() throws Exception {
+        try (BatchPipeline<Integer> pipeline = BatchPipeline.start("test", new CountingRows(25, -1), 3, 10, null, 0)) {
+            assertEquals(List.of(10, 10, 5), sizes(pipeline));
+            assertNull(pipeline.take());
+        }
+    }
+
+    @Test
+    @DisplayName("Batches are cut early once their rows reach the weight limit")
+    void testBatchesByWeight() throws Exception {
+        try (BatchPipeline<Integer> pipeline = BatchPipeline.start("test", new CountingRows(10, -1), 2, 100,
+                row -> row == 0 ? 50 : 10, 60)) {
+            assertEquals(List.of(2, 6, 2), sizes(pipeline));
+        }
+    }
+
+    @Test
+    @DisplayName("The reader waits for a free buffer instead of reading ahead without bound")
+    void testBackpressure() throws Exception {
+        CountingRows rows = new CountingRows(1000, -1);
+        try (BatchPipeline<Integer> pipeline = BatchPipeline.start("test", rows, 3, 10, null, 0)) {
+            List<Integer> first = pipeline.take();
+            // One batch taken, two buffered; the reader must stop after the third buffer
+            long deadline = System.currentTimeMillis() + 2000;
+            while (rows.read.get() < 30 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            Thread.sleep(50);
+            assertEquals(30, rows.read.get());
+
+            pipeline.recycle(first);
+            deadline = System.currentTimeMillis() + 2000;
+            while (rows.read.get() < 40 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            Thread.sleep(50);
+            assertEquals(40, rows.read.get());
+        }
+    }
+
+    @Test
+    @DisplayName("A failure reading rows is rethrown after the batches read before it")
+    void testReaderFailure() throws Exception {
+        try (BatchPipeline<Integer> pipeline = BatchPipeline.start("test", new CountingRows(100, 15), 3, 10, null, 0)) {
+            assertEquals(10, pipeline.take().size());
+            IllegalStateException e = assertThrows(IllegalStateException.class, pipeline::take);
+            assertEquals("bad row 15", e.getMessage());
+            assertNull(pipeline.take());
+        }
+    }
+
+    @Test
+    @DisplayName("Closing stops a reader waiting for a free buffer")
+    void testClose() throws Exception {
+        Iterator<Integer> endless = new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return 1;
+            }
+        };
+        BatchPipeline<Integer> pipeline = BatchPipeline.start("close-test", endless, 2, 10, null, 0);
+        pipeline.take();
+
+        pipeline.close();
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (readerAlive("close-test") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(readerAlive("close-test"));
+    }
+
+    private static boolean readerAlive(String name) {
+        return Thread.getAllStackTraces().keySet().stream().anyMatch(t -> t.getName().equals(name) && t.isAlive());
+    }
+}
@@ -0,0 +1,74 @@
+package com.backupforce.sink;
+
+import com.backupforce.sink.dialect.PostgresDialect;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchSizer: batch sizes converge on the target payload and latency.
+ */
+@DisplayName("BatchSizer Tests")
+class BatchSizerTest {
+
+    private static final long MS = 1_000_000L;
+
+    // 1 MB or 100 ms per batch, between 10 and 10000 rows
+    private static BatchSizer sizer(int initial) {
+        return new BatchSizer(initial, 10, 10000, 1024 * 1024, 100);
+    }
+
+    private static int converge(BatchSizer sizer, long bytesPerRow, double msPerRow) {
+        int size = sizer.getBatchSize();
+        for (int i = 0; i < 30; i++) {
+            size = sizer.record(size, size * bytesPerRow, (long) (size * msPerRow * MS));
+        }
+        return size;
+    }
+
+    @Test
+    @DisplayName("Starts from the dialect's hint within its bounds")
+    void testStartsFromDialect() {
+        BatchSizer sizer = BatchSizer.forDialect(new PostgresDialect());
+        assertEquals(5000, sizer.getBatchSize());
+        assertEquals(1000, new BatchSizer(50000, 10, 1000, 1, 1).getBatchSize());
+    }
+
+    @Test
+    @DisplayName("Wide rows shrink batches to the target payload")
+    void testWideRows() {
+        // 10 KB rows, fast: 1 MB / 10 KB = ~102 rows
+        int size = converge(sizer(1000), 10 * 1024, 0.01);
+        assertTrue(size >= 95 && size <= 110, "size " + size);
+    }
+
+    @Test
+    @DisplayName("Narrow fast rows grow batches up to the maximum")
+    void testNarrowRows() {
+        assertEquals(10000, converge(sizer(1000), 50, 0.001));
+    }
+
+    @Test
+    @DisplayName("Slow round trips shrink batches to the target latency")
+    void testSlowRows() {
+        // 2 ms per row: 100 ms / 2 ms = 50 rows
+        int size = converge(sizer(1000), 50, 2);
+        assertTrue(size >= 45 && size <= 55, "size " + size);
+    }
+
+    @Test
+    @DisplayName("A single slow batch at most halves the size")
+    void testStepLimit() {
+        BatchSizer sizer = sizer(1000);
+        assertEquals(500, sizer.record(1000, 1000, 100_000 * MS));
+        assertEquals(10, converge(sizer, 50, 1000));
+    }
+
+    @Test
+    @DisplayName("Empty batches leave the size unchanged")
+    void testEmptyBatch() {
+        BatchSizer sizer = sizer(1000);
+        assertEquals(1000, sizer.record(0, 0, 0));
+        assertTrue(sizer.describe().contains("no batches measured"));
+    }
+}
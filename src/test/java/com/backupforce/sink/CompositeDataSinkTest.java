@@ -0,0 +1,208 @@
+package com.backupforce.sink;
+
+import com.sforce.soap.partner.Field;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompositeDataSink
+ */
+@DisplayName("CompositeDataSink Tests")
+class CompositeDataSinkTest {
+
+    private static final String CSV = "\"Id\",\"Name\"\n\"001\",\"Acme, Inc\"\n\"002\",\"\"\n\"003\",\"x\"\n";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Collects the Ids it's given; takes batches unless {@code batches} is false
+     */
+    private static class RecordingSink implements DataSink {
+        final boolean batches;
+        final List<String> ids = new ArrayList<>();
+        String csv;
+        Exception connectFailure;
+        Exception writeFailure;
+        int stopAfterBatches = -1;
+
+        RecordingSink(boolean batches) {
+            this.batches = batches;
+        }
+
+        @Override
+        public void connect() throws Exception {
+            if (connectFailure != null) {
+                throw connectFailure;
+            }
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public boolean testConnection() {
+            return true;
+        }
+
+        @Override
+        public void prepareSink(String objectName, Field[] fields) {
+        }
+
+        @Override
+        public int writeData(String objectName, Reader csvReader, String backupId,
+                             ProgressCallback progressCallback) throws Exception {
+            try (BufferedReader reader = new BufferedReader(csvReader)) {
+                csv = reader.lines().collect(Collectors.joining("\n", "", "\n"));
+            }
+            return (int) csv.chars().filter(c -> c == '\n').count() - 1;
+        }
+
+        @Override
+        public boolean supportsRecordBatches() {
+            return batches;
+        }
+
+        @Override
+        public int writeBatches(String objectName, RecordBatchSource source, String backupId,
+                                ProgressCallback progressCallback) throws Exception {
+            if (writeFailure != null) {
+                throw writeFailure;
+            }
+            RecordBatch batch;
+            int taken = 0;
+            while (taken != stopAfterBatches && (batch = source.next()) != null) {
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    ids.add(batch.get(row, 0));
+                }
+                taken++;
+            }
+            return ids.size();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Recording";
+        }
+
+        @Override
+        public String getType() {
+            return "TEST";
+        }
+    }
+
+    private static int write(DataSink sink, String csv) throws Exception {
+        return sink.writeData("Account", new StringReader(csv), "backup-1", null);
+    }
+
+    @Test
+    @DisplayName("Every sink receives every record")
+    void testFanOut() throws Exception {
+        RecordingSink first = new RecordingSink(true);
+        CsvFileSink csvSink = new CsvFileSink(tempDir.toString());
+        CompositeDataSink sink = new CompositeDataSink(Arrays.asList(first, csvSink));
+        sink.connect();
+
+        assertEquals(3, write(sink, CSV));
+
+        assertEquals(Arrays.asList("001", "002", "003"), first.ids);
+        assertEquals(CSV, Files.readString(tempDir.resolve("Account.csv")).replace(System.lineSeparator(), "\n"));
+        assertEquals(3, sink.getStats().get(0).getRecordsWritten());
+        assertEquals(1, sink.getStats().get(1).getObjectsWritten());
+        assertEquals("Recording + " + csvSink.getDisplayName(), sink.getDisplayName());
+    }
+
+    @Test
+    @DisplayName("Sinks that only take CSV get the batches as CSV")
+    void testCsvOnlySink() throws Exception {
+        RecordingSink csvOnly = new RecordingSink(false);
+        CompositeDataSink sink = new CompositeDataSink(Arrays.asList(new RecordingSink(true), csvOnly));
+
+        assertEquals(3, write(sink, CSV));
+
+        assertEquals(CSV, csvOnly.csv);
+    }
+
+    @Test
+    @DisplayName("A failing sink doesn't stop the others")
+    void testFailureIsolation() throws Exception {
+        RecordingSink failing = new RecordingSink(true);
+        failing.writeFailure = new IllegalStateException("disk full");
+        RecordingSink working = new RecordingSink(true);
+        CompositeDataSink sink = new CompositeDataSink(Arrays.asList(failing, working));
+
+        PartialWriteException e = assertThrows(PartialWriteException.class, () -> write(sink, CSV));
+        assertEquals(3, e.getRecordsWritten());
+        assertEquals(List.of(failing.getDisplayName()), e.getFailedSinks());
+
+        assertEquals(3, working.ids.size());
+        assertEquals(1, sink.getStats().get(0).getObjectsFailed());
+        assertEquals("Account: disk full", sink.getStats().get(0).getLastError());
+        assertEquals(0, sink.getStats().get(1).getObjectsFailed());
+    }
+
+    @Test
+    @DisplayName("The write fails when every sink fails")
+    void testAllSinksFail() {
+        RecordingSink failing = new RecordingSink(true);
+        failing.writeFailure = new IllegalStateException("disk full");
+        CompositeDataSink sink = new CompositeDataSink(List.of(failing));
+
+        Exception e = assertThrows(IllegalStateException.class, () -> write(sink, CSV));
+        assertEquals("disk full", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Sinks that can't connect are left out of the run")
+    void testConnectFailure() throws Exception {
+        RecordingSink offline = new RecordingSink(true);
+        offline.connectFailure = new IllegalStateException("unreachable");
+        RecordingSink online = new RecordingSink(true);
+        CompositeDataSink sink = new CompositeDataSink(Arrays.asList(offline, online));
+
+        sink.connect();
+        // The sink left out doesn't get the object, so the write is only partial
+        PartialWriteException e = assertThrows(PartialWriteException.class, () -> write(sink, CSV));
+        assertEquals(3, e.getRecordsWritten());
+        assertEquals(List.of(offline.getDisplayName()), e.getFailedSinks());
+
+        assertTrue(sink.getStats().get(0).isDisabled());
+        assertTrue(offline.ids.isEmpty());
+        assertEquals(3, online.ids.size());
+
+        online.connectFailure = new IllegalStateException("also unreachable");
+        assertThrows(IllegalStateException.class, sink::connect);
+    }
+
+    @Test
+    @DisplayName("A sink that stops reading early doesn't block the others")
+    void testSinkStopsEarly() {
+        StringBuilder csv = new StringBuilder("Id\n");
+        for (int i = 0; i < 5000; i++) {
+            csv.append(i).append('\n');
+        }
+        RecordingSink stopping = new RecordingSink(true);
+        stopping.stopAfterBatches = 1;
+        RecordingSink reading = new RecordingSink(true);
+        CompositeDataSink sink = new CompositeDataSink(Arrays.asList(stopping, reading), 1);
+
+        int written = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> write(sink, csv.toString()));
+
+        assertEquals(RecordBatch.DEFAULT_CAPACITY, written);
+        assertEquals(5000, reading.ids.size());
+    }
+}
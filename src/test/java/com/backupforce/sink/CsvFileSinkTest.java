@@ -159,4 +159,20 @@ class CsvFileSinkTest {
         assertTrue(Files.exists(tempDir.resolve("Contact.csv")));
         assertTrue(Files.exists(tempDir.resolve("Opportunity.csv")));
     }
+    
+    @Test
+    @DisplayName("writeBatches writes parsed records back as quoted CSV")
+    void testWriteBatches() throws Exception {
+        String csvContent = "Id,Name,Notes\n001,\"Acme, Inc\",\n002,\"say \"\"hi\"\"\",x\n";
+        
+        assertTrue(sink.supportsRecordBatches());
+        int recordCount;
+        try (CsvRecordBatchReader batches = new CsvRecordBatchReader(new StringReader(csvContent))) {
+            recordCount = sink.writeBatches("Account", batches, "backup-1", null);
+        }
+        
+        assertEquals(2, recordCount);
+        assertEquals("\"Id\",\"Name\",\"Notes\"\n\"001\",\"Acme, Inc\",\"\"\n\"002\",\"say \"\"hi\"\"\",\"x\"\n",
+            Files.readString(tempDir.resolve("Account.csv")).replace(System.lineSeparator(), "\n"));
+    }
 }
@@ -0,0 +1,95 @@
+package com.backupforce.sink;
+
+import org.junit.jupiter.api.*;
+
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CsvRecordBatchReader
+ */
+@DisplayName("CsvRecordBatchReader Tests")
+class CsvRecordBatchReaderTest {
+
+    private static CsvRecordBatchReader reader(String csv, int batchRows) throws Exception {
+        return new CsvRecordBatchReader(new StringReader(csv), batchRows);
+    }
+
+    @Test
+    @DisplayName("Parses quoted fields with commas, line breaks and doubled quotes")
+    void testQuotedFields() throws Exception {
+        String csv = "\"Id\",\"Description\"\r\n"
+            + "\"001\",\"a, b\"\r\n"
+            + "\"002\",\"line 1\nline 2\"\r\n"
+            + "003,\"say \"\"hi\"\"\"\r\n";
+        try (CsvRecordBatchReader reader = reader(csv, 10)) {
+            assertEquals(Arrays.asList("Id", "Description"), reader.getColumnNames());
+
+            RecordBatch batch = reader.next();
+            assertEquals(3, batch.getRowCount());
+            assertEquals("a, b", batch.get(0, 1));
+            assertEquals("line 1\nline 2", batch.get(1, 1));
+            assertEquals("003", batch.get(2, 0));
+            assertEquals("say \"hi\"", batch.get(2, 1));
+            assertNull(reader.next());
+            assertEquals(3, reader.getRecordCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Empty and missing fields are null; extra fields and blank lines are ignored")
+    void testNulls() throws Exception {
+        String csv = "Id,Name,Amount\n001,,\"\"\n\n002\n003,x,1,extra\n";
+        try (CsvRecordBatchReader reader = reader(csv, 10)) {
+            RecordBatch batch = reader.next();
+
+            assertEquals(3, batch.getRowCount());
+            assertTrue(batch.isNull(0, 1));
+            assertTrue(batch.isNull(0, 2));
+            assertEquals("002", batch.get(1, 0));
+            assertTrue(batch.isNull(1, 1));
+            assertNull(batch.get(1, 2));
+            assertFalse(batch.isNull(2, 2));
+            assertEquals("1", batch.get(2, 2));
+        }
+    }
+
+    @Test
+    @DisplayName("Refills the same batch until the input runs out")
+    void testBatchReuse() throws Exception {
+        StringBuilder csv = new StringBuilder("Id\n");
+        for (int i = 0; i < 150; i++) {
+            csv.append(i).append('\n');
+        }
+        try (CsvRecordBatchReader reader = reader(csv.toString(), 64)) {
+            RecordBatch first = reader.next();
+            assertEquals(64, first.getRowCount());
+            assertEquals("0", first.get(0, 0));
+
+            RecordBatch second = reader.next();
+            assertSame(first, second);
+            assertEquals("64", second.get(0, 0));
+
+            RecordBatch third = reader.next();
+            assertEquals(22, third.getRowCount());
+            assertEquals("149", third.get(21, 0));
+            assertNull(reader.next());
+            assertEquals(150, reader.getRecordCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Input with only a header yields no batches")
+    void testHeaderOnly() throws Exception {
+        try (CsvRecordBatchReader reader = reader("\"Id\",\"Name\"\n", 10)) {
+            assertEquals(2, reader.getColumnNames().size());
+            assertNull(reader.next());
+        }
+        try (CsvRecordBatchReader reader = reader("", 10)) {
+            assertTrue(reader.getColumnNames().isEmpty());
+            assertNull(reader.next());
+        }
+    }
+}
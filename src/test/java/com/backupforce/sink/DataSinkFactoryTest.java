@@ -21,6 +21,46 @@ class DataSinkFactoryTest {
         assertEquals("Oracle", DataSinkFactory.DatabaseType.ORACLE.getDisplayName());
     }
     
+    @Test
+    @DisplayName("createParquetFileSink creates ParquetFileSink with correct directory")
+    void testCreateParquetFileSink() {
+        DataSink sink = DataSinkFactory.createParquetFileSink("/output/path",
+            ParquetFileSink.Compression.SNAPPY, 1024 * 1024);
+        
+        assertTrue(sink instanceof ParquetFileSink);
+        assertEquals("PARQUET", sink.getType());
+        assertTrue(sink.getDisplayName().contains("/output/path"));
+        assertEquals(ParquetFileSink.Compression.SNAPPY, ((ParquetFileSink) sink).getCompression());
+        assertEquals(1024 * 1024, ((ParquetFileSink) sink).getFileSizeBytes());
+    }
+    
+    @Test
+    @DisplayName("createDuckDbSink creates DuckDbSink with the chosen layout")
+    void testCreateDuckDbSink() {
+        DataSink sink = DataSinkFactory.createDuckDbSink("/output/path", DuckDbSink.Layout.PER_BACKUP);
+        
+        assertTrue(sink instanceof DuckDbSink);
+        assertEquals("DUCKDB", sink.getType());
+        assertTrue(sink.getDisplayName().contains("/output/path"));
+        assertEquals(DuckDbSink.Layout.PER_BACKUP, ((DuckDbSink) sink).getLayout());
+        assertEquals(DuckDbSink.Layout.ROLLING,
+            ((DuckDbSink) DataSinkFactory.createDuckDbSink("/output/path")).getLayout());
+    }
+    
+    @Test
+    @DisplayName("createFileSink creates the sinks of each file format")
+    void testCreateFileSink() {
+        assertEquals("CSV", DataSinkFactory.createFileSink(DataSinkFactory.FileFormat.CSV, "/output/path").getType());
+        assertEquals("CSV", DataSinkFactory.createFileSink(null, "/output/path").getType());
+        assertEquals("PARQUET", DataSinkFactory.createFileSink(DataSinkFactory.FileFormat.PARQUET, "/output/path").getType());
+        assertEquals("DUCKDB", DataSinkFactory.createFileSink(DataSinkFactory.FileFormat.DUCKDB, "/output/path").getType());
+        
+        DataSink both = DataSinkFactory.createFileSink(DataSinkFactory.FileFormat.PARQUET_AND_DUCKDB, "/output/path");
+        assertTrue(both instanceof CompositeDataSink);
+        assertTrue(both.getDisplayName().startsWith("Parquet"), both.getDisplayName());
+        assertTrue(both.getDisplayName().contains(" + DuckDB"), both.getDisplayName());
+    }
+    
     @Test
     @DisplayName("createCsvFileSink creates CsvFileSink with correct directory")
     void testCreateCsvFileSink() {
@@ -129,6 +169,22 @@ class DataSinkFactoryTest {
         assertTrue(sink.getDisplayName().contains("PostgreSQL"));
     }
     
+    @Test
+    @DisplayName("createMySqlSink creates JdbcDatabaseSink")
+    void testCreateMySqlSink() {
+        DataSink sink = DataSinkFactory.createMySqlSink(
+            "localhost",
+            3306,
+            "sf_backup",
+            "root",
+            "mypass"
+        );
+        
+        assertNotNull(sink);
+        assertTrue(sink instanceof JdbcDatabaseSink);
+        assertEquals("MySQL (localhost:3306/sf_backup)", sink.getDisplayName());
+    }
+    
     @Test
     @DisplayName("DatabaseType valueOf works for all types")
     void testDatabaseTypeValueOf() {
@@ -0,0 +1,150 @@
+package com.backupforce.sink;
+
+import com.sforce.soap.partner.Field;
+import com.sforce.soap.partner.FieldType;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DuckDbSink. The database is read back after the sink disconnects.
+ */
+@DisplayName("DuckDbSink Tests")
+class DuckDbSinkTest {
+
+    private static final String CSV = "\"Id\",\"Name\",\"Amount\",\"CloseDate\"\n"
+        + "\"001\",\"Acme, Inc\",\"1250.50\",\"2024-01-15\"\n"
+        + "\"002\",\"\",\"\",\"\"\n";
+
+    @TempDir
+    Path tempDir;
+
+    private static Field field(String name, FieldType type, int precision, int scale) {
+        Field field = new Field();
+        field.setName(name);
+        field.setType(type);
+        field.setPrecision(precision);
+        field.setScale(scale);
+        return field;
+    }
+
+    private static List<List<String>> query(Path database, String sql) throws Exception {
+        List<List<String>> rows = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:duckdb:" + database);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                List<String> row = new ArrayList<>();
+                for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                    row.add(rs.getString(i));
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Objects are loaded into typed tables indexed on Id")
+    void testLoad() throws Exception {
+        DuckDbSink sink = new DuckDbSink(tempDir.toString());
+        sink.connect();
+        sink.prepareSink("Opportunity", new Field[] {
+            field("Id", FieldType.id, 0, 0),
+            field("Amount", FieldType.currency, 18, 2),
+            field("CloseDate", FieldType.date, 0, 0)
+        });
+
+        assertEquals(2, sink.writeData("Opportunity", new StringReader(CSV), "backup-1", null));
+        sink.disconnect();
+
+        Path database = tempDir.resolve(DuckDbSink.ROLLING_DATABASE);
+        assertEquals(List.of(List.of("Id", "VARCHAR"), List.of("Name", "VARCHAR"),
+            List.of("Amount", "DECIMAL(18,2)"), List.of("CloseDate", "DATE"), List.of("backup_id", "VARCHAR")),
+            query(database, "SELECT column_name, data_type FROM information_schema.columns"
+                + " WHERE table_name = 'Opportunity' ORDER BY ordinal_position"));
+        assertEquals(List.of(Arrays.asList("Acme, Inc", "1250.50", "2024-01-15"), Arrays.asList(null, null, null)),
+            query(database, "SELECT Name, Amount, CloseDate FROM Opportunity ORDER BY Id"));
+        assertEquals(List.of(List.of("Opportunity_Id_idx")),
+            query(database, "SELECT index_name FROM duckdb_indexes() WHERE table_name = 'Opportunity'"));
+        assertEquals(List.of(List.of("backup-1", "2")),
+            query(database, "SELECT backup_id, record_count FROM " + DuckDbSink.LOADS_TABLE
+                + " WHERE object_name = 'Opportunity'"));
+    }
+
+    @Test
+    @DisplayName("A rolling database upserts each backup's records by Id and logs every load")
+    void testRollingUpsertsById() throws Exception {
+        DuckDbSink sink = new DuckDbSink(tempDir.toString());
+        sink.writeData("Account", new StringReader(CSV), "backup-1", null);
+        try (CsvRecordBatchReader batches = new CsvRecordBatchReader(new StringReader(
+                "\"Id\",\"Name\",\"Region\"\n\"002\",\"Globex\",\"EMEA\"\n\"003\",\"Initech\",\"\"\n"))) {
+            assertEquals(2, sink.writeBatches("Account", batches, "backup-2", null));
+        }
+        sink.disconnect();
+
+        Path database = tempDir.resolve(DuckDbSink.ROLLING_DATABASE);
+        assertEquals(List.of(Arrays.asList("001", "Acme, Inc", null, "backup-1"),
+            Arrays.asList("002", "Globex", "EMEA", "backup-2"), Arrays.asList("003", "Initech", null, "backup-2")),
+            query(database, "SELECT Id, Name, Region, backup_id FROM Account ORDER BY Id"));
+        assertEquals(List.of(List.of("backup-1", "2"), List.of("backup-2", "2")),
+            query(database, "SELECT backup_id, record_count FROM " + DuckDbSink.LOADS_TABLE + " ORDER BY backup_id"));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(DuckDbSink.ROLLING_DATABASE), files.map(p -> p.getFileName().toString())
+                .filter(name -> !name.endsWith(".wal")).collect(Collectors.toList()), "staging file should be removed");
+        }
+    }
+
+    @Test
+    @DisplayName("Objects without an Id are replaced by each load")
+    void testReplaceWithoutId() throws Exception {
+        DuckDbSink sink = new DuckDbSink(tempDir.toString());
+        sink.writeData("Setting", new StringReader("\"Name\"\n\"a\"\n\"b\"\n"), "backup-1", null);
+        sink.writeData("Setting", new StringReader("\"Name\"\n\"c\"\n"), "backup-2", null);
+        sink.disconnect();
+
+        assertEquals(List.of(List.of("c", "backup-2")),
+            query(tempDir.resolve(DuckDbSink.ROLLING_DATABASE), "SELECT * FROM Setting"));
+    }
+
+    @Test
+    @DisplayName("A failed load keeps the earlier table")
+    void testFailedLoadRollsBack() throws Exception {
+        DuckDbSink sink = new DuckDbSink(tempDir.toString());
+        sink.writeData("Account", new StringReader(CSV), "backup-1", null);
+
+        assertThrows(Exception.class, () -> sink.writeData("Account",
+            new StringReader("\"Id\",\"Name\"\n\"001\",\"unterminated\n"), "backup-2", null));
+        sink.disconnect();
+
+        assertEquals(List.of(List.of("2")),
+            query(tempDir.resolve(DuckDbSink.ROLLING_DATABASE), "SELECT COUNT(*) FROM Account"));
+    }
+
+    @Test
+    @DisplayName("The per-backup layout writes a new database file")
+    void testPerBackupLayout() throws Exception {
+        DuckDbSink sink = new DuckDbSink(tempDir.toString(), DuckDbSink.Layout.PER_BACKUP);
+        sink.connect();
+        sink.writeData("Account", new StringReader(CSV), "backup-1", null);
+        Path database = sink.getDatabaseFile();
+        sink.disconnect();
+
+        assertTrue(database.getFileName().toString().matches("backup_\\d{8}_\\d{6}\\.duckdb"), database.toString());
+        assertEquals(List.of(List.of("2")), query(database, "SELECT COUNT(*) FROM Account"));
+    }
+}
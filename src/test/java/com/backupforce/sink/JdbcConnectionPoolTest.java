@@ -0,0 +1,142 @@
+package com.backupforce.sink;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcConnectionPool.
+ * Tests reuse, bounding, validation on borrow, idle eviction and shared connections.
+ */
+@DisplayName("JdbcConnectionPool Tests")
+class JdbcConnectionPoolTest {
+    
+    private final List<Connection> opened = new CopyOnWriteArrayList<>();
+    
+    private Connection open() throws SQLException {
+        Connection connection = validConnection();
+        opened.add(connection);
+        return connection;
+    }
+    
+    private static Connection validConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        return connection;
+    }
+    
+    @Test
+    @DisplayName("Released connections are reused instead of reopened")
+    void testReuse() throws Exception {
+        JdbcConnectionPool pool = new JdbcConnectionPool(this::open, 2);
+        
+        Connection first = pool.borrow();
+        pool.release(first);
+        
+        assertSame(first, pool.borrow());
+        assertEquals(1, opened.size());
+    }
+    
+    @Test
+    @DisplayName("Borrowers wait while every connection is in use")
+    void testBounded() throws Exception {
+        JdbcConnectionPool pool = new JdbcConnectionPool(this::open, 1);
+        Connection held = pool.borrow();
+        CountDownLatch borrowed = new CountDownLatch(1);
+        AtomicReference<Connection> second = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                second.set(pool.borrow());
+                borrowed.countDown();
+            } catch (SQLException e) {
+                fail(e);
+            }
+        });
+        waiter.start();
+        
+        assertFalse(borrowed.await(200, TimeUnit.MILLISECONDS), "Second borrower should wait");
+        pool.release(held);
+        assertTrue(borrowed.await(5, TimeUnit.SECONDS));
+        assertSame(held, second.get());
+    }
+    
+    @Test
+    @DisplayName("Idle connections that fail validation are replaced")
+    void testValidationOnBorrow() throws Exception {
+        JdbcConnectionPool pool = new JdbcConnectionPool(this::open, 2);
+        Connection stale = pool.borrow();
+        pool.release(stale);
+        when(stale.isValid(anyInt())).thenReturn(false);
+        
+        Connection fresh = pool.borrow();
+        
+        assertNotSame(stale, fresh);
+        verify(stale).close();
+    }
+    
+    @Test
+    @DisplayName("Connections idle past the timeout are closed")
+    void testIdleEviction() throws Exception {
+        JdbcConnectionPool pool = new JdbcConnectionPool(this::open, 2);
+        Connection idle = pool.borrow();
+        pool.release(idle);
+        pool.setIdleTimeoutMs(0);
+        Thread.sleep(5);
+        
+        Connection next = pool.borrow();
+        
+        assertNotSame(idle, next);
+        verify(idle).close();
+    }
+    
+    @Test
+    @DisplayName("A shared connection is handed out first and never closed")
+    void testSharedConnection() throws Exception {
+        Connection shared = validConnection();
+        JdbcConnectionPool pool = new JdbcConnectionPool(shared, this::open, 2);
+        
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+        pool.release(first);
+        pool.release(second);
+        pool.close();
+        
+        assertSame(shared, first);
+        assertEquals(1, opened.size());
+        verify(shared, never()).close();
+        verify(opened.get(0)).close();
+    }
+    
+    @Test
+    @DisplayName("Without a factory the pool holds only the shared connection")
+    void testSharedOnly() throws Exception {
+        Connection shared = validConnection();
+        JdbcConnectionPool pool = new JdbcConnectionPool(shared, null, 4);
+        
+        assertEquals(1, pool.getMaxSize());
+        assertSame(shared, pool.borrow());
+        pool.release(shared);
+        
+        when(shared.isValid(anyInt())).thenReturn(false);
+        assertThrows(SQLException.class, pool::borrow);
+    }
+    
+    @Test
+    @DisplayName("A closed pool refuses to lend")
+    void testClosed() {
+        JdbcConnectionPool pool = new JdbcConnectionPool(this::open, 2);
+        pool.close();
+        
+        assertThrows(SQLException.class, pool::borrow);
+    }
+}
@@ -0,0 +1,109 @@
+package com.backupforce.sink;
+
+import com.backupforce.sink.dialect.PostgresDialect;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcDatabaseSink's blob inserts: files are streamed into BLOB_DATA with
+ * their length, and batches are flushed by accumulated blob size as well as row count.
+ */
+@DisplayName("JdbcDatabaseSink Blob Streaming Tests")
+class JdbcDatabaseSinkBlobStreamingTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private final List<InputStream> streams = new ArrayList<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private int pendingRows;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockJdbc jdbc = new MockJdbc();
+        connection = jdbc.connection;
+        insert = jdbc.insert;
+
+        // The existing table already has a BLOB_DATA column
+        ResultSet tableColumns = mock(ResultSet.class);
+        when(tableColumns.next()).thenReturn(true, true, true, true, true, false);
+        when(tableColumns.getString("COLUMN_NAME")).thenReturn("id", "blob_file_path", "blob_data", "backup_id", "backup_timestamp");
+        when(tableColumns.getInt("DATA_TYPE")).thenReturn(Types.VARCHAR, Types.VARCHAR, Types.BINARY, Types.VARCHAR, Types.TIMESTAMP);
+        when(jdbc.meta.getColumns(any(), any(), anyString(), isNull())).thenReturn(tableColumns);
+
+        doAnswer(invocation -> {
+            streams.add(invocation.getArgument(1));
+            return null;
+        }).when(insert).setBinaryStream(anyInt(), any(InputStream.class), anyLong());
+        doAnswer(invocation -> pendingRows++).when(insert).addBatch();
+        when(insert.executeBatch()).thenAnswer(invocation -> {
+            batchSizes.add(pendingRows);
+            int[] results = new int[pendingRows];
+            java.util.Arrays.fill(results, 1);
+            pendingRows = 0;
+            return results;
+        });
+    }
+
+    private String csv(int files, int bytesEach) throws Exception {
+        StringBuilder csv = new StringBuilder("\"Id\",\"BLOB_FILE_PATH\"\n");
+        for (int i = 0; i < files; i++) {
+            Path file = tempDir.resolve("blob" + i + ".bin");
+            Files.write(file, new byte[bytesEach]);
+            csv.append("\"00").append(i).append("\",\"").append(file.toAbsolutePath()).append("\"\n");
+        }
+        return csv.toString();
+    }
+
+    @Test
+    @DisplayName("Blob files are bound as streams of their file length and closed after the batch")
+    void testStreamsBlobs() throws Exception {
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, new PostgresDialect(), "test");
+
+        assertEquals(2, sink.writeData("Attachment", new StringReader(csv(2, 1000)), "backup-1", null));
+
+        verify(insert, times(2)).setBinaryStream(eq(3), any(InputStream.class), eq(1000L));
+        verify(insert, never()).setBytes(anyInt(), any());
+        assertEquals(List.of(2), batchSizes);
+        for (InputStream in : streams) {
+            assertThrows(java.io.IOException.class, in::read, "stream should be closed");
+        }
+    }
+
+    @Test
+    @DisplayName("Batches are executed early once their blobs reach the size limit")
+    void testFlushesBySize() throws Exception {
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, new PostgresDialect(), "test");
+        sink.setMaxBatchBlobBytes(2500);
+
+        assertEquals(5, sink.writeData("Attachment", new StringReader(csv(5, 1000)), "backup-1", null));
+
+        assertEquals(List.of(3, 2), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Drivers without stream support get the file's bytes")
+    void testBytesFallback() throws Exception {
+        doThrow(new SQLFeatureNotSupportedException()).when(insert)
+            .setBinaryStream(anyInt(), any(InputStream.class), anyLong());
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, new PostgresDialect(), "test");
+
+        assertEquals(1, sink.writeData("Attachment", new StringReader(csv(1, 10)), "backup-1", null));
+
+        verify(insert).setBytes(3, new byte[10]);
+    }
+}
@@ -5,11 +5,8 @@ import com.backupforce.sink.dialect.PostgresDialect;
 import com.backupforce.sink.dialect.SqlServerDialect;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.io.TempDir;
 
 import java.io.StringReader;
-import java.nio.file.Files;
-import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,9 +15,6 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class JdbcDatabaseSinkBlobTest {
     
-    @TempDir
-    Path tempDir;
-    
     // Test dialect implementations
     
     @Test
@@ -90,109 +84,6 @@ public class JdbcDatabaseSinkBlobTest {
         assertEquals("ID", dialect.sanitizeColumnName("Id"));
     }
     
-    @Test
-    void testLoadBlobAsBytes() throws Exception {
-        // Create a temp blob file
-        Path blobFile = tempDir.resolve("test_blob.bin");
-        byte[] testData = "Hello, this is test blob data!".getBytes();
-        Files.write(blobFile, testData);
-        
-        // Create a minimal JdbcDatabaseSink just to test the loadBlobAsBytes method
-        // We'll use reflection since the method is private
-        SnowflakeDialect dialect = new SnowflakeDialect();
-        java.util.Properties props = new java.util.Properties();
-        JdbcDatabaseSink sink = new JdbcDatabaseSink(
-            "jdbc:snowflake://test.snowflakecomputing.com", 
-            props, 
-            dialect, 
-            "Test Snowflake"
-        );
-        
-        // Use reflection to access private method
-        java.lang.reflect.Method method = JdbcDatabaseSink.class.getDeclaredMethod("loadBlobAsBytes", String.class);
-        method.setAccessible(true);
-        
-        // Test with absolute path
-        byte[] result = (byte[]) method.invoke(sink, blobFile.toAbsolutePath().toString());
-        
-        assertNotNull(result);
-        assertArrayEquals(testData, result);
-    }
-    
-    @Test
-    void testLoadBlobAsBytes_FileNotFound() throws Exception {
-        SnowflakeDialect dialect = new SnowflakeDialect();
-        java.util.Properties props = new java.util.Properties();
-        JdbcDatabaseSink sink = new JdbcDatabaseSink(
-            "jdbc:snowflake://test.snowflakecomputing.com", 
-            props, 
-            dialect, 
-            "Test Snowflake"
-        );
-        
-        java.lang.reflect.Method method = JdbcDatabaseSink.class.getDeclaredMethod("loadBlobAsBytes", String.class);
-        method.setAccessible(true);
-        
-        // Test with non-existent file
-        byte[] result = (byte[]) method.invoke(sink, "/nonexistent/path/file.bin");
-        
-        assertNull(result);
-    }
-    
-    @Test
-    void testLoadBlobAsBytes_NullPath() throws Exception {
-        SnowflakeDialect dialect = new SnowflakeDialect();
-        java.util.Properties props = new java.util.Properties();
-        JdbcDatabaseSink sink = new JdbcDatabaseSink(
-            "jdbc:snowflake://test.snowflakecomputing.com", 
-            props, 
-            dialect, 
-            "Test Snowflake"
-        );
-        
-        java.lang.reflect.Method method = JdbcDatabaseSink.class.getDeclaredMethod("loadBlobAsBytes", String.class);
-        method.setAccessible(true);
-        
-        // Test with null
-        byte[] result = (byte[]) method.invoke(sink, (String) null);
-        assertNull(result);
-        
-        // Test with empty string
-        result = (byte[]) method.invoke(sink, "");
-        assertNull(result);
-        
-        // Test with whitespace
-        result = (byte[]) method.invoke(sink, "   ");
-        assertNull(result);
-    }
-    
-    @Test
-    void testLoadBlobAsBase64() throws Exception {
-        // Create a temp blob file
-        Path blobFile = tempDir.resolve("test_blob.txt");
-        String testContent = "Hello World";
-        Files.writeString(blobFile, testContent);
-        
-        SnowflakeDialect dialect = new SnowflakeDialect();
-        java.util.Properties props = new java.util.Properties();
-        JdbcDatabaseSink sink = new JdbcDatabaseSink(
-            "jdbc:snowflake://test.snowflakecomputing.com", 
-            props, 
-            dialect, 
-            "Test Snowflake"
-        );
-        
-        java.lang.reflect.Method method = JdbcDatabaseSink.class.getDeclaredMethod("loadBlobAsBase64", String.class);
-        method.setAccessible(true);
-        
-        String result = (String) method.invoke(sink, blobFile.toAbsolutePath().toString());
-        
-        assertNotNull(result);
-        // Decode and verify
-        String decoded = new String(java.util.Base64.getDecoder().decode(result));
-        assertEquals(testContent, decoded);
-    }
-    
     @Test
     void testCreateTableFromHeaders_WithBlobData() throws Exception {
         // This is more of an integration test - we'd need a real database connection
@@ -0,0 +1,136 @@
+package com.backupforce.sink;
+
+import org.junit.jupiter.api.*;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcDatabaseSink's choice between a dialect's bulk loader and batched inserts.
+ * Uses a mocked connection to an existing table.
+ */
+@DisplayName("JdbcDatabaseSink Bulk Load Tests")
+class JdbcDatabaseSinkBulkLoadTest {
+    
+    private static final String CSV = "\"Id\",\"Name\"\n\"001\",\"a\"\n\"002\",\"\"\n";
+    
+    private Connection connection;
+    private PreparedStatement insert;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        MockJdbc jdbc = new MockJdbc();
+        connection = jdbc.connection;
+        insert = jdbc.insert;
+        when(insert.executeBatch()).thenReturn(new int[] {1, 1});
+    }
+    
+    private static JdbcDatabaseSink.DatabaseDialect dialect(JdbcDatabaseSink.BulkLoader loader) {
+        JdbcDatabaseSink.DatabaseDialect dialect = mock(JdbcDatabaseSink.DatabaseDialect.class);
+        when(dialect.sanitizeTableName(anyString())).thenAnswer(i -> ((String) i.getArgument(0)).toLowerCase());
+        when(dialect.sanitizeColumnName(anyString())).thenAnswer(i -> ((String) i.getArgument(0)).toLowerCase());
+        when(dialect.getOptimalBatchSize()).thenReturn(1000);
+        when(dialect.getBulkLoader()).thenReturn(loader);
+        return dialect;
+    }
+    
+    /**
+     * Bulk loader that records what it was given.
+     */
+    private static class RecordingLoader implements JdbcDatabaseSink.BulkLoader {
+        final boolean supported;
+        String tableName;
+        List<JdbcDatabaseSink.TableColumn> columns;
+        final List<Object[]> rows = new ArrayList<>();
+        
+        RecordingLoader(boolean supported) {
+            this.supported = supported;
+        }
+        
+        @Override
+        public String getName() {
+            return "test";
+        }
+        
+        @Override
+        public boolean isSupported(Connection connection) {
+            return supported;
+        }
+        
+        @Override
+        public int load(Connection connection, String tableName, List<JdbcDatabaseSink.TableColumn> columns,
+                        Iterator<Object[]> rows) {
+            this.tableName = tableName;
+            this.columns = columns;
+            rows.forEachRemaining(this.rows::add);
+            return this.rows.size();
+        }
+    }
+    
+    @Test
+    @DisplayName("Dialect bulk loader receives every row plus backup columns, with no INSERTs")
+    void testUsesBulkLoader() throws Exception {
+        RecordingLoader loader = new RecordingLoader(true);
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, dialect(loader), "test");
+        
+        int loaded = sink.writeData("Account", new StringReader(CSV), "backup-1", null);
+        
+        assertEquals(2, loaded);
+        assertEquals("account", loader.tableName);
+        assertEquals(List.of("id", "name", "backup_id", "backup_timestamp"),
+            loader.columns.stream().map(JdbcDatabaseSink.TableColumn::getName).collect(Collectors.toList()));
+        assertEquals("001", loader.rows.get(0)[0]);
+        assertEquals("a", loader.rows.get(0)[1]);
+        assertNull(loader.rows.get(1)[1], "Blank values load as NULL");
+        assertEquals("backup-1", loader.rows.get(1)[2]);
+        assertTrue(loader.rows.get(1)[3] instanceof java.sql.Timestamp);
+        verify(connection, never()).prepareStatement(anyString());
+    }
+    
+    @Test
+    @DisplayName("Falls back to batched inserts when the loader can't use the connection")
+    void testFallsBackWhenUnsupported() throws Exception {
+        RecordingLoader loader = new RecordingLoader(false);
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, dialect(loader), "test");
+        
+        int loaded = sink.writeData("Account", new StringReader(CSV), "backup-1", null);
+        
+        assertEquals(2, loaded);
+        assertTrue(loader.rows.isEmpty());
+        verify(insert, times(2)).addBatch();
+    }
+    
+    @Test
+    @DisplayName("A refused bulk load falls back to batched inserts for this and later objects")
+    void testFallsBackWhenRefused() throws Exception {
+        JdbcDatabaseSink.BulkLoader loader = mock(JdbcDatabaseSink.BulkLoader.class);
+        when(loader.isSupported(any())).thenReturn(true);
+        when(loader.load(any(), anyString(), anyList(), any()))
+            .thenThrow(new JdbcDatabaseSink.BulkLoadUnavailableException("permission denied", null));
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, dialect(loader), "test");
+        
+        assertEquals(2, sink.writeData("Account", new StringReader(CSV), "backup-1", null));
+        assertEquals(2, sink.writeData("Contact", new StringReader(CSV), "backup-1", null));
+        
+        verify(loader, times(1)).load(any(), anyString(), anyList(), any());
+        verify(insert, times(4)).addBatch();
+    }
+    
+    @Test
+    @DisplayName("Dialects without a bulk loader use batched inserts")
+    void testNoBulkLoader() throws Exception {
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, dialect(null), "test");
+        
+        assertEquals(2, sink.writeData("Account", new StringReader(CSV), "backup-1", null));
+        verify(insert, times(2)).addBatch();
+    }
+}
@@ -0,0 +1,139 @@
+package com.backupforce.sink;
+
+import com.backupforce.sink.dialect.PostgresDialect;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.io.StringReader;
+import java.sql.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcDatabaseSink's change detection: rows carry a ROW_HASH fingerprint
+ * and rows matching the table's latest fingerprint for their Id are skipped.
+ */
+@DisplayName("JdbcDatabaseSink Change Detection Tests")
+class JdbcDatabaseSinkChangeDetectionTest {
+
+    private static final String CSV = "\"Id\",\"Name\"\n\"001\",\"a\"\n\"002\",\"b\"\n";
+
+    private Connection connection;
+    private Statement statement;
+    private PreparedStatement insert;
+    private MockJdbc jdbc;
+    private List<String> prepared;
+    private List<String> ddl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbc = new MockJdbc();
+        connection = jdbc.connection;
+        statement = jdbc.statement;
+        insert = jdbc.insert;
+        prepared = jdbc.prepared;
+        ddl = jdbc.executed;
+    }
+
+    /**
+     * The fingerprint the sink stores for the CSV's first record
+     */
+    private static String storedHash() throws Exception {
+        try (CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                .parse(new StringReader(CSV))) {
+            return new RowHasher(parser.getHeaderNames(), RowHasher.DEFAULT_EXCLUDED_FIELDS)
+                .hash(parser.iterator().next());
+        }
+    }
+
+    private JdbcDatabaseSink sink() {
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, new PostgresDialect(), "test");
+        sink.setSkipUnchangedRows(true);
+        return sink;
+    }
+
+    @Test
+    @DisplayName("Rows matching the table's fingerprint are skipped but still counted")
+    void testSkipsUnchanged() throws Exception {
+        jdbc.tableColumns("id", "name", "backup_id", "backup_timestamp", "row_hash");
+        ResultSet hashes = mock(ResultSet.class);
+        when(hashes.next()).thenReturn(true, false);
+        when(hashes.getString(1)).thenReturn("001");
+        when(hashes.getString(2)).thenReturn(storedHash());
+        when(statement.executeQuery(anyString())).thenAnswer(invocation ->
+            ((String) invocation.getArgument(0)).contains("row_hash") ? hashes : mock(ResultSet.class));
+
+        assertEquals(2, sink().writeData("Account", new StringReader(CSV), "backup-1", null));
+
+        // Only each Id's latest fingerprint is read, in a transaction so the rows stream
+        verify(statement).executeQuery("SELECT t.id, t.row_hash FROM account t JOIN ("
+            + "SELECT id, MAX(backup_timestamp) AS latest_backup FROM account WHERE row_hash IS NOT NULL GROUP BY id) l"
+            + " ON t.id = l.id AND t.backup_timestamp = l.latest_backup WHERE t.row_hash IS NOT NULL");
+        verify(statement).setFetchSize(10000);
+        InOrder transaction = inOrder(connection, statement);
+        transaction.verify(connection).setAutoCommit(false);
+        transaction.verify(statement).executeQuery(contains("row_hash"));
+        transaction.verify(connection).setAutoCommit(true);
+        assertEquals("INSERT INTO account (id, name, backup_id, backup_timestamp, row_hash) VALUES (?, ?, ?, ?, ?)",
+            prepared.get(0));
+        verify(insert, times(1)).executeUpdate();
+        verify(insert).setString(1, "002");
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(insert).setString(eq(5), hash.capture());
+        assertTrue(hash.getValue().matches("[0-9a-f]{16}"));
+    }
+
+    @Test
+    @DisplayName("Tables with more fingerprints than the cap load every row")
+    void testTooManyFingerprints() throws Exception {
+        jdbc.tableColumns("id", "name", "backup_id", "backup_timestamp", "row_hash");
+        ResultSet hashes = mock(ResultSet.class);
+        when(hashes.next()).thenReturn(true, true, false);
+        when(hashes.getString(1)).thenReturn("001", "003");
+        when(hashes.getString(2)).thenReturn(storedHash());
+        when(statement.executeQuery(anyString())).thenAnswer(invocation ->
+            ((String) invocation.getArgument(0)).contains("row_hash") ? hashes : mock(ResultSet.class));
+        JdbcDatabaseSink sink = sink();
+        sink.setMaxRowHashes(1);
+
+        assertEquals(2, sink.writeData("Account", new StringReader(CSV), "backup-1", null));
+
+        // The unchanged row is loaded too, in one two-row INSERT
+        assertEquals("INSERT INTO account (id, name, backup_id, backup_timestamp, row_hash)"
+            + " VALUES (?, ?, ?, ?, ?), (?, ?, ?, ?, ?)", prepared.get(0));
+        verify(insert).setString(1, "001");
+        verify(connection).setAutoCommit(true);
+    }
+
+    @Test
+    @DisplayName("Existing tables without ROW_HASH get the column and load every row")
+    void testAddsHashColumn() throws Exception {
+        jdbc.tableColumns("id", "name", "backup_id", "backup_timestamp");
+        when(statement.executeQuery(anyString())).thenReturn(mock(ResultSet.class));
+
+        assertEquals(2, sink().writeData("Account", new StringReader(CSV), "backup-1", null));
+
+        assertEquals(List.of("ALTER TABLE account ADD COLUMN row_hash VARCHAR(16)"), ddl);
+        // Both rows go out in one two-row INSERT
+        assertEquals("INSERT INTO account (id, name, backup_id, backup_timestamp, row_hash)"
+            + " VALUES (?, ?, ?, ?, ?), (?, ?, ?, ?, ?)", prepared.get(0));
+        verify(insert, times(1)).executeUpdate();
+    }
+
+    @Test
+    @DisplayName("New tables are created with a ROW_HASH column")
+    void testNewTable() throws Exception {
+        when(statement.executeQuery(anyString())).thenThrow(new SQLException("relation \"account\" does not exist"));
+
+        sink().writeData("Account", new StringReader(CSV), "backup-1", null);
+
+        assertTrue(ddl.get(0).startsWith("CREATE TABLE account"), ddl.toString());
+        assertTrue(ddl.get(0).contains("row_hash VARCHAR(16)"), ddl.get(0));
+    }
+}
@@ -0,0 +1,96 @@
+package com.backupforce.sink;
+
+import com.backupforce.sink.dialect.PostgresDialect;
+import org.junit.jupiter.api.*;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcDatabaseSink's merge mode: rows are staged in a temporary table and
+ * upserted by Id. Uses a mocked PostgreSQL connection to an existing table.
+ */
+@DisplayName("JdbcDatabaseSink Merge Mode Tests")
+class JdbcDatabaseSinkMergeTest {
+    
+    private static final String CSV = "\"Id\",\"Name\"\n\"001\",\"a\"\n\"002\",\"b\"\n";
+    
+    private Connection connection;
+    private Statement statement;
+    private List<String> sql;
+    private List<String> prepared;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        MockJdbc jdbc = new MockJdbc();
+        connection = jdbc.connection;
+        statement = jdbc.statement;
+        sql = jdbc.executed;
+        prepared = jdbc.prepared;
+        when(statement.executeQuery(anyString())).thenAnswer(invocation -> {
+            String query = invocation.getArgument(0);
+            if (query.contains("_HISTORY")) {
+                throw new SQLException("relation does not exist");
+            }
+            return mock(ResultSet.class);
+        });
+        when(statement.executeUpdate(anyString())).thenAnswer(invocation -> {
+            sql.add(invocation.getArgument(0));
+            return 2;
+        });
+        when(jdbc.insert.executeBatch()).thenReturn(new int[] {1, 1});
+    }
+    
+    private JdbcDatabaseSink sink() {
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, new PostgresDialect(), "test");
+        sink.setMergeMode(true);
+        return sink;
+    }
+    
+    @Test
+    @DisplayName("Rows are staged, merged on Id, and the staging table is dropped")
+    void testMerge() throws Exception {
+        assertEquals(2, sink().writeData("Account", new StringReader(CSV), "backup-1", null));
+        
+        assertTrue(prepared.get(0).startsWith("INSERT INTO account__stage "), prepared.get(0));
+        assertEquals(List.of(
+            "CREATE UNIQUE INDEX IF NOT EXISTS account_id_key ON account (id)",
+            "DROP TABLE IF EXISTS account__stage",
+            "CREATE TEMPORARY TABLE account__stage AS SELECT * FROM account WHERE 1 = 0",
+            "INSERT INTO account (id, name, backup_id, backup_timestamp)"
+                + " SELECT id, name, backup_id, backup_timestamp FROM account__stage"
+                + " ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, backup_id = EXCLUDED.backup_id,"
+                + " backup_timestamp = EXCLUDED.backup_timestamp",
+            "DROP TABLE account__stage"), sql);
+    }
+    
+    @Test
+    @DisplayName("History mode also appends staged rows to an append-only table")
+    void testHistory() throws Exception {
+        JdbcDatabaseSink sink = sink();
+        sink.setKeepHistory(true);
+        
+        sink.writeData("Account", new StringReader(CSV), "backup-1", null);
+        
+        assertTrue(sql.contains("CREATE TABLE account_history AS SELECT * FROM account WHERE 1 = 0"), sql.toString());
+        assertTrue(sql.contains("INSERT INTO account_history (id, name, backup_id, backup_timestamp)"
+            + " SELECT id, name, backup_id, backup_timestamp FROM account__stage"), sql.toString());
+    }
+    
+    @Test
+    @DisplayName("Objects without an Id column are appended")
+    void testNoIdAppends() throws Exception {
+        sink().writeData("AccountShare", new StringReader("\"Name\"\n\"a\"\n"), "backup-1", null);
+        
+        assertTrue(prepared.get(0).startsWith("INSERT INTO accountshare "), prepared.get(0));
+        verify(statement, never()).executeUpdate(anyString());
+    }
+}
@@ -0,0 +1,167 @@
+package com.backupforce.sink;
+
+import org.junit.jupiter.api.*;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcDatabaseSink's partitioned loading, where one object's rows are split
+ * into segments loaded over several connections. Uses mocked connections to an existing table.
+ */
+@DisplayName("JdbcDatabaseSink Partitioned Load Tests")
+class JdbcDatabaseSinkPartitionedLoadTest {
+    
+    private final List<Connection> opened = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inserted = new AtomicInteger();
+    private volatile boolean failInserts;
+    
+    private Connection openConnection() throws SQLException {
+        Connection connection = new MockJdbc().connection;
+        // Each segment gets its own statement, counting the rows it inserts
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            PreparedStatement insert = mock(PreparedStatement.class);
+            AtomicInteger pending = new AtomicInteger();
+            doAnswer(i -> pending.incrementAndGet()).when(insert).addBatch();
+            when(insert.executeBatch()).thenAnswer(i -> {
+                if (failInserts) {
+                    throw new SQLException("disk full");
+                }
+                int[] results = new int[pending.getAndSet(0)];
+                java.util.Arrays.fill(results, 1);
+                inserted.addAndGet(results.length);
+                return results;
+            });
+            return insert;
+        });
+        opened.add(connection);
+        return connection;
+    }
+    
+    private JdbcDatabaseSink sink(int parallelism, int segmentSize) {
+        JdbcDatabaseSink.DatabaseDialect dialect = mock(JdbcDatabaseSink.DatabaseDialect.class);
+        when(dialect.sanitizeTableName(anyString())).thenAnswer(i -> ((String) i.getArgument(0)).toLowerCase());
+        when(dialect.sanitizeColumnName(anyString())).thenAnswer(i -> ((String) i.getArgument(0)).toLowerCase());
+        when(dialect.getOptimalBatchSize()).thenReturn(4);
+        JdbcDatabaseSink sink = new JdbcDatabaseSink("jdbc:test", null, this::openConnection, dialect, "test");
+        sink.setLoadParallelism(parallelism);
+        sink.setSegmentSize(segmentSize);
+        return sink;
+    }
+    
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder("\"Id\",\"Name\"\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append('"').append(i).append("\",\"name ").append(i).append("\"\n");
+        }
+        return csv.toString();
+    }
+    
+    @Test
+    @DisplayName("Large objects load in committed segments over pooled connections")
+    void testPartitionedLoad() throws Exception {
+        JdbcDatabaseSink sink = sink(3, 10);
+        
+        int loaded = sink.writeData("Account", new StringReader(csv(95)), "backup-1", null);
+        
+        assertEquals(95, loaded);
+        assertEquals(95, inserted.get());
+        // Main connection plus at most one per worker
+        assertTrue(opened.size() <= 4, "Opened " + opened.size() + " connections");
+        int commits = 0;
+        for (Connection connection : opened.subList(1, opened.size())) {
+            verify(connection).setAutoCommit(false);
+            commits += mockingDetails(connection).getInvocations().stream()
+                .filter(i -> i.getMethod().getName().equals("commit")).count();
+        }
+        assertEquals(10, commits, "One commit per segment");
+        
+        sink.disconnect();
+        for (Connection connection : opened) {
+            verify(connection).close();
+        }
+    }
+    
+    @Test
+    @DisplayName("Objects that fit in one segment stay on the main connection")
+    void testSmallObjectSingleConnection() throws Exception {
+        JdbcDatabaseSink sink = sink(3, 10);
+        
+        assertEquals(7, sink.writeData("Account", new StringReader(csv(7)), "backup-1", null));
+        assertEquals(1, opened.size());
+    }
+    
+    @Test
+    @DisplayName("Parallelism of 1 disables partitioning")
+    void testParallelismOne() throws Exception {
+        JdbcDatabaseSink sink = sink(1, 10);
+        
+        assertEquals(95, sink.writeData("Account", new StringReader(csv(95)), "backup-1", null));
+        assertEquals(1, opened.size());
+    }
+    
+    @Test
+    @DisplayName("Concurrent object writes each lease their own connection")
+    void testConcurrentWritesUseSeparateConnections() throws Exception {
+        CountDownLatch bothInside = new CountDownLatch(2);
+        List<Connection> used = new CopyOnWriteArrayList<>();
+        JdbcDatabaseSink.DatabaseDialect dialect = mock(JdbcDatabaseSink.DatabaseDialect.class);
+        when(dialect.sanitizeColumnName(anyString())).thenAnswer(i -> ((String) i.getArgument(0)).toLowerCase());
+        when(dialect.getOptimalBatchSize()).thenReturn(4);
+        // Each write waits in table-name sanitizing until the other has started, so both hold a connection at once
+        when(dialect.sanitizeTableName(anyString())).thenAnswer(i -> {
+            bothInside.countDown();
+            bothInside.await(5, TimeUnit.SECONDS);
+            return ((String) i.getArgument(0)).toLowerCase();
+        });
+        JdbcDatabaseSink concurrentSink = new JdbcDatabaseSink("jdbc:test", null, () -> {
+            Connection connection = openConnection();
+            used.add(connection);
+            return connection;
+        }, dialect, "test");
+        
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> account = executor.submit(() ->
+                concurrentSink.writeData("Account", new StringReader(csv(5)), "backup-1", null));
+            Future<Integer> contact = executor.submit(() ->
+                concurrentSink.writeData("Contact", new StringReader(csv(6)), "backup-1", null));
+            assertEquals(5, account.get(10, TimeUnit.SECONDS));
+            assertEquals(6, contact.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, used.size(), "Two writes in flight need two connections");
+        concurrentSink.disconnect();
+    }
+    
+    @Test
+    @DisplayName("A failed segment fails the load and its connection is discarded")
+    void testSegmentFailure() throws Exception {
+        JdbcDatabaseSink sink = sink(2, 10);
+        sink.connect();
+        failInserts = true;
+        
+        Exception error = assertThrows(SQLException.class,
+            () -> sink.writeData("Account", new StringReader(csv(50)), "backup-1", null));
+        assertEquals("disk full", error.getMessage());
+        for (Connection connection : opened.subList(1, opened.size())) {
+            verify(connection, never()).commit();
+            verify(connection).close();
+        }
+    }
+}
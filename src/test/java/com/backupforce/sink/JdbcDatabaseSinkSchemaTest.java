@@ -0,0 +1,93 @@
+package com.backupforce.sink;
+
+import com.backupforce.sink.dialect.PostgresDialect;
+import com.sforce.soap.partner.Field;
+import com.sforce.soap.partner.FieldType;
+import org.junit.jupiter.api.*;
+
+import java.io.StringReader;
+import java.sql.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcDatabaseSink's schema catalog: table and column lookups are cached
+ * for the run, and existing tables gain columns for new fields.
+ */
+@DisplayName("JdbcDatabaseSink Schema Catalog Tests")
+class JdbcDatabaseSinkSchemaTest {
+
+    private Connection connection;
+    private Statement statement;
+    private DatabaseMetaData meta;
+    private List<String> ddl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockJdbc jdbc = new MockJdbc();
+        connection = jdbc.connection;
+        statement = jdbc.statement;
+        meta = jdbc.meta;
+        ddl = jdbc.executed;
+        // Each lookup of the table's columns reports id, name, an old field and the sink's columns
+        jdbc.tableColumns("id", "name", "oldfield__c", "backup_id", "backup_timestamp");
+    }
+
+    private JdbcDatabaseSink sink() {
+        return new JdbcDatabaseSink(connection, new PostgresDialect(), "test");
+    }
+
+    @Test
+    @DisplayName("Table and column lookups are made once per run")
+    void testLookupsCached() throws Exception {
+        JdbcDatabaseSink sink = sink();
+        sink.connect();
+
+        sink.writeData("Account", new StringReader("\"Id\",\"Name\"\n\"001\",\"a\"\n"), "backup-1", null);
+        sink.writeData("Account", new StringReader("\"Id\",\"Name\"\n\"002\",\"b\"\n"), "backup-2", null);
+        assertTrue(sink.doesTableExist("Account"));
+
+        verify(statement, times(1)).executeQuery(startsWith("SELECT 1 FROM ACCOUNT"));
+        verify(meta, times(1)).getColumns(any(), any(), anyString(), isNull());
+        assertTrue(ddl.isEmpty(), ddl.toString());
+
+        // A new run looks again
+        sink.connect();
+        sink.writeData("Account", new StringReader("\"Id\",\"Name\"\n\"003\",\"c\"\n"), "backup-3", null);
+        verify(statement, times(2)).executeQuery(startsWith("SELECT 1 FROM ACCOUNT"));
+    }
+
+    @Test
+    @DisplayName("New fields are added as columns and deleted fields are left alone")
+    void testColumnEvolution() throws Exception {
+        JdbcDatabaseSink sink = sink();
+        Field rating = new Field();
+        rating.setName("Rating__c");
+        rating.setType(FieldType._double);
+        rating.setPrecision(5);
+        rating.setScale(2);
+        sink.prepareSink("Account", new Field[] {rating});
+
+        assertEquals(1, sink.writeData("Account",
+            new StringReader("\"Id\",\"Name\",\"Rating__c\"\n\"001\",\"a\",\"4.5\"\n"), "backup-1", null));
+
+        assertEquals(List.of("ALTER TABLE account ADD COLUMN rating__c NUMERIC(5, 2)"), ddl);
+        // The altered table's columns are read again before binding
+        verify(meta, times(2)).getColumns(any(), any(), anyString(), isNull());
+    }
+
+    @Test
+    @DisplayName("Dropping a table is recorded in the catalog")
+    void testDropRecorded() throws Exception {
+        JdbcDatabaseSink sink = sink();
+        assertTrue(sink.doesTableExist("Account"));
+
+        sink.dropTable("Account");
+
+        assertFalse(sink.doesTableExist("Account"));
+        verify(statement, times(1)).executeQuery(startsWith("SELECT 1 FROM ACCOUNT"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.backupforce.sink;
+
+import com.backupforce.sink.dialect.PostgresDialect;
+import org.junit.jupiter.api.*;
+
+import java.io.StringReader;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcDatabaseSink's time partitioning: new tables are partitioned by
+ * backup day, each load gets its day's partition and is merged into the latest table,
+ * and retention drops expired partitions.
+ */
+@DisplayName("JdbcDatabaseSink Time Partitioning Tests")
+class JdbcDatabaseSinkTimePartitioningTest {
+
+    private static final String CSV = "\"Id\",\"Name\"\n\"001\",\"a\"\n";
+
+    private Connection connection;
+    private Statement statement;
+    private List<String> ddl;
+    private boolean partitioned = true;
+    private String[] partitions = {};
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockJdbc jdbc = new MockJdbc();
+        connection = jdbc.connection;
+        statement = jdbc.statement;
+        ddl = jdbc.executed;
+        jdbc.tableColumns("id", "name", "backup_id", "backup_timestamp");
+
+        // Catalog queries made by the PostgreSQL partitioning
+        PreparedStatement partitionedQuery = mock(PreparedStatement.class);
+        when(connection.prepareStatement(contains("pg_partitioned_table"))).thenReturn(partitionedQuery);
+        when(partitionedQuery.executeQuery()).thenAnswer(invocation ->
+            partitioned ? MockJdbc.rows(null, "1") : MockJdbc.rows(null));
+        PreparedStatement partitionsQuery = mock(PreparedStatement.class);
+        when(connection.prepareStatement(contains("pg_inherits"))).thenReturn(partitionsQuery);
+        when(partitionsQuery.executeQuery()).thenAnswer(invocation -> MockJdbc.rows(null, partitions));
+    }
+
+    private JdbcDatabaseSink sink() {
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, new PostgresDialect(), "test");
+        sink.setPartitionByBackupTime(true);
+        return sink;
+    }
+
+    private static String partitionOf(LocalDate day) {
+        return "account_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    @Test
+    @DisplayName("New tables are created partitioned and the load gets its day's partition and the latest table")
+    void testNewTable() throws Exception {
+        when(statement.executeQuery(startsWith("SELECT 1 FROM ACCOUNT")))
+            .thenThrow(new SQLException("relation \"account\" does not exist"));
+
+        assertEquals(1, sink().writeData("Account", new StringReader(CSV), "backup-1", null));
+
+        assertEquals(4, ddl.size(), ddl.toString());
+        assertTrue(ddl.get(0).startsWith("CREATE TABLE account ("), ddl.get(0));
+        assertTrue(ddl.get(0).endsWith(") PARTITION BY RANGE (backup_timestamp)"), ddl.get(0));
+        assertTrue(ddl.get(1).startsWith("CREATE TABLE IF NOT EXISTS " + partitionOf(LocalDate.now())
+            + " PARTITION OF account"), ddl.get(1));
+        assertEquals("CREATE TABLE account_latest AS SELECT * FROM account WHERE 1 = 0", ddl.get(2));
+        assertEquals("CREATE UNIQUE INDEX IF NOT EXISTS account_latest_id_key ON account_latest (id)", ddl.get(3));
+        // Filled once from the whole table; later loads are merged in
+        verify(statement).executeUpdate("INSERT INTO account_latest SELECT t.* FROM account t JOIN ("
+            + "SELECT id, MAX(backup_timestamp) AS latest_backup FROM account GROUP BY id) l"
+            + " ON t.id = l.id AND t.backup_timestamp = l.latest_backup");
+    }
+
+    @Test
+    @DisplayName("Each load's rows are merged into the latest table by Id")
+    void testMergeIntoLatest() throws Exception {
+        sink().writeData("Account", new StringReader(CSV), "backup-1", null);
+
+        assertTrue(ddl.contains("CREATE TEMPORARY TABLE account_latest__stage"
+            + " AS SELECT * FROM account_latest WHERE 1 = 0"), ddl.toString());
+        assertEquals("DROP TABLE account_latest__stage", ddl.get(ddl.size() - 1));
+        // Only the load's own partition is read
+        verify(statement).executeUpdate(matches("INSERT INTO account_latest__stage \\(id, name, backup_id,"
+            + " backup_timestamp\\) SELECT id, name, backup_id, backup_timestamp FROM account"
+            + " WHERE backup_timestamp = CAST\\('[0-9: .-]+' AS TIMESTAMP\\) AND backup_id = 'backup-1'"));
+        verify(statement).executeUpdate("INSERT INTO account_latest (id, name, backup_id, backup_timestamp)"
+            + " SELECT id, name, backup_id, backup_timestamp FROM account_latest__stage ON CONFLICT (id)"
+            + " DO UPDATE SET name = EXCLUDED.name, backup_id = EXCLUDED.backup_id,"
+            + " backup_timestamp = EXCLUDED.backup_timestamp");
+        verify(statement, never()).executeUpdate(contains("GROUP BY"));
+    }
+
+    @Test
+    @DisplayName("Objects without Id keep the last load in the latest table")
+    void testLatestWithoutId() throws Exception {
+        sink().writeData("Account", new StringReader("\"Name\"\n\"a\"\n"), "backup-1", null);
+
+        verify(statement).executeUpdate("DELETE FROM account_latest");
+        verify(statement).executeUpdate(matches("INSERT INTO account_latest \\(name, backup_id, backup_timestamp\\)"
+            + " SELECT name, backup_id, backup_timestamp FROM account"
+            + " WHERE backup_timestamp = CAST\\('[0-9: .-]+' AS TIMESTAMP\\) AND backup_id = 'backup-1'"));
+    }
+
+    @Test
+    @DisplayName("Retention drops partitions older than the retention period")
+    void testRetention() throws Exception {
+        LocalDate today = LocalDate.now();
+        partitions = new String[] {partitionOf(today.minusDays(40)), partitionOf(today.minusDays(31)),
+            partitionOf(today.minusDays(30)), partitionOf(today), "account_history_p20200101"};
+        JdbcDatabaseSink sink = sink();
+        sink.setRetentionDays(30);
+
+        sink.writeData("Account", new StringReader(CSV), "backup-1", null);
+
+        assertTrue(ddl.contains("DROP TABLE " + partitionOf(today.minusDays(40))), ddl.toString());
+        assertTrue(ddl.contains("DROP TABLE " + partitionOf(today.minusDays(31))), ddl.toString());
+        assertFalse(ddl.contains("DROP TABLE " + partitionOf(today.minusDays(30))), ddl.toString());
+        assertFalse(ddl.stream().anyMatch(sql -> sql.contains("history")), ddl.toString());
+    }
+
+    @Test
+    @DisplayName("Retention keeps every partition while unchanged records are skipped")
+    void testRetentionOffWhenSkippingUnchanged() throws Exception {
+        LocalDate today = LocalDate.now();
+        partitions = new String[] {partitionOf(today.minusDays(40)), partitionOf(today)};
+        JdbcDatabaseSink sink = sink();
+        sink.setSkipUnchangedRows(true);
+        sink.setRetentionDays(30);
+
+        sink.writeData("Account", new StringReader(CSV), "backup-1", null);
+
+        assertFalse(ddl.stream().anyMatch(sql -> sql.startsWith("DROP TABLE account_p")), ddl.toString());
+    }
+
+    @Test
+    @DisplayName("Tables created without partitioning are appended to as they are")
+    void testUnpartitionedTable() throws Exception {
+        partitioned = false;
+        JdbcDatabaseSink sink = sink();
+        sink.setRetentionDays(30);
+
+        assertEquals(1, sink.writeData("Account", new StringReader(CSV), "backup-1", null));
+
+        assertTrue(ddl.isEmpty(), ddl.toString());
+        verify(connection, never()).prepareStatement(contains("pg_inherits"));
+    }
+}
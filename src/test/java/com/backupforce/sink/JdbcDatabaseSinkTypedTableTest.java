@@ -0,0 +1,97 @@
+package com.backupforce.sink;
+
+import com.backupforce.sink.dialect.PostgresDialect;
+import com.sforce.soap.partner.Field;
+import com.sforce.soap.partner.FieldType;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcDatabaseSink's typed tables: DDL from describe metadata and
+ * parameter binding that follows the table's actual column types.
+ */
+@DisplayName("JdbcDatabaseSink Typed Table Tests")
+class JdbcDatabaseSinkTypedTableTest {
+    
+    private static final String CSV = "\"Id\",\"IsDeleted\",\"AnnualRevenue\"\n\"001\",\"true\",\"1500.25\"\n";
+    
+    private Connection connection;
+    private Statement statement;
+    private PreparedStatement insert;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        MockJdbc jdbc = new MockJdbc();
+        connection = jdbc.connection;
+        statement = jdbc.statement;
+        insert = jdbc.insert;
+    }
+    
+    private static Field field(String name, FieldType type, int length, int precision, int scale) {
+        Field field = new Field();
+        field.setName(name);
+        field.setType(type);
+        field.setLength(length);
+        field.setPrecision(precision);
+        field.setScale(scale);
+        return field;
+    }
+    
+    @Test
+    @DisplayName("New tables get column types from describe metadata")
+    void testTypedCreateTable() throws Exception {
+        when(statement.executeQuery(anyString())).thenThrow(new SQLException("relation \"account\" does not exist"));
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, new PostgresDialect(), "test");
+        
+        sink.prepareSink("Account", new Field[] {
+            field("Id", FieldType.id, 18, 0, 0),
+            field("IsDeleted", FieldType._boolean, 0, 0, 0),
+            field("AnnualRevenue", FieldType.currency, 0, 18, 0)
+        });
+        sink.writeData("Account", new StringReader(CSV), "backup-1", null);
+        
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(statement, atLeastOnce()).execute(sql.capture());
+        String ddl = sql.getAllValues().stream().filter(s -> s.startsWith("CREATE TABLE")).findFirst().orElseThrow();
+        assertTrue(ddl.contains("id VARCHAR(18)"), ddl);
+        assertTrue(ddl.contains("isdeleted BOOLEAN"), ddl);
+        assertTrue(ddl.contains("annualrevenue NUMERIC(18, 0)"), ddl);
+    }
+    
+    @Test
+    @DisplayName("Values bind with the table's column types, and text columns still get strings")
+    void testTypedBinding() throws Exception {
+        when(statement.executeQuery(anyString())).thenReturn(mock(ResultSet.class));
+        DatabaseMetaData meta = mock(DatabaseMetaData.class);
+        ResultSet columns = mock(ResultSet.class);
+        when(connection.getMetaData()).thenReturn(meta);
+        when(meta.getColumns(any(), any(), anyString(), any())).thenReturn(columns);
+        when(columns.next()).thenReturn(true, true, true, false);
+        when(columns.getString("COLUMN_NAME")).thenReturn("id", "isdeleted", "annualrevenue");
+        when(columns.getInt("DATA_TYPE")).thenReturn(Types.VARCHAR, Types.BIT, Types.NUMERIC);
+        JdbcDatabaseSink sink = new JdbcDatabaseSink(connection, mockDialect(), "test");
+        
+        assertEquals(1, sink.writeData("Account", new StringReader(CSV), "backup-1", null));
+        
+        verify(insert).setString(1, "001");
+        verify(insert).setBoolean(2, true);
+        verify(insert).setBigDecimal(3, new BigDecimal("1500.25"));
+        verify(insert).setString(4, "backup-1");
+    }
+    
+    private static JdbcDatabaseSink.DatabaseDialect mockDialect() {
+        JdbcDatabaseSink.DatabaseDialect dialect = mock(JdbcDatabaseSink.DatabaseDialect.class);
+        when(dialect.sanitizeTableName(anyString())).thenAnswer(i -> ((String) i.getArgument(0)).toLowerCase());
+        when(dialect.sanitizeColumnName(anyString())).thenAnswer(i -> ((String) i.getArgument(0)).toLowerCase());
+        when(dialect.getOptimalBatchSize()).thenReturn(1000);
+        return dialect;
+    }
+}
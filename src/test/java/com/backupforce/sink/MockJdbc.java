@@ -0,0 +1,73 @@
+package com.backupforce.sink;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Mocked JDBC connection shared by the JdbcDatabaseSink tests.
+ *
+ * The connection is valid and starts in autocommit mode. Queries on {@link #statement}
+ * return no rows, and SQL run through {@link #statement} is recorded in {@link #executed}.
+ * Every prepared statement is {@link #insert}, with its SQL recorded in {@link #prepared},
+ * and each batch reports one row. Tests override the stubs they care about.
+ */
+final class MockJdbc {
+
+    final Connection connection = mock(Connection.class);
+    final Statement statement = mock(Statement.class);
+    final PreparedStatement insert = mock(PreparedStatement.class);
+    final DatabaseMetaData meta = mock(DatabaseMetaData.class);
+    final List<String> executed = new ArrayList<>();
+    final List<String> prepared = new ArrayList<>();
+    private boolean autoCommit = true;
+
+    MockJdbc() throws SQLException {
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(connection.getAutoCommit()).thenAnswer(invocation -> autoCommit);
+        doAnswer(invocation -> autoCommit = invocation.getArgument(0)).when(connection).setAutoCommit(anyBoolean());
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getMetaData()).thenReturn(meta);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            prepared.add(invocation.getArgument(0));
+            return insert;
+        });
+        when(statement.executeQuery(anyString())).thenAnswer(invocation -> mock(ResultSet.class));
+        when(statement.execute(anyString())).thenAnswer(invocation -> executed.add(invocation.getArgument(0)));
+        when(insert.executeBatch()).thenReturn(new int[] {1});
+    }
+
+    /**
+     * Report an existing table with these VARCHAR columns on every column lookup
+     */
+    void tableColumns(String... names) throws SQLException {
+        when(meta.getColumns(any(), any(), anyString(), isNull())).thenAnswer(invocation ->
+            rows("COLUMN_NAME", names));
+    }
+
+    /**
+     * Rows of one string column, read by {@code column} label or, if null, by index 1.
+     * Rows read by label also report a VARCHAR DATA_TYPE, as column lookups do.
+     */
+    static ResultSet rows(String column, String... values) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        int[] row = {-1};
+        when(rs.next()).thenAnswer(invocation -> ++row[0] < values.length);
+        if (column != null) {
+            when(rs.getString(column)).thenAnswer(invocation -> values[row[0]]);
+            when(rs.getInt("DATA_TYPE")).thenReturn(Types.VARCHAR);
+        } else {
+            when(rs.getString(1)).thenAnswer(invocation -> values[row[0]]);
+        }
+        return rs;
+    }
+}
@@ -0,0 +1,117 @@
+package com.backupforce.sink;
+
+import com.backupforce.sink.JdbcDatabaseSink.DatabaseDialect;
+import com.backupforce.sink.JdbcDatabaseSink.TableColumn;
+import com.backupforce.sink.dialect.MySqlDialect;
+import com.backupforce.sink.dialect.PostgresDialect;
+import com.backupforce.sink.dialect.SqlServerDialect;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MultiRowInsert: statements are sized to the dialect's parameter limit,
+ * remainders use a few cached power-of-two statements, and update counts are summed.
+ */
+@DisplayName("MultiRowInsert Tests")
+class MultiRowInsertTest {
+
+    private static final List<TableColumn> COLUMNS = Arrays.asList(
+        new TableColumn("id", Types.VARCHAR), new TableColumn("name", Types.VARCHAR));
+
+    private Connection connection;
+    private final List<String> prepared = new ArrayList<>();
+    private final List<PreparedStatement> statements = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            int rows = sql.split("\\), \\(").length;
+            PreparedStatement stmt = mock(PreparedStatement.class);
+            when(stmt.executeUpdate()).thenReturn(rows);
+            when(stmt.executeBatch()).thenReturn(new int[] {rows, Statement.SUCCESS_NO_INFO});
+            prepared.add(sql);
+            statements.add(stmt);
+            return stmt;
+        });
+    }
+
+    // 8 parameters: 4 rows of 2 columns per statement
+    private static DatabaseDialect dialect() {
+        return new PostgresDialect() {
+            @Override
+            public int getMaxInsertParameters() {
+                return 8;
+            }
+        };
+    }
+
+    private static List<Object[]> rows(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {"00" + i, "name" + i});
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Statements carry as many rows as the parameter and row limits allow")
+    void testRowsPerStatement() {
+        assertEquals(4, MultiRowInsert.rowsPerStatement(dialect(), 2));
+        // 2000 parameters over 30 columns
+        assertEquals(66, MultiRowInsert.rowsPerStatement(new SqlServerDialect(), 30));
+        // Few columns hit the 1000-row cap
+        assertEquals(1000, MultiRowInsert.rowsPerStatement(new SqlServerDialect(), 2));
+        // MySQL's driver rewrites batches itself
+        assertEquals(1, MultiRowInsert.rowsPerStatement(new MySqlDialect(), 30));
+        assertEquals("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)",
+            new PostgresDialect().getMultiRowInsertSql("t", Arrays.asList("a", "b"), 3));
+    }
+
+    @Test
+    @DisplayName("Full statements are batched and the remainder is split into powers of two")
+    void testInsert() throws Exception {
+        try (MultiRowInsert insert = new MultiRowInsert(connection, dialect(), "t", COLUMNS)) {
+            // 11 rows: two 4-row statements in one batch, then 2 + 1
+            assertEquals(11, insert.insert(rows(11)));
+        }
+
+        assertEquals(3, prepared.size());
+        assertTrue(prepared.get(0).endsWith("VALUES (?, ?), (?, ?), (?, ?), (?, ?)"), prepared.get(0));
+        assertTrue(prepared.get(1).endsWith("VALUES (?, ?), (?, ?)"), prepared.get(1));
+        assertTrue(prepared.get(2).endsWith("VALUES (?, ?)"), prepared.get(2));
+        verify(statements.get(0), times(2)).addBatch();
+        verify(statements.get(0)).setString(1, "000");
+        verify(statements.get(0)).setString(8, "name7");
+        verify(statements.get(2)).setString(1, "0010");
+        for (PreparedStatement stmt : statements) {
+            verify(stmt).close();
+        }
+    }
+
+    @Test
+    @DisplayName("Each statement shape is prepared once per load")
+    void testStatementsCached() throws Exception {
+        try (MultiRowInsert insert = new MultiRowInsert(connection, dialect(), "t", COLUMNS)) {
+            insert.insert(rows(5));
+            insert.insert(rows(9));
+            insert.insert(Collections.emptyList());
+        }
+
+        // 4-row and 1-row statements only
+        assertEquals(2, prepared.size());
+    }
+}
@@ -0,0 +1,181 @@
+package com.backupforce.sink;
+
+import com.sforce.soap.partner.Field;
+import com.sforce.soap.partner.FieldType;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParquetFileSink. The files are read back with DuckDB.
+ */
+@DisplayName("ParquetFileSink Tests")
+class ParquetFileSinkTest {
+
+    private static final String CSV = "\"Id\",\"Name\",\"Amount\",\"IsWon\",\"CloseDate\",\"CreatedDate\"\n"
+        + "\"001\",\"Acme, Inc\",\"1250.50\",\"true\",\"2024-01-15\",\"2024-01-15T10:30:00.000Z\"\n"
+        + "\"002\",\"\",\"\",\"false\",\"\",\"2024-01-16T08:00:00.000Z\"\n";
+
+    @TempDir
+    Path tempDir;
+
+    private static Field field(String name, FieldType type, int precision, int scale) {
+        Field field = new Field();
+        field.setName(name);
+        field.setType(type);
+        field.setPrecision(precision);
+        field.setScale(scale);
+        return field;
+    }
+
+    private static Field[] opportunityFields() {
+        return new Field[] {
+            field("Id", FieldType.id, 0, 0),
+            field("Name", FieldType.string, 0, 0),
+            field("Amount", FieldType.currency, 18, 2),
+            field("IsWon", FieldType._boolean, 0, 0),
+            field("CloseDate", FieldType.date, 0, 0),
+            field("CreatedDate", FieldType.datetime, 0, 0)
+        };
+    }
+
+    private List<Path> parts(String objectName) throws Exception {
+        try (Stream<Path> files = Files.list(tempDir.resolve(objectName))) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private List<List<String>> query(String sql) throws Exception {
+        List<List<String>> rows = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:duckdb:");
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                List<String> row = new ArrayList<>();
+                for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                    row.add(rs.getString(i));
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private String files(String objectName) {
+        return "'" + tempDir.resolve(objectName).resolve("*.parquet") + "'";
+    }
+
+    @Test
+    @DisplayName("Columns are typed from describe metadata, with empty values as nulls")
+    void testTypedColumns() throws Exception {
+        ParquetFileSink sink = new ParquetFileSink(tempDir.toString());
+        sink.connect();
+        sink.prepareSink("Opportunity", opportunityFields());
+
+        assertEquals(2, sink.writeData("Opportunity", new StringReader(CSV), "backup-1", null));
+
+        assertEquals(List.of(tempDir.resolve("Opportunity").resolve("part-0.parquet")), parts("Opportunity"));
+        List<List<String>> types = query("SELECT column_name, column_type FROM (DESCRIBE SELECT * FROM "
+            + files("Opportunity") + ")");
+        assertEquals(List.of(List.of("Id", "VARCHAR"), List.of("Name", "VARCHAR"),
+            List.of("Amount", "DECIMAL(18,2)"), List.of("IsWon", "BOOLEAN"), List.of("CloseDate", "DATE"),
+            List.of("CreatedDate", "TIMESTAMP")), types);
+        List<List<String>> rows = query("SELECT Name, Amount, CloseDate, CAST(CreatedDate AS VARCHAR) FROM "
+            + files("Opportunity") + " ORDER BY Id");
+        assertEquals(List.of("Acme, Inc", "1250.50", "2024-01-15", "2024-01-15 10:30:00"), rows.get(0));
+        assertEquals(Arrays.asList(null, null, null, "2024-01-16 08:00:00"), rows.get(1));
+    }
+
+    @Test
+    @DisplayName("Row groups carry min/max statistics and use the chosen compression")
+    void testStatisticsAndCompression() throws Exception {
+        ParquetFileSink sink = new ParquetFileSink(tempDir.toString(), ParquetFileSink.Compression.SNAPPY,
+            ParquetFileSink.DEFAULT_FILE_SIZE_BYTES, ParquetFileSink.DEFAULT_ROW_GROUP_ROWS);
+        sink.prepareSink("Opportunity", opportunityFields());
+
+        sink.writeData("Opportunity", new StringReader(CSV), "backup-1", null);
+
+        List<List<String>> stats = query("SELECT stats_min, stats_max, compression FROM parquet_metadata("
+            + files("Opportunity") + ") WHERE path_in_schema = 'Id'");
+        assertEquals(List.of(List.of("001", "002", "SNAPPY")), stats);
+    }
+
+    @Test
+    @DisplayName("Large objects are rolled into several files")
+    void testFileRolling() throws Exception {
+        StringBuilder csv = new StringBuilder("\"Id\",\"Description\"\n");
+        for (int i = 0; i < 20000; i++) {
+            csv.append('"').append(i).append("\",\"").append(UUID.randomUUID()).append("\"\n");
+        }
+        ParquetFileSink sink = new ParquetFileSink(tempDir.toString(), ParquetFileSink.Compression.ZSTD,
+            64 * 1024, 2048);
+
+        try (CsvRecordBatchReader batches = new CsvRecordBatchReader(new StringReader(csv.toString()))) {
+            assertEquals(20000, sink.writeBatches("Task", batches, "backup-1", null));
+        }
+
+        assertTrue(parts("Task").size() > 1, parts("Task").toString());
+        assertEquals(List.of(List.of("20000", "20000")),
+            query("SELECT COUNT(*), COUNT(DISTINCT Id) FROM " + files("Task")));
+    }
+
+    @Test
+    @DisplayName("A new backup replaces the object's earlier files")
+    void testReplacesEarlierFiles() throws Exception {
+        ParquetFileSink sink = new ParquetFileSink(tempDir.toString());
+        Files.createDirectories(tempDir.resolve("Account"));
+        Files.write(tempDir.resolve("Account").resolve("part-7.parquet"), new byte[] {1});
+
+        sink.writeData("Account", new StringReader("\"Id\"\n\"001\"\n"), "backup-1", null);
+
+        assertEquals(List.of(tempDir.resolve("Account").resolve("part-0.parquet")), parts("Account"));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count(), "staging file should be removed");
+        }
+    }
+
+    @Test
+    @DisplayName("A failed conversion keeps the object's earlier files")
+    void testFailedConversionKeepsEarlierFiles() throws Exception {
+        ParquetFileSink sink = new ParquetFileSink(tempDir.toString());
+        Files.createDirectories(tempDir.resolve("Account"));
+        Files.write(tempDir.resolve("Account").resolve("part-0.parquet"), new byte[] {1});
+
+        // Unterminated quote
+        assertThrows(Exception.class,
+            () -> sink.writeData("Account", new StringReader("\"Id\"\n\"001\n"), "backup-1", null));
+
+        assertEquals(List.of(tempDir.resolve("Account").resolve("part-0.parquet")), parts("Account"));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count(), "temporary files should be removed");
+        }
+    }
+
+    @Test
+    @DisplayName("Objects without records are written as a file with only the schema")
+    void testNoRecords() throws Exception {
+        ParquetFileSink sink = new ParquetFileSink(tempDir.toString());
+        sink.prepareSink("Opportunity", opportunityFields());
+
+        assertEquals(0, sink.writeData("Opportunity",
+            new StringReader("\"Id\",\"Name\",\"Amount\"\n"), "backup-1", null));
+
+        assertEquals(List.of(List.of("Id", "VARCHAR"), List.of("Name", "VARCHAR"), List.of("Amount", "DECIMAL(18,2)")),
+            query("SELECT column_name, column_type FROM (DESCRIBE SELECT * FROM " + files("Opportunity") + ")"));
+    }
+}
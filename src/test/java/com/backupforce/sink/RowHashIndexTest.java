@@ -0,0 +1,51 @@
+package com.backupforce.sink;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RowHashIndex, the per-Id fingerprints change detection compares against.
+ */
+@DisplayName("RowHashIndex Tests")
+class RowHashIndexTest {
+
+    @Test
+    @DisplayName("Ids match only their latest fingerprint")
+    void testMatches() {
+        RowHashIndex index = new RowHashIndex(100);
+        assertTrue(index.put("001000000000001AAA", 42));
+        assertTrue(index.put("001000000000001AAA", 43));
+
+        assertEquals(1, index.size());
+        assertTrue(index.matches("001000000000001AAA", 43));
+        assertFalse(index.matches("001000000000001AAA", 42));
+        assertFalse(index.matches("001000000000002AAA", 43));
+    }
+
+    @Test
+    @DisplayName("The index grows past its initial size and keeps every entry")
+    void testGrows() {
+        RowHashIndex index = new RowHashIndex(100_000);
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(index.put("001" + i, i));
+        }
+
+        assertEquals(50_000, index.size());
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(index.matches("001" + i, i), "001" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Adding Ids past the cap fails")
+    void testCap() {
+        RowHashIndex index = new RowHashIndex(2);
+        assertTrue(index.put("a", 1));
+        assertTrue(index.put("b", 2));
+
+        assertFalse(index.put("c", 3));
+        assertTrue(index.put("a", 4), "existing Ids can still be replaced");
+        assertEquals(2, index.size());
+    }
+}
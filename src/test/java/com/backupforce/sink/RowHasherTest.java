@@ -0,0 +1,56 @@
+package com.backupforce.sink;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RowHasher row fingerprints.
+ */
+@DisplayName("RowHasher Tests")
+class RowHasherTest {
+
+    private static String hash(String csv) throws IOException {
+        try (CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                .parse(new StringReader(csv))) {
+            List<CSVRecord> records = parser.getRecords();
+            return new RowHasher(parser.getHeaderNames(), RowHasher.DEFAULT_EXCLUDED_FIELDS).hash(records.get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Fingerprints are 16 hex digits and stable for the same content")
+    void testStable() throws IOException {
+        String hash = hash("Id,Name\n001,Acme\n");
+        assertTrue(hash.matches("[0-9a-f]{16}"), hash);
+        assertEquals(hash, hash("Id,Name\n001,Acme\n"));
+    }
+
+    @Test
+    @DisplayName("Changed values change the fingerprint")
+    void testValueChange() throws IOException {
+        assertNotEquals(hash("Id,Name\n001,Acme\n"), hash("Id,Name\n001,Acme Inc\n"));
+        // Values can't run together across fields
+        assertNotEquals(hash("Id,A,B\n001,ab,c\n"), hash("Id,A,B\n001,a,bc\n"));
+    }
+
+    @Test
+    @DisplayName("Volatile system fields are left out, matched without regard to case")
+    void testExcludedFields() throws IOException {
+        assertEquals(hash("Id,Name,SystemModstamp\n001,Acme,2024-01-01T00:00:00.000Z\n"),
+            hash("Id,Name,SYSTEMMODSTAMP\n001,Acme,2024-06-01T00:00:00.000Z\n"));
+    }
+
+    @Test
+    @DisplayName("Adding a field changes the fingerprint even when it is blank")
+    void testFieldAdded() throws IOException {
+        assertNotEquals(hash("Id,Name\n001,Acme\n"), hash("Id,Name,Rating__c\n001,Acme,\n"));
+    }
+}
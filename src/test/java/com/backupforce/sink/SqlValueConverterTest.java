@@ -0,0 +1,56 @@
+package com.backupforce.sink;
+
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SqlValueConverter.
+ * Tests conversion of Bulk API CSV text to typed JDBC values.
+ */
+@DisplayName("SqlValueConverter Tests")
+class SqlValueConverterTest {
+    
+    @Test
+    @DisplayName("Booleans convert from true/false and 1/0")
+    void testBooleans() {
+        assertEquals(Boolean.TRUE, SqlValueConverter.convert("true", Types.BOOLEAN));
+        assertEquals(Boolean.FALSE, SqlValueConverter.convert("FALSE", Types.BIT));
+        assertEquals(Boolean.TRUE, SqlValueConverter.convert("1", Types.BIT));
+    }
+    
+    @Test
+    @DisplayName("Integers and decimals keep their exact value")
+    void testNumbers() {
+        assertEquals(42L, SqlValueConverter.convert("42", Types.INTEGER));
+        assertEquals(new BigDecimal("1234.56"), SqlValueConverter.convert("1234.56", Types.DECIMAL));
+        assertEquals(new BigDecimal("0.1"), SqlValueConverter.convert("0.1", Types.DOUBLE));
+    }
+    
+    @Test
+    @DisplayName("Dates, UTC datetimes and times convert to java.sql types")
+    void testTemporal() {
+        assertEquals(Date.valueOf("2024-01-31"), SqlValueConverter.convert("2024-01-31", Types.DATE));
+        assertEquals(Timestamp.valueOf("2024-01-31 12:34:56"),
+            SqlValueConverter.convert("2024-01-31T12:34:56.000Z", Types.TIMESTAMP));
+        assertEquals(Timestamp.valueOf("2024-01-31 10:34:56"),
+            SqlValueConverter.convert("2024-01-31T12:34:56.000+02:00", Types.TIMESTAMP));
+        assertEquals(Time.valueOf("08:30:00"), SqlValueConverter.convert("08:30:00.000Z", Types.TIME));
+    }
+    
+    @Test
+    @DisplayName("Blank values are null and unparseable values pass through as text")
+    void testBlankAndInvalid() {
+        assertNull(SqlValueConverter.convert("", Types.INTEGER));
+        assertNull(SqlValueConverter.convert("  ", Types.VARCHAR));
+        assertEquals("n/a", SqlValueConverter.convert("n/a", Types.DECIMAL));
+        assertEquals("maybe", SqlValueConverter.convert("maybe", Types.BOOLEAN));
+        assertEquals("42", SqlValueConverter.convert("42", Types.VARCHAR));
+    }
+}
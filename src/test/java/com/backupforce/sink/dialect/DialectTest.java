@@ -56,6 +56,13 @@ class DialectTest {
             assertEquals("NUMBER(10, 0)", dialect.mapSalesforceType("INT", 0));
         }
         
+        @Test
+        @DisplayName("mapSalesforceType uses described precision and scale for decimals")
+        void testMapNumericPrecision() {
+            assertEquals("NUMBER(12, 4)", dialect.mapSalesforceType("percent", 0, 12, 4));
+            assertEquals("NUMBER(18, 2)", dialect.mapSalesforceType("currency", 0, 0, 0));
+        }
+        
         @Test
         @DisplayName("mapSalesforceType maps date/time types correctly")
         void testMapDateTypes() {
@@ -122,12 +129,41 @@ class DialectTest {
             assertEquals(1000, dialect.getOptimalBatchSize());
         }
         
+        @Test
+        @DisplayName("Adaptive batch sizes stay between 100 and 2000")
+        void testBatchSizeBounds() {
+            assertEquals(100, dialect.getMinBatchSize());
+            assertEquals(2000, dialect.getMaxBatchSize());
+        }
+        
         @Test
         @DisplayName("getVarcharType returns VARCHAR with length")
         void testGetVarcharType() {
             assertEquals("VARCHAR(100)", dialect.getVarcharType(100));
             assertEquals("VARCHAR(255)", dialect.getVarcharType(255));
         }
+        
+        @Test
+        @DisplayName("Merge SQL is a standard MERGE on the key column")
+        void testMergeSql() {
+            String sql = dialect.getMergeSql("ACCOUNT", "ACCOUNT__STAGE", "ID", java.util.Arrays.asList("ID", "NAME"));
+            assertEquals("MERGE INTO ACCOUNT t USING ACCOUNT__STAGE s ON t.ID = s.ID"
+                + " WHEN MATCHED THEN UPDATE SET t.NAME = s.NAME"
+                + " WHEN NOT MATCHED THEN INSERT (ID, NAME) VALUES (s.ID, s.NAME)", sql);
+            assertEquals("CREATE TEMPORARY TABLE ACCOUNT__STAGE AS SELECT * FROM ACCOUNT WHERE 1 = 0",
+                dialect.getCreateTableLikeSql(dialect.getStagingTableName("Account"), "ACCOUNT", true));
+            assertNull(dialect.getUniqueKeySql("ACCOUNT", "ID"));
+        }
+        
+        @Test
+        @DisplayName("Time partitioning clusters by day and retention deletes by timestamp")
+        void testPartitioning() {
+            SnowflakeClustering partitioning = (SnowflakeClustering) dialect.getPartitioning();
+            assertEquals(" CLUSTER BY (TO_DATE(BACKUP_TIMESTAMP))",
+                partitioning.getCreateTableClause("ACCOUNT", "BACKUP_TIMESTAMP"));
+            assertEquals("DELETE FROM ACCOUNT WHERE BACKUP_TIMESTAMP < '2026-09-18'",
+                partitioning.getDeleteSql("ACCOUNT", "BACKUP_TIMESTAMP", java.time.LocalDate.of(2026, 9, 18)));
+        }
     }
     
     // ============================================
@@ -174,6 +210,14 @@ class DialectTest {
             assertEquals("INTEGER", dialect.mapSalesforceType("INT", 0));
         }
         
+        @Test
+        @DisplayName("mapSalesforceType uses described precision and scale for decimals")
+        void testMapNumericPrecision() {
+            assertEquals("NUMERIC(16, 2)", dialect.mapSalesforceType("currency", 0, 16, 2));
+            assertEquals("NUMERIC(18, 2)", dialect.mapSalesforceType("double", 0, 0, 0));
+            assertEquals("BOOLEAN", dialect.mapSalesforceType("boolean", 0, 0, 0));
+        }
+        
         @Test
         @DisplayName("mapSalesforceType maps date/time types correctly")
         void testMapDateTypes() {
@@ -220,6 +264,51 @@ class DialectTest {
             assertNull(dialect.mapSalesforceType("ADDRESS", 0));
             assertNull(dialect.mapSalesforceType("LOCATION", 0));
         }
+        
+        @Test
+        @DisplayName("getBulkLoader returns the COPY loader")
+        void testGetBulkLoader() {
+            assertTrue(dialect.getBulkLoader() instanceof PostgresCopyLoader);
+        }
+        
+        @Test
+        @DisplayName("Merge SQL upserts with ON CONFLICT on a unique index")
+        void testMergeSql() {
+            assertEquals("INSERT INTO account (id, name) SELECT id, name FROM account__stage"
+                + " ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name",
+                dialect.getMergeSql("account", "account__stage", "id", java.util.Arrays.asList("id", "name")));
+            assertEquals("CREATE UNIQUE INDEX IF NOT EXISTS account_id_key ON account (id)",
+                dialect.getUniqueKeySql("account", "id"));
+        }
+        
+        @Test
+        @DisplayName("Columns are added with ALTER TABLE ... ADD COLUMN")
+        void testAddColumnSql() {
+            assertEquals("ALTER TABLE account ADD COLUMN industry TEXT",
+                dialect.getAddColumnSql("account", "industry", "TEXT"));
+        }
+        
+        @Test
+        @DisplayName("Time partitioning uses daily range partitions")
+        void testPartitioning() {
+            PostgresPartitioning partitioning = (PostgresPartitioning) dialect.getPartitioning();
+            assertEquals(" PARTITION BY RANGE (backup_timestamp)",
+                partitioning.getCreateTableClause("account", "backup_timestamp"));
+            assertEquals("CREATE TABLE IF NOT EXISTS account_p20261231 PARTITION OF account"
+                    + " FOR VALUES FROM ('2026-12-31') TO ('2027-01-01')",
+                partitioning.getAddPartitionSql("account", java.time.LocalDate.of(2026, 12, 31)));
+        }
+        
+        @Test
+        @DisplayName("Only the table's own daily partitions are recognized")
+        void testPartitionNames() {
+            PostgresPartitioning partitioning = new PostgresPartitioning();
+            assertEquals(java.time.LocalDate.of(2026, 10, 18), PostgresPartitioning.partitionDay("account", "account_p20261018"));
+            assertNull(PostgresPartitioning.partitionDay("account", "account_history_p20261018"));
+            assertNull(PostgresPartitioning.partitionDay("account", "account_p20261399"));
+            assertTrue(partitioning.isPartitionTable("account_p20261018"));
+            assertFalse(partitioning.isPartitionTable("account"));
+        }
     }
     
     // ============================================
@@ -257,6 +346,15 @@ class DialectTest {
             assertEquals("NVARCHAR(MAX)", dialect.mapSalesforceType("LONGTEXTAREA", 0));
         }
         
+        @Test
+        @DisplayName("mapSalesforceType maps strings longer than 4000 characters to NVARCHAR(MAX)")
+        void testMapLongStringTypes() {
+            assertEquals("NVARCHAR(4000)", dialect.mapSalesforceType("STRING", 4000));
+            assertEquals("NVARCHAR(MAX)", dialect.mapSalesforceType("STRING", 4001));
+            assertEquals("NVARCHAR(MAX)", dialect.mapSalesforceType("ENCRYPTEDSTRING", 131072));
+            assertEquals("NVARCHAR(MAX)", dialect.getVarcharType(16777216));
+        }
+        
         @Test
         @DisplayName("mapSalesforceType maps numeric types correctly")
         void testMapNumericTypes() {
@@ -286,6 +384,14 @@ class DialectTest {
             assertEquals("NVARCHAR(18)", dialect.mapSalesforceType("ID", 0));
         }
         
+        @Test
+        @DisplayName("getBulkLoader returns bulk copy unless disabled")
+        void testGetBulkLoader() {
+            assertTrue(dialect.getBulkLoader() instanceof SqlServerBulkCopyLoader);
+            dialect.setBulkCopyEnabled(false);
+            assertNull(dialect.getBulkLoader());
+        }
+        
         @Test
         @DisplayName("sanitizeTableName uses square brackets")
         void testSanitizeTableName() {
@@ -306,5 +412,131 @@ class DialectTest {
             assertNull(dialect.mapSalesforceType("ADDRESS", 0));
             assertNull(dialect.mapSalesforceType("LOCATION", 0));
         }
+        
+        @Test
+        @DisplayName("Merge stages in a session temp table and terminates the MERGE")
+        void testMergeSql() {
+            assertEquals("[#Account__STAGE]", dialect.getStagingTableName("Account"));
+            assertEquals("SELECT * INTO [#Account__STAGE] FROM [Account] WHERE 1 = 0",
+                dialect.getCreateTableLikeSql("[#Account__STAGE]", "[Account]", true));
+            assertTrue(dialect.getMergeSql("[Account]", "[#Account__STAGE]", "[Id]",
+                java.util.Arrays.asList("[Id]", "[Name]")).endsWith(";"));
+        }
+        
+        @Test
+        @DisplayName("Columns are added without the COLUMN keyword")
+        void testAddColumnSql() {
+            assertEquals("ALTER TABLE [Account] ADD [Industry] NVARCHAR(255)",
+                dialect.getAddColumnSql("[Account]", "[Industry]", "NVARCHAR(255)"));
+        }
+        
+        @Test
+        @DisplayName("Time partitioning uses a partition function and scheme per table")
+        void testPartitioning() {
+            SqlServerPartitioning partitioning = (SqlServerPartitioning) dialect.getPartitioning();
+            assertEquals(java.util.Arrays.asList(
+                    "IF NOT EXISTS (SELECT 1 FROM sys.partition_functions WHERE name = 'pf_Account')"
+                        + " CREATE PARTITION FUNCTION [pf_Account] (DATETIME2) AS RANGE RIGHT FOR VALUES ()",
+                    "IF NOT EXISTS (SELECT 1 FROM sys.partition_schemes WHERE name = 'ps_Account')"
+                        + " CREATE PARTITION SCHEME [ps_Account] AS PARTITION [pf_Account] ALL TO ([PRIMARY])"),
+                partitioning.getSetupSql("[Account]", "[BACKUP_TIMESTAMP]"));
+            assertEquals(" ON [ps_Account]([BACKUP_TIMESTAMP])",
+                partitioning.getCreateTableClause("[Account]", "[BACKUP_TIMESTAMP]"));
+        }
+        
+        @Test
+        @DisplayName("Retention truncates expired partitions and merges all but the newest expired boundary")
+        void testDropPartitionsSql() {
+            SqlServerPartitioning partitioning = new SqlServerPartitioning();
+            java.time.LocalDate day = java.time.LocalDate.of(2026, 10, 1);
+            assertTrue(partitioning.getDropPartitionsSql("[Account]", java.util.Collections.emptyList()).isEmpty());
+            assertEquals(java.util.Collections.singletonList("TRUNCATE TABLE [Account] WITH (PARTITIONS (1))"),
+                partitioning.getDropPartitionsSql("[Account]", java.util.Collections.singletonList(day)));
+            assertEquals(java.util.Arrays.asList(
+                    "TRUNCATE TABLE [Account] WITH (PARTITIONS (1 TO 3))",
+                    "ALTER PARTITION FUNCTION [pf_Account]() MERGE RANGE ('2026-10-01')",
+                    "ALTER PARTITION FUNCTION [pf_Account]() MERGE RANGE ('2026-10-02')"),
+                partitioning.getDropPartitionsSql("[Account]",
+                    java.util.Arrays.asList(day, day.plusDays(1), day.plusDays(2))));
+        }
+    }
+    
+    // ============================================
+    // MySQL Dialect Tests
+    // ============================================
+    
+    @Nested
+    @DisplayName("MySQL Dialect")
+    class MySqlDialectTests {
+        
+        private MySqlDialect dialect;
+        
+        @BeforeEach
+        void setUp() {
+            dialect = new MySqlDialect();
+        }
+        
+        @Test
+        @DisplayName("getBinaryType returns LONGBLOB")
+        void testGetBinaryType() {
+            assertEquals("LONGBLOB", dialect.getBinaryType());
+            assertEquals("LONGBLOB", dialect.mapSalesforceType("BASE64", 0));
+        }
+        
+        @Test
+        @DisplayName("mapSalesforceType keeps IDs inline and long strings in TEXT types")
+        void testMapStringTypes() {
+            assertEquals("VARCHAR(18)", dialect.mapSalesforceType("ID", 18));
+            assertEquals("VARCHAR(18)", dialect.mapSalesforceType("REFERENCE", 18));
+            assertEquals("VARCHAR(40)", dialect.mapSalesforceType("PHONE", 40));
+            assertEquals("TEXT", dialect.mapSalesforceType("STRING", 255));
+            assertEquals("MEDIUMTEXT", dialect.mapSalesforceType("LONGTEXTAREA", 131072));
+        }
+        
+        @Test
+        @DisplayName("mapSalesforceType maps numeric, boolean and date/time types")
+        void testMapOtherTypes() {
+            assertEquals("INT", dialect.mapSalesforceType("INT", 0));
+            assertEquals("DECIMAL(18, 2)", dialect.mapSalesforceType("CURRENCY", 0));
+            assertEquals("BOOLEAN", dialect.mapSalesforceType("BOOLEAN", 0));
+            assertEquals("DATE", dialect.mapSalesforceType("DATE", 0));
+            assertEquals("DATETIME(3)", dialect.mapSalesforceType("DATETIME", 0));
+            assertNull(dialect.mapSalesforceType("ADDRESS", 0));
+        }
+        
+        @Test
+        @DisplayName("getVarcharType moves long strings off-row")
+        void testGetVarcharType() {
+            assertEquals("VARCHAR(50)", dialect.getVarcharType(50));
+            assertEquals("TEXT", dialect.getVarcharType(4096));
+            assertEquals("LONGTEXT", dialect.getVarcharType(16777216));
+        }
+        
+        @Test
+        @DisplayName("Names are upper-cased and quoted with backticks")
+        void testSanitizeNames() {
+            assertEquals("`ACCOUNT`", dialect.sanitizeTableName("Account"));
+            assertEquals("`ORDER`", dialect.sanitizeTableName("Order"));
+            assertEquals("`FIRSTNAME`", dialect.sanitizeColumnName("FirstName"));
+            assertEquals("`MY_FIELD__C`", dialect.sanitizeColumnName("My-Field__c"));
+        }
+        
+        @Test
+        @DisplayName("getBulkLoader returns LOAD DATA unless disabled")
+        void testGetBulkLoader() {
+            assertTrue(dialect.getBulkLoader() instanceof MySqlLoadDataLoader);
+            dialect.setLoadDataEnabled(false);
+            assertNull(dialect.getBulkLoader());
+        }
+        
+        @Test
+        @DisplayName("Merge SQL upserts with ON DUPLICATE KEY UPDATE")
+        void testMergeSql() {
+            assertEquals("INSERT INTO `ACCOUNT` (`ID`, `NAME`) SELECT `ID`, `NAME` FROM `ACCOUNT__STAGE`"
+                + " ON DUPLICATE KEY UPDATE `NAME` = VALUES(`NAME`)",
+                dialect.getMergeSql("`ACCOUNT`", "`ACCOUNT__STAGE`", "`ID`", java.util.Arrays.asList("`ID`", "`NAME`")));
+            assertEquals("ALTER TABLE `ACCOUNT` ADD UNIQUE KEY `UQ_ID` (`ID`(18))",
+                dialect.getUniqueKeySql("`ACCOUNT`", "`ID`"));
+        }
     }
 }
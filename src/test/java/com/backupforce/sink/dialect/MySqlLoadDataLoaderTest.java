@@ -0,0 +1,108 @@
+package com.backupforce.sink.dialect;
+
+import com.backupforce.sink.JdbcDatabaseSink;
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MySqlLoadDataLoader's statement, row encoding, row stream and row count.
+ */
+@DisplayName("MySqlLoadDataLoader Tests")
+class MySqlLoadDataLoaderTest {
+    
+    private static String row(Object... values) {
+        StringBuilder line = new StringBuilder();
+        MySqlLoadDataLoader.appendRow(line, values);
+        return line.toString();
+    }
+    
+    @Test
+    @DisplayName("LOAD DATA statement lists the target columns and CSV options")
+    void testBuildLoadSql() {
+        String sql = MySqlLoadDataLoader.buildLoadSql("`ACCOUNT`", Arrays.asList(
+            new JdbcDatabaseSink.TableColumn("`ID`", Types.VARCHAR), new JdbcDatabaseSink.TableColumn("`NAME`", Types.VARCHAR)));
+        
+        assertTrue(sql.startsWith("LOAD DATA LOCAL INFILE 'stream' INTO TABLE `ACCOUNT` CHARACTER SET utf8mb4"));
+        assertTrue(sql.contains("OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '\\\\'"));
+        assertTrue(sql.endsWith("(`ID`, `NAME`)"));
+    }
+    
+    @Test
+    @DisplayName("Nulls are \\N and values are quoted with backslash escapes")
+    void testAppendRow() {
+        assertEquals("\"001\",\\N,\"\"\n", row("001", null, ""));
+        assertEquals("\"a \\\"b\\\" c:\\\\d\\ne\"\n", row("a \"b\" c:\\d\ne"));
+    }
+    
+    @Test
+    @DisplayName("Booleans load as 1/0 and decimals without exponents")
+    void testAppendTypedValues() {
+        assertEquals("1,0,\"1000\"\n", row(Boolean.TRUE, Boolean.FALSE, new java.math.BigDecimal("1E+3")));
+    }
+    
+    @Test
+    @DisplayName("Row stream encodes rows lazily as UTF-8")
+    void testRowInputStream() throws IOException {
+        MySqlLoadDataLoader.RowInputStream input = new MySqlLoadDataLoader.RowInputStream(
+            Arrays.asList(new Object[] {"1", "café"}, new Object[] {"2", null}).iterator());
+        assertEquals(0, input.getRowsRead());
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        input.transferTo(out);
+        
+        assertEquals("\"1\",\"café\"\n\"2\",\\N\n", out.toString(StandardCharsets.UTF_8));
+        assertEquals(2, input.getRowsRead());
+    }
+    
+    @Test
+    @DisplayName("Empty row stream ends immediately")
+    void testEmptyRowInputStream() throws IOException {
+        MySqlLoadDataLoader.RowInputStream input = new MySqlLoadDataLoader.RowInputStream(
+            Collections.emptyIterator());
+        assertEquals(-1, input.read());
+    }
+    
+    @Test
+    @DisplayName("Load reports the rows the server inserted, not the rows sent")
+    void testLoadReturnsUpdateCount() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement stmt = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(stmt);
+        when(stmt.unwrap(JdbcStatement.class)).thenReturn(mock(JdbcStatement.class));
+        when(stmt.getUpdateCount()).thenReturn(1);
+        SQLWarning warning = new SQLWarning("Duplicate entry '001' for key 'PRIMARY'");
+        warning.setNextWarning(new SQLWarning("Data truncated for column 'NAME' at row 2"));
+        when(stmt.getWarnings()).thenReturn(warning);
+        
+        int loaded = new MySqlLoadDataLoader().load(connection, "`ACCOUNT`",
+            Collections.singletonList(new JdbcDatabaseSink.TableColumn("`ID`", Types.VARCHAR)),
+            Arrays.asList(new Object[] {"001"}, new Object[] {"001"}).iterator());
+        
+        assertEquals(1, loaded);
+        verify(stmt).execute(startsWith("LOAD DATA LOCAL INFILE"));
+    }
+    
+    @Test
+    @DisplayName("Disabled local infile is recognised so the sink can fall back")
+    void testIsNotAllowedError() {
+        assertTrue(MySqlLoadDataLoader.isNotAllowedError(new SQLException("x", "42000", 3948)));
+        assertTrue(MySqlLoadDataLoader.isNotAllowedError(new SQLException(
+            "Loading local data is disabled; this must be enabled on both the client and server sides")));
+        assertFalse(MySqlLoadDataLoader.isNotAllowedError(new SQLException("Duplicate entry", "23000", 1062)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.backupforce.sink.dialect;
+
+import com.backupforce.sink.JdbcDatabaseSink;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PostgresCopyLoader's COPY statement and CSV row encoding.
+ */
+@DisplayName("PostgresCopyLoader Tests")
+class PostgresCopyLoaderTest {
+    
+    private static String row(Object... values) throws IOException {
+        StringWriter out = new StringWriter();
+        PostgresCopyLoader.writeRow(out, values);
+        return out.toString();
+    }
+    
+    private static List<JdbcDatabaseSink.TableColumn> columns(String... names) {
+        return Arrays.stream(names).map(n -> new JdbcDatabaseSink.TableColumn(n, Types.VARCHAR))
+            .collect(Collectors.toList());
+    }
+    
+    @Test
+    @DisplayName("COPY statement lists the target columns")
+    void testBuildCopySql() {
+        assertEquals("COPY account (id, name, backup_id, backup_timestamp) FROM STDIN WITH (FORMAT csv)",
+            PostgresCopyLoader.buildCopySql("account", columns("id", "name", "backup_id", "backup_timestamp")));
+    }
+    
+    @Test
+    @DisplayName("Values are quoted and nulls are empty unquoted fields")
+    void testWriteRow() throws IOException {
+        assertEquals("\"001\",,\"b1\"\n", row("001", null, "b1"));
+    }
+    
+    @Test
+    @DisplayName("Quotes, commas and line breaks are preserved")
+    void testWriteRowEscaping() throws IOException {
+        assertEquals("\"say \"\"hi\"\"\",\"a,b\",\"line1\nline2\"\n", row("say \"hi\"", "a,b", "line1\nline2"));
+    }
+    
+    @Test
+    @DisplayName("Timestamps use the JDBC escape format PostgreSQL accepts")
+    void testWriteTimestamp() throws IOException {
+        Timestamp timestamp = Timestamp.valueOf("2025-01-02 03:04:05.5");
+        assertEquals("\"2025-01-02 03:04:05.5\"\n", row(timestamp));
+    }
+    
+    @Test
+    @DisplayName("Non-PostgreSQL connections are not supported")
+    void testIsSupported() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.isWrapperFor(any())).thenReturn(false);
+        
+        assertFalse(new PostgresCopyLoader().isSupported(connection));
+    }
+}
@@ -0,0 +1,92 @@
+package com.backupforce.sink.dialect;
+
+import com.backupforce.sink.JdbcDatabaseSink;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SqlServerBulkCopyLoader's row source and permission error detection.
+ */
+@DisplayName("SqlServerBulkCopyLoader Tests")
+class SqlServerBulkCopyLoaderTest {
+    
+    @Test
+    @DisplayName("Row source streams rows and declares source types from the table columns")
+    void testRowSource() {
+        Timestamp timestamp = new Timestamp(0);
+        List<Object[]> rows = Arrays.asList(
+            new Object[] {"001", "a", "b1", timestamp},
+            new Object[] {"002", null, "b1", timestamp});
+        SqlServerBulkCopyLoader.RowSource source = new SqlServerBulkCopyLoader.RowSource(
+            Arrays.asList(new JdbcDatabaseSink.TableColumn("[Id]", Types.VARCHAR),
+                new JdbcDatabaseSink.TableColumn("[Name]", Types.NVARCHAR),
+                new JdbcDatabaseSink.TableColumn("[BACKUP_ID]", Types.VARCHAR),
+                new JdbcDatabaseSink.TableColumn("[BACKUP_TIMESTAMP]", Types.TIMESTAMP)), rows.iterator());
+        
+        assertEquals(4, source.getColumnOrdinals().size());
+        assertEquals("Id", source.getColumnName(1));
+        assertEquals(Types.NVARCHAR, source.getColumnType(1));
+        assertEquals(Types.TIMESTAMP, source.getColumnType(4));
+        assertEquals(7, source.getScale(4));
+        assertEquals(0, source.getRowsRead(), "Metadata must not consume rows");
+        
+        assertTrue(source.next());
+        assertEquals("001", source.getRowData()[0]);
+        assertTrue(source.next());
+        assertNull(source.getRowData()[1]);
+        assertFalse(source.next());
+        assertEquals(2, source.getRowsRead());
+    }
+    
+    @Test
+    @DisplayName("Typed table columns map to bulk copy source types")
+    void testRowSourceTypes() {
+        SqlServerBulkCopyLoader.RowSource source = new SqlServerBulkCopyLoader.RowSource(Arrays.asList(
+            new JdbcDatabaseSink.TableColumn("[IsDeleted]", Types.BIT),
+            new JdbcDatabaseSink.TableColumn("[NumberOfEmployees]", Types.INTEGER),
+            new JdbcDatabaseSink.TableColumn("[AnnualRevenue]", Types.DECIMAL),
+            new JdbcDatabaseSink.TableColumn("[CloseDate]", Types.DATE)), Collections.emptyIterator());
+        
+        assertEquals(Types.BIT, source.getColumnType(1));
+        assertEquals(Types.BIGINT, source.getColumnType(2));
+        assertEquals(Types.DECIMAL, source.getColumnType(3));
+        assertEquals(38, source.getPrecision(3));
+        assertEquals(Types.DATE, source.getColumnType(4));
+    }
+    
+    @Test
+    @DisplayName("Permission errors are recognised by error number and message")
+    void testIsPermissionError() {
+        assertTrue(SqlServerBulkCopyLoader.isPermissionError(new SQLException("x", "42000", 4834)));
+        assertTrue(SqlServerBulkCopyLoader.isPermissionError(new SQLException("x", "42000", 229)));
+        assertTrue(SqlServerBulkCopyLoader.isPermissionError(
+            new SQLException("You do not have permission to use the bulk load statement.")));
+        assertFalse(SqlServerBulkCopyLoader.isPermissionError(new SQLException("Connection reset", "08S01", 0)));
+    }
+    
+    @Test
+    @DisplayName("Bracketed names are unwrapped for column mappings")
+    void testUnbracket() {
+        assertEquals("Account", SqlServerBulkCopyLoader.unbracket("[Account]"));
+        assertEquals("Account", SqlServerBulkCopyLoader.unbracket("Account"));
+    }
+    
+    @Test
+    @DisplayName("Non-SQL Server connections are not supported")
+    void testIsSupported() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.isWrapperFor(any())).thenReturn(false);
+        
+        assertFalse(new SqlServerBulkCopyLoader(1000, true, 0).isSupported(connection));
+    }
+}